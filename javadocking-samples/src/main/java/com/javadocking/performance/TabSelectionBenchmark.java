@@ -0,0 +1,175 @@
+package com.javadocking.performance;
+
+import com.javadocking.DockingManager;
+import com.javadocking.dock.Position;
+import com.javadocking.dock.SplitDock;
+import com.javadocking.dock.TabDock;
+import com.javadocking.dockable.DefaultDockable;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.model.FloatDockModel;
+import com.javadocking.util.SwingUtil;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * This benchmark measures how many tabs can be selected programmatically per second in a deep layout.
+ * </p>
+ * <p>
+ * The layout is a chain of nested split docks. Every split dock has a tab dock as first child and the next split dock
+ * as second child. The tabs of all the tab docks are selected one after the other. After every selection the pending
+ * layout and paint work is done immediately.
+ * </p>
+ * <p>
+ * The selections are done twice: once with {@link TabDock#setSelectedDockable(Dockable)}, that only lays out and
+ * repaints the tabbed pane, and once with a revalidation and repaint of the parent of the tab dock after every
+ * selection, like the docks did before. For both runs the number of selections per second and the number of
+ * layouts of the root panel are printed.
+ * </p>
+ * <p>
+ * The arguments are the depth of the layout, the number of tabs in every tab dock and the number of selections.
+ * </p>
+ */
+public class TabSelectionBenchmark extends JPanel {
+
+	// Static fields.
+
+	public static final int FRAME_WIDTH = 1000;
+	public static final int FRAME_HEIGHT = 800;
+
+	private static final int DEFAULT_DEPTH = 12;
+	private static final int DEFAULT_TAB_COUNT = 10;
+	private static final int DEFAULT_SELECTION_COUNT = 5000;
+
+	// Fields.
+
+	private List tabDocks = new ArrayList();
+	private int layoutCount;
+
+	// Constructor.
+
+	public TabSelectionBenchmark(JFrame frame, int depth, int tabCount) {
+		super(new BorderLayout());
+
+		// Create the dock model for the docks.
+		FloatDockModel dockModel = new FloatDockModel();
+		dockModel.addOwner("frame0", frame);
+		DockingManager.setDockModel(dockModel);
+
+		// Create the deep layout.
+		SplitDock rootDock = createSplitDock(depth, tabCount);
+		dockModel.addRootDock("splitDock", rootDock, frame);
+		add(rootDock, BorderLayout.CENTER);
+
+	}
+
+	// Overwritten methods.
+
+	public void doLayout() {
+		layoutCount++;
+		super.doLayout();
+	}
+
+	// Public methods.
+
+	/**
+	 * Selects the tabs of all the tab docks, one after the other.
+	 *
+	 * @param selectionCount    The number of selections.
+	 * @param revalidateParents True if the parent of the tab dock has to be revalidated after every selection.
+	 * @return The number of selections per second.
+	 */
+	public double selectTabs(int selectionCount, boolean revalidateParents) {
+
+		RepaintManager repaintManager = RepaintManager.currentManager(this);
+		layoutCount = 0;
+		long start = System.nanoTime();
+		for (int selection = 0; selection < selectionCount; selection++) {
+			TabDock tabDock = (TabDock) tabDocks.get(selection % tabDocks.size());
+			tabDock.setSelectedDockable(tabDock.getDockable((selection / tabDocks.size()) % tabDock.getDockableCount()));
+			if (revalidateParents) {
+				SwingUtil.repaintParent(tabDock);
+			}
+
+			// Do the layout and paint work now.
+			repaintManager.validateInvalidComponents();
+			repaintManager.paintDirtyRegions();
+		}
+		long duration = System.nanoTime() - start;
+
+		return selectionCount * 1000000000.0 / duration;
+
+	}
+
+	public int getLayoutCount() {
+		return layoutCount;
+	}
+
+	// Private methods.
+
+	private SplitDock createSplitDock(int depth, int tabCount) {
+
+		SplitDock splitDock = new SplitDock();
+
+		// The first child is a tab dock.
+		TabDock tabDock = new TabDock();
+		for (int index = 0; index < tabCount; index++) {
+			String id = "Window" + depth + "." + index;
+			JLabel content = new JLabel("I am window " + depth + "." + index + ".");
+			tabDock.addDockable(new DefaultDockable(id, content, "Window " + depth + "." + index), new Position(index));
+		}
+		tabDocks.add(tabDock);
+		int first = depth % 2 == 0 ? Position.LEFT : Position.TOP;
+		int second = depth % 2 == 0 ? Position.RIGHT : Position.BOTTOM;
+		splitDock.addChildDock(tabDock, new Position(first));
+
+		// The second child is the next split dock.
+		if (depth > 1) {
+			splitDock.addChildDock(createSplitDock(depth - 1, tabCount), new Position(second));
+		}
+
+		return splitDock;
+
+	}
+
+	// Main method.
+
+	public static void main(final String[] args) throws Exception {
+
+		final int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+		final int tabCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TAB_COUNT;
+		final int selectionCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SELECTION_COUNT;
+
+		// Create the frame.
+		final JFrame frame = new JFrame("Tab selection benchmark");
+		final TabSelectionBenchmark[] benchmark = new TabSelectionBenchmark[1];
+		SwingUtilities.invokeAndWait(() -> {
+			benchmark[0] = new TabSelectionBenchmark(frame, depth, tabCount);
+			frame.getContentPane().add(benchmark[0]);
+			frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+			frame.setSize(FRAME_WIDTH, FRAME_HEIGHT);
+			frame.setVisible(true);
+		});
+
+		// Warm up and measure.
+		SwingUtilities.invokeAndWait(() -> {
+			benchmark[0].selectTabs(selectionCount, false);
+			benchmark[0].selectTabs(selectionCount, true);
+
+			double selectionOnly = benchmark[0].selectTabs(selectionCount, false);
+			int selectionOnlyLayouts = benchmark[0].getLayoutCount();
+			double revalidateParents = benchmark[0].selectTabs(selectionCount, true);
+			int revalidateParentsLayouts = benchmark[0].getLayoutCount();
+
+			System.out.println("Depth " + depth + ", " + tabCount + " tabs per tab dock, " + selectionCount + " selections.");
+			System.out.println(String.format("Selection only:          %10.0f selections/s, %6d root layouts", selectionOnly, selectionOnlyLayouts));
+			System.out.println(String.format("With parent revalidation: %10.0f selections/s, %6d root layouts", revalidateParents, revalidateParentsLayouts));
+			frame.dispose();
+		});
+
+	}
+
+}
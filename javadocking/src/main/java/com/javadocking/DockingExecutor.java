@@ -1,6 +1,7 @@
 package com.javadocking;
 
 import com.javadocking.dock.*;
+import com.javadocking.dock.layout.PlacementPlan;
 import com.javadocking.dockable.CompositeDockable;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockableState;
@@ -13,10 +14,10 @@ import com.javadocking.util.DockingUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * <p>
@@ -42,6 +43,15 @@ import java.util.List;
  */
 public class DockingExecutor {
 
+	// Fields.
+
+	/**
+	 * The number of times that this executor started to change the docking.
+	 */
+	private int layoutChangeCount;
+
+	// Public methods.
+
 	/**
 	 * <p>
 	 * Changes the docking of the dockable to the given location in the given destination dock.
@@ -109,9 +119,14 @@ public class DockingExecutor {
 
 		// Do we have to move the dockable in its current dock?
 		if ((originDock != null) && (originDock.equals(destinationDock))) {
-			// Move the dockable.
+			// Move the dockable. The layout only changes, when the dockable was really moved.
 			result = originDock.moveDockable(dockable, relativeLocation);
+			if (result) {
+				layoutChangeCount++;
+			}
 		} else {
+			layoutChangeCount++;
+
 			// Remove the dockable.
 			removalSuccessFull = removeDockable(dockable);
 			result = removalSuccessFull;
@@ -125,8 +140,7 @@ public class DockingExecutor {
 					// Adapt the size of a float child that received a dockable.
 					Dock floatChildDock = DockingUtil.getFloatChildDock(dockable.getDock());
 					if (floatChildDock != null) {
-						Window window = SwingUtilities.getWindowAncestor((Component) floatChildDock);
-						window.pack();
+						((FloatDock) floatChildDock.getParentDock()).packChildDockContainer(floatChildDock);
 					}
 
 				}
@@ -217,8 +231,7 @@ public class DockingExecutor {
 				// Adapt the size of a float child that received a dockable.
 				Dock floatChildDock = DockingUtil.getFloatChildDock(dockable.getDock());
 				if (floatChildDock != null) {
-					Window window = SwingUtilities.getWindowAncestor((Component) floatChildDock);
-					window.pack();
+					((FloatDock) floatChildDock.getParentDock()).packChildDockContainer(floatChildDock);
 				}
 
 			}
@@ -319,6 +332,33 @@ public class DockingExecutor {
 
 	}
 
+	/**
+	 * <p>
+	 * Docks many dockables in the given root dock or in one of its deeper children, like
+	 * {@link #changeDocking(Dockable, Dock)} does for every dockable.
+	 * </p>
+	 * <p>
+	 * The places for the dockables are searched by the given executor on a snapshot of the tree of docks.
+	 * Afterwards the dockables are docked on the event dispatch thread in one batch.
+	 * When the tree of docks was changed in the meantime, the places are searched again before docking.
+	 * See {@link PlacementPlan}. This method should be called on the event dispatch thread.
+	 * </p>
+	 *
+	 * @param dockables The dockables that will be docked, in the order that they will be docked.
+	 * @param rootDock  The root of the docks where the dockables will be docked.
+	 * @param executor  The executor that searches the places, e.g. a background thread.
+	 * @return The plan that will be applied. When the search of the places failed, the exception is given by
+	 * {@link PlacementPlan#getPlanningException()} and the dockables are docked without plan.
+	 */
+	@NotNull
+	public PlacementPlan changeDocking(@NotNull Dockable[] dockables, @NotNull Dock rootDock, @NotNull Executor executor) {
+
+		PlacementPlan placementPlan = new PlacementPlan(rootDock, dockables);
+		placementPlan.execute(executor);
+		return placementPlan;
+
+	}
+
 	/**
 	 * <p>
 	 * Changes the docking of the dockable as good as possible with the information in the given docking path.
@@ -480,6 +520,8 @@ public class DockingExecutor {
 	@Nullable
 	public CompositeDock cleanDock(@NotNull Dock dock, boolean ghost) {
 
+		layoutChangeCount++;
+
 		CompositeDock dockWithGhosts = null;
 		if ((dock.isEmpty()) && (dock.getParentDock() != null)) {
 			if (ghost) {
@@ -510,8 +552,7 @@ public class DockingExecutor {
 			FloatDock floatDock = (FloatDock) floatChildDock.getParentDock();
 			for (int index = 0; index < floatDock.getChildDockCount(); index++) {
 				if (floatDock.getChildDock(index).equals(floatChildDock)) {
-					Window window = SwingUtilities.getWindowAncestor((Component) floatChildDock);
-					window.pack();
+					floatDock.packChildDockContainer(floatChildDock);
 					break;
 				}
 			}
@@ -521,6 +562,17 @@ public class DockingExecutor {
 		return dockWithGhosts;
 	}
 
+	/**
+	 * Gets the number of times that this executor started to change the docking.
+	 * When this number is not changed, this executor didn't change the docking. This is used
+	 * by the {@link com.javadocking.drag.DragSession}s to know if they are still up to date.
+	 *
+	 * @return The number of times that this executor started to change the docking.
+	 */
+	public int getLayoutChangeCount() {
+		return layoutChangeCount;
+	}
+
 	// Private metods.
 
 	/**
@@ -606,6 +658,8 @@ public class DockingExecutor {
 	 */
 	private boolean removeDockable(Dockable dockable) {
 
+		layoutChangeCount++;
+
 		// Get the dock of the dockable.
 		LeafDock originDock = dockable.getDock();
 		if (originDock != null) {
@@ -1,7 +1,10 @@
 package com.javadocking;
 
 import com.javadocking.component.DefaultSwComponentFactory;
+import com.javadocking.component.DockableThumbnailCache;
+import com.javadocking.component.FloatWindowPool;
 import com.javadocking.component.SwComponentFactory;
+import com.javadocking.dockable.DockablePropertyUpdater;
 import com.javadocking.drag.DefaultDragListenerFactory;
 import com.javadocking.drag.DragListenerFactory;
 import com.javadocking.drag.DraggerFactory;
@@ -85,6 +88,23 @@ public class DockingManager {
 	 * The default is java.awt.dnd.DragSource.DefaultMoveNoDrop.
 	 */
 	private static Cursor canNotDockCursor = DragSource.DefaultMoveNoDrop;
+	/**
+	 * True when the static draggers show a cursor with a hint icon for the side of the dock where the dockable
+	 * will be docked. The default is false.
+	 */
+	private static boolean dockingHintCursors = false;
+	/**
+	 * The cache for the images of the dockables that is used by the image headers and image drag painters.
+	 */
+	private static DockableThumbnailCache thumbnailCache = new DockableThumbnailCache();
+	/**
+	 * The pool with the windows that are reused by the float docks and float externalizers.
+	 */
+	private static FloatWindowPool floatWindowPool = new FloatWindowPool();
+	/**
+	 * The updater that sets the titles, icons and descriptions of dockables, coalesced on the event dispatch thread.
+	 */
+	private static DockablePropertyUpdater dockablePropertyUpdater = new DockablePropertyUpdater();
 
 	static {
 		CompositeDockableDragPainter dockableDragPainter = new CompositeDockableDragPainter();
@@ -242,6 +262,8 @@ public class DockingManager {
 	/**
 	 * Gets the docking path model of the application.
 	 * The default is a {@link DefaultDockingPathModel}.
+	 * Applications that create many dockables that are closed later can use
+	 * a {@link com.javadocking.model.BoundedDockingPathModel}.
 	 *
 	 * @return The docking path model of the application.
 	 */
@@ -278,6 +300,8 @@ public class DockingManager {
 	/**
 	 * Sets the cursor that is used for dragging a dockable,
 	 * when the dockable can be docked in an underlying dock.
+	 * A custom cursor with a hint icon can be created once with
+	 * {@link com.javadocking.util.SwingUtil#createHintCursor(Image, Point, javax.swing.Icon, String)}.
 	 *
 	 * @param newCanDockCursor The cursor that is used for dragging a dockable,
 	 *                         when the dockable can be docked in an underlying dock.
@@ -309,4 +333,99 @@ public class DockingManager {
 		canNotDockCursor = newCanNotDockCursor;
 	}
 
+	/**
+	 * Determines if the static draggers show a cursor with a hint icon for the side of the dock
+	 * where the dockable will be docked: left, right, top, bottom or center.
+	 * The default is false.
+	 *
+	 * @return True if the draggers show the hint cursors, false if they show the can dock cursor.
+	 */
+	public static boolean isDockingHintCursors() {
+		return dockingHintCursors;
+	}
+
+	/**
+	 * Sets if the static draggers show a cursor with a hint icon for the side of the dock
+	 * where the dockable will be docked. The hint cursors are created once, when they are used the first time.
+	 * When the platform doesn't support custom cursors, the can dock cursor is shown.
+	 *
+	 * @param newDockingHintCursors True if the draggers should show the hint cursors, false if they should show
+	 *                              the can dock cursor.
+	 */
+	public static void setDockingHintCursors(boolean newDockingHintCursors) {
+		dockingHintCursors = newDockingHintCursors;
+	}
+
+	/**
+	 * Gets the cache for the images of the dockables.
+	 * It is used by {@link com.javadocking.component.ImageMinimzeHeader}
+	 * and {@link com.javadocking.drag.painter.ImageDockableDragPainter}.
+	 *
+	 * @return The cache for the images of the dockables.
+	 */
+	public static DockableThumbnailCache getThumbnailCache() {
+		return thumbnailCache;
+	}
+
+	/**
+	 * Sets the cache for the images of the dockables.
+	 *
+	 * @param newThumbnailCache The cache for the images of the dockables.
+	 * @throws NullPointerException    If the cache is null.
+	 */
+	public static void setThumbnailCache(@Nullable DockableThumbnailCache newThumbnailCache) {
+		if (newThumbnailCache == null) {
+			throw new NullPointerException("Thumbnail cache null");
+		}
+		thumbnailCache = newThumbnailCache;
+	}
+
+	/**
+	 * Gets the pool with the windows that are reused by the {@link com.javadocking.dock.FloatDock}s
+	 * and {@link com.javadocking.visualizer.FloatExternalizer}s.
+	 *
+	 * @return The pool with the floating windows.
+	 */
+	public static FloatWindowPool getFloatWindowPool() {
+		return floatWindowPool;
+	}
+
+	/**
+	 * Sets the pool with the windows that are reused by the float docks and float externalizers.
+	 * The free windows of the old pool are not disposed by this method.
+	 *
+	 * @param newFloatWindowPool The pool with the floating windows.
+	 * @throws NullPointerException    If the pool is null.
+	 */
+	public static void setFloatWindowPool(@Nullable FloatWindowPool newFloatWindowPool) {
+		if (newFloatWindowPool == null) {
+			throw new NullPointerException("Float window pool null");
+		}
+		floatWindowPool = newFloatWindowPool;
+	}
+
+	/**
+	 * Gets the updater that sets the titles, icons and descriptions of dockables from any thread.
+	 * The changes are coalesced and set on the event dispatch thread.
+	 *
+	 * @return The updater for the properties of dockables.
+	 */
+	public static DockablePropertyUpdater getDockablePropertyUpdater() {
+		return dockablePropertyUpdater;
+	}
+
+	/**
+	 * Sets the updater that sets the titles, icons and descriptions of dockables from any thread.
+	 * The changes that are not set yet by the old updater are not flushed by this method.
+	 *
+	 * @param newDockablePropertyUpdater The updater for the properties of dockables.
+	 * @throws NullPointerException    If the updater is null.
+	 */
+	public static void setDockablePropertyUpdater(@Nullable DockablePropertyUpdater newDockablePropertyUpdater) {
+		if (newDockablePropertyUpdater == null) {
+			throw new NullPointerException("Dockable property updater null");
+		}
+		dockablePropertyUpdater = newDockablePropertyUpdater;
+	}
+
 }
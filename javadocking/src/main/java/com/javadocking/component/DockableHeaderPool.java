@@ -0,0 +1,148 @@
+package com.javadocking.component;
+
+import com.javadocking.dockable.Dockable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A pool of {@link PaintedDockableHeader}s.
+ * </p>
+ * <p>
+ * When a dockable is moved to another dock, the old dock disposes the header of the dockable and the new dock
+ * creates a new header. When the headers are obtained from this pool, a disposed header is given back to the pool
+ * and the new dock gets the same header instance again. No new header has to be created.
+ * </p>
+ * <p>
+ * The pool keeps not more headers than its maximum size.
+ * </p>
+ */
+public class DockableHeaderPool {
+
+	// Static fields.
+
+	/**
+	 * The default maximum number of headers that are kept in the pool.
+	 */
+	private static final int DEFAULT_MAXIMUM_SIZE = 32;
+
+	// Fields.
+
+	/**
+	 * The headers that can be reused.
+	 */
+	@NotNull
+	private List freeHeaders = new ArrayList();
+	/**
+	 * The maximum number of headers that are kept in the pool.
+	 */
+	private int maximumSize;
+
+	// Constructors.
+
+	/**
+	 * Constructs a pool that keeps at most 32 headers.
+	 */
+	public DockableHeaderPool() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Constructs a pool.
+	 *
+	 * @param maximumSize The maximum number of headers that are kept in the pool.
+	 */
+	public DockableHeaderPool(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	// Public methods.
+
+	/**
+	 * Gets a header for the dockable. A header of the pool is reused, when there is one.
+	 * The header is given back to this pool, when it is disposed.
+	 *
+	 * @param    dockable        The dockable of the header.
+	 * @param    position        The position of the header.
+	 * @return A header for the dockable.
+	 */
+	@NotNull
+	public PaintedDockableHeader obtain(@NotNull Dockable dockable, int position) {
+
+		PaintedDockableHeader header;
+		if (freeHeaders.isEmpty()) {
+			header = createHeader(dockable, position);
+		} else {
+			header = (PaintedDockableHeader) freeHeaders.remove(freeHeaders.size() - 1);
+			header.setPosition(position);
+			header.setDockable(dockable);
+		}
+		header.setPool(this);
+		return header;
+
+	}
+
+	/**
+	 * Gives a header back to this pool. This is done by the header itself, when it is disposed.
+	 *
+	 * @param header The header that is not used anymore.
+	 */
+	public void release(@NotNull PaintedDockableHeader header) {
+
+		if ((freeHeaders.size() < maximumSize) && (!freeHeaders.contains(header))) {
+			freeHeaders.add(header);
+		}
+
+	}
+
+	/**
+	 * Gets the number of headers that can be reused.
+	 *
+	 * @return The number of headers that can be reused.
+	 */
+	public int getFreeHeaderCount() {
+		return freeHeaders.size();
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the maximum number of headers that are kept in the pool.
+	 *
+	 * @return The maximum number of headers that are kept in the pool.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Sets the maximum number of headers that are kept in the pool.
+	 *
+	 * @param maximumSize The maximum number of headers that are kept in the pool.
+	 */
+	public void setMaximumSize(int maximumSize) {
+
+		this.maximumSize = maximumSize;
+		while (freeHeaders.size() > maximumSize) {
+			freeHeaders.remove(freeHeaders.size() - 1);
+		}
+
+	}
+
+	// Protected methods.
+
+	/**
+	 * Creates a new header, when there is no header in the pool.
+	 *
+	 * @param    dockable        The dockable of the header.
+	 * @param    position        The position of the header.
+	 * @return A new header for the dockable.
+	 */
+	@NotNull
+	protected PaintedDockableHeader createHeader(@NotNull Dockable dockable, int position) {
+		return new PaintedDockableHeader(dockable, position);
+	}
+
+}
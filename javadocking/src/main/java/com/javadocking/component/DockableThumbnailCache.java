@@ -0,0 +1,589 @@
+package com.javadocking.component;
+
+import com.javadocking.dockable.Dockable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>
+ * A cache for the small images of the content components of dockables.
+ * The images are used by {@link ImageMinimzeHeader} and {@link com.javadocking.drag.painter.ImageDockableDragPainter}.
+ * The default cache of the application is given by {@link com.javadocking.DockingManager#getThumbnailCache()}.
+ * </p>
+ * <p>
+ * The images are kept for every dockable and image size. They are compatible images for the screen and
+ * the content is painted directly with the size of the image.
+ * </p>
+ * <p>
+ * With {@link #getThumbnail(Dockable, Dimension, ImageObserver)} an image is retrieved without rendering it.
+ * When there is no image yet, or when the image is outdated, the image is rendered later.
+ * A few images are rendered every time the event dispatch thread is not busy.
+ * When the image is ready, the observer is notified.
+ * </p>
+ * <p>
+ * An image is outdated:
+ * <ul>
+ * <li>when {@link #invalidate(Dockable)} was called for its dockable.</li>
+ * <li>when it is older than the maximum age, if the maximum age is larger than 0.</li>
+ * </ul>
+ * <p>
+ * The images together use not more memory than the memory budget, and there are not more entries
+ * than the maximum entry count. When one of these limits is exceeded, the entries that were not used for the longest time
+ * are removed, also the entries that have no image yet.
+ * </p>
+ * <p>
+ * The dockables are only weakly referenced. The entries of a dockable that is not used anymore by the application
+ * are removed automatically.
+ * </p>
+ * <p>
+ * This cache should only be used on the event dispatch thread.
+ * </p>
+ */
+public class DockableThumbnailCache {
+
+	// Static fields.
+
+	/**
+	 * The default memory budget is 16 MB.
+	 */
+	private static final long DEFAULT_MEMORY_BUDGET = 16 * 1024 * 1024;
+	/**
+	 * The default maximum number of entries.
+	 */
+	private static final int DEFAULT_MAX_ENTRY_COUNT = 256;
+	/**
+	 * The time in milliseconds that can be spent for rendering images, before other events are handled.
+	 */
+	private static final int RENDER_TIME_SLICE = 10;
+
+	// Fields.
+
+	/**
+	 * The mapping between the keys and the thumbnails. The thumbnails that were used last, are at the end.
+	 */
+	@NotNull
+	private LinkedHashMap thumbnails = new LinkedHashMap(16, 0.75f, true);
+	/**
+	 * The keys of the thumbnails that have to be rendered.
+	 */
+	@NotNull
+	private LinkedHashSet renderQueue = new LinkedHashSet();
+	/**
+	 * The number of bytes that are used by the images.
+	 */
+	private long memoryUsage;
+	/**
+	 * The maximum number of bytes that may be used by the images.
+	 */
+	private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+	/**
+	 * The maximum number of entries, with or without image.
+	 */
+	private int maxEntryCount = DEFAULT_MAX_ENTRY_COUNT;
+	/**
+	 * The queue with the keys whose dockable is not used anymore by the application.
+	 */
+	@NotNull
+	private ReferenceQueue staleKeys = new ReferenceQueue();
+	/**
+	 * The time in milliseconds after which an image is outdated. When 0 or smaller, the images don't get outdated.
+	 */
+	private int maxAge = 0;
+	/**
+	 * The timer that renders the images in the render queue.
+	 */
+	@Nullable
+	private Timer renderTimer;
+
+	// Public methods.
+
+	/**
+	 * <p>
+	 * Gets the image of the content of the dockable with the given size.
+	 * </p>
+	 * <p>
+	 * This method does not render the image. When there is no image yet, or when the image is outdated,
+	 * the image is rendered later. When the image is ready, the observer is notified
+	 * with the info flag <code>ImageObserver.ALLBITS</code>.
+	 * </p>
+	 *
+	 * @param dockable The dockable.
+	 * @param size     The size of the image.
+	 * @param observer The observer that is notified, when the image is rendered. Can be null.
+	 * @return The last image of the content of the dockable with the given size. Can be outdated.
+	 * Null if there is no image yet.
+	 */
+	@Nullable
+	public Image getThumbnail(@NotNull Dockable dockable, @NotNull Dimension size, @Nullable ImageObserver observer) {
+
+		removeStaleEntries();
+		ThumbnailKey key = new ThumbnailKey(dockable, size.width, size.height, staleKeys);
+		Thumbnail thumbnail = (Thumbnail) thumbnails.get(key);
+		if (thumbnail == null) {
+			thumbnail = new Thumbnail();
+			thumbnails.put(key, thumbnail);
+			evict(key);
+		}
+		if (observer != null) {
+			thumbnail.observers.put(observer, Boolean.TRUE);
+		}
+
+		// Render the image later, when there is no image or when it is outdated.
+		if ((thumbnail.image == null) || isOutdated(thumbnail)) {
+			renderQueue.add(key);
+			startRenderTimer();
+		}
+
+		return thumbnail.image;
+
+	}
+
+	/**
+	 * <p>
+	 * Renders the image of the content of the dockable with the given size now.
+	 * </p>
+	 * <p>
+	 * When there is already an image with this size, it is reused.
+	 * </p>
+	 *
+	 * @param dockable The dockable.
+	 * @param size     The size of the image.
+	 * @return The image of the content of the dockable with the given size.
+	 * Null if the image could not be rendered, e.g. because the dockable has no content.
+	 */
+	@Nullable
+	public Image renderThumbnail(@NotNull Dockable dockable, @NotNull Dimension size) {
+
+		removeStaleEntries();
+		ThumbnailKey key = new ThumbnailKey(dockable, size.width, size.height, staleKeys);
+		renderQueue.remove(key);
+		Thumbnail thumbnail = (Thumbnail) thumbnails.get(key);
+		if (thumbnail == null) {
+			thumbnail = new Thumbnail();
+			thumbnails.put(key, thumbnail);
+			evict(key);
+		}
+		render(key, thumbnail);
+		return thumbnail.image;
+
+	}
+
+	/**
+	 * Marks the images of the dockable as outdated. The images that have observers are rendered again later.
+	 * This method should be called, when the content of the dockable has changed.
+	 *
+	 * @param dockable The dockable.
+	 */
+	public void invalidate(@NotNull Dockable dockable) {
+
+		removeStaleEntries();
+		Iterator iterator = thumbnails.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			ThumbnailKey key = (ThumbnailKey) entry.getKey();
+			if (dockable.equals(key.get())) {
+				Thumbnail thumbnail = (Thumbnail) entry.getValue();
+				thumbnail.dirty = true;
+				if (!thumbnail.observers.isEmpty()) {
+					renderQueue.add(key);
+				}
+			}
+		}
+		if (!renderQueue.isEmpty()) {
+			startRenderTimer();
+		}
+
+	}
+
+	/**
+	 * Removes the images of the dockable from this cache.
+	 *
+	 * @param dockable The dockable.
+	 */
+	public void remove(@NotNull Dockable dockable) {
+
+		Iterator iterator = thumbnails.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			ThumbnailKey key = (ThumbnailKey) entry.getKey();
+			if (dockable.equals(key.get())) {
+				flush((Thumbnail) entry.getValue());
+				renderQueue.remove(key);
+				iterator.remove();
+			}
+		}
+
+	}
+
+	/**
+	 * Removes all the images from this cache.
+	 */
+	public void clear() {
+
+		Iterator iterator = thumbnails.values().iterator();
+		while (iterator.hasNext()) {
+			flush((Thumbnail) iterator.next());
+		}
+		thumbnails.clear();
+		renderQueue.clear();
+		stopRenderTimer();
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the number of bytes that are used by the images of this cache.
+	 *
+	 * @return The number of bytes that are used by the images of this cache.
+	 */
+	public long getMemoryUsage() {
+		return memoryUsage;
+	}
+
+	/**
+	 * Gets the maximum number of bytes that may be used by the images of this cache.
+	 * The default is 16 MB.
+	 *
+	 * @return The maximum number of bytes that may be used by the images of this cache.
+	 */
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Sets the maximum number of bytes that may be used by the images of this cache.
+	 * The images that were not used for the longest time are removed, when the budget is exceeded.
+	 *
+	 * @param memoryBudget The maximum number of bytes that may be used by the images of this cache.
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+		evict(null);
+	}
+
+	/**
+	 * Gets the maximum number of entries of this cache. Also the entries without image are counted.
+	 * The default is 256.
+	 *
+	 * @return The maximum number of entries of this cache.
+	 */
+	public int getMaxEntryCount() {
+		return maxEntryCount;
+	}
+
+	/**
+	 * Sets the maximum number of entries of this cache. Also the entries without image are counted.
+	 * The entries that were not used for the longest time are removed, when there are too many entries.
+	 *
+	 * @param maxEntryCount The maximum number of entries of this cache.
+	 */
+	public void setMaxEntryCount(int maxEntryCount) {
+		this.maxEntryCount = maxEntryCount;
+		evict(null);
+	}
+
+	/**
+	 * Gets the time in milliseconds after which an image is outdated.
+	 * The default is 0.
+	 *
+	 * @return The time in milliseconds after which an image is outdated.
+	 * When 0 or smaller, the images are only outdated when {@link #invalidate(Dockable)} is called.
+	 */
+	public int getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which an image is outdated.
+	 * An outdated image is rendered again, when it is retrieved with {@link #getThumbnail(Dockable, Dimension, ImageObserver)}.
+	 *
+	 * @param maxAge The time in milliseconds after which an image is outdated.
+	 *               When 0 or smaller, the images are only outdated when {@link #invalidate(Dockable)} is called.
+	 */
+	public void setMaxAge(int maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	// Private methods.
+
+	private boolean isOutdated(@NotNull Thumbnail thumbnail) {
+		return thumbnail.dirty || ((maxAge > 0) && (System.currentTimeMillis() - thumbnail.renderTime > maxAge));
+	}
+
+	/**
+	 * Renders the image of the thumbnail and notifies the observers.
+	 */
+	private void render(@NotNull ThumbnailKey key, @NotNull Thumbnail thumbnail) {
+
+		if ((key.width <= 0) || (key.height <= 0)) {
+			return;
+		}
+
+		// Get the content and its size.
+		Dockable dockable = (Dockable) key.get();
+		if (dockable == null) {
+			return;
+		}
+		Component content = dockable.getContent();
+		if (content == null) {
+			return;
+		}
+		Dimension contentSize = content.getSize();
+		if ((contentSize.width <= 0) || (contentSize.height <= 0)) {
+			// The content is not visible. Give it its preferred size and lay it out without creating a window.
+			contentSize = content.getPreferredSize();
+			if ((contentSize.width <= 0) || (contentSize.height <= 0)) {
+				return;
+			}
+			content.setSize(contentSize);
+			layout(content);
+		}
+
+		// Create the image or reuse the old one.
+		BufferedImage image = thumbnail.image;
+		if (image == null) {
+			image = createCompatibleImage(key.width, key.height);
+			thumbnail.image = image;
+			memoryUsage += getByteCount(image);
+		}
+
+		// Paint the content directly with the size of the image.
+		Graphics2D graphics = image.createGraphics();
+		try {
+			graphics.setComposite(AlphaComposite.Clear);
+			graphics.fillRect(0, 0, key.width, key.height);
+			graphics.setComposite(AlphaComposite.SrcOver);
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+			graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			graphics.scale(key.width / (double) contentSize.width, key.height / (double) contentSize.height);
+			content.paint(graphics);
+		} catch (Exception exception) {
+			System.out.println("Exception occured while rendering the image of a dockable.");
+			exception.printStackTrace();
+		} finally {
+			graphics.dispose();
+		}
+		thumbnail.dirty = false;
+		thumbnail.renderTime = System.currentTimeMillis();
+
+		// Remove the oldest images, when the memory budget is exceeded.
+		evict(key);
+
+		// Notify the observers.
+		List observers = new ArrayList(thumbnail.observers.keySet());
+		for (int index = 0; index < observers.size(); index++) {
+			((ImageObserver) observers.get(index)).imageUpdate(image, ImageObserver.ALLBITS, 0, 0, key.width, key.height);
+		}
+
+	}
+
+	/**
+	 * Removes the entries that were not used for the longest time, until the memory budget and
+	 * the maximum entry count are not exceeded anymore.
+	 *
+	 * @param keep The key of the thumbnail that may not be removed. Can be null.
+	 */
+	private void evict(@Nullable ThumbnailKey keep) {
+
+		Iterator iterator = thumbnails.entrySet().iterator();
+		while (((memoryUsage > memoryBudget) || (thumbnails.size() > maxEntryCount)) && iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			if (!entry.getKey().equals(keep)) {
+				flush((Thumbnail) entry.getValue());
+				renderQueue.remove(entry.getKey());
+				iterator.remove();
+			}
+		}
+
+	}
+
+	/**
+	 * Removes the entries whose dockable is not used anymore by the application.
+	 */
+	private void removeStaleEntries() {
+
+		ThumbnailKey key = (ThumbnailKey) staleKeys.poll();
+		while (key != null) {
+			// The key is only equal to itself now.
+			Thumbnail thumbnail = (Thumbnail) thumbnails.remove(key);
+			if (thumbnail != null) {
+				flush(thumbnail);
+			}
+			renderQueue.remove(key);
+			key = (ThumbnailKey) staleKeys.poll();
+		}
+
+	}
+
+	private void flush(@NotNull Thumbnail thumbnail) {
+
+		if (thumbnail.image != null) {
+			memoryUsage -= getByteCount(thumbnail.image);
+			thumbnail.image.flush();
+			thumbnail.image = null;
+		}
+
+	}
+
+	private long getByteCount(@NotNull BufferedImage image) {
+		return (long) image.getWidth() * image.getHeight() * 4;
+	}
+
+	@NotNull
+	private BufferedImage createCompatibleImage(int width, int height) {
+
+		if (!GraphicsEnvironment.isHeadless()) {
+			GraphicsConfiguration graphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+			return graphicsConfiguration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		}
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+	}
+
+	/**
+	 * Lays out the component and its children. This also works when the component is not displayable.
+	 */
+	private void layout(@NotNull Component component) {
+
+		if (component instanceof Container) {
+			Container container = (Container) component;
+			container.doLayout();
+			for (int index = 0; index < container.getComponentCount(); index++) {
+				layout(container.getComponent(index));
+			}
+		}
+
+	}
+
+	private void startRenderTimer() {
+
+		if (renderTimer == null) {
+			renderTimer = new Timer(1, new RenderTimerListener());
+			renderTimer.setRepeats(true);
+			renderTimer.start();
+		}
+
+	}
+
+	private void stopRenderTimer() {
+
+		if (renderTimer != null) {
+			renderTimer.stop();
+			renderTimer = null;
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * The key of a thumbnail: the dockable and the size of the image.
+	 * The dockable is weakly referenced.
+	 */
+	private static class ThumbnailKey extends WeakReference {
+
+		// Fields.
+
+		private int width;
+		private int height;
+		private int hashCode;
+
+		// Constructors.
+
+		private ThumbnailKey(@NotNull Dockable dockable, int width, int height, @NotNull ReferenceQueue queue) {
+			super(dockable, queue);
+			this.width = width;
+			this.height = height;
+			this.hashCode = (dockable.hashCode() * 31 + width) * 31 + height;
+		}
+
+		// Overwritten methods.
+
+		public boolean equals(Object object) {
+
+			if (object == this) {
+				return true;
+			}
+			if (!(object instanceof ThumbnailKey)) {
+				return false;
+			}
+			ThumbnailKey other = (ThumbnailKey) object;
+			Object dockable = get();
+			return (width == other.width) && (height == other.height) && (dockable != null) && dockable.equals(other.get());
+
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+
+	}
+
+	/**
+	 * The image of a dockable with its state.
+	 */
+	private static class Thumbnail {
+
+		// Fields.
+
+		@Nullable
+		private BufferedImage image;
+		private long renderTime;
+		private boolean dirty;
+		/**
+		 * The observers that are notified when the image is rendered. They are weakly referenced.
+		 */
+		@NotNull
+		private Map observers = new WeakHashMap();
+
+	}
+
+	/**
+	 * Renders the images in the render queue for a short time.
+	 */
+	private class RenderTimerListener implements ActionListener {
+
+		// Implementations of ActionListener.
+
+		public void actionPerformed(ActionEvent actionEvent) {
+
+			long start = System.currentTimeMillis();
+			Iterator iterator = renderQueue.iterator();
+			while (iterator.hasNext() && (System.currentTimeMillis() - start < RENDER_TIME_SLICE)) {
+				ThumbnailKey key = (ThumbnailKey) iterator.next();
+				iterator.remove();
+				Thumbnail thumbnail = (Thumbnail) thumbnails.get(key);
+				if (thumbnail != null) {
+					render(key, thumbnail);
+					iterator = renderQueue.iterator();
+				}
+			}
+
+			if (renderQueue.isEmpty()) {
+				stopRenderTimer();
+			}
+
+		}
+
+	}
+
+}
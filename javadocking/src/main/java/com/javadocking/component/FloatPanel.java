@@ -0,0 +1,51 @@
+package com.javadocking.component;
+
+import com.javadocking.DockingManager;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * <p>
+ * A lightweight panel for a floating dock. It is used by a {@link com.javadocking.dock.FloatDock}
+ * in the lightweight mode instead of a floating window. The panel is put in the javax.swing.JLayeredPane
+ * of the owner window of the float dock.
+ * </p>
+ * <p>
+ * The panel has the border created by {@link SwComponentFactory#createFloatingBorder()} of the component factory
+ * of the {@link DockingManager}. The dock has to be added in the center of this panel.
+ * The panel can be resized by dragging its border.
+ * </p>
+ */
+public class FloatPanel extends JPanel {
+
+	// Constructors.
+
+	/**
+	 * Constructs a lightweight panel for a floating dock.
+	 */
+	public FloatPanel() {
+
+		super(new BorderLayout());
+		setBorder(DockingManager.getComponentFactory().createFloatingBorder());
+
+		// Resize the panel when its border is dragged.
+		WindowResizer resizer = new WindowResizer(this);
+		addMouseListener(resizer);
+		addMouseMotionListener(resizer);
+
+	}
+
+	// Public methods.
+
+	/**
+	 * Gives the panel its preferred size.
+	 */
+	public void pack() {
+
+		setSize(getPreferredSize());
+		validate();
+
+	}
+
+}
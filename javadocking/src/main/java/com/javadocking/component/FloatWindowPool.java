@@ -0,0 +1,357 @@
+package com.javadocking.component;
+
+import com.javadocking.DockingManager;
+import com.javadocking.util.SwingUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowFocusListener;
+import java.awt.event.WindowListener;
+import java.util.*;
+import java.util.List;
+
+/**
+ * <p>
+ * A pool of floating windows for the {@link com.javadocking.dock.FloatDock}s and the
+ * {@link com.javadocking.visualizer.FloatExternalizer}s.
+ * </p>
+ * <p>
+ * Creating the native peer of a window is the slowest step of floating a dock. When a floating window is closed,
+ * it is given back to this pool. It is hidden, its content is removed and the window listeners that were added
+ * after its creation are removed. The window is not disposed, so its native peer is kept.
+ * The next floating window for the same owner reuses it.
+ * </p>
+ * <p>
+ * The pool can be warmed up: when the owner is displayed, some windows are created together with their native peers,
+ * so that even the first float doesn't have to create a peer.
+ * </p>
+ * <p>
+ * The windows are created with the method {@link SwComponentFactory#createWindow(Window)} of the component factory
+ * of the {@link DockingManager}. Their content pane is a panel with the border created by
+ * {@link SwComponentFactory#createFloatingBorder()}. The dock has to be added in the center of this content pane.
+ * </p>
+ * <p>
+ * Windows without owner are not kept in the pool, because they would keep the application alive.
+ * When an owner is closed, the windows of this owner have to be disposed with {@link #clear(Window)}.
+ * </p>
+ */
+public class FloatWindowPool {
+
+	// Static fields.
+
+	/**
+	 * The default maximum number of free windows that are kept for one owner.
+	 */
+	private static final int DEFAULT_MAXIMUM_SIZE = 4;
+	/**
+	 * The default number of windows that are created for one owner, when the pool is warmed up.
+	 */
+	private static final int DEFAULT_WARM_UP_COUNT = 1;
+
+	// Fields.
+
+	/**
+	 * The mapping between the owner windows and the lists with their free windows.
+	 */
+	@NotNull
+	private Map freeWindows = new IdentityHashMap();
+	/**
+	 * The mapping between the windows created by this pool and their {@link WindowRecord}s.
+	 */
+	@NotNull
+	private Map windowRecords = new IdentityHashMap();
+	/**
+	 * The maximum number of free windows that are kept for one owner.
+	 */
+	private int maximumSize;
+	/**
+	 * The number of windows that are created for one owner, when the pool is warmed up.
+	 */
+	private int warmUpCount;
+
+	// Constructors.
+
+	/**
+	 * Constructs a pool that keeps at most 4 windows for every owner, and creates 1 window when it is warmed up.
+	 */
+	public FloatWindowPool() {
+		this(DEFAULT_MAXIMUM_SIZE, DEFAULT_WARM_UP_COUNT);
+	}
+
+	/**
+	 * Constructs a pool.
+	 *
+	 * @param maximumSize The maximum number of free windows that are kept for one owner.
+	 * @param warmUpCount The number of windows that are created for one owner, when the pool is warmed up.
+	 */
+	public FloatWindowPool(int maximumSize, int warmUpCount) {
+		this.maximumSize = maximumSize;
+		this.warmUpCount = warmUpCount;
+	}
+
+	// Public methods.
+
+	/**
+	 * Gets a hidden floating window for the owner. A free window of the pool is reused, when there is one.
+	 * The content pane of the window is empty.
+	 *
+	 * @param owner The owner of the window. Can be null.
+	 * @return A hidden floating window.
+	 */
+	@NotNull
+	public Window obtain(@Nullable Window owner) {
+
+		List windows = (List) freeWindows.get(owner);
+		if ((windows != null) && (!windows.isEmpty())) {
+			return (Window) windows.remove(windows.size() - 1);
+		}
+		return createFloatWindow(owner);
+
+	}
+
+	/**
+	 * <p>
+	 * Gives a floating window back to this pool.
+	 * </p>
+	 * <p>
+	 * The window is hidden, its content is removed and the listeners that were added after its creation are removed.
+	 * The window is disposed, when it was not created by this pool, when it has no owner,
+	 * or when the pool has already enough windows for the owner.
+	 * </p>
+	 *
+	 * @param window The window that is not used anymore.
+	 */
+	public void release(@NotNull Window window) {
+
+		window.setVisible(false);
+
+		// Is the window already free?
+		WindowRecord windowRecord = (WindowRecord) windowRecords.get(window);
+		Window owner = windowRecord != null ? windowRecord.owner : null;
+		List windows = (List) freeWindows.get(owner);
+		if ((windows != null) && (windows.contains(window))) {
+			return;
+		}
+
+		// Dispose the windows that we don't keep.
+		if ((owner == null) || (!owner.isDisplayable()) || ((windows != null) && (windows.size() >= maximumSize))) {
+			windowRecords.remove(window);
+			window.dispose();
+			return;
+		}
+
+		// Remove the content and the listeners.
+		Container contentPane = SwingUtil.getContentPane(window);
+		if (contentPane != null) {
+			contentPane.removeAll();
+		}
+		resetListeners(window, windowRecord);
+
+		if (windows == null) {
+			windows = new ArrayList();
+			freeWindows.put(owner, windows);
+		}
+		windows.add(window);
+
+	}
+
+	/**
+	 * Creates free windows for the owner with their native peers, until the pool has the warm up count of windows
+	 * for this owner. Nothing is done, when the owner is null or when it is not displayable yet.
+	 *
+	 * @param owner The owner of the windows.
+	 */
+	public void warmUp(@Nullable Window owner) {
+
+		if ((owner == null) || (!owner.isDisplayable())) {
+			return;
+		}
+
+		List windows = (List) freeWindows.get(owner);
+		if (windows == null) {
+			windows = new ArrayList();
+			freeWindows.put(owner, windows);
+		}
+		while (windows.size() < Math.min(warmUpCount, maximumSize)) {
+			Window window = createFloatWindow(owner);
+			window.addNotify();
+			windows.add(window);
+		}
+
+	}
+
+	/**
+	 * Disposes the free windows of the owner and forgets the windows of the owner that are still in use.
+	 * This has to be done, when the owner is closed.
+	 *
+	 * @param owner The owner of the windows.
+	 */
+	public void clear(@Nullable Window owner) {
+
+		List windows = (List) freeWindows.remove(owner);
+		if (windows != null) {
+			for (Object window : windows) {
+				windowRecords.remove(window);
+				((Window) window).dispose();
+			}
+		}
+
+		// Forget the windows in use, so that they don't keep the owner.
+		Iterator iterator = windowRecords.values().iterator();
+		while (iterator.hasNext()) {
+			if (((WindowRecord) iterator.next()).owner == owner) {
+				iterator.remove();
+			}
+		}
+
+	}
+
+	/**
+	 * Gets the number of free windows of the owner.
+	 *
+	 * @param owner The owner of the windows.
+	 * @return The number of free windows of the owner.
+	 */
+	public int getFreeWindowCount(@Nullable Window owner) {
+
+		List windows = (List) freeWindows.get(owner);
+		return windows != null ? windows.size() : 0;
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the maximum number of free windows that are kept for one owner.
+	 *
+	 * @return The maximum number of free windows that are kept for one owner.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Sets the maximum number of free windows that are kept for one owner.
+	 * The free windows that are too much are disposed.
+	 *
+	 * @param maximumSize The maximum number of free windows that are kept for one owner.
+	 */
+	public void setMaximumSize(int maximumSize) {
+
+		this.maximumSize = maximumSize;
+		for (Object windows : freeWindows.values()) {
+			List windowList = (List) windows;
+			while (windowList.size() > Math.max(maximumSize, 0)) {
+				Window window = (Window) windowList.remove(windowList.size() - 1);
+				windowRecords.remove(window);
+				window.dispose();
+			}
+		}
+
+	}
+
+	/**
+	 * Gets the number of windows that are created for one owner, when the pool is warmed up.
+	 *
+	 * @return The number of windows that are created for one owner, when the pool is warmed up.
+	 */
+	public int getWarmUpCount() {
+		return warmUpCount;
+	}
+
+	/**
+	 * Sets the number of windows that are created for one owner, when the pool is warmed up.
+	 *
+	 * @param warmUpCount The number of windows that are created for one owner, when the pool is warmed up.
+	 */
+	public void setWarmUpCount(int warmUpCount) {
+		this.warmUpCount = warmUpCount;
+	}
+
+	// Protected methods.
+
+	/**
+	 * Creates a new floating window, when there is no free window in the pool.
+	 * The content pane is a panel with a floating border.
+	 *
+	 * @param owner The owner of the window. Can be null.
+	 * @return A new floating window.
+	 */
+	@NotNull
+	protected Window createFloatWindow(@Nullable Window owner) {
+
+		// Create a panel for the dock.
+		JPanel panel = new JPanel(new BorderLayout());
+		panel.setBorder(DockingManager.getComponentFactory().createFloatingBorder());
+
+		// Create the floating window.
+		Window window = DockingManager.getComponentFactory().createWindow(owner);
+		if (window instanceof JDialog) {
+			((JDialog) window).setContentPane(panel);
+		} else {
+			((JFrame) window).setContentPane(panel);
+		}
+
+		// Remember the owner and the listeners of the component factory.
+		windowRecords.put(window, new WindowRecord(owner, window));
+
+		return window;
+
+	}
+
+	// Private methods.
+
+	/**
+	 * Removes the window listeners and window focus listeners that were added after the creation of the window.
+	 *
+	 * @param window       A window created by this pool.
+	 * @param windowRecord The record of the window.
+	 */
+	private void resetListeners(@NotNull Window window, @NotNull WindowRecord windowRecord) {
+
+		List windowListeners = Arrays.asList(windowRecord.windowListeners);
+		for (WindowListener windowListener : window.getWindowListeners()) {
+			if (!windowListeners.contains(windowListener)) {
+				window.removeWindowListener(windowListener);
+			}
+		}
+		List windowFocusListeners = Arrays.asList(windowRecord.windowFocusListeners);
+		for (WindowFocusListener windowFocusListener : window.getWindowFocusListeners()) {
+			if (!windowFocusListeners.contains(windowFocusListener)) {
+				window.removeWindowFocusListener(windowFocusListener);
+			}
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * The owner that was requested for a window created by this pool, and the listeners of the window after its
+	 * creation. The owner of a dialog without requested owner is a shared frame of Swing, so it can't be asked
+	 * to the window itself.
+	 */
+	private static class WindowRecord {
+
+		// Fields.
+
+		@Nullable
+		private Window owner;
+		@NotNull
+		private WindowListener[] windowListeners;
+		@NotNull
+		private WindowFocusListener[] windowFocusListeners;
+
+		// Constructors.
+
+		private WindowRecord(@Nullable Window owner, @NotNull Window window) {
+			this.owner = owner;
+			this.windowListeners = window.getWindowListeners();
+			this.windowFocusListeners = window.getWindowFocusListeners();
+		}
+
+	}
+
+}
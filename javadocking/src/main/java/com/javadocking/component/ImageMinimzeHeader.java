@@ -16,7 +16,6 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
@@ -68,10 +67,10 @@ public class ImageMinimzeHeader extends JComponent implements DraggableContent,
 	 */
 	private int borderWidth = 1;
 	/**
-	 * The small image of the dockable component.
+	 * The size of the small image of the dockable component. Null, when there is no image.
 	 */
 	@Nullable
-	private Image smallImage;
+	private Dimension smallImageSize;
 	/**
 	 * The position of this header.
 	 */
@@ -122,52 +121,23 @@ public class ImageMinimzeHeader extends JComponent implements DraggableContent,
 		dockableChangeListener = new DockableChangeListener();
 		dockable.addPropertyChangeListener(dockableChangeListener);
 
-		try {
-			// Create the image.
-			Component component = dockable.getContent();
-			/**
-			 * The size of the small image of the dockable component.
-			 */
-			Dimension smallImageSize;
-			if ((component.getSize().width <= 0) || (component.getSize().height <= 0)) {
-				JWindow frame = new JWindow();
-				frame.setLocation(-5000000, -5000000);
-				component.setSize(new Dimension(component.getPreferredSize()));
-				frame.setSize(component.getPreferredSize());
-				frame.getContentPane().add(component);
-				frame.setVisible(true);
-
-				Dimension usableHeaderSize = new Dimension(headerSize.width - 2 * borderWidth, headerSize.height - 2 * borderWidth);
-				float stretchHeight = component.getPreferredSize().height / (float) usableHeaderSize.height;
-				float stretchWidth = component.getPreferredSize().width / (float) usableHeaderSize.width;
-				float stretch = Math.min(stretchHeight, stretchWidth);
-				smallImageSize = new Dimension((int) (component.getPreferredSize().width / stretch),
-						(int) (component.getPreferredSize().height / stretch));
-				BufferedImage dockableImage = new BufferedImage(component.getPreferredSize().width, component.getPreferredSize().height, BufferedImage.TYPE_INT_ARGB);
-				Graphics graphics = dockableImage.getGraphics();
-				component.paint(graphics);
-				graphics.dispose();
-				smallImage = dockableImage.getScaledInstance(smallImageSize.width, smallImageSize.height, BufferedImage.SCALE_SMOOTH);
-				dockableImage.flush();
-				frame.dispose();
-			} else {
+		// Compute the size of the image. The image itself is rendered later by the thumbnail cache.
+		Component component = dockable.getContent();
+		if (component != null) {
+			Dimension componentSize = component.getSize();
+			if ((componentSize.width <= 0) || (componentSize.height <= 0)) {
+				componentSize = component.getPreferredSize();
+			}
+			if ((componentSize.width > 0) && (componentSize.height > 0)) {
 				Dimension usableHeaderSize = new Dimension(headerSize.width - 2 * borderWidth, headerSize.height - 2 * borderWidth);
-				float stretchHeight = component.getSize().height / (float) usableHeaderSize.height;
-				float stretchWidth = component.getSize().width / (float) usableHeaderSize.width;
+				float stretchHeight = componentSize.height / (float) usableHeaderSize.height;
+				float stretchWidth = componentSize.width / (float) usableHeaderSize.width;
 				float stretch = Math.min(stretchHeight, stretchWidth);
-				smallImageSize = new Dimension((int) (component.getWidth() / stretch), (int) (component.getHeight() / stretch));
-
-				BufferedImage dockableImage = new BufferedImage(component.getWidth(), component.getHeight(), BufferedImage.TYPE_INT_ARGB);
-				Graphics graphics = dockableImage.getGraphics();
-				component.paint(graphics);
-				graphics.dispose();
-				smallImage = dockableImage.getScaledInstance(smallImageSize.width, smallImageSize.height, BufferedImage.SCALE_SMOOTH);
-				dockableImage.flush();
+				smallImageSize = new Dimension((int) (componentSize.width / stretch), (int) (componentSize.height / stretch));
+
+				// The content may have changed since the last image was made.
+				DockingManager.getThumbnailCache().invalidate(dockable);
 			}
-		} catch (Exception exception) {
-			smallImage = null;
-			System.out.println("Exception occured while creating the image minimize header.");
-			exception.printStackTrace();
 		}
 
 	}
@@ -231,12 +201,16 @@ public class ImageMinimzeHeader extends JComponent implements DraggableContent,
 	public void setSelected(boolean selected) {
 		boolean oldValue = this.selected;
 
-		if (oldValue != selected) {
-			if (selected) {
-				setBorder(selectedBorder);
-			} else {
-				setBorder(deselectedBorder);
-			}
+		// Nothing has to be done, when the selection doesn't change.
+		if (oldValue == selected) {
+			return;
+		}
+
+		this.selected = selected;
+		if (selected) {
+			setBorder(selectedBorder);
+		} else {
+			setBorder(deselectedBorder);
 		}
 
 		revalidate();
@@ -331,6 +305,10 @@ public class ImageMinimzeHeader extends JComponent implements DraggableContent,
 
 	protected void paintChildren(@NotNull Graphics graphics) {
 
+		Image smallImage = null;
+		if (smallImageSize != null) {
+			smallImage = DockingManager.getThumbnailCache().getThumbnail(dockable, smallImageSize, this);
+		}
 		if (smallImage != null) {
 			graphics.drawImage(smallImage, borderWidth, borderWidth, getSize().width - borderWidth, getSize().height - borderWidth,
 					0, 0, getSize().width - borderWidth * 2, getSize().height - borderWidth * 2, null);
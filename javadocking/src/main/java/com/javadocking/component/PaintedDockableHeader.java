@@ -0,0 +1,580 @@
+package com.javadocking.component;
+
+import com.javadocking.dock.Position;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.dockable.action.ShowActionMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * A lightweight header for a dockable that can be selected.
+ * </p>
+ * <p>
+ * It shows the same information as a {@link SelectableDockableHeader}:
+ * <ul>
+ * <li>the icon of the dockable, if there is one.</li>
+ * <li>the title of the dockable.</li>
+ * <li>the icons of the actions of the dockable, if there are actions.</li>
+ * </ul>
+ * But there are no child components: everything is painted by this component itself.
+ * The action that is under the mouse is found by comparing the mouse position with the bounds of the painted icons.
+ * The mouse events that are not for an action are passed to the first ancestor that listens to mouse events,
+ * e.g. the tabbed pane of a {@link com.javadocking.dock.TabDock}.
+ * </p>
+ * <p>
+ * The header can be used for another dockable with {@link #setDockable(Dockable)}.
+ * When the header was obtained from a {@link DockableHeaderPool}, it is given back to the pool when it is disposed.
+ * </p>
+ */
+public class PaintedDockableHeader extends JComponent implements SelectableHeader {
+
+	// Static fields.
+
+	/**
+	 * The height of the header.
+	 */
+	private static final int HEADER_HEIGHT = 16;
+	/**
+	 * The width of the space between the parts of the header.
+	 */
+	private static final int DIVIDER_WIDTH = 6;
+	/**
+	 * The size of the icon of an action, including its border.
+	 */
+	private static final int ACTION_SIZE = 14;
+
+	private static final String DOCKABLE_ICON_PROPERTY = "icon";
+	private static final String DOCKABLE_TITLE_PROPERTY = "title";
+	private static final String DOCKABLE_DESCRIPTION_PROPERTY = "description";
+
+	// Fields.
+
+	/**
+	 * The dockable for which this component is the header. Null, when the header is not used.
+	 */
+	@Nullable
+	private Dockable dockable;
+	/**
+	 * True if the header is selected, false otherwise.
+	 */
+	private boolean selected;
+	/**
+	 * The position of this header.
+	 */
+	private int position = Position.TOP;
+	/**
+	 * Defines which actions are shown in the header, when the header is not selected.
+	 */
+	private ShowActionMode showActionMode;
+	/**
+	 * Defines which actions are shown in the header, when the header is selected.
+	 */
+	private ShowActionMode selectedShowActionMode;
+	/**
+	 * The actions that are shown now.
+	 */
+	@NotNull
+	private Action[] actions = new Action[0];
+	/**
+	 * The index of the action that is under the mouse. -1 if there is no action under the mouse.
+	 */
+	private int rolloverAction = -1;
+	/**
+	 * The index of the action on which the mouse was pressed. -1 if the mouse was not pressed on an action.
+	 */
+	private int pressedAction = -1;
+	/**
+	 * The preferred size of this header.
+	 */
+	@NotNull
+	private Dimension preferredSize = new Dimension(0, HEADER_HEIGHT);
+	/**
+	 * The pool to which this header is given back, when it is disposed. Can be null.
+	 */
+	@Nullable
+	private DockableHeaderPool pool;
+	/**
+	 * The support for handling the property changes.
+	 */
+	@NotNull
+	private PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
+	/**
+	 * The listener for changes of the dockable.
+	 */
+	@NotNull
+	private PropertyChangeListener dockableChangeListener = new DockableChangeListener();
+
+	// Constructors.
+
+	/**
+	 * <p>
+	 * Constructs a header for a dockable that can be selected.
+	 * </p>
+	 * <p>
+	 * When the dockable is not selected, only the first row of actions of the dockable are shown.
+	 * When the dockable is selected, all dockable actions are shown.
+	 * </p>
+	 *
+	 * @param    dockable        The dockable of the header.
+	 * @param    position        The position of the header.
+	 * Possible values are constants defined by the class {@link com.javadocking.dock.Position}, i.e.:
+	 * <ul>
+	 * <li>{@link com.javadocking.dock.Position#LEFT},</li>
+	 * <li>{@link com.javadocking.dock.Position#RIGHT},</li>
+	 * <li>{@link com.javadocking.dock.Position#TOP},</li>
+	 * <li>{@link com.javadocking.dock.Position#BOTTOM}.</li>
+	 * </ul>
+	 */
+	public PaintedDockableHeader(@NotNull Dockable dockable, int position) {
+		this(dockable, position, ShowActionMode.FIRST_ROW_ACTIONS, ShowActionMode.ALL_ACTIONS);
+	}
+
+	/**
+	 * Constructs a header for a dockable that can be selected.
+	 *
+	 * @param    dockable        The dockable of the header.
+	 * @param    position        The position of the header.
+	 * @param    showActionMode    Defines which actions are shown in the header, when the header is not selected.
+	 * @param    selectedShowActionMode    Defines which actions are shown in the header, when the header is selected.
+	 */
+	public PaintedDockableHeader(@NotNull Dockable dockable, int position, ShowActionMode showActionMode, ShowActionMode selectedShowActionMode) {
+
+		setOpaque(false);
+		updateUI();
+		this.position = position;
+		this.showActionMode = showActionMode;
+		this.selectedShowActionMode = selectedShowActionMode;
+
+		ActionMouseListener actionMouseListener = new ActionMouseListener();
+		addMouseListener(actionMouseListener);
+		addMouseMotionListener(actionMouseListener);
+		ToolTipManager.sharedInstance().registerComponent(this);
+
+		setDockable(dockable);
+
+	}
+
+	// Implementations of SelectableHeader.
+
+	/**
+	 * Stops listening to the dockable. When the header was obtained from a pool, it is given back to the pool.
+	 */
+	public void dispose() {
+
+		if (dockable == null) {
+			return;
+		}
+		setDockable(null);
+		if (pool != null) {
+			pool.release(this);
+		}
+
+	}
+
+	public int getPosition() {
+		return position;
+	}
+
+	public void setPosition(int position) {
+		this.position = position;
+	}
+
+	public boolean isSelected() {
+		return selected;
+	}
+
+	public void setSelected(boolean selected) {
+
+		// Nothing has to be done, when the selection doesn't change.
+		boolean oldValue = this.selected;
+		if (oldValue == selected) {
+			return;
+		}
+
+		this.selected = selected;
+		updateActions();
+
+		revalidate();
+		repaint();
+
+		propertyChangeSupport.firePropertyChange("selected", oldValue, selected);
+
+	}
+
+	// Overwritten methods.
+
+	public void addPropertyChangeListener(PropertyChangeListener listener) {
+		if (propertyChangeSupport != null) {
+			propertyChangeSupport.addPropertyChangeListener(listener);
+		}
+		super.addPropertyChangeListener(listener);
+	}
+
+	public void removePropertyChangeListener(PropertyChangeListener listener) {
+		if (propertyChangeSupport != null) {
+			propertyChangeSupport.removePropertyChangeListener(listener);
+		}
+		super.removePropertyChangeListener(listener);
+	}
+
+	/**
+	 * Takes the font and colors of a label.
+	 */
+	public void updateUI() {
+		LookAndFeel.installColorsAndFont(this, "Label.background", "Label.foreground", "Label.font");
+	}
+
+	public Dimension getPreferredSize() {
+		return preferredSize;
+	}
+
+	public Dimension getMinimumSize() {
+		return preferredSize;
+	}
+
+	public Dimension getMaximumSize() {
+		return new Dimension(Integer.MAX_VALUE, HEADER_HEIGHT);
+	}
+
+	public String getToolTipText(@NotNull MouseEvent mouseEvent) {
+
+		int actionIndex = getActionAt(mouseEvent.getX(), mouseEvent.getY());
+		if (actionIndex >= 0) {
+			return (String) actions[actionIndex].getValue(Action.SHORT_DESCRIPTION);
+		}
+		return dockable != null ? dockable.getDescription() : null;
+
+	}
+
+	protected void paintComponent(@NotNull Graphics graphics) {
+
+		if (dockable == null) {
+			return;
+		}
+
+		int height = getHeight();
+		int x = 0;
+
+		// Paint the icon.
+		Icon icon = dockable.getIcon();
+		if (icon != null) {
+			icon.paintIcon(this, graphics, x, (height - icon.getIconHeight()) / 2);
+			x += icon.getIconWidth();
+		}
+		x += DIVIDER_WIDTH;
+
+		// Paint the title in the center of the space that is left.
+		int actionsX = getActionsX();
+		String title = dockable.getTitle();
+		if (title != null) {
+			graphics.setFont(getFont());
+			graphics.setColor(getForeground());
+			FontMetrics fontMetrics = graphics.getFontMetrics();
+			int titleWidth = fontMetrics.stringWidth(title);
+			int titleX = x + Math.max(0, (actionsX - DIVIDER_WIDTH - x - titleWidth) / 2);
+			int titleY = (height - fontMetrics.getHeight()) / 2 + fontMetrics.getAscent();
+			graphics.drawString(title, titleX, titleY);
+		}
+
+		// Paint the icons of the actions.
+		int actionY = (height - ACTION_SIZE) / 2;
+		for (int index = 0; index < actions.length; index++) {
+			int actionX = actionsX + index * ACTION_SIZE;
+			Icon actionIcon = (Icon) actions[index].getValue(Action.SMALL_ICON);
+			if (actionIcon != null) {
+				actionIcon.paintIcon(this, graphics, actionX + (ACTION_SIZE - actionIcon.getIconWidth()) / 2,
+						actionY + (ACTION_SIZE - actionIcon.getIconHeight()) / 2);
+			}
+			if (index == rolloverAction) {
+				graphics.setColor(Color.gray);
+				graphics.drawRect(actionX, actionY, ACTION_SIZE - 1, ACTION_SIZE - 1);
+			}
+		}
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the dockable of this header.
+	 *
+	 * @return The dockable of this header. Null, when the header is disposed.
+	 */
+	@Nullable
+	public Dockable getDockable() {
+		return dockable;
+	}
+
+	/**
+	 * Sets the dockable of this header. The header stops listening to the old dockable and starts listening to the new one.
+	 * The header is not selected anymore.
+	 *
+	 * @param newDockable The new dockable of this header. Can be null.
+	 */
+	public void setDockable(@Nullable Dockable newDockable) {
+
+		if (dockable != null) {
+			dockable.removePropertyChangeListener(dockableChangeListener);
+		}
+		dockable = newDockable;
+		selected = false;
+		rolloverAction = -1;
+		pressedAction = -1;
+		if (dockable != null) {
+			dockable.addPropertyChangeListener(dockableChangeListener);
+		}
+		updateActions();
+
+		revalidate();
+		repaint();
+
+	}
+
+	/**
+	 * Gets the pool to which this header is given back, when it is disposed.
+	 *
+	 * @return The pool of this header. Can be null.
+	 */
+	@Nullable
+	public DockableHeaderPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Sets the pool to which this header is given back, when it is disposed.
+	 *
+	 * @param pool The pool of this header. Can be null.
+	 */
+	public void setPool(@Nullable DockableHeaderPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Gets which actions are shown in the header, when the header is selected.
+	 *
+	 * @return Which actions are shown in the header, when the header is selected.
+	 */
+	public ShowActionMode getSelectedShowActionMode() {
+		return selectedShowActionMode;
+	}
+
+	/**
+	 * Sets which actions are shown in the header, when the header is selected.
+	 *
+	 * @param selectedShowActionMode Which actions are shown in the header, when the header is selected.
+	 */
+	public void setSelectedShowActionMode(ShowActionMode selectedShowActionMode) {
+		this.selectedShowActionMode = selectedShowActionMode;
+		updateActions();
+	}
+
+	/**
+	 * Gets which actions are shown in the header, when the header is not selected.
+	 *
+	 * @return Which actions are shown in the header, when the header is not selected.
+	 */
+	public ShowActionMode getShowActionMode() {
+		return showActionMode;
+	}
+
+	/**
+	 * Sets which actions are shown in the header, when the header is not selected.
+	 *
+	 * @param showActionMode Which actions are shown in the header, when the header is not selected.
+	 */
+	public void setShowActionMode(ShowActionMode showActionMode) {
+		this.showActionMode = showActionMode;
+		updateActions();
+	}
+
+	// Private metods.
+
+	/**
+	 * Collects the actions that have to be shown and calculates the preferred size.
+	 */
+	private void updateActions() {
+
+		// Collect the actions in the same order as the SelectableDockableHeader.
+		List actionList = new ArrayList();
+		ShowActionMode actionMode = selected ? selectedShowActionMode : showActionMode;
+		Action[][] actionMatrix = dockable != null ? dockable.getActions() : null;
+		if ((actionMatrix != null) && (actionMatrix.length > 0)) {
+			if (actionMode == ShowActionMode.ALL_ACTIONS) {
+				for (int group = actionMatrix.length - 1; group >= 0; group--) {
+					if (actionMatrix[group] != null) {
+						actionList.addAll(Arrays.asList(actionMatrix[group]));
+					}
+				}
+			} else if ((actionMode == ShowActionMode.FIRST_ROW_ACTIONS) && (actionMatrix[0] != null)) {
+				actionList.addAll(Arrays.asList(actionMatrix[0]));
+			}
+		}
+		actions = (Action[]) actionList.toArray(new Action[actionList.size()]);
+		rolloverAction = -1;
+		pressedAction = -1;
+
+		// Calculate the preferred width. The width of the actions is the width of the actions when not selected,
+		// or the width of the actions when selected, if that is bigger.
+		int preferredWidth = DIVIDER_WIDTH * 2 + actions.length * ACTION_SIZE;
+		if (dockable != null) {
+			Icon icon = dockable.getIcon();
+			if (icon != null) {
+				preferredWidth += icon.getIconWidth();
+			}
+			String title = dockable.getTitle();
+			if (title != null) {
+				preferredWidth += getFontMetrics(getFont()).stringWidth(title);
+			}
+		}
+		preferredSize = new Dimension(preferredWidth, HEADER_HEIGHT);
+
+	}
+
+	/**
+	 * Gets the x-coordinate of the first action.
+	 */
+	private int getActionsX() {
+		return getWidth() - actions.length * ACTION_SIZE;
+	}
+
+	/**
+	 * Gets the index of the action at the given position.
+	 *
+	 * @return The index of the action at the given position. -1, if there is no action.
+	 */
+	private int getActionAt(int x, int y) {
+
+		int actionY = (getHeight() - ACTION_SIZE) / 2;
+		int actionsX = getActionsX();
+		if ((y < actionY) || (y >= actionY + ACTION_SIZE) || (x < actionsX)) {
+			return -1;
+		}
+		int index = (x - actionsX) / ACTION_SIZE;
+		return index < actions.length ? index : -1;
+
+	}
+
+	private void setRolloverAction(int actionIndex) {
+
+		if (actionIndex != rolloverAction) {
+			rolloverAction = actionIndex;
+			repaint();
+		}
+
+	}
+
+	/**
+	 * Passes the mouse event to the first ancestor that listens to mouse events.
+	 */
+	private void forward(@NotNull MouseEvent mouseEvent) {
+
+		Container ancestor = getParent();
+		while ((ancestor != null) && (ancestor.getMouseListeners().length == 0) && (ancestor.getMouseMotionListeners().length == 0)) {
+			ancestor = ancestor.getParent();
+		}
+		if (ancestor != null) {
+			ancestor.dispatchEvent(SwingUtilities.convertMouseEvent(this, mouseEvent, ancestor));
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * Performs the actions that are clicked and passes the other mouse events to the ancestors.
+	 */
+	private class ActionMouseListener implements MouseListener, MouseMotionListener {
+
+		// Implementations of MouseListener.
+
+		public void mousePressed(@NotNull MouseEvent mouseEvent) {
+
+			pressedAction = getActionAt(mouseEvent.getX(), mouseEvent.getY());
+			if (pressedAction < 0) {
+				forward(mouseEvent);
+			}
+
+		}
+
+		public void mouseReleased(@NotNull MouseEvent mouseEvent) {
+
+			if (pressedAction < 0) {
+				forward(mouseEvent);
+				return;
+			}
+
+			// Perform the action, when the mouse is released on the action where it was pressed.
+			int actionIndex = getActionAt(mouseEvent.getX(), mouseEvent.getY());
+			Action action = actionIndex == pressedAction ? actions[actionIndex] : null;
+			pressedAction = -1;
+			if (action != null) {
+				ActionEvent actionEvent = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, (String) action.getValue(Action.SHORT_DESCRIPTION), mouseEvent.getModifiers());
+				action.actionPerformed(actionEvent);
+			}
+
+		}
+
+		public void mouseClicked(@NotNull MouseEvent mouseEvent) {
+
+			if (getActionAt(mouseEvent.getX(), mouseEvent.getY()) < 0) {
+				forward(mouseEvent);
+			}
+
+		}
+
+		public void mouseEntered(@NotNull MouseEvent mouseEvent) {
+			setRolloverAction(getActionAt(mouseEvent.getX(), mouseEvent.getY()));
+		}
+
+		public void mouseExited(MouseEvent mouseEvent) {
+			setRolloverAction(-1);
+		}
+
+		// Implementations of MouseMotionListener.
+
+		public void mouseMoved(@NotNull MouseEvent mouseEvent) {
+			setRolloverAction(getActionAt(mouseEvent.getX(), mouseEvent.getY()));
+		}
+
+		public void mouseDragged(@NotNull MouseEvent mouseEvent) {
+
+			if (pressedAction < 0) {
+				forward(mouseEvent);
+			}
+
+		}
+
+	}
+
+	private class DockableChangeListener implements PropertyChangeListener {
+
+		public void propertyChange(@NotNull PropertyChangeEvent propertyChangeEvent) {
+
+			String propertyName = propertyChangeEvent.getPropertyName();
+			if (propertyName.equals(DOCKABLE_DESCRIPTION_PROPERTY) ||
+					propertyName.equals(DOCKABLE_TITLE_PROPERTY) ||
+					propertyName.equals(DOCKABLE_ICON_PROPERTY)) {
+				updateActions();
+				revalidate();
+				repaint();
+			}
+
+		}
+
+	}
+
+}
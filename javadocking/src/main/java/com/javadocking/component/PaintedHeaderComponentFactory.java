@@ -0,0 +1,69 @@
+package com.javadocking.component;
+
+import com.javadocking.dockable.Dockable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>
+ * This Swing component factory creates lightweight headers for the dockables in tab docks.
+ * </p>
+ * <p>
+ * The headers are {@link PaintedDockableHeader}s, that paint the title, icon and actions of the dockable
+ * in one component. They are obtained from a {@link DockableHeaderPool}, so that the header of a dockable
+ * that is moved to another dock is reused.
+ * </p>
+ * <p>
+ * The other components are created like in the {@link DefaultSwComponentFactory}.
+ * </p>
+ */
+public class PaintedHeaderComponentFactory extends DefaultSwComponentFactory {
+
+	// Fields.
+
+	/**
+	 * The pool with the headers for the dockables in tab docks.
+	 */
+	@NotNull
+	private DockableHeaderPool headerPool;
+
+	// Constructors.
+
+	/**
+	 * Constructs a factory with a pool that keeps at most 32 headers.
+	 */
+	public PaintedHeaderComponentFactory() {
+		this(new DockableHeaderPool());
+	}
+
+	/**
+	 * Constructs a factory.
+	 *
+	 * @param headerPool The pool with the headers for the dockables in tab docks.
+	 */
+	public PaintedHeaderComponentFactory(@NotNull DockableHeaderPool headerPool) {
+		this.headerPool = headerPool;
+	}
+
+	// Overwritten methods.
+
+	/**
+	 * Gets a {@link PaintedDockableHeader} from the header pool.
+	 */
+	@NotNull
+	public SelectableHeader createTabDockHeader(@NotNull Dockable dockable, int position) {
+		return headerPool.obtain(dockable, position);
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the pool with the headers for the dockables in tab docks.
+	 *
+	 * @return The pool with the headers for the dockables in tab docks.
+	 */
+	@NotNull
+	public DockableHeaderPool getHeaderPool() {
+		return headerPool;
+	}
+
+}
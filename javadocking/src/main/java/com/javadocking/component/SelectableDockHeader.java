@@ -145,14 +145,16 @@ public class SelectableDockHeader extends JPanel implements SelectableHeader {
 
 	public void setSelected(boolean selected) {
 
+		// Nothing has to be done, when the selection doesn't change.
 		boolean oldValue = this.selected;
-		if (this.selected != selected) {
-			this.selected = selected;
+		if (oldValue == selected) {
+			return;
+		}
 
-			// Set the sizes.
-			setSizes();
+		this.selected = selected;
 
-		}
+		// Set the sizes.
+		setSizes();
 
 		revalidate();
 		repaint();
@@ -47,7 +47,6 @@ public class SelectableDockableHeader extends JPanel implements SelectableHeader
 
 	private static final String DOCKABLE_ICON_PROPERTY = "icon";
 	private static final String DOCKABLE_TITLE_PROPERTY = "title";
-	private static final String DOCKABLE_DESCRIPTION_PROPERTY = "description";
 
 	// Fields.
 
@@ -227,12 +226,15 @@ public class SelectableDockableHeader extends JPanel implements SelectableHeader
 
 	public void setSelected(boolean selected) {
 
+		// Nothing has to be done, when the selection doesn't change.
 		boolean oldValue = this.selected;
-		if (this.selected != selected) {
-			this.selected = selected;
-			addActions();
+		if (oldValue == selected) {
+			return;
 		}
 
+		this.selected = selected;
+		addActions();
+
 		revalidate();
 		repaint();
 
@@ -262,6 +264,15 @@ public class SelectableDockableHeader extends JPanel implements SelectableHeader
 
 	// Getters / Setters.
 
+	/**
+	 * Gets the dockable for which this component is the header.
+	 *
+	 * @return The dockable for which this component is the header.
+	 */
+	public Dockable getDockable() {
+		return dockable;
+	}
+
 	/**
 	 * Gets which actions are shown in the header, when the header is selected.
 	 *
@@ -475,17 +486,27 @@ public class SelectableDockableHeader extends JPanel implements SelectableHeader
 	private class DockableChangeListener implements PropertyChangeListener {
 
 		public void propertyChange(@NotNull PropertyChangeEvent propertyChangeEvent) {
-			if (propertyChangeEvent.getPropertyName().equals(DOCKABLE_DESCRIPTION_PROPERTY) ||
-					propertyChangeEvent.getPropertyName().equals(DOCKABLE_TITLE_PROPERTY) ||
-					propertyChangeEvent.getPropertyName().equals(DOCKABLE_ICON_PROPERTY))
-				if (iconLabel != null) {
-					iconLabel.setIcon(dockable.getIcon());
-				}
+
+			// The description is not shown in the header.
+			String propertyName = propertyChangeEvent.getPropertyName();
+			if (!propertyName.equals(DOCKABLE_TITLE_PROPERTY) &&
+					!propertyName.equals(DOCKABLE_ICON_PROPERTY)) {
+				return;
+			}
+
+			if (iconLabel != null) {
+				iconLabel.setIcon(dockable.getIcon());
+			}
 			if (titleLabel != null) {
 				titleLabel.setText(dockable.getTitle());
 			}
+
+			// Only layout again, when the size changed.
+			Dimension oldPreferredSize = preferredSize;
 			setSizes();
-			revalidate();
+			if (!preferredSize.equals(oldPreferredSize)) {
+				revalidate();
+			}
 			repaint();
 
 		}
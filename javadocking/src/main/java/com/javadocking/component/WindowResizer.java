@@ -12,6 +12,7 @@ import java.awt.event.MouseMotionListener;
  * This mouse listener for a java.awt.Window resizes the window.
  * This listener should be added as java.awt.event.MouseListener and as java.awt.event.MouseMotionListener
  * on the given java.awt.Window.
+ * It can also resize a lightweight {@link FloatPanel} in a javax.swing.JLayeredPane.
  *
  * @author Heidi Rakels.
  */
@@ -33,7 +34,7 @@ class WindowResizer implements MouseMotionListener, MouseListener {
 	 * The window that will be resized.
 	 */
 	@Nullable
-	private Window window;
+	private Component window;
 
 	/**
 	 * The current direction cursor constant on the window.
@@ -77,9 +78,9 @@ class WindowResizer implements MouseMotionListener, MouseListener {
 	/**
 	 * Constructs a resizer for the given window.
 	 *
-	 * @param window The window that will be resized. Not null.
+	 * @param window The window or lightweight floating panel that will be resized. Not null.
 	 */
-	public WindowResizer(@Nullable Window window) {
+	public WindowResizer(@Nullable Component window) {
 
 		if (window == null) {
 			throw new NullPointerException("Window null");
@@ -1,8 +1,10 @@
 package com.javadocking.dock;
 
+import com.javadocking.dock.factory.DockCreationCache;
 import com.javadocking.dock.factory.DockFactory;
 import com.javadocking.dock.factory.LeafDockFactory;
 import com.javadocking.dock.factory.SingleDockFactory;
+import com.javadocking.dock.layout.BorderDockLayout;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockingMode;
 import com.javadocking.event.ChildDockEvent;
@@ -125,24 +127,6 @@ public class BorderDock extends JPanel implements CompositeDock {
 	private static final double bottomDockingRectangleRelativeHeight = 2.0 / 8.0;
 
 
-	/**
-	 * The relative width of the left priority rectangle when there is already one child dock.
-	 */
-	private static final double leftPriorityRectangleRelativeWidth = 1.0 / 8.0;
-	/**
-	 * The relative width of the right priority rectangle when there is already one child dock.
-	 */
-	private static final double rightPriorityRectangleRelativeWidth = 1.0 / 8.0;
-	/**
-	 * The relative height of the top priority rectangle when there is already one child dock.
-	 */
-	private static final double topPriorityRectangleRelativeHeight = 1.0 / 8.0;
-	/**
-	 * The relative height of the bottom priority rectangle when there is already one child dock.
-	 */
-	private static final double bottomPriorityRectangleRelativeHeight = 1.0 / 8.0;
-
-
 	// Fields.
 
 	/**
@@ -199,6 +183,11 @@ public class BorderDock extends JPanel implements CompositeDock {
 	 */
 	@Nullable
 	private DockFactory childDockFactory;
+	/**
+	 * Remembers if the child dock factory can create a dock for the dragged dockable.
+	 */
+	@NotNull
+	private DockCreationCache dockCreationCache = new DockCreationCache();
 	/**
 	 * The support for handling the docking events.
 	 */
@@ -323,7 +312,7 @@ public class BorderDock extends JPanel implements CompositeDock {
 		int dockingMode = getDockingMode(dockPosition);
 		if (((dockingModes & dockingMode) != 0) && (isFree(dockPosition))) {
 			// We can only dock if the dock factory can create a dock.
-			if (getChildDockFactory().createDock(dockable, dockingMode) != null) {
+			if (dockCreationCache.canCreateDock(getChildDockFactory(), dockable, dockingMode)) {
 				// Can we dock with priority?
 				if (canAddDockableWithPriority(dockable, relativeLocation)) {
 					return Priority.CAN_DOCK_WITH_PRIORITY;
@@ -352,34 +341,15 @@ public class BorderDock extends JPanel implements CompositeDock {
 
 			// Get the preferred size of the dockable.
 			Dimension preferredSize = childDockFactory.getDockPreferredSize(dockable, dockingMode);
-			Dimension centerSize = new Dimension(0, 0);
-			Point centerLocation = new Point();
-			if (centerChildDock != null) {
-				centerSize = ((Component) centerChildDock).getSize();
-				centerLocation = ((Component) centerChildDock).getLocation();
-			} else if (centerComponent != null) {
-				centerSize = centerComponent.getSize();
-				centerLocation = centerComponent.getLocation();
-			}
 
 			// Get the bounds.
-			if (position == Position.LEFT) {
-				int dockingWidth = getChildDockWidth(preferredSize.width, getSize().width, position);
-				int dockingHeight = centerSize.height;
-				int dockingY = centerLocation.y;
-				rectangle.setBounds(0, dockingY, dockingWidth, dockingHeight);
-			} else if (position == Position.RIGHT) {
-				int dockingWidth = getChildDockWidth(preferredSize.width, getSize().width, position);
-				int dockingHeight = centerSize.height;
-				int dockingY = centerLocation.y;
-				rectangle.setBounds(getSize().width - dockingWidth, dockingY, dockingWidth, dockingHeight);
-			} else if (position == Position.TOP) {
-				int dockingHeight = getChildDockWidth(preferredSize.height, getSize().height, position);
-				rectangle.setBounds(0, 0, getSize().width, dockingHeight);
-			} else if (position == Position.BOTTOM) {
-				int dockingHeight = getChildDockWidth(preferredSize.height, getSize().height, position);
-				rectangle.setBounds(0, getSize().height - dockingHeight, getSize().width, dockingHeight);
+			int dockingLength;
+			if ((position == Position.LEFT) || (position == Position.RIGHT)) {
+				dockingLength = getChildDockWidth(preferredSize.width, getWidth(), position);
+			} else {
+				dockingLength = getChildDockWidth(preferredSize.height, getHeight(), position);
 			}
+			BorderDockLayout.getDockingRectangle(getWidth(), getHeight(), getCenterY(), getCenterHeight(), position, dockingLength, rectangle);
 
 		}
 
@@ -861,43 +831,7 @@ public class BorderDock extends JPanel implements CompositeDock {
 	 * @return The position where the dockable should be docked in the dock.
 	 */
 	protected int getDockPosition(@NotNull Point relativePosition) {
-
-		// Get the size of this dock.
-		Dimension dimension = this.getSize();
-
-		// Take the closest border as position.
-		int halfWidth = dimension.width / 2;
-		int halfHeight = dimension.height / 2;
-		if (relativePosition.x < halfWidth) {
-			if (relativePosition.y < halfHeight) {
-				if (relativePosition.x < relativePosition.y) {
-					return Position.LEFT;
-				} else {
-					return Position.TOP;
-				}
-			} else {
-				if (relativePosition.x < (dimension.height - relativePosition.y)) {
-					return Position.LEFT;
-				} else {
-					return Position.BOTTOM;
-				}
-			}
-		} else {
-			if (relativePosition.y < halfHeight) {
-				if ((dimension.width - relativePosition.x) < relativePosition.y) {
-					return Position.RIGHT;
-				} else {
-					return Position.TOP;
-				}
-			} else {
-				if ((dimension.width - relativePosition.x) < (dimension.height - relativePosition.y)) {
-					return Position.RIGHT;
-				} else {
-					return Position.BOTTOM;
-				}
-			}
-		}
-
+		return BorderDockLayout.getDockPosition(relativePosition, getWidth(), getHeight());
 	}
 
 	/**
@@ -920,51 +854,7 @@ public class BorderDock extends JPanel implements CompositeDock {
 	 * @param    rectangle                    Gets the size and position of the calculated priority rectangle.
 	 */
 	protected void getPriorityRectangle(@NotNull Rectangle rectangle, int position) {
-
-		Dimension size = getSize();
-		switch (position) {
-			case Position.LEFT:
-				int y;
-				int height;
-				if (centerChildDock != null) {
-					y = ((Component) centerChildDock).getLocation().y;
-					height = ((Component) centerChildDock).getHeight();
-				} else {
-					y = centerComponent.getLocation().y;
-					height = centerComponent.getHeight();
-				}
-				rectangle.setBounds(0,
-						y,
-						(int) (((double) size.width) * leftPriorityRectangleRelativeWidth),
-						height);
-				break;
-			case Position.RIGHT:
-				if (centerChildDock != null) {
-					y = ((Component) centerChildDock).getLocation().y;
-					height = ((Component) centerChildDock).getHeight();
-				} else {
-					y = centerComponent.getLocation().y;
-					height = centerComponent.getHeight();
-				}
-				rectangle.setBounds((int) (((double) size.width) * (1 - rightPriorityRectangleRelativeWidth)),
-						y,
-						(int) (((double) size.width) * rightPriorityRectangleRelativeWidth),
-						height);
-				break;
-			case Position.TOP:
-				rectangle.setBounds(0,
-						0,
-						size.width,
-						(int) (((double) size.height) * topPriorityRectangleRelativeHeight));
-				break;
-			case Position.BOTTOM:
-				rectangle.setBounds(0,
-						(int) (((double) size.height) * (1 - bottomPriorityRectangleRelativeHeight)),
-						size.width,
-						(int) (((double) size.height) * bottomPriorityRectangleRelativeHeight));
-				break;
-		}
-
+		BorderDockLayout.getPriorityRectangle(getWidth(), getHeight(), getCenterY(), getCenterHeight(), position, rectangle);
 	}
 
 	/**
@@ -1402,14 +1292,38 @@ public class BorderDock extends JPanel implements CompositeDock {
 	 * @return The new width for the component that will be added.
 	 */
 	protected int getChildDockWidth(int preferredWidth, int totalWidth, int position) {
+		return BorderDockLayout.getChildDockWidth(preferredWidth, totalWidth);
+	}
+
+	/**
+	 * Gets the y-coordinate of the center child dock or the center component.
+	 *
+	 * @return The y-coordinate of the center child dock or the center component. 0 if there is no center.
+	 */
+	private int getCenterY() {
 
-		// Is the preferred width of the new component smaller than the half total width? 
-		if (preferredWidth < totalWidth / 2) {
-			return preferredWidth;
+		if (centerChildDock != null) {
+			return ((Component) centerChildDock).getY();
+		} else if (centerComponent != null) {
+			return centerComponent.getY();
 		}
+		return 0;
 
-		// They have to share the total width equally.
-		return totalWidth / 2;
+	}
+
+	/**
+	 * Gets the height of the center child dock or the center component.
+	 *
+	 * @return The height of the center child dock or the center component. 0 if there is no center.
+	 */
+	private int getCenterHeight() {
+
+		if (centerChildDock != null) {
+			return ((Component) centerChildDock).getHeight();
+		} else if (centerComponent != null) {
+			return centerComponent.getHeight();
+		}
+		return 0;
 
 	}
 
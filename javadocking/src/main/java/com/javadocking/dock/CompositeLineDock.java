@@ -1,5 +1,6 @@
 package com.javadocking.dock;
 
+import com.javadocking.dock.factory.DockCreationCache;
 import com.javadocking.dock.factory.DockFactory;
 import com.javadocking.dock.factory.SingleDockFactory;
 import com.javadocking.dockable.CompositeDockable;
@@ -90,6 +91,11 @@ public class CompositeLineDock extends JPanel implements CompositeDock {
 	 */
 	@Nullable
 	private DockFactory childDockFactory;
+	/**
+	 * Remembers if the child dock factory can create a dock for the dragged dockable.
+	 */
+	@NotNull
+	private DockCreationCache dockCreationCache = new DockCreationCache();
 
 	/**
 	 * The orientation of the line dock. This can be ORIENTATION_HORIZONTAL or ORIENTATION_VERTICAL.
@@ -276,7 +282,7 @@ public class CompositeLineDock extends JPanel implements CompositeDock {
 		}
 
 		// We can dock if the dock factory can create a dock.
-		if (childDockFactory.createDock(dockable, getDockingMode()) != null) {
+		if (dockCreationCache.canCreateDock(childDockFactory, dockable, getDockingMode())) {
 			// Can we dock with priority?
 			if (canAddDockableWithPriority(dockable, relativeLocation)) {
 				return Priority.CAN_DOCK_WITH_PRIORITY;
@@ -1070,99 +1076,41 @@ public class CompositeLineDock extends JPanel implements CompositeDock {
 			return 0;
 		}
 
-		// Do we have horizontal orientation?
-		if (orientation == ORIENTATION_HORIZONTAL) {
-			// We have a horizontal orientation.
-
-			// Initialize the help fields.
-			int currentDockWidth;
-			int nextDockWidth = ((Component) childDocks.get(0)).getSize().width;
-			int nextDockStart = 0; // The x-value where the next dock starts.
-
-			// The rectangle starts at the left side of the deepest panel and
-			// ends at the middle of the first child dock.
-			helpRectangle.setBounds(0, 0, nextDockWidth / 2, dockPanel.getSize().height);
-
-			// Iterate over the docks - 1.
-			for (int index = 0; index < childDocks.size() - 1; index++) {
-				// Is the location in this priority rectangle?
-				if (helpRectangle.contains(relativePosition)) {
-					return index;
-				}
-
-				// The next rectangle starts at the middle of the current child dock and
-				// ends at the middle of the next child dock.
-				currentDockWidth = nextDockWidth;
-				nextDockWidth = ((Component) childDocks.get(index + 1)).getSize().width;
-				nextDockStart += currentDockWidth;
-				helpRectangle.setBounds(nextDockStart - currentDockWidth / 2, 0,
-						(currentDockWidth + nextDockWidth) / 2, dockPanel.getSize().height);
-			}
-
-			// Is the location in this priority rectangle?
-			if (helpRectangle.contains(relativePosition)) {
-				return childDocks.size() - 1;
-			}
-
-			// The next rectangle starts at the middle of the last child dock and
-			// ends at the right of the deepest panel.
-			currentDockWidth = nextDockWidth;
-			nextDockWidth = 0;
-			nextDockStart += currentDockWidth;
-			helpRectangle.setBounds(nextDockStart - currentDockWidth / 2, 0,
-					(currentDockWidth + nextDockWidth) / 2, dockPanel.getSize().height);
-
-			// Is the location in this priority rectangle?
-			if (helpRectangle.contains(relativePosition)) {
-				return childDocks.size();
-			}
-
-		} else {
-			// We have a vertical orientation.
-
-			// Initialize the help fields.
-			int currentDockHeight;
-			int nextDockHeight = ((Component) childDocks.get(0)).getSize().height;
-			int nextDockStart = 0; // The y-value where the next dock starts.
-
-			// The rectangle starts at the top of the deepest panel and
-			// ends at the middle of the first child dock.
-			helpRectangle.setBounds(0, 0, dockPanel.getSize().width, nextDockHeight / 2);
-
-			// Iterate over the child docks - 1.
-			for (int index = 0; index < childDocks.size() - 1; index++) {
-				// Is the location in this priority rectangle?
-				if (helpRectangle.contains(relativePosition)) {
-					return index;
-				}
-
-				// The next rectangle starts at the middle of the current child dock and
-				// ends at the middle of the next child dock.
-				currentDockHeight = nextDockHeight;
-				nextDockHeight = ((Component) childDocks.get(index + 1)).getSize().height;
-				nextDockStart += currentDockHeight;
-				helpRectangle.setBounds(0, nextDockStart - currentDockHeight / 2,
-						dockPanel.getSize().width, (currentDockHeight + nextDockHeight) / 2);
+		// Search with bisection the first child dock whose middle is after the location.
+		boolean horizontal = orientation == ORIENTATION_HORIZONTAL;
+		int location = horizontal ? relativePosition.x : relativePosition.y;
+		int low = 0;
+		int high = childDocks.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			Component childDock = (Component) childDocks.get(middle);
+			int dockMiddle = getChildDockStart(middle) + (horizontal ? childDock.getSize().width : childDock.getSize().height) / 2;
+			if (dockMiddle > location) {
+				high = middle;
+			} else {
+				low = middle + 1;
 			}
+		}
 
-			// Is the location in this priority rectangle?
+		// The rectangles of the positions can overlap because of rounding, so the neighbours are also checked.
+		int position = -1;
+		for (int index = Math.min(childDocks.size(), low + 1); index >= Math.max(0, low - 1); index--) {
+			setDockPositionRectangle(index);
 			if (helpRectangle.contains(relativePosition)) {
-				return childDocks.size() - 1;
+				position = index;
 			}
+		}
 
-			// The next rectangle starts at the middle of the last child dock and
-			// ends at the bottom of the deepest panel.
-			currentDockHeight = nextDockHeight;
-			nextDockHeight = 0;
-			nextDockStart += currentDockHeight;
-			helpRectangle.setBounds(0, nextDockStart - currentDockHeight / 2,
-					dockPanel.getSize().width, (currentDockHeight + nextDockHeight) / 2);
-
-			// Is the location in this priority rectangle?
-			if (helpRectangle.contains(relativePosition)) {
-				return childDocks.size();
+		// Previous rectangles can only contain the location when there are child docks without size.
+		while (position > 0) {
+			setDockPositionRectangle(position - 1);
+			if (!helpRectangle.contains(relativePosition)) {
+				break;
 			}
-
+			position--;
+		}
+		if (position >= 0) {
+			return position;
 		}
 
 		return childDocks.size();
@@ -1190,70 +1138,93 @@ public class CompositeLineDock extends JPanel implements CompositeDock {
 
 		// When we are here, there are already dockables in this dock.
 
-		// Do we have a horizontal orientation?
-		if (orientation == ORIENTATION_HORIZONTAL) {
-			// We have a horizontal orientation.
-
-			// There is priority if we are near the vertical borders of the dockables
-			// and not near the top and bottom border of the dock.
+		// There is priority if we are near the borders between the child docks
+		// and not near the borders of the dock at the sides of the line.
+		// Search with bisection the first border whose priority rectangle ends after the location.
+		boolean horizontal = orientation == ORIENTATION_HORIZONTAL;
+		int location = horizontal ? relativeLocation.x : relativeLocation.y;
+		int low = 0;
+		int high = childDocks.size() + 1;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (getChildDockStart(middle) + priorityBorder > location) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		if (low > childDocks.size()) {
+			return false;
+		}
 
-			// Set the priority rectangle at the left side of the first dockable.
-			priorityRectangle.setBounds(-priorityBorder, priorityBorder,
+		// The priority rectangles have all the same size, so the following rectangles start after the location.
+		int border = getChildDockStart(low);
+		if (horizontal) {
+			priorityRectangle.setBounds(border - priorityBorder, priorityBorder,
 					priorityBorder * 2, dockPanel.getSize().height - priorityBorder * 2);
+		} else {
+			priorityRectangle.setBounds(priorityBorder, border - priorityBorder,
+					dockPanel.getSize().width - priorityBorder * 2, priorityBorder * 2);
+		}
+		return priorityRectangle.contains(relativeLocation);
 
-			// Iterate over all the dockables.
-			for (Object childDock : childDocks) {
-				// Is the location in this priority rectangle?
-				if (priorityRectangle.contains(relativeLocation)) {
-					// We are in a priority rectangle. We can dock with priority.
-					return true;
-				}
-
-				// Shift the rectangle horizontally to the left side of the next dockable.
-				int childWidth = ((Component) childDock).getSize().width;
-				priorityRectangle.translate(childWidth, 0);
-			}
-
-			// Now we are at the right side of the last dockable.
-			// Is the location in this priority rectangle?
-			// We are in a priority rectangle. We can dock with priority.
-			return priorityRectangle.contains(relativeLocation);
+	}
 
-		} else {
-			// We have a vertical orientation.
+	// Private metods.
 
-			// There is priority if we are near the horizontal borders of the dockables
-			// and not near the left and right border of the dock.
+	/**
+	 * Gets the start of a child dock along the line, relative to the start of the first child dock.
+	 * The child docks are laid out next to each other, so this is the sum of the sizes of the previous child docks.
+	 *
+	 * @param index The index of the child dock. When this is the number of child docks, the end of the last
+	 *              child dock is returned.
+	 * @return The start of the child dock along the line.
+	 */
+	private int getChildDockStart(int index) {
 
-			// Set the priority rectangle at the top of the first dockable.
-			priorityRectangle.setBounds(priorityBorder, -priorityBorder,
-					dockPanel.getSize().width - priorityBorder * 2, priorityBorder * 2);
+		if (index == 0) {
+			return 0;
+		}
 
-			// Iterate over all the dockables.
-			for (Object childDock : childDocks) {
-				// Is the location in this priority rectangle?
-				if (priorityRectangle.contains(relativeLocation)) {
-					// We are in a priority rectangle. We can dock with priority.
-					return true;
-				}
+		Component firstChildDock = (Component) childDocks.get(0);
+		Component previousChildDock = (Component) childDocks.get(index - 1);
+		if (orientation == ORIENTATION_HORIZONTAL) {
+			return previousChildDock.getX() - firstChildDock.getX() + previousChildDock.getSize().width;
+		}
+		return previousChildDock.getY() - firstChildDock.getY() + previousChildDock.getSize().height;
 
-				// Shift the rectangle vertically to the top of the next dockable.
-				int childHeight = ((Component) childDock).getSize().height;
-				priorityRectangle.translate(0, childHeight);
-			}
+	}
 
-			// Is the location in this priority rectangle?
-			// We are in a priority rectangle. We can dock with priority.
-			return priorityRectangle.contains(relativeLocation);
+	/**
+	 * Sets the <code>helpRectangle</code> on the area where a dockable is docked at the given position.
+	 * This area starts in the middle of the previous child dock and ends in the middle of the child dock
+	 * at this position.
+	 *
+	 * @param position The position in the line.
+	 */
+	private void setDockPositionRectangle(int position) {
 
+		boolean horizontal = orientation == ORIENTATION_HORIZONTAL;
+		int previousSize = 0;
+		if (position > 0) {
+			Component previousChildDock = (Component) childDocks.get(position - 1);
+			previousSize = horizontal ? previousChildDock.getSize().width : previousChildDock.getSize().height;
+		}
+		int size = 0;
+		if (position < childDocks.size()) {
+			Component childDock = (Component) childDocks.get(position);
+			size = horizontal ? childDock.getSize().width : childDock.getSize().height;
 		}
+		int start = getChildDockStart(position);
 
+		if (horizontal) {
+			helpRectangle.setBounds(start - previousSize / 2, 0, (previousSize + size) / 2, dockPanel.getSize().height);
+		} else {
+			helpRectangle.setBounds(0, start - previousSize / 2, dockPanel.getSize().width, (previousSize + size) / 2);
+		}
 
-		// We can't dock with priority.
 	}
 
-	// Private metods.
-
 	/**
 	 * Creates the panels for the child docks and adds them to this dock.
 	 */
@@ -1,7 +1,9 @@
 package com.javadocking.dock;
 
 import com.javadocking.DockingManager;
+import com.javadocking.component.Header;
 import com.javadocking.dock.factory.CompositeTabDockFactory;
+import com.javadocking.dock.factory.DockCreationCache;
 import com.javadocking.dock.factory.DockFactory;
 import com.javadocking.dock.factory.SingleDockFactory;
 import com.javadocking.dockable.CompositeDockable;
@@ -65,6 +67,10 @@ import java.util.List;
  * <p>
  * This kind of dock is never full. It is empty when there are 0 child docks.
  * </p>
+ * <p>
+ * In lazy content mode (see {@link #setLazyContentMode(boolean)}) only the selected child dock has to be
+ * in the component hierarchy. The other tabs keep an empty panel until they are selected.
+ * </p>
  *
  * @author Heidi Rakels.
  */
@@ -108,6 +114,11 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 	 */
 	@Nullable
 	private DockFactory childDockFactory;
+	/**
+	 * Remembers if the child dock factory can create a dock for the dragged dockable.
+	 */
+	@NotNull
+	private DockCreationCache dockCreationCache = new DockCreationCache();
 	/**
 	 * This is the rectangle in which a dockable can be docked with priority.
 	 * It is computed with the values of priorityRectangleTopOffset, priorityRectangleLeftOffset
@@ -134,6 +145,28 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 	@Nullable
 	private JTabbedPane ghostTabbedPane;
 
+	// For lazy content mode.
+	/**
+	 * True when only the selected child dock has to be attached to the page of its tab.
+	 */
+	private boolean lazyContentMode;
+	/**
+	 * The mapping between the pages of the tabs and the child docks in lazy content mode.
+	 */
+	@NotNull
+	private Map pageDockMapping = new IdentityHashMap();
+	/**
+	 * The mapping between the child docks and the pages of their tabs in lazy content mode.
+	 */
+	@NotNull
+	private Map dockPageMapping = new IdentityHashMap();
+	/**
+	 * Attaches and detaches the child docks in lazy content mode.
+	 */
+	@NotNull
+	private LazyTabContentSupport lazyContentSupport = new LazyTabContentSupport();
+
+
 	// Constructors.
 
 	/**
@@ -194,7 +227,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		}
 
 		// We can dock if the child dock factory can create a dock.
-		if (childDockFactory.createDock(dockable, DockingMode.TAB) != null) {
+		if (dockCreationCache.canCreateDock(childDockFactory, dockable, DockingMode.TAB)) {
 			// Can we dock with priority?
 			getPriorityRectangle(priorityRectangle);
 			if (priorityRectangle.contains(relativeLocation)) {
@@ -284,14 +317,15 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 
 			// Add the component in a tab and select the tab.
 			Component header = (Component) DockingManager.getComponentFactory().createCompositeTabDockHeader(childDock, getHeaderPosition());
-			TabDockV6Addition.addTab(tabbedPane, (Component) childDock, header);
+			Component page = createPage(childDock);
+			TabDockV6Addition.addTab(tabbedPane, page, header);
 			if (dockableToAdd.getDescription() != null) {
 				tabbedPane.setToolTipTextAt(tabbedPane.getTabCount() - 1, dockableToAdd.getDescription());
 			} else {
 				tabbedPane.setToolTipTextAt(tabbedPane.getTabCount() - 1, getTitle(dockableToAdd));
 			}
 
-			tabbedPane.setSelectedComponent((Component) childDock);
+			tabbedPane.setSelectedComponent(page);
 
 			// Inform the listeners.
 			dockingEventSupport.fireDockingChanged(new DockableEvent(this, null, this, dockableToAdd));
@@ -320,14 +354,17 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 
 					// Add the child dockable as tab.
 					Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(childDockable, getHeaderPosition());
-					TabDockV6Addition.addTab(tabbedPane, (Component) childDock, header);
+					Component page = createPage(childDock);
+					TabDockV6Addition.addTab(tabbedPane, page, header);
 					if (childDockable.getDescription() != null) {
 						tabbedPane.setToolTipTextAt(tabbedPane.getTabCount() - 1, childDockable.getDescription());
 					}
 
 					// Do we have to select the tab of this dockable?
 					if ((childDockable.equals(selectedDockable))) {
-						tabbedPane.setSelectedComponent((Component) childDock);
+						tabbedPane.setSelectedComponent(page);
+					} else {
+						detachUnselectedPage(page);
 					}
 
 					// Inform the listeners.
@@ -372,7 +409,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		// Iterate over the child docks.
 		for (int index = 0; index < tabbedPane.getTabCount(); index++) {
 			// Get the child dock.
-			Dock dock = (Dock) tabbedPane.getComponentAt(index);
+			Dock dock = getDockOfPage(tabbedPane.getComponentAt(index));
 
 			// Get the ID of the childDock.
 			String childDockId = (String) childDockIds.get(dock);
@@ -382,7 +419,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		}
 
 		// Save the ID of the selected child.
-		Dock selectedDock = (Dock) tabbedPane.getSelectedComponent();
+		Dock selectedDock = getSelectedDock();
 		if (selectedDock != null) {
 			String childDockId = (String) childDockIds.get(selectedDock);
 			PropertiesUtil.setString(properties, prefix + PROPERTY_SELECTED_DOCK_ID, childDockId);
@@ -480,9 +517,10 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 
 		// Add the component in a tab and select the tab.
 		Component header = (Component) DockingManager.getComponentFactory().createCompositeTabDockHeader(childDock, getHeaderPosition());
-		TabDockV6Addition.insertTab(tabbedPane, tabPosition, (Component) childDock, header);
+		Component page = createPage(childDock);
+		TabDockV6Addition.insertTab(tabbedPane, tabPosition, page, header);
 
-		tabbedPane.setSelectedComponent((Component) childDock);
+		tabbedPane.setSelectedComponent(page);
 
 		// Inform the listeners.
 		dockingEventSupport.fireDockingChanged(new ChildDockEvent(this, null, this, childDock));
@@ -506,7 +544,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 			throw new IndexOutOfBoundsException("Index " + index);
 		}
 
-		return (Dock) tabbedPane.getComponentAt(index);
+		return getDockOfPage(tabbedPane.getComponentAt(index));
 
 	}
 
@@ -517,7 +555,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		int position = -1;
 		for (int index = 0; index < tabbedPane.getTabCount(); index++) {
 			// Get the child dock.
-			Dock dock = (Dock) tabbedPane.getComponentAt(index);
+			Dock dock = getDockOfPage(tabbedPane.getComponentAt(index));
 			if (dock.equals(childDock)) {
 				position = index;
 				break;
@@ -538,7 +576,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		int position = -1;
 		for (int index = 0; index < tabbedPane.getTabCount(); index++) {
 			// Get the child dock.
-			Dock dock = (Dock) tabbedPane.getComponentAt(index);
+			Dock dock = getDockOfPage(tabbedPane.getComponentAt(index));
 			if (dock.equals(emptyChildDock)) {
 				position = index;
 				break;
@@ -548,8 +586,13 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 			// Inform the listeners about the removal.
 			dockingEventSupport.fireDockingWillChange(new ChildDockEvent(this, this, null, emptyChildDock));
 
-			// Remove the empty dock.
-			tabbedPane.remove((Component) emptyChildDock);
+			// Remove the empty dock and dispose its header.
+			Component header = tabbedPane.getTabComponentAt(position);
+			if (header instanceof Header) {
+				((Header) header).dispose();
+			}
+			tabbedPane.remove(getPageOfDock(emptyChildDock));
+			forgetPage(emptyChildDock);
 
 			// Remove the docking change listener.
 			DockingChangeListener dockingChangeListener = (DockingChangeListener) dockingChangeListeners.get(emptyChildDock);
@@ -578,7 +621,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		int position = -1;
 		for (int index = 0; index < tabbedPane.getTabCount(); index++) {
 			// Get the child dock.
-			Dock dock = (Dock) tabbedPane.getComponentAt(index);
+			Dock dock = getDockOfPage(tabbedPane.getComponentAt(index));
 			if (dock.equals(emptyChildDock)) {
 				position = index;
 				break;
@@ -589,7 +632,8 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 			dockingEventSupport.fireDockingWillChange(new ChildDockEvent(this, this, null, emptyChildDock));
 
 			// Remove the empty child from the list of child docks.
-			tabbedPane.remove((Component) emptyChildDock);
+			tabbedPane.remove(getPageOfDock(emptyChildDock));
+			forgetPage(emptyChildDock);
 
 			// Remove the docking change listener.
 			DockingChangeListener dockingChangeListener = (DockingChangeListener) dockingChangeListeners.get(emptyChildDock);
@@ -603,20 +647,20 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 			initializeUi();
 
 			// Iterate over the remaining child docks.
-			List docksToAdd = new ArrayList();
+			List pagesToAdd = new ArrayList();
 			for (int index = ghostTabbedPane.getTabCount() - 1; index >= 0; index--) {
 				if (index != position) {
-					Dock childDock = (Dock) ghostTabbedPane.getComponentAt(index);
+					Component page = ghostTabbedPane.getComponentAt(index);
 
-					// Remove the dock from the ghost panel.
-					ghostTabbedPane.remove((Component) childDock);
+					// Remove the page of the dock from the ghost panel.
+					ghostTabbedPane.remove(page);
 
-					// Add to the docks for the new tabbed pane.
-					docksToAdd.add(childDock);
+					// Add to the pages for the new tabbed pane.
+					pagesToAdd.add(page);
 				}
 			}
-			for (int index = docksToAdd.size() - 1; index >= 0; index--) {
-				tabbedPane.add((Component) docksToAdd.get(index));
+			for (int index = pagesToAdd.size() - 1; index >= 0; index--) {
+				tabbedPane.add((Component) pagesToAdd.get(index));
 			}
 
 			// Inform the listeners about the removal.
@@ -664,15 +708,18 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 	public boolean setSelectedDock(Dock dock) {
 		if (dock instanceof Component) {
 			// Is the dock a child dock?
-			for (int index = 0; index < tabbedPane.getTabCount(); index++) {
-				if (tabbedPane.getComponentAt(index).equals(dock)) {
-					tabbedPane.setSelectedComponent((Component) dock);
-
-					// Repaint.
-					SwingUtil.repaintParent(this);
-
-					return true;
+			Component page = getPageOfDock(dock);
+			int tabIndex = tabbedPane.indexOfComponent(page);
+			if (tabIndex >= 0) {
+				// Is the tab not yet selected?
+				if (tabbedPane.getSelectedIndex() != tabIndex) {
+					// The size of the tabbed pane doesn't change, so it is laid out and repainted at once.
+					tabbedPane.setSelectedIndex(tabIndex);
+					tabbedPane.validate();
+					tabbedPane.repaint();
 				}
+
+				return true;
 			}
 		}
 
@@ -690,7 +737,7 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 
 		// Are there child docks?
 		if (tabbedPane.getTabCount() > 0) {
-			return (Dock) tabbedPane.getSelectedComponent();
+			return getDockOfPage(tabbedPane.getSelectedComponent());
 		}
 
 		// There are no child docks.
@@ -775,6 +822,109 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		return tabbedPane;
 	}
 
+	/**
+	 * Determines if this dock is in lazy content mode.
+	 *
+	 * @return True if only the selected child dock has to be in the component hierarchy, false otherwise.
+	 */
+	public boolean isLazyContentMode() {
+		return lazyContentMode;
+	}
+
+	/**
+	 * <p>
+	 * Sets the lazy content mode of this dock.
+	 * </p>
+	 * <p>
+	 * In lazy content mode every child dock is put in a panel that is the page of its tab.
+	 * The child dock is only attached to this panel, when the tab is selected. The other child docks are not in the
+	 * component hierarchy, so they don't take part in <code>addNotify</code>, focus traversal and look and feel updates.
+	 * When a tab is not selected anymore, its child dock is detached after the content detach delay
+	 * (see {@link #setContentDetachDelay(int)}), or when {@link #detachUnselectedContents()} is called.
+	 * </p>
+	 * <p>
+	 * The default value is false.
+	 * </p>
+	 *
+	 * @param lazyContentMode True if only the selected child dock has to be in the component hierarchy,
+	 *                        false if all the child docks are in the component hierarchy.
+	 */
+	public void setLazyContentMode(boolean lazyContentMode) {
+
+		if (this.lazyContentMode == lazyContentMode) {
+			return;
+		}
+
+		if (lazyContentMode) {
+			this.lazyContentMode = true;
+
+			// Put the child docks in pages.
+			for (int index = 0; index < tabbedPane.getTabCount(); index++) {
+				Dock childDock = (Dock) tabbedPane.getComponentAt(index);
+				JPanel page = new JPanel(new BorderLayout());
+				tabbedPane.setComponentAt(index, page);
+				page.add((Component) childDock, BorderLayout.CENTER);
+				pageDockMapping.put(page, childDock);
+				dockPageMapping.put(childDock, page);
+			}
+			lazyContentSupport.selectionChanged(tabbedPane.getSelectedComponent());
+			lazyContentSupport.detachUnselectedContents(tabbedPane);
+		} else {
+			lazyContentSupport.attachAll();
+
+			// Put the child docks in the tabs again.
+			for (int index = 0; index < tabbedPane.getTabCount(); index++) {
+				tabbedPane.setComponentAt(index, (Component) getDockOfPage(tabbedPane.getComponentAt(index)));
+			}
+			pageDockMapping.clear();
+			dockPageMapping.clear();
+			this.lazyContentMode = false;
+		}
+
+	}
+
+	/**
+	 * Gets the time in milliseconds that a tab should not be selected, before its child dock is detached
+	 * in lazy content mode.
+	 *
+	 * @return The content detach delay. When it is negative, the child docks are only detached with
+	 * {@link #detachUnselectedContents()}.
+	 */
+	public int getContentDetachDelay() {
+		return lazyContentSupport.getDetachDelay();
+	}
+
+	/**
+	 * <p>
+	 * Sets the time in milliseconds that a tab should not be selected, before its child dock is detached
+	 * in lazy content mode. When the delay is 0, the child dock is detached as soon as another tab is selected.
+	 * When the delay is negative, the child docks are only detached with {@link #detachUnselectedContents()}.
+	 * </p>
+	 * <p>
+	 * The default value is 0.
+	 * </p>
+	 *
+	 * @param contentDetachDelay The content detach delay.
+	 */
+	public void setContentDetachDelay(int contentDetachDelay) {
+		lazyContentSupport.setDetachDelay(contentDetachDelay);
+	}
+
+	/**
+	 * Detaches all the child docks whose tab is not selected.
+	 * This can be called when the memory is low. It has only effect in lazy content mode.
+	 *
+	 * @return The number of child docks that were detached.
+	 */
+	public int detachUnselectedContents() {
+
+		if (!lazyContentMode) {
+			return 0;
+		}
+		return lazyContentSupport.detachUnselectedContents(tabbedPane);
+
+	}
+
 	// Protected methods.
 
 	/**
@@ -826,6 +976,87 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 
 	}
 
+	/**
+	 * Creates the component that is used as page for the tab of the child dock.
+	 * In lazy content mode this is a panel that contains the child dock, otherwise it is the child dock itself.
+	 *
+	 * @param childDock The child dock.
+	 * @return The page for the tab of the child dock.
+	 */
+	private Component createPage(Dock childDock) {
+
+		if (!lazyContentMode) {
+			return (Component) childDock;
+		}
+
+		JPanel page = new JPanel(new BorderLayout());
+		page.add((Component) childDock, BorderLayout.CENTER);
+		pageDockMapping.put(page, childDock);
+		dockPageMapping.put(childDock, page);
+		return page;
+
+	}
+
+	/**
+	 * Gets the child dock of the page of a tab.
+	 *
+	 * @param page The page of a tab.
+	 * @return The child dock of the page.
+	 */
+	private Dock getDockOfPage(Component page) {
+
+		Dock dock = (Dock) pageDockMapping.get(page);
+		if (dock != null) {
+			return dock;
+		}
+		return (Dock) page;
+
+	}
+
+	/**
+	 * Gets the page of the tab of a child dock.
+	 *
+	 * @param dock The child dock.
+	 * @return The page of the tab of the child dock.
+	 */
+	private Component getPageOfDock(Dock dock) {
+
+		Component page = (Component) dockPageMapping.get(dock);
+		if (page != null) {
+			return page;
+		}
+		return (Component) dock;
+
+	}
+
+	/**
+	 * Forgets the page of a child dock that is removed.
+	 *
+	 * @param dock The child dock that is removed.
+	 */
+	private void forgetPage(Dock dock) {
+
+		Component page = (Component) dockPageMapping.remove(dock);
+		if (page != null) {
+			pageDockMapping.remove(page);
+			lazyContentSupport.forget(page);
+		}
+
+	}
+
+	/**
+	 * Detaches the child dock from a page that was added, but not selected, in lazy content mode.
+	 *
+	 * @param page The page of the tab.
+	 */
+	private void detachUnselectedPage(Component page) {
+
+		if ((lazyContentMode) && (tabbedPane.getSelectedComponent() != page) && (page instanceof Container)) {
+			lazyContentSupport.detach((Container) page);
+		}
+
+	}
+
 	/**
 	 * Creates the tabbed pane for the child docks and adds it to this dock.
 	 */
@@ -844,7 +1075,10 @@ public class CompositeTabDock extends JPanel implements CompositeDock {
 		// Implementations of ChangeListener.
 
 		public void stateChanged(ChangeEvent changeEvent) {
-			TabDockV6Addition.repaintTabComponents(tabbedPane);
+			if (lazyContentMode) {
+				lazyContentSupport.selectionChanged(tabbedPane.getSelectedComponent());
+			}
+			TabDockV6Addition.updateSelectedTabComponent(tabbedPane);
 		}
 
 	}
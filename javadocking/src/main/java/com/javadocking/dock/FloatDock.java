@@ -1,6 +1,8 @@
 package com.javadocking.dock;
 
 import com.javadocking.DockingManager;
+import com.javadocking.component.FloatPanel;
+import com.javadocking.dock.factory.DockCreationCache;
 import com.javadocking.dock.factory.DockFactory;
 import com.javadocking.dock.factory.SingleDockFactory;
 import com.javadocking.dock.factory.SplitDockFactory;
@@ -18,6 +20,8 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.AWTEventListener;
+import java.awt.event.MouseEvent;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowFocusListener;
 import java.awt.event.WindowListener;
@@ -53,6 +57,12 @@ import java.util.List;
  * The float dock has a owner window. This is the window that that will be the owner of the dialogs that contain
  * the child docks.
  * </p>
+ * <p>
+ * In the lightweight mode the child docks are not put in dialogs, but in lightweight {@link FloatPanel}s
+ * in the javax.swing.JLayeredPane of the owner window. Moving such a panel doesn't need a round trip to the
+ * native window system. The panels can only float inside the owner window.
+ * The lightweight mode is only used when the owner is a javax.swing.RootPaneContainer.
+ * </p>
  *
  * @author Heidi Rakels.
  */
@@ -64,6 +74,10 @@ public class FloatDock implements CompositeDock {
 	 * The name used for the <code>windowRectangle</code> property that defines the rectangle of the floating dialog.
 	 */
 	private static final String PROPERTY_WINDOW_DIMENSION = "windowRectangle";
+	/**
+	 * The name used for the <code>lightweight</code> property.
+	 */
+	private static final String PROPERTY_LIGHTWEIGHT = "lightweight";
 	/**
 	 * The location of the window, when the position of the window could not be loaded from the properties,
 	 * or if the requested position is outside the screen.
@@ -77,16 +91,35 @@ public class FloatDock implements CompositeDock {
 	 */
 	@Nullable
 	private DockFactory childDockFactory;
+	/**
+	 * Remembers if the child dock factory can create a dock for the dragged dockable.
+	 */
+	@NotNull
+	private DockCreationCache dockCreationCache = new DockCreationCache();
 	/**
 	 * The list with the child docks of this dock.
 	 */
 	@NotNull
 	private List childDocks = new LinkedList();
 	/**
-	 * The mapping between the dockables and there floating windows.
+	 * The mapping between the child docks and there floating windows or lightweight floating panels.
 	 */
 	@NotNull
 	private Map childDockWindows = new HashMap();
+	/**
+	 * When true, the child docks are put in lightweight floating panels in the layered pane of the owner.
+	 * When false, they are put in floating windows.
+	 */
+	private boolean lightweight = false;
+	/**
+	 * Brings a lightweight floating panel to the front, when the mouse is pressed in it.
+	 */
+	@NotNull
+	private LightweightToFrontListener lightweightToFrontListener = new LightweightToFrontListener();
+	/**
+	 * True when the <code>lightweightToFrontListener</code> is added to the toolkit.
+	 */
+	private boolean lightweightToFrontListenerAdded = false;
 	/**
 	 * This is the priority for docking dockables in this dock.
 	 */
@@ -187,7 +220,7 @@ public class FloatDock implements CompositeDock {
 		// If the dockable is floatable, it can be docked in the float dock.
 		if ((dockableToAdd.getDockingModes() & DockingMode.FLOAT) != 0) {
 			// Can the child dock factory create a child dock?
-			if (childDockFactory.createDock(dockableToAdd, DockingMode.FLOAT) != null) {
+			if (dockCreationCache.canCreateDock(childDockFactory, dockableToAdd, DockingMode.FLOAT)) {
 				return dockPriority;
 			}
 		}
@@ -288,6 +321,9 @@ public class FloatDock implements CompositeDock {
 		// Save the dock priority
 		PropertiesUtil.setInteger(properties, prefix + "dockPriority", getDockPriority());
 
+		// Save the lightweight mode.
+		PropertiesUtil.setBoolean(properties, prefix + PROPERTY_LIGHTWEIGHT, lightweight);
+
 		// Save the class of the child dock factory and its properties.
 		String className = childDockFactory.getClass().getName();
 		PropertiesUtil.setString(properties, prefix + "childDockFactory", className);
@@ -302,12 +338,12 @@ public class FloatDock implements CompositeDock {
 			// Get the ID of the childDock.
 			String childDockId = (String) childDockIds.get(dock);
 
-			// Get the parent dialog.
-			Window window = (Window) childDockWindows.get(dock);
+			// Get the parent dialog or panel.
+			Container container = (Container) childDockWindows.get(dock);
 
 			// Save the rectangle.
-			dim[0] = window.getSize().width;
-			dim[1] = window.getSize().height;
+			dim[0] = container.getSize().width;
+			dim[1] = container.getSize().height;
 			PropertiesUtil.setIntegerArray(properties, prefix + CHILD_DOCK_PREFIX + "." + childDockId + "." + PROPERTY_WINDOW_DIMENSION, dim);
 
 			// Save the position. This is the (x,y) position and the index of the child dock in the list of child docks.
@@ -334,6 +370,9 @@ public class FloatDock implements CompositeDock {
 		// Set the owner of the float dock.
 		setOwner(owner);
 
+		// Set the lightweight mode before the child docks are added.
+		setLightweight(PropertiesUtil.getBoolean(properties, prefix + PROPERTY_LIGHTWEIGHT, lightweight));
+
 		// Set the dock priority property.
 		int dockPriority = Priority.CAN_DOCK;
 		dockPriority = PropertiesUtil.getInteger(properties, prefix + "dockPriority", dockPriority);
@@ -394,14 +433,12 @@ public class FloatDock implements CompositeDock {
 			// Inform the listeners about the removal.
 			dockingEventSupport.fireDockingWillChange(new ChildDockEvent(this, this, null, childDock));
 
-			// Remove the child.
+			// Remove the child and its window or panel.
+			Container container = getChildDockContainer(childDock);
 			childDocks.remove(childDock);
 			childDockWindows.remove(childDock);
-
-			// Get the window of the child and dispose it.
-			Window window = SwingUtilities.windowForComponent((Component) childDock);
-			window.setVisible(false);
-			window.dispose();
+			removeChildDockContainer(container);
+			updateLightweightToFrontListener();
 
 			// Inform the listeners about the removal.
 			dockingEventSupport.fireDockingChanged(new ChildDockEvent(this, this, null, childDock));
@@ -417,13 +454,14 @@ public class FloatDock implements CompositeDock {
 			dockingEventSupport.fireDockingWillChange(new ChildDockEvent(this, this, null, childDock));
 
 			// Remove the child.
+			Container container = getChildDockContainer(childDock);
 			childDocks.remove(childDock);
 			childDockWindows.remove(childDock);
 			ghostChildDock = childDock;
 
-			// Get the window of the child and make it invisible.
-			Window window = SwingUtilities.windowForComponent((Component) childDock);
-			window.setVisible(false);
+			// Make the window or panel of the child invisible.
+			container.setVisible(false);
+			updateLightweightToFrontListener();
 		}
 
 	}
@@ -432,10 +470,8 @@ public class FloatDock implements CompositeDock {
 
 		// Do we have a ghost?
 		if (ghostChildDock != null) {
-			// Get the window of the child and dispose it.
-			Window window = SwingUtilities.windowForComponent((Component) ghostChildDock);
-			window.setVisible(false);
-			window.dispose();
+			// Remove the window or panel of the child.
+			removeChildDockContainer(getChildDockContainer(ghostChildDock));
 			Dock oldGhostChildDock = ghostChildDock;
 			ghostChildDock = null;
 
@@ -464,12 +500,13 @@ public class FloatDock implements CompositeDock {
 	public Position getChildDockPosition(Dock childDock) throws IllegalArgumentException {
 
 		// Get the (x,y) position.
-		Window window = (Window) childDockWindows.get(childDock);
+		Container container = (Container) childDockWindows.get(childDock);
 		int index = childDocks.indexOf(childDock);
-		if ((index >= 0) && (window != null)) {
+		if ((index >= 0) && (container != null)) {
+			Point location = getScreenLocation(container);
 			int[] positions = new int[3];
-			positions[0] = window.getLocation().x;
-			positions[1] = window.getLocation().y;
+			positions[0] = location.x;
+			positions[1] = location.y;
 			positions[2] = index;
 			return new Position(positions);
 		}
@@ -537,12 +574,64 @@ public class FloatDock implements CompositeDock {
 		this.owner = owner;
 		if (this.owner != null) {
 			owner.addWindowListener(ownerWindowListener);
+			DockingManager.getFloatWindowPool().warmUp(owner);
 		}
 		// TODO remove the listeners added to the owner, when we are destroyed.
 
 	}
 
 
+	/**
+	 * Determines if the child docks are put in lightweight floating panels in the layered pane of the owner.
+	 *
+	 * @return True if the child docks are put in lightweight floating panels, false if they are put
+	 * in floating windows.
+	 */
+	public boolean isLightweight() {
+		return lightweight;
+	}
+
+	/**
+	 * <p>
+	 * Sets if the child docks are put in lightweight floating panels in the layered pane of the owner
+	 * or in floating windows.
+	 * </p>
+	 * <p>
+	 * The child docks that are already floating are moved to the new kind of floating containers.
+	 * Lightweight floating panels are only used, when the owner is a javax.swing.RootPaneContainer.
+	 * </p>
+	 *
+	 * @param lightweight True if the child docks should be put in lightweight floating panels, false if they should
+	 *                    be put in floating windows.
+	 */
+	public void setLightweight(boolean lightweight) {
+
+		if (this.lightweight == lightweight) {
+			return;
+		}
+		this.lightweight = lightweight;
+
+		// Move the child docks to the new containers. The last child is moved first, so the first child is on top.
+		for (int index = childDocks.size() - 1; index >= 0; index--) {
+			Dock dock = (Dock) childDocks.get(index);
+			Container oldContainer = (Container) childDockWindows.get(dock);
+			Point location = getScreenLocation(oldContainer);
+			Dimension size = oldContainer.getSize();
+			boolean visible = oldContainer.isVisible();
+			removeChildDockContainer(oldContainer);
+			Container newContainer = createChildDockContainer(dock, location, size);
+			childDockWindows.put(dock, newContainer);
+			newContainer.setVisible(visible);
+		}
+		updateLightweightToFrontListener();
+
+	}
+
+	/**
+	 * Gets the mapping between the child docks and their floating windows or lightweight floating panels.
+	 *
+	 * @return The mapping between the child docks and their floating windows or lightweight floating panels.
+	 */
 	@NotNull
 	protected Map getChildDockWindows() {
 		return childDockWindows;
@@ -586,8 +675,9 @@ public class FloatDock implements CompositeDock {
 	public void removeWindowFocusListener(WindowFocusListener windowFocusListener) {
 		windowFocusListeners.remove(windowFocusListener);
 		for (Object o : childDockWindows.values()) {
-			Window window = (Window) o;
-			window.removeWindowFocusListener(windowFocusListener);
+			if (o instanceof Window) {
+				((Window) o).removeWindowFocusListener(windowFocusListener);
+			}
 		}
 
 	}
@@ -609,9 +699,13 @@ public class FloatDock implements CompositeDock {
 		// Calculate the location for the floating window.
 		Point point = new Point(relativeLocation.x - dockableOffset.x, relativeLocation.y - dockableOffset.y);
 
-		// Get the floating window and change the location.
-		Window window = SwingUtilities.getWindowAncestor((Component) childDock);
-		window.setLocation(new Point(point.x, point.y));
+		// Get the floating window or panel and change the location.
+		Container container = getChildDockContainer(childDock);
+		if (container instanceof Window) {
+			container.setLocation(new Point(point.x, point.y));
+		} else {
+			setFloatPanelLocation(container, point.x, point.y);
+		}
 
 		// Inform the listeners about the move.
 		dockingEventSupport.fireDockingChanged(new ChildDockEvent(this, this, this, childDock));
@@ -636,6 +730,10 @@ public class FloatDock implements CompositeDock {
 	 * The floating window is put at the given location. The window will have the given size.
 	 * If this size is null, then the preferred size is taken.
 	 * </p>
+	 * <p>
+	 * In the lightweight mode the dock is put in a {@link FloatPanel} in the layered pane of the owner
+	 * instead of a dialog.
+	 * </p>
 	 *
 	 * @param dock     The child dock that is added to this float dock in a floating dialog.
 	 * @param location The location for the dialog.
@@ -647,21 +745,111 @@ public class FloatDock implements CompositeDock {
 		// Inform the listeners.
 		dockingEventSupport.fireDockingWillChange(new ChildDockEvent(this, null, this, dock));
 
+		// Put the dock in a floating window or panel.
+		Container container = createChildDockContainer(dock, location, size);
+		childDockWindows.put(dock, container);
+		updateLightweightToFrontListener();
+
+		// Add the child dock.
+		dock.setParentDock(this);
+		childDocks.add(0, dock);
+
+		// Inform the listeners.
+		dockingEventSupport.fireDockingChanged(new ChildDockEvent(this, null, this, dock));
+
+		container.setVisible(true);
+
+	}
+
+	/**
+	 * Gets the floating window or the lightweight floating panel that contains the given child dock.
+	 *
+	 * @param childDock A child dock of this float dock.
+	 * @return The floating window or the lightweight floating panel that contains the child dock.
+	 */
+	public Container getChildDockContainer(@NotNull Dock childDock) {
+
+		Container container = (Container) childDockWindows.get(childDock);
+		if (container == null) {
+			// The child can be a ghost.
+			Container parent = ((Component) childDock).getParent();
+			if (parent instanceof FloatPanel) {
+				return parent;
+			}
+			return SwingUtilities.getWindowAncestor((Component) childDock);
+		}
+		return container;
+
+	}
+
+	/**
+	 * Gives the floating window or the lightweight floating panel of the child dock its preferred size.
+	 *
+	 * @param childDock A child dock of this float dock.
+	 */
+	public void packChildDockContainer(@NotNull Dock childDock) {
+
+		Container container = getChildDockContainer(childDock);
+		if (container instanceof Window) {
+			((Window) container).pack();
+		} else if (container instanceof FloatPanel) {
+			((FloatPanel) container).pack();
+		}
+
+	}
+
+	// Protected methods.
+
+	/**
+	 * Moves the location inside the screen where the floating window has to be placed.
+	 *
+	 * @param location The location where the floating window will be put,
+	 *                 if the requested location is outside the screen.
+	 */
+	protected void getDefaultFloatingWindowLocation(@NotNull Point location) {
+
+		// Return the position of the defaultWindowLocation.
+		location.move(DEFAULT_WINDOW_LOCATION.x, DEFAULT_WINDOW_LOCATION.y);
+
+	}
+
+	// Private metods.
+
+	/**
+	 * Creates the invisible floating window or lightweight floating panel for a child dock.
+	 *
+	 * @param dock     The child dock that is put in the floating window or panel.
+	 * @param location The location of the window or panel on the screen. A window is moved inside the screen,
+	 *                 a panel is moved inside the layered pane.
+	 * @param size     The size of the window or panel. This may be null. In that case the preferred
+	 *                 size is taken.
+	 * @return The floating window or panel that contains the dock.
+	 */
+	@NotNull
+	private Container createChildDockContainer(@NotNull Dock dock, @NotNull Point location, @Nullable Dimension size) {
+
+		// Do we have to create a lightweight panel?
+		if (lightweight && (owner instanceof RootPaneContainer)) {
+			FloatPanel panel = new FloatPanel();
+			panel.add((Component) dock, BorderLayout.CENTER);
+			panel.setVisible(false);
+			if (size != null) {
+				panel.setSize(size.width, size.height);
+			} else {
+				panel.pack();
+			}
+			((RootPaneContainer) owner).getLayeredPane().add(panel, JLayeredPane.PALETTE_LAYER, 0);
+			setFloatPanelLocation(panel, location.x, location.y);
+			return panel;
+		}
+
 		// Calculate the location for the floating window.
 		Point point = new Point(location.x, location.y);
 		checkFloatingWindowLocation(point);
 
-		// Create a panel for the dock.
-		JPanel panel = new JPanel(new BorderLayout());
-		panel.setBorder(DockingManager.getComponentFactory().createFloatingBorder());
-		panel.add((Component) dock, BorderLayout.CENTER);
-
-		// Create the floating window.
-		Window dialog = DockingManager.getComponentFactory().createWindow(this.owner);
-		if (dialog instanceof JDialog)
-			((JDialog) dialog).setContentPane(panel);
-		else
-			((JFrame) dialog).setContentPane(panel);
+		// Get a floating window from the pool and put the dock in it.
+		Window dialog = DockingManager.getFloatWindowPool().obtain(this.owner);
+		SwingUtil.getContentPane(dialog).add((Component) dock, BorderLayout.CENTER);
 
 		// Add the listeners.
 		dialog.addWindowFocusListener(new MoveToFrontListener(dock));
@@ -677,35 +865,103 @@ public class FloatDock implements CompositeDock {
 			dialog.pack();
 		}
 		dialog.setLocation(point.x - dialog.getInsets().left, point.y - dialog.getInsets().top);
-		childDockWindows.put(dock, dialog);
+		return dialog;
 
-		// Add the child dock.
-		dock.setParentDock(this);
-		childDocks.add(0, dock);
+	}
 
-		// Inform the listeners.
-		dockingEventSupport.fireDockingChanged(new ChildDockEvent(this, null, this, dock));
+	/**
+	 * Removes a floating window or lightweight floating panel that is not used anymore.
+	 * A window is given back to the {@link com.javadocking.component.FloatWindowPool}.
+	 *
+	 * @param container The floating window or panel.
+	 */
+	private void removeChildDockContainer(@NotNull Container container) {
 
-		dialog.setVisible(true);
+		if (container instanceof Window) {
+			DockingManager.getFloatWindowPool().release((Window) container);
+		} else {
+			container.setVisible(false);
+			container.removeAll();
+			Container parent = container.getParent();
+			if (parent != null) {
+				Rectangle bounds = container.getBounds();
+				parent.remove(container);
+				parent.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+			}
+		}
 
 	}
 
-	// Protected methods.
+	/**
+	 * Moves a lightweight floating panel to the given screen location.
+	 * The panel is kept inside its layered pane.
+	 *
+	 * @param panel The lightweight floating panel.
+	 * @param x     The x-position on the screen.
+	 * @param y     The y-position on the screen.
+	 */
+	private void setFloatPanelLocation(@NotNull Container panel, int x, int y) {
+
+		// Convert the screen location to the layered pane.
+		Container layeredPane = panel.getParent();
+		Point origin = getScreenLocation(layeredPane);
+		x -= origin.x;
+		y -= origin.y;
+
+		// Keep the panel in the layered pane.
+		if (layeredPane.getWidth() > 0) {
+			x = Math.max(0, Math.min(x, layeredPane.getWidth() - panel.getWidth()));
+		}
+		if (layeredPane.getHeight() > 0) {
+			y = Math.max(0, Math.min(y, layeredPane.getHeight() - panel.getHeight()));
+		}
+		panel.setLocation(x, y);
+
+	}
 
 	/**
-	 * Moves the location inside the screen where the floating window has to be placed.
+	 * Gets the location of a floating window, a lightweight floating panel or a layered pane on the screen.
+	 * This is calculated with the location of the owner window, so the owner doesn't have to be showing.
 	 *
-	 * @param location The location where the floating window will be put,
-	 *                 if the requested location is outside the screen.
+	 * @param container The floating window, lightweight floating panel or layered pane.
+	 * @return The location of the container on the screen.
 	 */
-	protected void getDefaultFloatingWindowLocation(@NotNull Point location) {
+	@NotNull
+	private Point getScreenLocation(@NotNull Container container) {
 
-		// Return the position of the defaultWindowLocation.
-		location.move(DEFAULT_WINDOW_LOCATION.x, DEFAULT_WINDOW_LOCATION.y);
+		if ((container instanceof Window) || (owner == null)) {
+			return container.getLocation();
+		}
+		Point location = SwingUtilities.convertPoint(container.getParent(), container.getX(), container.getY(), owner);
+		location.translate(owner.getX(), owner.getY());
+		return location;
 
 	}
 
-	// Private metods.
+	/**
+	 * Adds the listener that brings the lightweight floating panels to the front to the toolkit,
+	 * when this dock has lightweight floating panels. Removes the listener otherwise.
+	 */
+	private void updateLightweightToFrontListener() {
+
+		boolean hasFloatPanels = false;
+		for (Object container : childDockWindows.values()) {
+			if (container instanceof FloatPanel) {
+				hasFloatPanels = true;
+				break;
+			}
+		}
+
+		if (hasFloatPanels != lightweightToFrontListenerAdded) {
+			if (hasFloatPanels) {
+				Toolkit.getDefaultToolkit().addAWTEventListener(lightweightToFrontListener, AWTEvent.MOUSE_EVENT_MASK);
+			} else {
+				Toolkit.getDefaultToolkit().removeAWTEventListener(lightweightToFrontListener);
+			}
+			lightweightToFrontListenerAdded = hasFloatPanels;
+		}
+
+	}
 
 	/**
 	 * Checks if the location is visible on the screen. If true, nothing is done.
@@ -754,6 +1010,9 @@ public class FloatDock implements CompositeDock {
 				dockable.setState(DockableState.CLOSED, null);
 			}
 
+			// Give the window back to the pool.
+			DockingManager.getFloatWindowPool().release(windowEvent.getWindow());
+
 		}
 
 		public void windowDeactivated(WindowEvent windowEvent) {
@@ -818,6 +1077,44 @@ public class FloatDock implements CompositeDock {
 
 	}
 
+	/**
+	 * Brings a lightweight floating panel of this dock to the front, when the mouse is pressed in it.
+	 * The child dock of the panel becomes the first child dock.
+	 */
+	private class LightweightToFrontListener implements AWTEventListener {
+
+		// Implementations of AWTEventListener.
+
+		public void eventDispatched(@NotNull AWTEvent event) {
+
+			if (event.getID() != MouseEvent.MOUSE_PRESSED) {
+				return;
+			}
+
+			// Get the floating panel of the component.
+			Component component = ((MouseEvent) event).getComponent();
+			Container panel = component instanceof FloatPanel ? (Container) component
+					: SwingUtilities.getAncestorOfClass(FloatPanel.class, component);
+			if (panel == null) {
+				return;
+			}
+
+			// Search the child dock of the panel.
+			for (Object o : childDockWindows.entrySet()) {
+				Map.Entry entry = (Map.Entry) o;
+				if (entry.getValue() == panel) {
+					Dock childDock = (Dock) entry.getKey();
+					((JLayeredPane) panel.getParent()).moveToFront(panel);
+					childDocks.remove(childDock);
+					childDocks.add(0, childDock);
+					return;
+				}
+			}
+
+		}
+
+	}
+
 	/**
 	 * This class listens to window events on the owner window
 	 * and executes the appropriate actions on the child windows.
@@ -832,20 +1129,28 @@ public class FloatDock implements CompositeDock {
 
 		public void windowClosed(WindowEvent windowEvent) {
 
-			for (int index = 0; index < childDocks.size(); index++) {
+			while (!childDocks.isEmpty()) {
 				// Get the child dock.
-				Dock dock = (Dock) childDocks.get(index);
-
-				// Get the parent window.
-				Window window = (Window) childDockWindows.get(dock);
-				window.setVisible(false);
-				window.dispose();
+				Dock dock = (Dock) childDocks.get(0);
+
+				// Get the parent window or panel.
+				// The owner is not displayable anymore, so the pool disposes the window and forgets it.
+				Container container = (Container) childDockWindows.get(dock);
+				if (container instanceof Window) {
+					DockingManager.getFloatWindowPool().release((Window) container);
+				} else {
+					removeChildDockContainer(container);
+				}
 
 				// Remove it from the list with child docks.
 				childDocks.remove(dock);
 				childDockWindows.remove(dock);
 
 			}
+			updateLightweightToFrontListener();
+
+			// Dispose the free windows of the owner.
+			DockingManager.getFloatWindowPool().clear(windowEvent.getWindow());
 
 		}
 
@@ -866,7 +1171,10 @@ public class FloatDock implements CompositeDock {
 		}
 
 		public void windowOpened(WindowEvent windowEvent) {
-			// Do nothing.
+
+			// Create the native windows for the first floating docks.
+			DockingManager.getFloatWindowPool().warmUp(windowEvent.getWindow());
+
 		}
 
 	}
@@ -297,8 +297,9 @@ public class GridDock extends JPanel implements LeafDock {
 				dockablePanelPosition.setLocation(relativeLocation);
 				dockablePanelPosition = SwingUtilities.convertPoint(this, dockablePanelPosition, dockablePanel);
 
-				// Iterate over the dockables.
-				for (int index = 0; index < childDockables.size(); index++) {
+				// Get the dockable under the mouse.
+				int index = getDockableIndexAt(dockablePanelPosition);
+				if (index >= 0) {
 					// Get the component of the current dockable.
 					Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
 					dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
@@ -307,31 +308,28 @@ public class GridDock extends JPanel implements LeafDock {
 					rectangle.setLocation(dockablePosition);
 					rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
 
-					// Is the mouse above this component?
-					if (rectangle.contains(dockablePanelPosition)) {
-						// Are we above the last dockable?
-						if (index == childDockables.size() - 1) {
-							// Is the grid full?
-							if ((childDockables.size() % columnCount) == 0) {
-								// Set the rectangle on the last half of the dockable.
-								dockablePosition.setLocation(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y);
+					// Are we above the last dockable?
+					if (index == childDockables.size() - 1) {
+						// Is the grid full?
+						if ((childDockables.size() % columnCount) == 0) {
+							// Set the rectangle on the last half of the dockable.
+							dockablePosition.setLocation(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y);
+							rectangle.setLocation(dockablePosition);
+							rectangle.setSize(dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
+							if (!rectangle.contains(dockablePanelPosition)) {
+								// Set the rectangle again on the whole last dockable.
+								dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
 								rectangle.setLocation(dockablePosition);
-								rectangle.setSize(dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
-								if (!rectangle.contains(dockablePanelPosition)) {
-									// Set the rectangle again on the whole last dockable.
-									dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
-									rectangle.setLocation(dockablePosition);
-									rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
-								}
+								rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
 							}
 						}
+					}
 
-						dockablePosition = SwingUtilities.convertPoint(dockablePanel, dockablePosition, this);
-						rectangle.setLocation(dockablePosition);
+					dockablePosition = SwingUtilities.convertPoint(dockablePanel, dockablePosition, this);
+					rectangle.setLocation(dockablePosition);
 
 
-						return priority;
-					}
+					return priority;
 				}
 
 				// The last half dock if it is full, otherwise the empty space.
@@ -802,34 +800,25 @@ public class GridDock extends JPanel implements LeafDock {
 		dockablePanelPosition.setLocation(relativeLocation);
 		dockablePanelPosition = SwingUtilities.convertPoint(this, dockablePanelPosition, dockablePanel);
 
-		// Iterate over the dockables.
-		for (int index = 0; index < childDockables.size(); index++) {
-			// Get the component of the current dockable.
-			Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
-			dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
-
-			// Set the rectangle on the dockable.
-			helpRectangle.setBounds(dockableComponent.getLocation().x, dockableComponent.getLocation().y,
-					dockableComponent.getSize().width, dockableComponent.getSize().height);
-
-			// Is the mouse above this recangle?
-			if (helpRectangle.contains(dockablePanelPosition)) {
-				// Are we above the last dockable?
-				if (index == childDockables.size() - 1) {
-					// Is the grid full?
-					if ((childDockables.size() % columnCount) == 0) {
-						// Set the rectangle on the last half of the dockable.
-						helpRectangle.setBounds(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y,
-								dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
-						if (helpRectangle.contains(dockablePanelPosition)) {
-							return childDockables.size();
-						}
+		// Get the dockable under the mouse.
+		int index = getDockableIndexAt(dockablePanelPosition);
+		if (index >= 0) {
+			// Are we above the last dockable?
+			if (index == childDockables.size() - 1) {
+				// Is the grid full?
+				if ((childDockables.size() % columnCount) == 0) {
+					// Set the rectangle on the last half of the dockable.
+					Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
+					helpRectangle.setBounds(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y,
+							dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
+					if (helpRectangle.contains(dockablePanelPosition)) {
+						return childDockables.size();
 					}
 				}
-
-				// Return the index of the dockable we are above.
-				return index;
 			}
+
+			// Return the index of the dockable we are above.
+			return index;
 		}
 
 		return childDockables.size();
@@ -869,11 +858,11 @@ public class GridDock extends JPanel implements LeafDock {
 		dockablePanelPosition.setLocation(relativeLocation);
 		dockablePanelPosition = SwingUtilities.convertPoint(this, dockablePanelPosition, dockablePanel);
 
-		// Iterate over the dockables.
-		for (Object childDockable : childDockables) {
+		// Get the dockable under the mouse. The center rectangles of the dockables are inside their cells.
+		int index = getDockableIndexAt(dockablePanelPosition);
+		if (index >= 0) {
 			// Get the component of the current dockable.
-			Component dockableComponent = ((Dockable) childDockable).getContent();
-			dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
+			Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
 
 			// Set the rectangle on the center of this dockable.
 			priorityRectangle.setBounds(dockableComponent.getLocation().x + priorityBorder, dockableComponent.getLocation().y + priorityBorder,
@@ -1047,21 +1036,90 @@ public class GridDock extends JPanel implements LeafDock {
 	}
 
 	/**
-	 * Rebuilds the whole dock again with the existing dockables.
+	 * <p>
+	 * Updates the panel with the dockables for the existing dockables and the given column count.
+	 * </p>
+	 * <p>
+	 * Only the column count of the grid layout is changed. The components of the dockables that are already
+	 * in the panel are only moved to their new index, the others are added and the components
+	 * that are not used anymore are removed.
+	 * </p>
 	 */
 	private void rebuildUI(int columnCount) {
 
-		// Remove all the existing things.
-		this.removeAll();
+		// Change the column count.
+		this.columnCount = columnCount;
+		((GridLayout) dockablePanel.getLayout()).setColumns(columnCount);
 
-		// Create and add the panel for the docks.
-		initializeUi(columnCount);
+		// Put the components of the dockables at their index.
+		for (int index = 0; index < childDockables.size(); index++) {
+			Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
+			if (dockableComponent.getParent() == dockablePanel) {
+				if (dockablePanel.getComponent(index) != dockableComponent) {
+					dockablePanel.setComponentZOrder(dockableComponent, index);
+				}
+			} else {
+				dockablePanel.add(dockableComponent, index);
+			}
+		}
+
+		// Remove the components that are not used anymore.
+		while (dockablePanel.getComponentCount() > childDockables.size()) {
+			dockablePanel.remove(dockablePanel.getComponentCount() - 1);
+		}
+
+		dockablePanel.revalidate();
+		dockablePanel.repaint();
+
+	}
+
+	/**
+	 * <p>
+	 * Gets the index of the dockable whose component contains the given position.
+	 * </p>
+	 * <p>
+	 * The cells of a grid layout have all the same size, so the row and column of the position
+	 * are calculated from the bounds of the first component. When the components are not laid out from left to right,
+	 * all the components are searched.
+	 * </p>
+	 *
+	 * @param position The position in the panel with the dockables.
+	 * @return The index of the dockable whose component contains the position, -1 if there is no such dockable.
+	 */
+	private int getDockableIndexAt(@NotNull Point position) {
+
+		if (dockablePanel.getComponentOrientation().isLeftToRight()) {
+			// Get the size of the cells.
+			GridLayout gridLayout = (GridLayout) dockablePanel.getLayout();
+			Component firstComponent = ((Dockable) childDockables.get(0)).getContent();
+			int cellWidth = firstComponent.getWidth();
+			int cellHeight = firstComponent.getHeight();
+			int x = position.x - firstComponent.getX();
+			int y = position.y - firstComponent.getY();
+			if ((cellWidth <= 0) || (cellHeight <= 0) || (x < 0) || (y < 0)) {
+				return -1;
+			}
 
-		// Add all the dockables.
-		for (Object childDockable1 : childDockables) {
-			Dockable childDockable = (Dockable) childDockable1;
-			dockablePanel.add(childDockable.getContent());
+			// Calculate the cell, and check that we are not in the gap between 2 cells.
+			int column = x / (cellWidth + gridLayout.getHgap());
+			int row = y / (cellHeight + gridLayout.getVgap());
+			if ((column >= columnCount) ||
+					(x % (cellWidth + gridLayout.getHgap()) >= cellWidth) ||
+					(y % (cellHeight + gridLayout.getVgap()) >= cellHeight)) {
+				return -1;
+			}
+			int index = row * columnCount + column;
+			return index < childDockables.size() ? index : -1;
+		}
+
+		// Iterate over the dockables.
+		for (int index = 0; index < childDockables.size(); index++) {
+			Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
+			if (dockableComponent.getBounds(helpRectangle).contains(position)) {
+				return index;
+			}
 		}
+		return -1;
 
 	}
 
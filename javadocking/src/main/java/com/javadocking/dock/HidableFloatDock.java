@@ -87,10 +87,10 @@ public class HidableFloatDock extends FloatDock {
 
 	public void addChildDock(@NotNull Dock dock, @NotNull Point location, Dimension size) {
 		super.addChildDock(dock, location, size);
-		Window window = (Window) getChildDockWindows().get(dock);
-		if (window != null) {
+		Component container = (Component) getChildDockWindows().get(dock);
+		if (container != null) {
 			if (hidden) {
-				window.setVisible(!hidden);
+				container.setVisible(!hidden);
 			}
 		}
 	}
@@ -112,8 +112,8 @@ public class HidableFloatDock extends FloatDock {
 
 		Map childDockWindows = getChildDockWindows();
 		for (Object o : getChildDockWindows().values()) {
-			Window window = (Window) o;
-			window.setVisible(!hidden);
+			Component container = (Component) o;
+			container.setVisible(!hidden);
 		}
 
 	}
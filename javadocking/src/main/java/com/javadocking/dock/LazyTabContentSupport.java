@@ -0,0 +1,278 @@
+package com.javadocking.dock;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * <p>
+ * This class helps {@link com.javadocking.dock.TabDock} and {@link com.javadocking.dock.CompositeTabDock}
+ * to keep only the content of the selected tab in the component hierarchy.
+ * </p>
+ * <p>
+ * The page of every tab is a holder container with one content component. When the content of a tab is detached,
+ * the holder stays in the tabbed pane as a cheap placeholder. The content is attached again when its tab is selected.
+ * </p>
+ * <p>
+ * The content of a tab that is not selected anymore is detached:
+ * <ul>
+ * <li>immediately, when the detach delay is 0.</li>
+ * <li>when the tab was not selected for the detach delay, when the detach delay is larger than 0.</li>
+ * <li>when {@link #detachUnselectedContents(JTabbedPane)} is called, e.g. when the memory is low.</li>
+ * </ul>
+ */
+class LazyTabContentSupport {
+
+	// Fields.
+
+	/**
+	 * The mapping between the holders of the tabs and their detached contents.
+	 */
+	@NotNull
+	private Map detachedContents = new IdentityHashMap();
+	/**
+	 * The mapping between the holders of tabs that are not selected anymore and the time when they were deselected.
+	 */
+	@NotNull
+	private Map deselectionTimes = new IdentityHashMap();
+	/**
+	 * The holder of the selected tab.
+	 */
+	@Nullable
+	private Component selectedHolder;
+	/**
+	 * The time in milliseconds that a tab should not be selected before its content is detached.
+	 * When the delay is negative, the contents are only detached with {@link #detachUnselectedContents(JTabbedPane)}.
+	 */
+	private int detachDelay = 0;
+	/**
+	 * The timer that detaches the contents of the tabs that were not selected for the detach delay.
+	 */
+	@Nullable
+	private Timer detachTimer;
+
+	// Package methods.
+
+	/**
+	 * Detaches the content from the holder of a tab. The holder stays in the tabbed pane.
+	 *
+	 * @param holder The holder of the tab.
+	 */
+	void detach(@NotNull Container holder) {
+
+		deselectionTimes.remove(holder);
+		if (holder.getComponentCount() > 0) {
+			Component content = holder.getComponent(0);
+			holder.remove(content);
+			detachedContents.put(holder, content);
+		}
+
+	}
+
+	/**
+	 * Attaches the detached content of the holder of a tab again.
+	 *
+	 * @param holder The holder of the tab.
+	 */
+	void attach(@NotNull Container holder) {
+
+		deselectionTimes.remove(holder);
+		Component content = (Component) detachedContents.remove(holder);
+
+		// Don't take the content away, when it was added somewhere else in the meantime.
+		if ((content != null) && (content.getParent() == null)) {
+			holder.add(content, BorderLayout.CENTER);
+			holder.validate();
+		}
+
+	}
+
+	/**
+	 * Forgets the holder of a tab, because it is removed or its content is taken away.
+	 *
+	 * @param holder The holder of the tab.
+	 * @return The content that was detached from the holder, or null if the content was not detached.
+	 */
+	@Nullable
+	Component forget(Component holder) {
+
+		deselectionTimes.remove(holder);
+		if (holder == selectedHolder) {
+			selectedHolder = null;
+		}
+		return (Component) detachedContents.remove(holder);
+
+	}
+
+	/**
+	 * Determines if the content of the holder of a tab is detached.
+	 *
+	 * @param holder The holder of the tab.
+	 * @return True if the content of the holder is detached, false otherwise.
+	 */
+	boolean isDetached(Component holder) {
+		return detachedContents.containsKey(holder);
+	}
+
+	/**
+	 * Gets the content that is detached from the holder of a tab.
+	 *
+	 * @param holder The holder of the tab.
+	 * @return The detached content of the holder, or null if the content is not detached.
+	 */
+	@Nullable
+	Component getDetachedContent(Component holder) {
+		return (Component) detachedContents.get(holder);
+	}
+
+	/**
+	 * Attaches the content of the holder that is selected now, and detaches or schedules the detaching of the
+	 * content of the holder that was selected before.
+	 *
+	 * @param holder The holder of the selected tab. Can be null.
+	 */
+	void selectionChanged(@Nullable Component holder) {
+
+		if (holder == selectedHolder) {
+			return;
+		}
+
+		// The content of the previous tab is not needed anymore.
+		Component previousHolder = selectedHolder;
+		selectedHolder = holder;
+		if (previousHolder instanceof Container) {
+			if (detachDelay == 0) {
+				detach((Container) previousHolder);
+			} else if (detachDelay > 0) {
+				deselectionTimes.put(previousHolder, System.currentTimeMillis());
+				startDetachTimer();
+			}
+		}
+
+		// Attach the content of the selected tab.
+		if (holder instanceof Container) {
+			attach((Container) holder);
+		}
+
+	}
+
+	/**
+	 * Detaches the contents of all the tabs that are not selected.
+	 *
+	 * @param tabbedPane The tabbed pane with the holders.
+	 * @return The number of contents that were detached.
+	 */
+	int detachUnselectedContents(@NotNull JTabbedPane tabbedPane) {
+
+		int count = 0;
+		int selectedIndex = tabbedPane.getSelectedIndex();
+		for (int index = 0; index < tabbedPane.getTabCount(); index++) {
+			Component holder = tabbedPane.getComponentAt(index);
+			if ((index != selectedIndex) && (holder instanceof Container) && (((Container) holder).getComponentCount() > 0)) {
+				detach((Container) holder);
+				count++;
+			}
+		}
+		return count;
+
+	}
+
+	/**
+	 * Attaches the contents of all the holders again and stops the detaching.
+	 * The selected holder is forgotten.
+	 */
+	void attachAll() {
+
+		Iterator iterator = new IdentityHashMap(detachedContents).keySet().iterator();
+		while (iterator.hasNext()) {
+			attach((Container) iterator.next());
+		}
+		deselectionTimes.clear();
+		selectedHolder = null;
+		stopDetachTimer();
+
+	}
+
+	/**
+	 * Gets the time in milliseconds that a tab should not be selected before its content is detached.
+	 *
+	 * @return The detach delay. When negative, the contents are only detached on demand.
+	 */
+	int getDetachDelay() {
+		return detachDelay;
+	}
+
+	/**
+	 * Sets the time in milliseconds that a tab should not be selected before its content is detached.
+	 *
+	 * @param detachDelay The detach delay. When negative, the contents are only detached on demand.
+	 */
+	void setDetachDelay(int detachDelay) {
+
+		this.detachDelay = detachDelay;
+		stopDetachTimer();
+		if (detachDelay < 0) {
+			deselectionTimes.clear();
+		} else if (!deselectionTimes.isEmpty()) {
+			startDetachTimer();
+		}
+
+	}
+
+	// Private methods.
+
+	private void startDetachTimer() {
+
+		if (detachTimer == null) {
+			detachTimer = new Timer(Math.max(detachDelay, 1), new DetachTimerListener());
+			detachTimer.setRepeats(true);
+			detachTimer.start();
+		}
+
+	}
+
+	private void stopDetachTimer() {
+
+		if (detachTimer != null) {
+			detachTimer.stop();
+			detachTimer = null;
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * Detaches the contents of the tabs that were not selected for the detach delay.
+	 */
+	private class DetachTimerListener implements ActionListener {
+
+		// Implementations of ActionListener.
+
+		public void actionPerformed(ActionEvent actionEvent) {
+
+			long now = System.currentTimeMillis();
+			Iterator iterator = new IdentityHashMap(deselectionTimes).entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry entry = (Map.Entry) iterator.next();
+				if (now - (Long) entry.getValue() >= detachDelay) {
+					detach((Container) entry.getKey());
+				}
+			}
+
+			if (deselectionTimes.isEmpty()) {
+				stopDetachTimer();
+			}
+
+		}
+
+	}
+
+}
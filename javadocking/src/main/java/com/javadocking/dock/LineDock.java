@@ -348,8 +348,9 @@ public class LineDock extends JPanel implements LeafDock {
 				dockablePanelPosition.setLocation(relativeLocation);
 				dockablePanelPosition = SwingUtilities.convertPoint(this, dockablePanelPosition, dockablePanel);
 
-				// Iterate over the dockables.
-				for (int index = 0; index < childDockables.size(); index++) {
+				// Get the dockable under the mouse.
+				int index = getDockableIndexAt(dockablePanelPosition);
+				if (index >= 0) {
 					// Get the component of the current dockable.
 					Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
 					dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
@@ -360,98 +361,94 @@ public class LineDock extends JPanel implements LeafDock {
 					// Calculate the width of the rectangle.
 					rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
 
-
-					// Is the mouse above this component?
-					if (rectangle.contains(dockablePanelPosition)) {
-						// Are we above the last dockable?
-						if (index == childDockables.size() - 1) {
-							if (orientation == ORIENTATION_HORIZONTAL) {
-								// Set the rectangle on the last half of the dockable.
-								dockablePosition.setLocation(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y);
-								rectangle.setLocation(dockablePosition);
+					// Are we above the last dockable?
+					if (index == childDockables.size() - 1) {
+						if (orientation == ORIENTATION_HORIZONTAL) {
+							// Set the rectangle on the last half of the dockable.
+							dockablePosition.setLocation(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y);
+							rectangle.setLocation(dockablePosition);
+							if (realSizeRectangle) {
+								rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
+							} else {
+								rectangle.setSize(dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
+							}
+							if (rectangle.contains(dockablePanelPosition)) {
 								if (realSizeRectangle) {
-									rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
-								} else {
-									rectangle.setSize(dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
-								}
-								if (rectangle.contains(dockablePanelPosition)) {
-									if (realSizeRectangle) {
-										dockablePosition.setLocation(dockableComponent.getLocation().x + dockableComponent.getSize().width, dockableComponent.getLocation().y);
-									}
-								} else {
-									// Set the rectangle again on the whole last dockable.
-									dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
-									rectangle.setLocation(dockablePosition);
-									rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
+									dockablePosition.setLocation(dockableComponent.getLocation().x + dockableComponent.getSize().width, dockableComponent.getLocation().y);
 								}
 							} else {
-								// Set the rectangle on the last half of the dockable.
-								dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y + dockableComponent.getSize().height / 2);
+								// Set the rectangle again on the whole last dockable.
+								dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
 								rectangle.setLocation(dockablePosition);
+								rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
+							}
+						} else {
+							// Set the rectangle on the last half of the dockable.
+							dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y + dockableComponent.getSize().height / 2);
+							rectangle.setLocation(dockablePosition);
+							if (realSizeRectangle) {
+								rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
+							} else {
+								rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height / 2);
+							}
+							if (rectangle.contains(dockablePanelPosition)) {
 								if (realSizeRectangle) {
-									rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
-								} else {
-									rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height / 2);
-								}
-								if (rectangle.contains(dockablePanelPosition)) {
-									if (realSizeRectangle) {
-										dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y + dockableComponent.getSize().height);
-									}
-								} else {
-									// Set the rectangle again on the whole last dockable.
-									dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
-									rectangle.setLocation(dockablePosition);
-									rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
+									dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y + dockableComponent.getSize().height);
 								}
+							} else {
+								// Set the rectangle again on the whole last dockable.
+								dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
+								rectangle.setLocation(dockablePosition);
+								rectangle.setSize(dockableComponent.getSize().width, dockableComponent.getSize().height);
 							}
 						}
+					}
 
-						// Calculate the width or height of the rectangle.
-						if (dockable instanceof CompositeDockable) {
-							CompositeDockable compositeDockable = (CompositeDockable) dockable;
+					// Calculate the width or height of the rectangle.
+					if (dockable instanceof CompositeDockable) {
+						CompositeDockable compositeDockable = (CompositeDockable) dockable;
 
-							if (realSizeRectangle) {
-								if (orientation == ORIENTATION_HORIZONTAL) {
-									int width = DockingUtil.getCompositeDockablePreferredSize(compositeDockable, DockingMode.HORIZONTAL_LINE).width;
-									rectangle.setSize(width, dockableComponent.getSize().height);
-								} else {
-									int height = DockingUtil.getCompositeDockablePreferredSize(compositeDockable, DockingMode.VERTICAL_LINE).height;
-									rectangle.setSize(dockableComponent.getSize().width, height);
-								}
+						if (realSizeRectangle) {
+							if (orientation == ORIENTATION_HORIZONTAL) {
+								int width = DockingUtil.getCompositeDockablePreferredSize(compositeDockable, DockingMode.HORIZONTAL_LINE).width;
+								rectangle.setSize(width, dockableComponent.getSize().height);
 							} else {
-								Dimension rectangleSize = new Dimension(dockableComponent.getSize().width, dockableComponent.getSize().height);
-								int childIndex = 1;
-								while ((childIndex < compositeDockable.getDockableCount()) && (childIndex + index < childDockables.size())) {
-									Component nextDockableComponent = ((Dockable) childDockables.get(index + childIndex)).getContent();
-									if (orientation == ORIENTATION_HORIZONTAL) {
-										rectangleSize.setSize(rectangleSize.getSize().width + nextDockableComponent.getSize().width,
-												rectangleSize.getSize().height);
-									} else {
-										rectangleSize.setSize(rectangleSize.getSize().width,
-												rectangleSize.getSize().height + nextDockableComponent.getSize().height);
-									}
-									childIndex++;
-								}
-								rectangle.setSize(rectangleSize);
+								int height = DockingUtil.getCompositeDockablePreferredSize(compositeDockable, DockingMode.VERTICAL_LINE).height;
+								rectangle.setSize(dockableComponent.getSize().width, height);
 							}
 						} else {
-							if (realSizeRectangle) {
+							Dimension rectangleSize = new Dimension(dockableComponent.getSize().width, dockableComponent.getSize().height);
+							int childIndex = 1;
+							while ((childIndex < compositeDockable.getDockableCount()) && (childIndex + index < childDockables.size())) {
+								Component nextDockableComponent = ((Dockable) childDockables.get(index + childIndex)).getContent();
 								if (orientation == ORIENTATION_HORIZONTAL) {
-									Dimension rectangleSize = new Dimension(dockable.getContent().getPreferredSize().width, dockableComponent.getSize().height);
-									rectangle.setSize(rectangleSize);
+									rectangleSize.setSize(rectangleSize.getSize().width + nextDockableComponent.getSize().width,
+											rectangleSize.getSize().height);
 								} else {
-									Dimension rectangleSize = new Dimension(dockableComponent.getSize().width, dockable.getContent().getPreferredSize().height);
-									rectangle.setSize(rectangleSize);
+									rectangleSize.setSize(rectangleSize.getSize().width,
+											rectangleSize.getSize().height + nextDockableComponent.getSize().height);
 								}
+								childIndex++;
+							}
+							rectangle.setSize(rectangleSize);
+						}
+					} else {
+						if (realSizeRectangle) {
+							if (orientation == ORIENTATION_HORIZONTAL) {
+								Dimension rectangleSize = new Dimension(dockable.getContent().getPreferredSize().width, dockableComponent.getSize().height);
+								rectangle.setSize(rectangleSize);
+							} else {
+								Dimension rectangleSize = new Dimension(dockableComponent.getSize().width, dockable.getContent().getPreferredSize().height);
+								rectangle.setSize(rectangleSize);
 							}
 						}
+					}
 
-						dockablePosition = SwingUtilities.convertPoint(dockablePanel, dockablePosition, this);
-						rectangle.setLocation(dockablePosition);
+					dockablePosition = SwingUtilities.convertPoint(dockablePanel, dockablePosition, this);
+					rectangle.setLocation(dockablePosition);
 
 
-						return priority;
-					}
+					return priority;
 				}
 
 				// The mouse is not above a child dockable.
@@ -1039,40 +1036,31 @@ public class LineDock extends JPanel implements LeafDock {
 		dockablePanelPosition.setLocation(relativePosition);
 		dockablePanelPosition = SwingUtilities.convertPoint(this, dockablePanelPosition, dockablePanel);
 
-		// Iterate over the dockables.
-		for (int index = 0; index < childDockables.size(); index++) {
-			// Get the component of the current dockable.
-			Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
-			dockablePosition.setLocation(dockableComponent.getLocation().x, dockableComponent.getLocation().y);
-
-			// Set the rectangle on the dockable.
-			helpRectangle.setBounds(dockableComponent.getLocation().x, dockableComponent.getLocation().y,
-					dockableComponent.getSize().width, dockableComponent.getSize().height);
-
-			// Is the mouse above this recangle?
-			if (helpRectangle.contains(dockablePanelPosition)) {
-				// Are we above the last dockable?
-				if (index == childDockables.size() - 1) {
-					// Set the rectangle on the last half of the dockable.
-					if (orientation == ORIENTATION_HORIZONTAL) {
-						helpRectangle.setBounds(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y,
-								dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
-						if (helpRectangle.contains(dockablePanelPosition)) {
-							return childDockables.size();
-						}
-					} else {
-						helpRectangle.setBounds(dockableComponent.getLocation().x, dockableComponent.getLocation().y + dockableComponent.getSize().height / 2,
-								dockableComponent.getSize().width, dockableComponent.getSize().height / 2);
-						if (helpRectangle.contains(dockablePanelPosition)) {
-							return childDockables.size();
-						}
-
+		// Get the dockable under the mouse.
+		int index = getDockableIndexAt(dockablePanelPosition);
+		if (index >= 0) {
+			// Are we above the last dockable?
+			if (index == childDockables.size() - 1) {
+				// Set the rectangle on the last half of the dockable.
+				Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
+				if (orientation == ORIENTATION_HORIZONTAL) {
+					helpRectangle.setBounds(dockableComponent.getLocation().x + dockableComponent.getSize().width / 2, dockableComponent.getLocation().y,
+							dockableComponent.getSize().width / 2, dockableComponent.getSize().height);
+					if (helpRectangle.contains(dockablePanelPosition)) {
+						return childDockables.size();
+					}
+				} else {
+					helpRectangle.setBounds(dockableComponent.getLocation().x, dockableComponent.getLocation().y + dockableComponent.getSize().height / 2,
+							dockableComponent.getSize().width, dockableComponent.getSize().height / 2);
+					if (helpRectangle.contains(dockablePanelPosition)) {
+						return childDockables.size();
 					}
-				}
 
-				// Return the index of the dockable we are above.
-				return index;
+				}
 			}
+
+			// Return the index of the dockable we are above.
+			return index;
 		}
 
 		return childDockables.size();
@@ -1110,11 +1098,11 @@ public class LineDock extends JPanel implements LeafDock {
 		dockablePanelPosition.setLocation(relativeLocation);
 		dockablePanelPosition = SwingUtilities.convertPoint(this, dockablePanelPosition, dockablePanel);
 
-		// Iterate over the dockables.
-		for (Object childDockable : childDockables) {
+		// Get the dockable under the mouse. The priority rectangles of the dockables are inside their components.
+		int index = getDockableIndexAt(dockablePanelPosition);
+		if (index >= 0) {
 			// Get the component of the current dockable.
-			Component dockableComponent = ((Dockable) childDockable).getContent();
-			dockablePosition.setLocation(dockableComponent.getLocation().x + priorityBorder, dockableComponent.getLocation().y + priorityBorder);
+			Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
 
 			// Set the rectangle on the dockable.
 			helpRectangle.setBounds(dockableComponent.getLocation().x, dockableComponent.getLocation().y,
@@ -1169,6 +1157,54 @@ public class LineDock extends JPanel implements LeafDock {
 
 	}
 
+	/**
+	 * <p>
+	 * Gets the index of the dockable whose component contains the given position.
+	 * </p>
+	 * <p>
+	 * The components of the dockables are ordered along the axis of the line, so they are searched with bisection.
+	 * When the components of a horizontal grid are not laid out from left to right, all the components are searched.
+	 * </p>
+	 *
+	 * @param position The position in the panel with the dockables.
+	 * @return The index of the dockable whose component contains the position, -1 if there is no such dockable.
+	 */
+	private int getDockableIndexAt(@NotNull Point position) {
+
+		boolean horizontal = orientation == ORIENTATION_HORIZONTAL;
+		if ((!horizontal) || (!grid) || (dockablePanel.getComponentOrientation().isLeftToRight())) {
+			// Search the component with bisection.
+			int location = horizontal ? position.x : position.y;
+			int low = 0;
+			int high = childDockables.size() - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				Component dockableComponent = ((Dockable) childDockables.get(middle)).getContent();
+				int start = horizontal ? dockableComponent.getX() : dockableComponent.getY();
+				int end = start + (horizontal ? dockableComponent.getWidth() : dockableComponent.getHeight());
+				if (location < start) {
+					high = middle - 1;
+				} else if (location >= end) {
+					low = middle + 1;
+				} else {
+					// The position can still be above or below the component.
+					return dockableComponent.getBounds(helpRectangle).contains(position) ? middle : -1;
+				}
+			}
+			return -1;
+		}
+
+		// Iterate over the dockables.
+		for (int index = 0; index < childDockables.size(); index++) {
+			Component dockableComponent = ((Dockable) childDockables.get(index)).getContent();
+			if (dockableComponent.getBounds(helpRectangle).contains(position)) {
+				return index;
+			}
+		}
+		return -1;
+
+	}
+
 	/**
 	 * Rebuilds the whole dock again with the existing dockables.
 	 */
@@ -2,6 +2,7 @@ package com.javadocking.dock;
 
 import com.javadocking.DockingManager;
 import com.javadocking.dock.factory.*;
+import com.javadocking.dock.layout.SplitDockLayout;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockingMode;
 import com.javadocking.event.ChildDockEvent;
@@ -114,40 +115,18 @@ public class SplitDock extends JPanel implements CompositeDock {
 	 * The name of the <code>removeLastEmptyChild</code> property.
 	 */
 	private static final String PROPERTY_REMOVE_LAST_EMPTY_CHILD = "removeLastEmptyChild";
-
-	/**
-	 * The relative top offset of the priority rectangle when the dock is empty.
-	 */
-	private static final double centerPriorityRectangleRelativeTopOffset = 2.0 / 8.0;
-	/**
-	 * The relative left offset of the priority rectangle when the dock is empty.
-	 */
-	private static final double centerPriorityRectangleRelativeLeftOffset = 2.0 / 8.0;
-	/**
-	 * The relative bottom offset of the priority rectangle when the dock is empty.
-	 */
-	private static final double centerPriorityRectangleRelativeBottomOffset = 2.0 / 8.0;
-	/**
-	 * The relative right offset of the priority rectangle when the dock is empty.
-	 */
-	private static final double centerPriorityRectangleRelativeRightOffset = 2.0 / 8.0;
-
-	/**
-	 * The relative width of the left priority rectangle when there is already one child dock.
-	 */
-	private static final double leftPriorityRectangleRelativeWidth = 2.0 / 8.0;
 	/**
-	 * The relative width of the right priority rectangle when there is already one child dock.
+	 * The border positions whose priority rectangles are tried, in this order.
 	 */
-	private static final double rightPriorityRectangleRelativeWidth = 2.0 / 8.0;
+	private static final int[] BORDER_POSITIONS = {Position.LEFT, Position.RIGHT, Position.TOP, Position.BOTTOM};
 	/**
-	 * The relative height of the top priority rectangle when there is already one child dock.
+	 * The docking modes that the new dockable needs for the border positions.
 	 */
-	private static final double topPriorityRectangleRelativeHeight = 2.0 / 8.0;
+	private static final int[] BORDER_DOCKING_MODES = {DockingMode.LEFT, DockingMode.RIGHT, DockingMode.TOP, DockingMode.BOTTOM};
 	/**
-	 * The relative height of the bottom priority rectangle when there is already one child dock.
+	 * The docking modes that the existing child needs for the border positions.
 	 */
-	private static final double bottomPriorityRectangleRelativeHeight = 2.0 / 8.0;
+	private static final int[] OPPOSITE_DOCKING_MODES = {DockingMode.RIGHT, DockingMode.LEFT, DockingMode.BOTTOM, DockingMode.TOP};
 
 	// Fields.
 
@@ -176,6 +155,11 @@ public class SplitDock extends JPanel implements CompositeDock {
 	 */
 	@Nullable
 	private DockFactory childDockFactory;
+	/**
+	 * Remembers if the child dock factory can create a dock for the dragged dockable.
+	 */
+	@NotNull
+	private DockCreationCache dockCreationCache = new DockCreationCache();
 	/**
 	 * This factory creates the new split docks.
 	 * This dock factory should create a <code>SplitDock</code> when it is used with the modes
@@ -189,6 +173,18 @@ public class SplitDock extends JPanel implements CompositeDock {
 	 */
 	@Nullable
 	private JSplitPane splitPane;
+	/**
+	 * The dockables of the dockable tree of a dockable that is checked in getDockPriority. We keep it as field
+	 * because we don't want to create every time a new list.
+	 */
+	@NotNull
+	private List childrenOfDockable = new ArrayList();
+	/**
+	 * The dockables of a dock that is checked in getDockPriority. We keep it as field
+	 * because we don't want to create every time a new list.
+	 */
+	@NotNull
+	private List childrenOfDock = new ArrayList();
 	/**
 	 * This is the rectangle in which a dockable can be docked with priority. We keep it as field
 	 * because we don't want to create every time a new rectangle.
@@ -343,55 +339,14 @@ public class SplitDock extends JPanel implements CompositeDock {
 		int dockingMode = getDockingMode(dockPosition);
 
 		// We can only dock if the dock factory can create a dock.
-		if (childDockFactory.createDock(dockable, dockingMode) != null) {
+		if (dockCreationCache.canCreateDock(childDockFactory, dockable, dockingMode)) {
 			// Test if the dockable is already docked in this dock and at the same position.
 			// In that case return Dock.CANNOT_DOCK.
 
-			// Is the dockable already in this dock and are there no others?
-			List childrenOfDockable = new ArrayList();
-			List childrenOfDock = new ArrayList();
-			DockingUtil.retrieveDockables(dockable, childrenOfDockable);
-			DockingUtil.retrieveDockables(this, childrenOfDock);
-			if (sameElements(childrenOfDockable, childrenOfDock)) {
+			if (isDockedAtSamePosition(dockable, relativeLocation)) {
 				return Priority.CANNOT_DOCK;
 			}
 
-			// Is the parent of this dock a split dock that is full
-			// and with the given dockable already at the same location as where we want to dock it now?
-			CompositeDock parentDock = this.getParentDock();
-			if (parentDock != null) {
-				if (parentDock instanceof SplitDock) {
-					SplitDock parentSplitDock = (SplitDock) parentDock;
-					if (parentDock.isFull()) {
-						int parentOrientation = parentSplitDock.splitPane.getOrientation();
-
-						// Get the position for the new dockable.
-						int position = getDockPosition(relativeLocation, dockable);
-
-						// Get the dock in the same position of the parent dock.
-						Dock correspondentChild = null;
-						if ((position == Position.LEFT) && (parentOrientation == JSplitPane.HORIZONTAL_SPLIT)) {
-							correspondentChild = parentSplitDock.leftChildDock;
-						} else if ((position == Position.RIGHT) && (parentOrientation == JSplitPane.HORIZONTAL_SPLIT)) {
-							correspondentChild = parentSplitDock.rightChildDock;
-						} else if ((position == Position.TOP) && (parentOrientation == JSplitPane.VERTICAL_SPLIT)) {
-							correspondentChild = parentSplitDock.leftChildDock;
-						} else if ((position == Position.BOTTOM) && (parentOrientation == JSplitPane.VERTICAL_SPLIT)) {
-							correspondentChild = parentSplitDock.rightChildDock;
-						}
-						if (correspondentChild != null) {
-							// Does this child dock has the same dockables as the dockable we want to add.
-							childrenOfDock = new ArrayList();
-							DockingUtil.retrieveDockables(correspondentChild, childrenOfDock);
-							if (sameElements(childrenOfDockable, childrenOfDock)) {
-								return Priority.CANNOT_DOCK;
-							}
-						}
-
-					}
-				}
-			}
-
 			// Can we dock with priority?
 			if (canAddDockableWithPriority(dockable, relativeLocation)) {
 				return Priority.CAN_DOCK_WITH_PRIORITY;
@@ -424,18 +379,12 @@ public class SplitDock extends JPanel implements CompositeDock {
 				Dimension newDockablePreferredSize = childDockFactory.getDockPreferredSize(dockable, dockingMode);
 
 				// Get the bounds.
-				if (position == Position.LEFT) {
-					int dockingWidth = getChildDockWidth(newDockablePreferredSize.width, childDockPreferredSize.width, getSize().width, position);
-					rectangle.setBounds(0, 0, dockingWidth, getSize().height);
-				} else if (position == Position.RIGHT) {
-					int dockingWidth = getChildDockWidth(newDockablePreferredSize.width, childDockPreferredSize.width, getSize().width, position);
-					rectangle.setBounds(getSize().width - dockingWidth, 0, dockingWidth, getSize().height);
-				} else if (position == Position.TOP) {
-					int dockingHeight = getChildDockWidth(newDockablePreferredSize.height, childDockPreferredSize.height, getSize().height, position);
-					rectangle.setBounds(0, 0, getSize().width, dockingHeight);
-				} else if (position == Position.BOTTOM) {
-					int dockingHeight = getChildDockWidth(newDockablePreferredSize.height, childDockPreferredSize.height, getSize().height, position);
-					rectangle.setBounds(0, getSize().height - dockingHeight, getSize().width, dockingHeight);
+				if ((position == Position.LEFT) || (position == Position.RIGHT)) {
+					int dockingWidth = getChildDockWidth(newDockablePreferredSize.width, childDockPreferredSize.width, getWidth(), position);
+					SplitDockLayout.getDockingRectangle(getWidth(), getHeight(), position, dockingWidth, rectangle);
+				} else if ((position == Position.TOP) || (position == Position.BOTTOM)) {
+					int dockingHeight = getChildDockWidth(newDockablePreferredSize.height, childDockPreferredSize.height, getHeight(), position);
+					SplitDockLayout.getDockingRectangle(getWidth(), getHeight(), position, dockingHeight, rectangle);
 				}
 			}
 		}
@@ -1231,41 +1180,7 @@ public class SplitDock extends JPanel implements CompositeDock {
 	 * @param    rectangle                    Gets the size and position of the calculated priority rectangle.
 	 */
 	protected void getPriorityRectangle(@NotNull Rectangle rectangle, int position) {
-
-		Dimension size = getSize();
-		switch (position) {
-			case Position.LEFT:
-				rectangle.setBounds(0,
-						0,
-						(int) (((double) size.width) * leftPriorityRectangleRelativeWidth),
-						size.height);
-				break;
-			case Position.RIGHT:
-				rectangle.setBounds((int) (((double) size.width) * (1 - rightPriorityRectangleRelativeWidth)),
-						0,
-						(int) (((double) size.width) * rightPriorityRectangleRelativeWidth),
-						size.height);
-				break;
-			case Position.TOP:
-				rectangle.setBounds(0,
-						0,
-						size.width,
-						(int) (((double) size.height) * topPriorityRectangleRelativeHeight));
-				break;
-			case Position.BOTTOM:
-				rectangle.setBounds(0,
-						(int) (((double) size.height) * (1 - bottomPriorityRectangleRelativeHeight)),
-						size.width,
-						(int) (((double) size.height) * bottomPriorityRectangleRelativeHeight));
-				break;
-			case Position.CENTER:
-				rectangle.setBounds((int) (size.width * centerPriorityRectangleRelativeLeftOffset),
-						(int) (size.height * centerPriorityRectangleRelativeTopOffset),
-						(int) (size.width * (1 - centerPriorityRectangleRelativeLeftOffset - centerPriorityRectangleRelativeRightOffset)),
-						(int) (size.height * (1 - centerPriorityRectangleRelativeTopOffset - centerPriorityRectangleRelativeBottomOffset)));
-				break;
-		}
-
+		SplitDockLayout.getPriorityRectangle(getWidth(), getHeight(), position, rectangle);
 	}
 
 	/**
@@ -1284,48 +1199,20 @@ public class SplitDock extends JPanel implements CompositeDock {
 			return (priorityRectangle.contains(relativeLocation));
 		}
 
-		// Get the possible docking modes of the new dockable and of the existing dockable.
-		int dockModes = dockable.getDockingModes();
-		Dockable otherDockable = DockingUtil.createDockable(this);
-		int otherDockModes = DockingMode.ALL;
-		if (otherDockable != null) {
-			otherDockModes = otherDockable.getDockingModes();
-		}
-
-		// Try left.
-		if (((dockModes & DockingMode.LEFT) != 0) &&
-				((otherDockModes & DockingMode.RIGHT) != 0)) {
-			getPriorityRectangle(priorityRectangle, Position.LEFT);
-			if (priorityRectangle.contains(relativeLocation)) {
-				return true;
-			}
-		}
-
-		// Try right.
-		if (((dockModes & DockingMode.RIGHT) != 0) &&
-				((otherDockModes & DockingMode.LEFT) != 0)) {
-			getPriorityRectangle(priorityRectangle, Position.RIGHT);
-			if (priorityRectangle.contains(relativeLocation)) {
-				return true;
-			}
-		}
-
-		// Try top.
-		if (((dockModes & DockingMode.TOP) != 0) &&
-				((otherDockModes & DockingMode.BOTTOM) != 0)) {
-			getPriorityRectangle(priorityRectangle, Position.TOP);
-			if (priorityRectangle.contains(relativeLocation)) {
-				return true;
+		// Try the priority rectangles at the borders for the possible docking modes.
+		int dockingModes = dockable.getDockingModes();
+		int otherDockingModes = getOtherDockingModes();
+		for (int index = 0; index < BORDER_POSITIONS.length; index++) {
+			int position = BORDER_POSITIONS[index];
+			if (((dockingModes & BORDER_DOCKING_MODES[index]) != 0) &&
+					((otherDockingModes & OPPOSITE_DOCKING_MODES[index]) != 0)) {
+				getPriorityRectangle(priorityRectangle, position);
+				if (priorityRectangle.contains(relativeLocation)) {
+					return true;
+				}
 			}
 		}
 
-		// Try bottom.
-		if (((dockModes & DockingMode.BOTTOM) != 0) &&
-				((otherDockModes & DockingMode.TOP) != 0)) {
-			getPriorityRectangle(priorityRectangle, Position.BOTTOM);
-			return priorityRectangle.contains(relativeLocation);
-		}
-
 		// We can't dock with priority.
 		return false;
 
@@ -1355,91 +1242,9 @@ public class SplitDock extends JPanel implements CompositeDock {
 			return Position.CENTER;
 		}
 
-		// Get the possible docking modes of the new dockable and of the existing dockable.
-		int dockModes = newDockable.getDockingModes();
-		Dockable otherDockable = DockingUtil.createDockable(this);
-		int otherDockModes = DockingMode.ALL;
-		if (otherDockable != null) {
-			otherDockModes = otherDockable.getDockingModes();
-		}
-
-		// Get the size of this dock.
-		Dimension dimension = this.getSize();
-
 		// Take the closest border as position.
-		int halfWidth = dimension.width / 2;
-		int halfHeight = dimension.height / 2;
-		if (relativeLocation.x < halfWidth) {
-			if (relativeLocation.y < halfHeight) {
-				if (relativeLocation.x < relativeLocation.y) {
-					if (((dockModes & DockingMode.LEFT) != 0) &&
-							((otherDockModes & DockingMode.RIGHT) != 0)) {
-						return Position.LEFT;
-					}
-				} else {
-					if (((dockModes & DockingMode.TOP) != 0) &&
-							((otherDockModes & DockingMode.BOTTOM) != 0)) {
-						return Position.TOP;
-					}
-				}
-			} else {
-				if (relativeLocation.x < (dimension.height - relativeLocation.y)) {
-					if (((dockModes & DockingMode.LEFT) != 0) &&
-							((otherDockModes & DockingMode.RIGHT) != 0)) {
-
-						return Position.LEFT;
-					}
-				} else {
-					if (((dockModes & DockingMode.LEFT) != 0) &&
-							((otherDockModes & DockingMode.RIGHT) != 0)) {
-						return Position.LEFT;
-					}
-				}
-			}
-
-		} else {
-			if (relativeLocation.y < halfHeight) {
-				if ((dimension.width - relativeLocation.x) < relativeLocation.y) {
-					if (((dockModes & DockingMode.RIGHT) != 0) &&
-							((otherDockModes & DockingMode.LEFT) != 0)) {
-
-						return Position.RIGHT;
-					}
-				} else {
-					if (((dockModes & DockingMode.TOP) != 0) &&
-							((otherDockModes & DockingMode.BOTTOM) != 0)) {
-
-						return Position.TOP;
-					}
-				}
-			} else {
-				if ((dimension.width - relativeLocation.x) < (dimension.height - relativeLocation.y)) {
-					if (((dockModes & DockingMode.RIGHT) != 0) &&
-							((otherDockModes & DockingMode.LEFT) != 0)) {
-
-						return Position.RIGHT;
-					}
-				} else {
-					if (((dockModes & DockingMode.BOTTOM) != 0) &&
-							((otherDockModes & DockingMode.TOP) != 0)) {
-
-						return Position.BOTTOM;
-					}
-				}
-			}
-		}
-
-		// This should not occur. We should always find a position before.
-		if ((dockModes & DockingMode.RIGHT) != 0) {
-			return Position.RIGHT;
-		} else if ((dockModes & DockingMode.LEFT) != 0) {
-			return Position.LEFT;
-		} else if ((dockModes & DockingMode.BOTTOM) != 0) {
-			return Position.BOTTOM;
-		} else if ((dockModes & DockingMode.TOP) != 0) {
-			return Position.TOP;
-		}
-		return Position.RIGHT;
+		return SplitDockLayout.getDockPosition(relativeLocation, getWidth(), getHeight(), false,
+				newDockable.getDockingModes(), getOtherDockingModes());
 
 	}
 
@@ -1457,12 +1262,83 @@ public class SplitDock extends JPanel implements CompositeDock {
 	 * @return The new width for the component that will be added.
 	 */
 	protected int getChildDockWidth(int preferredWidth, int existingPreferredWidth, int totalWidth, int position) {
+		return SplitDockLayout.getChildDockWidth(preferredWidth, existingPreferredWidth, totalWidth);
+	}
+
+	/**
+	 * Gets the docking modes of the dockables that are already in this dock.
+	 *
+	 * @return The docking modes of the dockables in this dock. {@link DockingMode#ALL} when there are no dockables.
+	 */
+	private int getOtherDockingModes() {
 
-		if ((preferredWidth + existingPreferredWidth) == 0) {
-			return 0;
+		Dockable otherDockable = DockingUtil.createDockable(this);
+		if (otherDockable != null) {
+			return otherDockable.getDockingModes();
 		}
+		return DockingMode.ALL;
+
+	}
+
+	/**
+	 * Determines if the dockable is already docked in this dock and there are no others,
+	 * or if it is already docked at the same position in the parent split dock.
+	 * The lists that are used for the check are cleared afterwards, so that they don't keep dockables alive.
+	 *
+	 * @param dockable         The dockable that will be added.
+	 * @param relativeLocation The location of the mouse relative to this dock.
+	 * @return True if the dockable is already docked at the same position, false otherwise.
+	 */
+	private boolean isDockedAtSamePosition(@NotNull Dockable dockable, @NotNull Point relativeLocation) {
 
-		return preferredWidth * totalWidth / (preferredWidth + existingPreferredWidth);
+		try {
+			// Is the dockable already in this dock and are there no others?
+			DockingUtil.retrieveDockables(dockable, childrenOfDockable);
+			DockingUtil.retrieveDockables(this, childrenOfDock);
+			if (sameElements(childrenOfDockable, childrenOfDock)) {
+				return true;
+			}
+
+			// Is the parent of this dock a split dock that is full
+			// and with the given dockable already at the same location as where we want to dock it now?
+			CompositeDock parentDock = this.getParentDock();
+			if (parentDock != null) {
+				if (parentDock instanceof SplitDock) {
+					SplitDock parentSplitDock = (SplitDock) parentDock;
+					if (parentDock.isFull()) {
+						int parentOrientation = parentSplitDock.splitPane.getOrientation();
+
+						// Get the position for the new dockable.
+						int position = getDockPosition(relativeLocation, dockable);
+
+						// Get the dock in the same position of the parent dock.
+						Dock correspondentChild = null;
+						if ((position == Position.LEFT) && (parentOrientation == JSplitPane.HORIZONTAL_SPLIT)) {
+							correspondentChild = parentSplitDock.leftChildDock;
+						} else if ((position == Position.RIGHT) && (parentOrientation == JSplitPane.HORIZONTAL_SPLIT)) {
+							correspondentChild = parentSplitDock.rightChildDock;
+						} else if ((position == Position.TOP) && (parentOrientation == JSplitPane.VERTICAL_SPLIT)) {
+							correspondentChild = parentSplitDock.leftChildDock;
+						} else if ((position == Position.BOTTOM) && (parentOrientation == JSplitPane.VERTICAL_SPLIT)) {
+							correspondentChild = parentSplitDock.rightChildDock;
+						}
+						if (correspondentChild != null) {
+							// Does this child dock has the same dockables as the dockable we want to add.
+							childrenOfDock.clear();
+							DockingUtil.retrieveDockables(correspondentChild, childrenOfDock);
+							if (sameElements(childrenOfDockable, childrenOfDock)) {
+								return true;
+							}
+						}
+
+					}
+				}
+			}
+			return false;
+		} finally {
+			childrenOfDockable.clear();
+			childrenOfDock.clear();
+		}
 
 	}
 
@@ -1482,9 +1358,9 @@ public class SplitDock extends JPanel implements CompositeDock {
 		}
 
 		// Iterate over the elements of the first list.
-		for (Object aFirstList : firstList) {
+		for (int index = 0; index < firstList.size(); index++) {
 			// Check if the element is also in the second list.
-			if (!secondList.contains(aFirstList)) {
+			if (!secondList.contains(firstList.get(index))) {
 				return false;
 			}
 		}
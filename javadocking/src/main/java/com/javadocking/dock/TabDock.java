@@ -1,6 +1,7 @@
 package com.javadocking.dock;
 
 import com.javadocking.DockingManager;
+import com.javadocking.component.Header;
 import com.javadocking.dockable.CompositeDockable;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockableState;
@@ -66,6 +67,14 @@ import java.util.List;
  * The first position value of a child dockable is between 0 and the number of child dockables minus 1;
  * it is the index of its tab.
  * </p>
+ * <p>
+ * A tab dock with a lot of dockables can be put in high cardinality mode (see {@link #setHighCardinalityMode(boolean)}).
+ * Then the tabs only show the title and icon of their dockable, and only the selected tab gets a header component.
+ * </p>
+ * <p>
+ * In lazy content mode (see {@link #setLazyContentMode(boolean)}) only the content of the selected dockable has to be
+ * in the component hierarchy. The other tabs keep an empty panel until they are selected.
+ * </p>
  *
  * @author Heidi Rakels.
  */
@@ -97,6 +106,10 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	 * The name of the <code>selectedDockableId</code> property.
 	 */
 	private static final String PROPERTY_SELECTED_DOCKABLE_ID = "selectedDockableId";
+	/**
+	 * The maximum number of tab headers that are kept for reuse in high cardinality mode.
+	 */
+	private static final int HEADER_CACHE_SIZE = 8;
 
 	// Fields.
 
@@ -104,12 +117,17 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	 * The mapping between the components used for the dockables and the dockables that are docked in this dock.
 	 */
 	@NotNull
-	private Map panelDockableMapping = new HashMap();
+	private Map panelDockableMapping = new IdentityHashMap();
+	/**
+	 * The mapping between the dockables that are docked in this dock and the components that are used for the dockables.
+	 */
+	@NotNull
+	private Map dockablePanelMapping = new HashMap();
 	/**
 	 * The mapping between the contents of the dockable and the components that are used for the dockables.
 	 */
 	@NotNull
-	private Map contentPanelMapping = new HashMap();
+	private Map contentPanelMapping = new IdentityHashMap();
 	/**
 	 * The mapping between the dockables and the listeners for description changes.
 	 */
@@ -142,6 +160,50 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	@NotNull
 	private List hiddenDockables = new ArrayList();
 
+	// For high cardinality mode.
+	/**
+	 * True when only the selected tab has a header component, false when every tab has a header component.
+	 */
+	private boolean highCardinalityMode;
+	/**
+	 * The tab layout policy of the tabbed pane before the high cardinality mode was set.
+	 */
+	private int normalTabLayoutPolicy = JTabbedPane.WRAP_TAB_LAYOUT;
+	/**
+	 * The panel of the dockable whose tab has the header component in high cardinality mode.
+	 */
+	@Nullable
+	private Component headerPanel;
+	/**
+	 * The headers that were created in high cardinality mode, with the least recently used header first.
+	 */
+	@NotNull
+	private Map headerCache = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			if (size() > HEADER_CACHE_SIZE) {
+				((Header) eldest.getValue()).dispose();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	// For lazy content mode.
+	/**
+	 * True when only the content of the selected dockable has to be attached to its panel.
+	 */
+	private boolean lazyContentMode;
+	/**
+	 * Attaches and detaches the contents of the dockables in lazy content mode.
+	 */
+	@NotNull
+	private LazyTabContentSupport lazyContentSupport = new LazyTabContentSupport();
+
+	/**
+	 * True while a tab is moved to another index. The temporary selection changes of the tabbed pane are ignored then.
+	 */
+	private boolean reorderingTab;
+
 
 	// Constructors.
 
@@ -271,8 +333,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 
 			// Add the component in a tab and select the component.
 			dockableToAdd.setState(DockableState.NORMAL, this);
-			Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(dockableToAdd, getHeaderPosition());
-			TabDockV6Addition.addTab(tabbedPane, dockablePanel, header);
+			insertTab(tabbedPane.getTabCount(), dockableToAdd, dockablePanel);
 			if (dockableToAdd.getDescription() != null) {
 				tabbedPane.setToolTipTextAt(tabbedPane.getTabCount() - 1, dockableToAdd.getDescription());
 			}
@@ -282,9 +343,10 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 			dockableToAdd.addPropertyChangeListener(changeListener);
 			descriptionListenerMapping.put(dockableToAdd, changeListener);
 
-			tabbedPane.setSelectedComponent(dockablePanel);
 			panelDockableMapping.put(dockablePanel, dockableToAdd);
+			dockablePanelMapping.put(dockableToAdd, dockablePanel);
 			contentPanelMapping.put(dockableToAdd.getContent(), dockablePanel);
+			tabbedPane.setSelectedComponent(dockablePanel);
 			dockableToAdd.setLastDockingMode(DockingMode.TAB);
 
 			// Inform the listeners.
@@ -309,8 +371,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 
 					// Add the child dockable as tab.
 					childDockable.setState(DockableState.NORMAL, this);
-					Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(childDockable, getHeaderPosition());
-					TabDockV6Addition.addTab(tabbedPane, dockablePanel, header);
+					insertTab(tabbedPane.getTabCount(), childDockable, dockablePanel);
 					if (childDockable.getDescription() != null) {
 						tabbedPane.setToolTipTextAt(tabbedPane.getTabCount() - 1, childDockable.getDescription());
 					}
@@ -321,6 +382,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 					descriptionListenerMapping.put(childDockable, descriptionListener);
 
 					panelDockableMapping.put(dockablePanel, childDockable);
+					dockablePanelMapping.put(childDockable, dockablePanel);
 					contentPanelMapping.put(childDockable.getContent(), dockablePanel);
 					childDockable.setLastDockingMode(DockingMode.TAB);
 
@@ -344,7 +406,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	public boolean canRemoveDockable(Dockable dockableToRemove) {
 
 		// Is the dockable in the list of dockables?
-		if (panelDockableMapping.values().contains(dockableToRemove)) {
+		if (dockablePanelMapping.containsKey(dockableToRemove)) {
 			return true;
 		}
 
@@ -382,26 +444,29 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 
 			// Remove the dockable from the map with dockables.
 			panelDockableMapping.remove(dockablePanel);
+			dockablePanelMapping.remove(dockableToRemove);
 			contentPanelMapping.remove(dockableComponent);
 			PropertyChangeListener descriptionListener = (PropertyChangeListener) descriptionListenerMapping.remove(dockableToRemove);
 			dockableToRemove.removePropertyChangeListener(descriptionListener);
 
 			// Search the tab that contains the component of the dockable.
-			for (int index = 0; index < tabbedPane.getTabCount(); index++) {
-				if (tabbedPane.getComponentAt(index).equals(dockablePanel)) {
-					// Inform the listeners about the removal.
-					dockingEventSupport.fireDockingWillChange(new DockableEvent(this, this, null, dockableToRemove));
-
-					// Remove the dockable.
-					tabbedPane.remove(index);
-					TabDockV6Addition.repaintTabComponents(tabbedPane);
-					dockableToRemove.setState(DockableState.CLOSED, null);
-
-					// Inform the listeners about the removal.
-					dockingEventSupport.fireDockingChanged(new DockableEvent(this, this, null, dockableToRemove));
-
-					return true;
-				}
+			int index = tabbedPane.indexOfComponent(dockablePanel);
+			if (index >= 0) {
+				// Inform the listeners about the removal.
+				dockingEventSupport.fireDockingWillChange(new DockableEvent(this, this, null, dockableToRemove));
+
+				// Remove the dockable.
+				disposeTabHeader(index);
+				tabbedPane.remove(index);
+				lazyContentSupport.forget(dockablePanel);
+				removeCachedHeader(dockableToRemove);
+				TabDockV6Addition.updateSelectedTabComponent(tabbedPane);
+				dockableToRemove.setState(DockableState.CLOSED, null);
+
+				// Inform the listeners about the removal.
+				dockingEventSupport.fireDockingChanged(new DockableEvent(this, this, null, dockableToRemove));
+
+				return true;
 			}
 		}
 
@@ -548,7 +613,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	}
 
 	public boolean containsDockable(Dockable dockable) {
-		return panelDockableMapping.values().contains(dockable);
+		return dockablePanelMapping.containsKey(dockable);
 	}
 
 	public boolean moveDockable(Dockable dockableToMove, @NotNull Point relativeLocation) {
@@ -559,7 +624,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 		}
 
 		// Check if the dockable is docked in this dock.
-		if (!panelDockableMapping.values().contains(dockableToMove)) {
+		if (!dockablePanelMapping.containsKey(dockableToMove)) {
 			throw new IllegalArgumentException("The dockable should be docked in this dock.");
 		}
 
@@ -592,13 +657,8 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 		// Inform the listeners about the move.
 		dockingEventSupport.fireDockingWillChange(new DockableEvent(this, this, this, dockableToMove));
 
-
 		// Set the new index.
-		tabbedPane.removeTabAt(previousTabIndex);
-		Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(dockableToMove, getHeaderPosition());
-		TabDockV6Addition.insertTab(tabbedPane, newTabIndex, dockablePanel, header);
-
-		tabbedPane.setSelectedIndex(newTabIndex);
+		reorderTab(previousTabIndex, newTabIndex);
 
 		// Inform the listeners about the move.
 		dockingEventSupport.fireDockingChanged(new DockableEvent(this, this, this, dockableToMove));
@@ -641,8 +701,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 			// Insert a tab with the dockable.
 			// Add the component in a tab and select the component.
 			dockableToAdd.setState(DockableState.NORMAL, this);
-			Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(dockableToAdd, getHeaderPosition());
-			TabDockV6Addition.insertTab(tabbedPane, tabPosition, dockablePanel, header);
+			insertTab(tabPosition, dockableToAdd, dockablePanel);
 			if (dockableToAdd.getDescription() != null) {
 				tabbedPane.setToolTipTextAt(tabPosition, dockableToAdd.getDescription());
 			}
@@ -652,9 +711,10 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 			dockableToAdd.addPropertyChangeListener(changeListener);
 			descriptionListenerMapping.put(dockableToAdd, changeListener);
 
-			tabbedPane.setSelectedComponent(dockablePanel);
 			panelDockableMapping.put(dockablePanel, dockableToAdd);
+			dockablePanelMapping.put(dockableToAdd, dockablePanel);
 			contentPanelMapping.put(dockableToAdd.getContent(), dockablePanel);
+			tabbedPane.setSelectedComponent(dockablePanel);
 			dockableToAdd.setLastDockingMode(DockingMode.TAB);
 
 		}
@@ -679,8 +739,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 					// Insert a tab with the child dockable.
 					// Add the component in a tab and select the component.
 					childDockable.setDock(this);
-					Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(childDockable, getHeaderPosition());
-					TabDockV6Addition.insertTab(tabbedPane, tabPosition, childDockablePanel, header);
+					insertTab(tabPosition, childDockable, childDockablePanel);
 
 					if (childDockable.getDescription() != null) {
 						tabbedPane.setToolTipTextAt(tabPosition, childDockable.getDescription());
@@ -692,6 +751,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 					descriptionListenerMapping.put(childDockable, descriptionListener);
 
 					panelDockableMapping.put(childDockablePanel, childDockable);
+					dockablePanelMapping.put(childDockable, childDockablePanel);
 					contentPanelMapping.put(childDockable.getContent(), childDockablePanel);
 					tabPosition++;
 
@@ -715,7 +775,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	public void hideDockable(@NotNull Dockable dockableToHide) throws IllegalArgumentException {
 
 		// Check if the dockable is docked in this dock.
-		if (!panelDockableMapping.containsValue(dockableToHide)) {
+		if (!dockablePanelMapping.containsKey(dockableToHide)) {
 			throw new IllegalArgumentException("The dockable is not docked in this dock.");
 		}
 
@@ -729,6 +789,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 
 		// Get the panel of the dockable.
 		JPanel dockablePanel = (JPanel) contentPanelMapping.get(dockableToHide.getContent());
+		lazyContentSupport.forget(dockablePanel);
 		dockablePanel.removeAll();
 
 		// Repaint.
@@ -756,7 +817,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	public void restoreDockable(@NotNull Dockable dockableToRestore) {
 
 		// Check if the dockable is docked in this dock.
-		if (!(panelDockableMapping.values().contains(dockableToRestore))) {
+		if (!(dockablePanelMapping.containsKey(dockableToRestore))) {
 			throw new IllegalArgumentException("The dockable is not hidden.");
 		}
 
@@ -771,6 +832,9 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 		// Get the panel of the dockable.
 		JPanel dockablePanel = (JPanel) contentPanelMapping.get(dockableToRestore.getContent());
 		dockablePanel.add(dockableToRestore.getContent());
+		if ((lazyContentMode) && (dockablePanel != tabbedPane.getSelectedComponent())) {
+			lazyContentSupport.detach(dockablePanel);
+		}
 
 		// Repaint.
 		dockablePanel.revalidate();
@@ -793,17 +857,19 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 		if (!(component instanceof JPanel)) {
 			return null;
 		}
+		if (lazyContentSupport.isDetached(component)) {
+			// The content of the dockable is detached in lazy content mode.
+			return (Dockable) panelDockableMapping.get(component);
+		}
 		if (((JPanel) component).getComponentCount() > 0) // Otherwise, exception when dockable is maximized
 		{
 			// Get the first child component.
 			Component dockableContent = ((JPanel) component).getComponent(0);
 
-			// Iterate over the dockables of the dock.
-			for (int index = 0; index < getDockableCount(); index++) {
-				// Verify if te inner component is the given component.
-				if (dockableContent.equals(getDockable(index).getContent())) {
-					return getDockable(index);
-				}
+			// Get the dockable of the panel, and verify that the inner component is its content.
+			Dockable dockable = (Dockable) panelDockableMapping.get(component);
+			if ((dockable != null) && (dockableContent.equals(dockable.getContent()))) {
+				return dockable;
 			}
 		}
 
@@ -850,7 +916,7 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 			Component dockablePanel = (Component) contentPanelMapping.get(dockableContent);
 			int indexToSelect = tabbedPane.indexOfComponent(dockablePanel);
 			if (indexToSelect >= 0) {
-				tabbedPane.setSelectedIndex(indexToSelect);
+				selectTab(indexToSelect);
 				selected = true;
 			}
 		} else if (dockable instanceof CompositeDockable) {
@@ -872,10 +938,6 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 			}
 		}
 
-
-		// Repaint.
-		SwingUtil.repaintParent(this);
-
 		return selected;
 
 	}
@@ -977,6 +1039,167 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 		return tabbedPane;
 	}
 
+	/**
+	 * Determines if this dock is in high cardinality mode.
+	 *
+	 * @return True if only the selected tab has a header component, false if every tab has a header component.
+	 */
+	public boolean isHighCardinalityMode() {
+		return highCardinalityMode;
+	}
+
+	/**
+	 * <p>
+	 * Sets the high cardinality mode of this dock. This mode is meant for docks with hundreds of dockables.
+	 * </p>
+	 * <p>
+	 * In high cardinality mode the tabs show only the title and the icon of their dockable.
+	 * They are painted by the tabbed pane, so no component is created for them. Only the selected tab gets
+	 * a header component, created with {@link com.javadocking.component.SwComponentFactory#createTabDockHeader(Dockable, int)}.
+	 * The last used headers are kept, so that they can be used again when their tab is selected again.
+	 * The tabs are put in one scrollable run.
+	 * </p>
+	 * <p>
+	 * The default value is false.
+	 * </p>
+	 *
+	 * @param highCardinalityMode True if only the selected tab should have a header component,
+	 *                            false if every tab should have a header component.
+	 */
+	public void setHighCardinalityMode(boolean highCardinalityMode) {
+
+		if (this.highCardinalityMode == highCardinalityMode) {
+			return;
+		}
+		this.highCardinalityMode = highCardinalityMode;
+
+		// The header of the selected tab can be kept, when the mode is switched off.
+		Object selectedHeader = null;
+		int headerIndex = headerPanel != null ? tabbedPane.indexOfComponent(headerPanel) : -1;
+		if (headerIndex >= 0) {
+			selectedHeader = tabbedPane.getTabComponentAt(headerIndex);
+		}
+
+		// Replace the headers of the tabs.
+		for (int index = 0; index < tabbedPane.getTabCount(); index++) {
+			Dockable dockable = (Dockable) panelDockableMapping.get(tabbedPane.getComponentAt(index));
+			Component tabComponent = tabbedPane.getTabComponentAt(index);
+			if (highCardinalityMode) {
+				if (tabComponent instanceof Header) {
+					((Header) tabComponent).dispose();
+				}
+				tabbedPane.setTabComponentAt(index, null);
+				setTitleAndIcon(index, dockable);
+			} else if (tabComponent == null) {
+				Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(dockable, getHeaderPosition());
+				tabbedPane.setTabComponentAt(index, header);
+			}
+		}
+
+		if (highCardinalityMode) {
+			normalTabLayoutPolicy = tabbedPane.getTabLayoutPolicy();
+			tabbedPane.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+			headerPanel = null;
+			updateHeaderOfSelectedTab();
+		} else {
+			for (Object header : headerCache.values()) {
+				if (header != selectedHeader) {
+					((Header) header).dispose();
+				}
+			}
+			headerCache.clear();
+			headerPanel = null;
+			tabbedPane.setTabLayoutPolicy(normalTabLayoutPolicy);
+		}
+		TabDockV6Addition.repaintTabComponents(tabbedPane);
+
+	}
+
+	/**
+	 * Determines if this dock is in lazy content mode.
+	 *
+	 * @return True if only the content of the selected dockable has to be in the component hierarchy, false otherwise.
+	 */
+	public boolean isLazyContentMode() {
+		return lazyContentMode;
+	}
+
+	/**
+	 * <p>
+	 * Sets the lazy content mode of this dock.
+	 * </p>
+	 * <p>
+	 * In lazy content mode the content of a dockable is only attached to the panel of its tab, when the tab is selected.
+	 * The contents of the other tabs are not in the component hierarchy, so they don't take part in
+	 * <code>addNotify</code>, focus traversal and look and feel updates.
+	 * When a tab is not selected anymore, its content is detached after the content detach delay
+	 * (see {@link #setContentDetachDelay(int)}), or when {@link #detachUnselectedContents()} is called.
+	 * </p>
+	 * <p>
+	 * The default value is false.
+	 * </p>
+	 *
+	 * @param lazyContentMode True if only the content of the selected dockable has to be in the component hierarchy,
+	 *                        false if the contents of all the dockables are in the component hierarchy.
+	 */
+	public void setLazyContentMode(boolean lazyContentMode) {
+
+		if (this.lazyContentMode == lazyContentMode) {
+			return;
+		}
+		this.lazyContentMode = lazyContentMode;
+
+		if (lazyContentMode) {
+			lazyContentSupport.selectionChanged(tabbedPane.getSelectedComponent());
+			lazyContentSupport.detachUnselectedContents(tabbedPane);
+		} else {
+			lazyContentSupport.attachAll();
+		}
+
+	}
+
+	/**
+	 * Gets the time in milliseconds that a tab should not be selected, before the content of its dockable is detached
+	 * in lazy content mode.
+	 *
+	 * @return The content detach delay. When it is negative, the contents are only detached with
+	 * {@link #detachUnselectedContents()}.
+	 */
+	public int getContentDetachDelay() {
+		return lazyContentSupport.getDetachDelay();
+	}
+
+	/**
+	 * <p>
+	 * Sets the time in milliseconds that a tab should not be selected, before the content of its dockable is detached
+	 * in lazy content mode. When the delay is 0, the content is detached as soon as another tab is selected.
+	 * When the delay is negative, the contents are only detached with {@link #detachUnselectedContents()}.
+	 * </p>
+	 * <p>
+	 * The default value is 0.
+	 * </p>
+	 *
+	 * @param contentDetachDelay The content detach delay.
+	 */
+	public void setContentDetachDelay(int contentDetachDelay) {
+		lazyContentSupport.setDetachDelay(contentDetachDelay);
+	}
+
+	/**
+	 * Detaches the contents of all the dockables whose tab is not selected.
+	 * This can be called when the memory is low. It has only effect in lazy content mode.
+	 *
+	 * @return The number of contents that were detached.
+	 */
+	public int detachUnselectedContents() {
+
+		if (!lazyContentMode) {
+			return 0;
+		}
+		return lazyContentSupport.detachUnselectedContents(tabbedPane);
+
+	}
+
 	// Protected methods.
 
 	/**
@@ -1000,6 +1223,194 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 				(int) (size.height * (1 - priorityRectangleRelativeTopOffset - priorityRectangleRelativeBottomOffset)));
 	}
 
+	// Private methods.
+
+	/**
+	 * Selects a tab. The tabbed pane is validated and repainted at once, because the size of the tabbed pane
+	 * doesn't change.
+	 *
+	 * @param tabIndex The index of the tab that is selected.
+	 */
+	private void selectTab(int tabIndex) {
+
+		// Is the tab already selected?
+		if (tabbedPane.getSelectedIndex() == tabIndex) {
+			return;
+		}
+
+		tabbedPane.setSelectedIndex(tabIndex);
+
+		// Lay out and repaint the tab strip and the content area.
+		tabbedPane.validate();
+		tabbedPane.repaint();
+
+	}
+
+	/**
+	 * <p>
+	 * Moves a tab to another index and selects it. The tab keeps its header component, its panel,
+	 * its title, its icon and its tooltip.
+	 * </p>
+	 * <p>
+	 * The tabbed pane has no method to move a tab, so the tab is removed and inserted again.
+	 * The selection changes of the tabbed pane in between are ignored, so that no headers are moved and no contents
+	 * are attached or detached for them. The tabbed pane is validated at once, because the size of
+	 * the tabbed pane does not change.
+	 * </p>
+	 *
+	 * @param previousTabIndex The current index of the tab.
+	 * @param newTabIndex      The new index of the tab.
+	 */
+	private void reorderTab(int previousTabIndex, int newTabIndex) {
+
+		// Keep the parts of the tab.
+		Component dockablePanel = tabbedPane.getComponentAt(previousTabIndex);
+		Component tabComponent = tabbedPane.getTabComponentAt(previousTabIndex);
+		String title = tabbedPane.getTitleAt(previousTabIndex);
+		Icon icon = tabbedPane.getIconAt(previousTabIndex);
+		String toolTipText = tabbedPane.getToolTipTextAt(previousTabIndex);
+
+		// Move the tab.
+		reorderingTab = true;
+		try {
+			tabbedPane.removeTabAt(previousTabIndex);
+			tabbedPane.insertTab(title, icon, dockablePanel, toolTipText, newTabIndex);
+			TabDockV6Addition.setTabComponentAt(tabbedPane, newTabIndex, tabComponent);
+			tabbedPane.setSelectedIndex(newTabIndex);
+		} finally {
+			reorderingTab = false;
+		}
+
+		// Handle the selection change once.
+		selectionChanged();
+		tabbedPane.validate();
+
+	}
+
+	/**
+	 * Updates the headers and the contents of the tabs after the selection of the tabbed pane changed.
+	 */
+	private void selectionChanged() {
+
+		if (highCardinalityMode) {
+			updateHeaderOfSelectedTab();
+		}
+		if (lazyContentMode) {
+			lazyContentSupport.selectionChanged(tabbedPane.getSelectedComponent());
+		}
+		TabDockV6Addition.updateSelectedTabComponent(tabbedPane);
+
+	}
+
+	/**
+	 * Inserts a tab for the dockable in the tabbed pane.
+	 * In high cardinality mode the tab gets only the title and the icon of the dockable.
+	 *
+	 * @param tabIndex      The index of the new tab.
+	 * @param dockable      The dockable for which a tab is inserted.
+	 * @param dockablePanel The component that is used for the dockable.
+	 */
+	private void insertTab(int tabIndex, @NotNull Dockable dockable, Component dockablePanel) {
+
+		if (highCardinalityMode) {
+			TabDockV6Addition.insertTab(tabbedPane, tabIndex, dockablePanel, null);
+			setTitleAndIcon(tabIndex, dockable);
+		} else {
+			Component header = (Component) DockingManager.getComponentFactory().createTabDockHeader(dockable, getHeaderPosition());
+			TabDockV6Addition.insertTab(tabbedPane, tabIndex, dockablePanel, header);
+		}
+
+		// In lazy content mode the content is attached when the tab is selected.
+		if ((lazyContentMode) && (tabbedPane.getSelectedComponent() != dockablePanel)) {
+			lazyContentSupport.detach((Container) dockablePanel);
+		}
+
+	}
+
+	/**
+	 * Disposes the header on the tab with the given index, before the tab is removed.
+	 * The headers in the header cache of the high cardinality mode are disposed when they leave the cache.
+	 *
+	 * @param tabIndex The index of the tab.
+	 */
+	private void disposeTabHeader(int tabIndex) {
+
+		Component tabComponent = tabbedPane.getTabComponentAt(tabIndex);
+		if ((tabComponent instanceof Header) && (!headerCache.containsValue(tabComponent))) {
+			((Header) tabComponent).dispose();
+		}
+
+	}
+
+	/**
+	 * Sets the title and the icon of the dockable on its tab.
+	 *
+	 * @param tabIndex The index of the tab of the dockable.
+	 * @param dockable The dockable of the tab.
+	 */
+	private void setTitleAndIcon(int tabIndex, @NotNull Dockable dockable) {
+
+		String title = dockable.getTitle();
+		tabbedPane.setTitleAt(tabIndex, title != null ? title : "");
+		tabbedPane.setIconAt(tabIndex, dockable.getIcon());
+
+	}
+
+	/**
+	 * Moves the header component to the tab that is selected now.
+	 * Only used in high cardinality mode.
+	 */
+	private void updateHeaderOfSelectedTab() {
+
+		// Has the selected tab already the header?
+		Component selectedPanel = tabbedPane.getSelectedComponent();
+		if (selectedPanel == headerPanel) {
+			return;
+		}
+
+		// Remove the header from the tab that was selected before.
+		if (headerPanel != null) {
+			int previousIndex = tabbedPane.indexOfComponent(headerPanel);
+			if (previousIndex >= 0) {
+				tabbedPane.setTabComponentAt(previousIndex, null);
+			}
+			headerPanel = null;
+		}
+
+		// Set the header on the selected tab.
+		// The dockable is not yet in the mapping, when the tabbed pane selects a new tab by itself.
+		if (selectedPanel != null) {
+			Dockable dockable = (Dockable) panelDockableMapping.get(selectedPanel);
+			if (dockable != null) {
+				Header header = (Header) headerCache.get(dockable);
+				if (header == null) {
+					header = DockingManager.getComponentFactory().createTabDockHeader(dockable, getHeaderPosition());
+					headerCache.put(dockable, header);
+				}
+				tabbedPane.setTabComponentAt(tabbedPane.getSelectedIndex(), (Component) header);
+				headerPanel = selectedPanel;
+			}
+		}
+
+	}
+
+	/**
+	 * Disposes the header that was kept for the given dockable in high cardinality mode.
+	 *
+	 * @param dockable The dockable that is removed from this dock.
+	 */
+	private void removeCachedHeader(Dockable dockable) {
+
+		Header header = (Header) headerCache.remove(dockable);
+		if (header != null) {
+			header.dispose();
+		}
+		if ((headerPanel != null) && (!panelDockableMapping.containsKey(headerPanel))) {
+			headerPanel = null;
+		}
+
+	}
+
 	// Private classes.
 
 	private class TabChangelistener implements ChangeListener {
@@ -1007,7 +1418,9 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 		// Implementations of ChangeListener.
 
 		public void stateChanged(ChangeEvent changeEvent) {
-			TabDockV6Addition.repaintTabComponents(tabbedPane);
+			if (!reorderingTab) {
+				selectionChanged();
+			}
 		}
 
 	}
@@ -1018,6 +1431,11 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 	private class DockableChangeListener implements PropertyChangeListener {
 
 		private Dockable dockable;
+		/**
+		 * The tab index of the dockable when a property changed the last time.
+		 * It is checked before it is used, because tabs can be added, removed or moved.
+		 */
+		private int lastTabIndex = -1;
 
 		// Constructors.
 
@@ -1030,26 +1448,51 @@ public class TabDock extends JPanel implements LeafDock, DockableHider {
 		public void propertyChange(@NotNull PropertyChangeEvent propertyChangeEvent) {
 			switch (propertyChangeEvent.getPropertyName()) {
 				case "description": {
-					Position position = getDockablePosition(dockable);
-					int index = position.getPosition(0);
-					tabbedPane.setToolTipTextAt(index, dockable.getDescription());
+					int index = getTabIndex();
+					if (index >= 0) {
+						tabbedPane.setToolTipTextAt(index, dockable.getDescription());
+					}
 					break;
 				}
 				case "title": {
-					Position position = getDockablePosition(dockable);
-					int index = position.getPosition(0);
-					tabbedPane.setTitleAt(index, dockable.getTitle());
+					int index = getTabIndex();
+					if (index >= 0) {
+						tabbedPane.setTitleAt(index, dockable.getTitle());
+					}
 					break;
 				}
 				case "icon": {
-					Position position = getDockablePosition(dockable);
-					int index = position.getPosition(0);
-					tabbedPane.setIconAt(index, dockable.getIcon());
+					int index = getTabIndex();
+					if (index >= 0) {
+						tabbedPane.setIconAt(index, dockable.getIcon());
+					}
 					break;
 				}
 			}
 		}
 
+		// Private metods.
+
+		/**
+		 * Gets the index of the tab of the dockable. When the tab of the dockable is still at the index of
+		 * the last time, the tabs are not searched.
+		 *
+		 * @return The index of the tab of the dockable. -1 when the dockable has no tab in this dock.
+		 */
+		private int getTabIndex() {
+
+			Component dockablePanel = (Component) contentPanelMapping.get(dockable.getContent());
+			if (dockablePanel == null) {
+				return -1;
+			}
+			if ((lastTabIndex < 0) || (lastTabIndex >= tabbedPane.getTabCount()) ||
+					(tabbedPane.getComponentAt(lastTabIndex) != dockablePanel)) {
+				lastTabIndex = tabbedPane.indexOfComponent(dockablePanel);
+			}
+			return lastTabIndex;
+
+		}
+
 	}
 
 
@@ -1,6 +1,7 @@
 package com.javadocking.dock;
 
 import com.javadocking.component.SelectableHeader;
+import com.javadocking.util.RepaintDiagnostics;
 
 import javax.swing.*;
 import java.awt.*;
@@ -15,6 +16,13 @@ import java.awt.*;
  */
 class TabDockV6Addition {
 
+	// Static fields.
+
+	/**
+	 * The client property of the tabbed pane that holds the tab component that was selected last.
+	 */
+	private static final String SELECTED_TAB_COMPONENT_PROPERTY = "javadocking.selectedTabComponent";
+
 	// Public static methods.
 
 	/**
@@ -30,7 +38,7 @@ class TabDockV6Addition {
 
 		tabbedPane.setTabComponentAt(tabbedPane.getTabCount() - 1, tabComponent);
 
-		repaintTabComponents(tabbedPane);
+		initializeTabComponent(tabbedPane, tabbedPane.getTabCount() - 1, tabComponent);
 
 	}
 
@@ -48,7 +56,7 @@ class TabDockV6Addition {
 
 		tabbedPane.setTabComponentAt(tabIndex, tabComponent);
 
-		repaintTabComponents(tabbedPane);
+		initializeTabComponent(tabbedPane, tabIndex, tabComponent);
 
 	}
 
@@ -63,27 +71,109 @@ class TabDockV6Addition {
 
 		tabbedPane.setTabComponentAt(tabIndex, tabComponent);
 
-		repaintTabComponents(tabbedPane);
+		initializeTabComponent(tabbedPane, tabIndex, tabComponent);
 
 	}
 
-	public static void repaintTabComponents(JTabbedPane tabbedPane) {
+	/**
+	 * Updates the selected state of the tab components after the selection of the tabbed pane changed.
+	 * Only the tab component that was selected before and the tab component that is selected now are changed,
+	 * so the cost doesn't depend on the number of tabs.
+	 *
+	 * @param tabbedPane The tabbed pane whose selection changed.
+	 */
+	public static void updateSelectedTabComponent(JTabbedPane tabbedPane) {
 
-		int count = tabbedPane.getTabCount();
+		// Get the tab component that is selected now.
+		Component selectedComponent = null;
 		int selectedIndex = tabbedPane.getModel().getSelectedIndex();
-		if ((selectedIndex >= 0) && (selectedIndex < count)) {
-			Component component = tabbedPane.getTabComponentAt(selectedIndex);
-			if (component instanceof SelectableHeader) {
-				((SelectableHeader) component).setSelected(true);
-			}
+		if ((selectedIndex >= 0) && (selectedIndex < tabbedPane.getTabCount())) {
+			selectedComponent = tabbedPane.getTabComponentAt(selectedIndex);
 		}
-		for (int index = 0; index < count; index++) {
-			if (index != selectedIndex) {
-				Component component = tabbedPane.getTabComponentAt(index);
+
+		// Did the selected tab component change?
+		Object previousComponent = tabbedPane.getClientProperty(SELECTED_TAB_COMPONENT_PROPERTY);
+		if (previousComponent == selectedComponent) {
+			return;
+		}
+
+		if (previousComponent instanceof SelectableHeader) {
+			((SelectableHeader) previousComponent).setSelected(false);
+		}
+		if (selectedComponent instanceof SelectableHeader) {
+			((SelectableHeader) selectedComponent).setSelected(true);
+		}
+		tabbedPane.putClientProperty(SELECTED_TAB_COMPONENT_PROPERTY, selectedComponent);
+
+	}
+
+	/**
+	 * Sets the selected state of all the tab components of the tabbed pane.
+	 * This visits every tab; when only the selection changed,
+	 * {@link #updateSelectedTabComponent(JTabbedPane)} should be used.
+	 *
+	 * @param tabbedPane The tabbed pane whose tab components are updated.
+	 */
+	public static void repaintTabComponents(JTabbedPane tabbedPane) {
+
+		// Are the repaints recorded?
+		boolean diagnostics = RepaintDiagnostics.isEnabled();
+		long startTime = diagnostics ? RepaintDiagnostics.beginOperation(tabbedPane) : 0;
+		try {
+			int count = tabbedPane.getTabCount();
+			int selectedIndex = tabbedPane.getModel().getSelectedIndex();
+			if ((selectedIndex >= 0) && (selectedIndex < count)) {
+				Component component = tabbedPane.getTabComponentAt(selectedIndex);
 				if (component instanceof SelectableHeader) {
-					((SelectableHeader) component).setSelected(false);
+					((SelectableHeader) component).setSelected(true);
+				}
+			}
+			for (int index = 0; index < count; index++) {
+				if (index != selectedIndex) {
+					Component component = tabbedPane.getTabComponentAt(index);
+					if (component instanceof SelectableHeader) {
+						((SelectableHeader) component).setSelected(false);
+					}
 				}
 			}
+
+			// Remember the selected tab component.
+			Component selectedComponent = null;
+			if ((selectedIndex >= 0) && (selectedIndex < count)) {
+				selectedComponent = tabbedPane.getTabComponentAt(selectedIndex);
+			}
+			tabbedPane.putClientProperty(SELECTED_TAB_COMPONENT_PROPERTY, selectedComponent);
+		} finally {
+			if (diagnostics) {
+				RepaintDiagnostics.endOperation(startTime);
+			}
+		}
+
+	}
+
+	// Private static methods.
+
+	/**
+	 * Gives a tab component that was just set on a tab the right selected state.
+	 *
+	 * @param tabbedPane   The tabbed pane of the tab.
+	 * @param tabIndex     The index of the tab.
+	 * @param tabComponent The component that was set on the tab. Can be null.
+	 */
+	private static void initializeTabComponent(JTabbedPane tabbedPane, int tabIndex, Component tabComponent) {
+
+		if (tabbedPane.getModel().getSelectedIndex() == tabIndex) {
+			// Forget the old component of the selected tab, so that the new one gets selected.
+			Object previousComponent = tabbedPane.getClientProperty(SELECTED_TAB_COMPONENT_PROPERTY);
+			if ((previousComponent instanceof SelectableHeader) && (previousComponent != tabComponent)) {
+				((SelectableHeader) previousComponent).setSelected(false);
+			}
+			tabbedPane.putClientProperty(SELECTED_TAB_COMPONENT_PROPERTY, null);
+			updateSelectedTabComponent(tabbedPane);
+		} else if (tabComponent instanceof SelectableHeader) {
+			if (((SelectableHeader) tabComponent).isSelected()) {
+				((SelectableHeader) tabComponent).setSelected(false);
+			}
 		}
 
 	}
@@ -0,0 +1,104 @@
+package com.javadocking.dock.factory;
+
+import com.javadocking.dockable.Dockable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * <p>
+ * Remembers if a {@link DockFactory} can create a dock for a dockable with a docking mode.
+ * </p>
+ * <p>
+ * The docks ask their child dock factory for every mouse event during dragging, if a child dock can be created
+ * for the dragged dockable. The factory creates the child dock to answer this question. This cache remembers
+ * the answers for the last dockable, so that the child docks are only created once for every docking mode.
+ * </p>
+ * <p>
+ * The answers are forgotten, when another factory or another dockable is used, or when the docking modes of the
+ * dockable change. The dockable is not kept alive by this cache.
+ * </p>
+ */
+public class DockCreationCache {
+
+	// Fields.
+
+	/**
+	 * The factory of the remembered answers.
+	 */
+	@Nullable
+	private DockFactory dockFactory;
+	/**
+	 * The dockable of the remembered answers.
+	 */
+	@Nullable
+	private WeakReference dockableReference;
+	/**
+	 * The docking modes of the dockable, when the answers were remembered.
+	 */
+	private int dockableDockingModes;
+	/**
+	 * The docking modes that were already asked to the factory.
+	 */
+	private int checkedDockingModes;
+	/**
+	 * The docking modes for which the factory can create a dock.
+	 */
+	private int creatableDockingModes;
+
+	// Public methods.
+
+	/**
+	 * Determines if the factory can create a dock for the dockable with the docking mode.
+	 * The factory is only asked, when the answer is not remembered yet.
+	 *
+	 * @param dockFactory The factory.
+	 * @param dockable    The dockable for which a dock should be created.
+	 * @param dockingMode The docking mode for the dock.
+	 * @return True if the factory can create a dock, false otherwise.
+	 */
+	public boolean canCreateDock(@NotNull DockFactory dockFactory, @NotNull Dockable dockable, int dockingMode) {
+
+		// Only answers for docking modes with one bit can be remembered.
+		if ((dockingMode == 0) || ((dockingMode & (dockingMode - 1)) != 0)) {
+			return dockFactory.createDock(dockable, dockingMode) != null;
+		}
+
+		// Are the remembered answers for another factory or dockable?
+		if ((dockFactory != this.dockFactory) ||
+				(dockableReference == null) ||
+				(dockableReference.get() != dockable) ||
+				(dockable.getDockingModes() != dockableDockingModes)) {
+			this.dockFactory = dockFactory;
+			dockableReference = new WeakReference(dockable);
+			dockableDockingModes = dockable.getDockingModes();
+			checkedDockingModes = 0;
+			creatableDockingModes = 0;
+		}
+
+		// Ask the factory, when we don't know the answer yet.
+		if ((checkedDockingModes & dockingMode) == 0) {
+			checkedDockingModes |= dockingMode;
+			if (dockFactory.createDock(dockable, dockingMode) != null) {
+				creatableDockingModes |= dockingMode;
+			}
+		}
+
+		return (creatableDockingModes & dockingMode) != 0;
+
+	}
+
+	/**
+	 * Forgets all the answers.
+	 */
+	public void clear() {
+
+		dockFactory = null;
+		dockableReference = null;
+		checkedDockingModes = 0;
+		creatableDockingModes = 0;
+
+	}
+
+}
@@ -0,0 +1,189 @@
+package com.javadocking.dock.layout;
+
+import com.javadocking.dock.Position;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+
+/**
+ * <p>
+ * This class contains the layout rules of a {@link com.javadocking.dock.BorderDock} as static methods.
+ * </p>
+ * <p>
+ * The rules only use the size of the dock, the size of its center component and the mouse location.
+ * They don't need components, so they can also be used without a display.
+ * </p>
+ */
+public class BorderDockLayout {
+
+	// Static fields.
+
+	/**
+	 * The relative width of the left priority rectangle.
+	 */
+	private static final double leftPriorityRectangleRelativeWidth = 1.0 / 8.0;
+	/**
+	 * The relative width of the right priority rectangle.
+	 */
+	private static final double rightPriorityRectangleRelativeWidth = 1.0 / 8.0;
+	/**
+	 * The relative height of the top priority rectangle.
+	 */
+	private static final double topPriorityRectangleRelativeHeight = 1.0 / 8.0;
+	/**
+	 * The relative height of the bottom priority rectangle.
+	 */
+	private static final double bottomPriorityRectangleRelativeHeight = 1.0 / 8.0;
+
+	// Private constructor.
+
+	private BorderDockLayout() {
+	}
+
+	// Public static methods.
+
+	/**
+	 * Gets the position of the border of a border dock that is the closest to the mouse.
+	 *
+	 * @param relativeLocation The location of the mouse relative to the border dock.
+	 * @param width            The width of the border dock.
+	 * @param height           The height of the border dock.
+	 * @return The position where a dockable should be docked: {@link Position#LEFT}, {@link Position#RIGHT},
+	 * {@link Position#TOP} or {@link Position#BOTTOM}.
+	 */
+	public static int getDockPosition(@NotNull Point relativeLocation, int width, int height) {
+
+		// Take the closest border as position.
+		int halfWidth = width / 2;
+		int halfHeight = height / 2;
+		if (relativeLocation.x < halfWidth) {
+			if (relativeLocation.y < halfHeight) {
+				if (relativeLocation.x < relativeLocation.y) {
+					return Position.LEFT;
+				} else {
+					return Position.TOP;
+				}
+			} else {
+				if (relativeLocation.x < (height - relativeLocation.y)) {
+					return Position.LEFT;
+				} else {
+					return Position.BOTTOM;
+				}
+			}
+		} else {
+			if (relativeLocation.y < halfHeight) {
+				if ((width - relativeLocation.x) < relativeLocation.y) {
+					return Position.RIGHT;
+				} else {
+					return Position.TOP;
+				}
+			} else {
+				if ((width - relativeLocation.x) < (height - relativeLocation.y)) {
+					return Position.RIGHT;
+				} else {
+					return Position.BOTTOM;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Gets the relative rectangle in a border dock in which docking has priority. The given rectangle gets
+	 * the size and position of this priority rectangle. The rectangles at the left and right border
+	 * have the same height as the center of the border dock.
+	 *
+	 * @param width        The width of the border dock.
+	 * @param height       The height of the border dock.
+	 * @param centerY      The y-coordinate of the center of the border dock.
+	 * @param centerHeight The height of the center of the border dock.
+	 * @param position     The position of the priority rectangle: {@link Position#LEFT}, {@link Position#RIGHT},
+	 *                     {@link Position#TOP} or {@link Position#BOTTOM}.
+	 * @param rectangle    Gets the size and position of the calculated priority rectangle.
+	 */
+	public static void getPriorityRectangle(int width, int height, int centerY, int centerHeight, int position, @NotNull Rectangle rectangle) {
+
+		switch (position) {
+			case Position.LEFT:
+				rectangle.setBounds(0,
+						centerY,
+						(int) (((double) width) * leftPriorityRectangleRelativeWidth),
+						centerHeight);
+				break;
+			case Position.RIGHT:
+				rectangle.setBounds((int) (((double) width) * (1 - rightPriorityRectangleRelativeWidth)),
+						centerY,
+						(int) (((double) width) * rightPriorityRectangleRelativeWidth),
+						centerHeight);
+				break;
+			case Position.TOP:
+				rectangle.setBounds(0,
+						0,
+						width,
+						(int) (((double) height) * topPriorityRectangleRelativeHeight));
+				break;
+			case Position.BOTTOM:
+				rectangle.setBounds(0,
+						(int) (((double) height) * (1 - bottomPriorityRectangleRelativeHeight)),
+						width,
+						(int) (((double) height) * bottomPriorityRectangleRelativeHeight));
+				break;
+		}
+
+	}
+
+	/**
+	 * Computes the width for a child dock that will be added at a border of a border dock.
+	 * The child dock gets its preferred width, but not more than the half of the total width.
+	 *
+	 * @param preferredWidth The preferred width or height of the child dock that will be added.
+	 * @param totalWidth     The total width or height of the border dock.
+	 * @return The new width for the child dock that will be added.
+	 */
+	public static int getChildDockWidth(int preferredWidth, int totalWidth) {
+
+		// Is the preferred width of the new component smaller than the half total width?
+		if (preferredWidth < totalWidth / 2) {
+			return preferredWidth;
+		}
+
+		// They have to share the total width equally.
+		return totalWidth / 2;
+
+	}
+
+	/**
+	 * Computes the rectangle in a border dock where a new child dock would be docked.
+	 * The rectangles at the left and right border have the same height as the center of the border dock.
+	 *
+	 * @param width         The width of the border dock.
+	 * @param height        The height of the border dock.
+	 * @param centerY       The y-coordinate of the center of the border dock.
+	 * @param centerHeight  The height of the center of the border dock.
+	 * @param position      The position of the new child dock: {@link Position#LEFT}, {@link Position#RIGHT},
+	 *                      {@link Position#TOP} or {@link Position#BOTTOM}.
+	 * @param dockingLength The width of the new child dock for the positions left and right,
+	 *                      the height for the positions top and bottom.
+	 * @param rectangle     Gets the size and position of the calculated rectangle.
+	 */
+	public static void getDockingRectangle(int width, int height, int centerY, int centerHeight, int position,
+										   int dockingLength, @NotNull Rectangle rectangle) {
+
+		switch (position) {
+			case Position.LEFT:
+				rectangle.setBounds(0, centerY, dockingLength, centerHeight);
+				break;
+			case Position.RIGHT:
+				rectangle.setBounds(width - dockingLength, centerY, dockingLength, centerHeight);
+				break;
+			case Position.TOP:
+				rectangle.setBounds(0, 0, width, dockingLength);
+				break;
+			case Position.BOTTOM:
+				rectangle.setBounds(0, height - dockingLength, width, dockingLength);
+				break;
+		}
+
+	}
+
+}
@@ -0,0 +1,364 @@
+package com.javadocking.dock.layout;
+
+import com.javadocking.dock.*;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.dockable.DockingMode;
+import com.javadocking.util.DockingUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * <p>
+ * Computes the docking decisions for a headless layout tree of {@link LayoutNode}s.
+ * </p>
+ * <p>
+ * The engine mirrors the methods {@link Dock#getDockPriority(Dockable, Point)} and
+ * {@link Dock#retrieveDockingRectangle(Dockable, Point, Point, Rectangle)} of the docks.
+ * A dockable is represented by its docking modes. Split nodes use the same rules as the {@link SplitDock},
+ * see {@link SplitDockLayout}. Leaf nodes use the rules of a {@link TabDock}: when they are empty, dockables can be
+ * docked with priority, otherwise only in their priority rectangle.
+ * </p>
+ * <p>
+ * The engine does not know the dock factories, the contents of the dockables or the special rules of the other docks,
+ * so its decisions are an approximation of the decisions of the real docks. It is meant for tests, benchmarks and for
+ * planning docking changes without using the event dispatch thread.
+ * </p>
+ * <p>
+ * The engine reuses some help objects for its calculations, so an engine should only be used by one thread at a time.
+ * Different threads can use different engines for the same layout tree, when the tree is not changed anymore.
+ * </p>
+ */
+public class LayoutEngine {
+
+	// Fields.
+
+	/**
+	 * A rectangle that is used for the calculations. We keep it as field
+	 * because we don't want to create every time a new rectangle.
+	 */
+	@NotNull
+	private Rectangle helpRectangle = new Rectangle();
+	/**
+	 * A point that is used for the calculations. We keep it as field
+	 * because we don't want to create every time a new point.
+	 */
+	@NotNull
+	private Point helpPoint = new Point();
+
+	// Public methods.
+
+	/**
+	 * Gets the priority for docking a dockable with the given docking modes in the node.
+	 *
+	 * @param node             The node in which the dockable would be docked.
+	 * @param dockingModes     The docking modes of the dockable.
+	 * @param relativeLocation The location of the mouse relative to the node.
+	 * @return The priority for docking the dockable. This is one of the constants of {@link Priority}.
+	 */
+	public int getDockPriority(@NotNull LayoutNode node, int dockingModes, @NotNull Point relativeLocation) {
+
+		switch (node.getType()) {
+			case LayoutNode.LEAF:
+				return getLeafDockPriority(node, dockingModes, relativeLocation);
+			case LayoutNode.SPLIT:
+				return getSplitDockPriority(node, dockingModes, relativeLocation);
+		}
+
+		return Priority.CANNOT_DOCK;
+
+	}
+
+	/**
+	 * Computes the rectangle in the node where a dockable with the given docking modes would be docked.
+	 *
+	 * @param node             The node in which the dockable would be docked.
+	 * @param dockingModes     The docking modes of the dockable.
+	 * @param preferredSize    The preferred size of the dock that would be created for the dockable in a split node.
+	 * @param relativeLocation The location of the mouse relative to the node.
+	 * @param rectangle        Gets the position and size of the docking rectangle relative to the node,
+	 *                         when the dockable can be docked.
+	 * @return The priority for docking the dockable. This is one of the constants of {@link Priority}.
+	 */
+	public int retrieveDockingRectangle(@NotNull LayoutNode node, int dockingModes, @NotNull Dimension preferredSize,
+										@NotNull Point relativeLocation, @NotNull Rectangle rectangle) {
+
+		// Can we dock in this node?
+		int priority = getDockPriority(node, dockingModes, relativeLocation);
+		if (priority != Priority.CANNOT_DOCK) {
+			Rectangle bounds = node.getBounds();
+			if ((node.getType() == LayoutNode.LEAF) || (node.getChildCount() != 1)) {
+				// The docking rectangle is the whole node.
+				rectangle.setBounds(0, 0, bounds.width, bounds.height);
+			} else {
+				// Get the position for the new dockable.
+				int position = SplitDockLayout.getDockPosition(relativeLocation, bounds.width, bounds.height, false,
+						dockingModes, node.getContentDockingModes());
+
+				// Share the size with the existing child.
+				Dimension childPreferredSize = node.getChild(0).getPreferredSize();
+				int dockingLength;
+				if ((position == Position.LEFT) || (position == Position.RIGHT)) {
+					dockingLength = SplitDockLayout.getChildDockWidth(preferredSize.width, childPreferredSize.width, bounds.width);
+				} else {
+					dockingLength = SplitDockLayout.getChildDockWidth(preferredSize.height, childPreferredSize.height, bounds.height);
+				}
+				SplitDockLayout.getDockingRectangle(bounds.width, bounds.height, position, dockingLength, rectangle);
+			}
+		}
+
+		return priority;
+
+	}
+
+	/**
+	 * Gets the deepest node of the tree that contains the given location.
+	 *
+	 * @param rootNode The root node of the tree.
+	 * @param location The location relative to the root node.
+	 * @return The deepest node that contains the location. Null if the root node doesn't contain the location.
+	 */
+	@Nullable
+	public LayoutNode getDeepestNodeAt(@NotNull LayoutNode rootNode, @NotNull Point location) {
+
+		if (!rootNode.getBounds().contains(location)) {
+			return null;
+		}
+
+		// Search the child that contains the location.
+		LayoutNode node = rootNode;
+		boolean found = true;
+		while (found) {
+			found = false;
+			for (int index = 0; index < node.getChildCount(); index++) {
+				LayoutNode child = node.getChild(index);
+				if (child.getBounds().contains(location)) {
+					node = child;
+					found = true;
+					break;
+				}
+			}
+		}
+
+		return node;
+
+	}
+
+	/**
+	 * <p>
+	 * Gets the node with the highest priority for docking a dockable with the given docking modes at the given location.
+	 * </p>
+	 * <p>
+	 * Like the {@link com.javadocking.drag.dockretriever.StaticDockRetriever}, the deepest node that contains the location
+	 * and its ancestors are checked. When nodes have the same priority, the deepest node is taken.
+	 * </p>
+	 *
+	 * @param rootNode     The root node of the tree.
+	 * @param dockingModes The docking modes of the dockable.
+	 * @param location     The location relative to the root node.
+	 * @return The node with the highest priority. Null if the dockable cannot be docked at the location.
+	 */
+	@Nullable
+	public LayoutNode retrieveHighestPriorityNode(@NotNull LayoutNode rootNode, int dockingModes, @NotNull Point location) {
+
+		LayoutNode nodeWithHighestPriority = null;
+		int highestPriority = Priority.CANNOT_DOCK;
+		for (LayoutNode node = getDeepestNodeAt(rootNode, location); node != null; node = node.getParent()) {
+			// Get the location relative to the node.
+			helpPoint.setLocation(location.x - node.getBounds().x, location.y - node.getBounds().y);
+
+			// Is this priority higher than the priorities we found already?
+			int priority = getDockPriority(node, dockingModes, helpPoint);
+			if (priority > highestPriority) {
+				nodeWithHighestPriority = node;
+				highestPriority = priority;
+			}
+		}
+
+		return nodeWithHighestPriority;
+
+	}
+
+	// Public static methods.
+
+	/**
+	 * <p>
+	 * Creates a layout tree that is a snapshot of the given tree of docks.
+	 * This method reads the components of the docks, so it should be called on the event dispatch thread.
+	 * </p>
+	 * <p>
+	 * The bounds of the nodes are relative to the component of the root dock. Docks that are not components,
+	 * like a {@link FloatDock}, get empty bounds. The bounds of docks that are not in the component of the root dock
+	 * are relative to their own window.
+	 * </p>
+	 *
+	 * @param rootDock The root of the docks.
+	 * @return The root node of the created layout tree.
+	 */
+	@NotNull
+	public static LayoutNode createLayoutTree(@NotNull Dock rootDock) {
+
+		Component rootComponent = null;
+		if (rootDock instanceof Component) {
+			rootComponent = (Component) rootDock;
+		}
+		return createLayoutNode(rootDock, rootComponent);
+
+	}
+
+	// Private static methods.
+
+	/**
+	 * Creates the layout node for the given dock and the nodes for its child docks.
+	 *
+	 * @param dock          The dock.
+	 * @param rootComponent The component of the root dock. Can be null.
+	 * @return The created layout node.
+	 */
+	@NotNull
+	private static LayoutNode createLayoutNode(@NotNull Dock dock, @Nullable Component rootComponent) {
+
+		// Create the node for the type of the dock.
+		LayoutNode node;
+		if (dock instanceof SplitDock) {
+			node = new LayoutNode(LayoutNode.SPLIT);
+		} else if (dock instanceof LeafDock) {
+			LeafDock leafDock = (LeafDock) dock;
+			node = new LayoutNode(LayoutNode.LEAF);
+			node.setLeafDockingMode(getLeafDockingMode(leafDock));
+			node.setDockableCount(leafDock.getDockableCount());
+			node.setFull(leafDock.isFull());
+		} else {
+			node = new LayoutNode(LayoutNode.CONTAINER);
+		}
+		node.setDock(dock);
+
+		// Set the bounds and the preferred size.
+		if (dock instanceof Component) {
+			Component component = (Component) dock;
+			Point location;
+			if ((rootComponent != null) && ((component == rootComponent) || SwingUtilities.isDescendingFrom(component, rootComponent))) {
+				location = SwingUtilities.convertPoint(component, 0, 0, rootComponent);
+			} else {
+				location = SwingUtilities.convertPoint(component, 0, 0, null);
+			}
+			node.setBounds(location.x, location.y, component.getWidth(), component.getHeight());
+			Dimension preferredSize = component.getPreferredSize();
+			node.setPreferredSize(preferredSize.width, preferredSize.height);
+		}
+
+		// Create the nodes for the child docks.
+		if (dock instanceof CompositeDock) {
+			CompositeDock compositeDock = (CompositeDock) dock;
+			for (int index = 0; index < compositeDock.getChildDockCount(); index++) {
+				node.addChild(createLayoutNode(compositeDock.getChildDock(index), rootComponent));
+			}
+			Dockable dockable = DockingUtil.createDockable(dock);
+			if (dockable != null) {
+				node.setContentDockingModes(dockable.getDockingModes());
+			}
+		}
+
+		return node;
+
+	}
+
+	/**
+	 * Gets the docking mode that a dockable should have to be docked in the given leaf dock.
+	 *
+	 * @param leafDock The leaf dock.
+	 * @return The docking mode of the leaf dock. 0 if it is not known.
+	 */
+	private static int getLeafDockingMode(@NotNull LeafDock leafDock) {
+
+		if (leafDock instanceof TabDock) {
+			return DockingMode.TAB;
+		}
+		if (leafDock instanceof SingleDock) {
+			return DockingMode.SINGLE;
+		}
+		if (leafDock instanceof GridDock) {
+			return ((GridDock) leafDock).getDockingMode();
+		}
+		if (leafDock instanceof LineDock) {
+			LineDock lineDock = (LineDock) leafDock;
+			if (lineDock.getOrientation() == LineDock.ORIENTATION_HORIZONTAL) {
+				return lineDock.getHorizontalDockingMode();
+			}
+			return lineDock.getVerticalDockingMode();
+		}
+		return 0;
+
+	}
+
+	// Private methods.
+
+	/**
+	 * Gets the priority for docking a dockable in a leaf node.
+	 *
+	 * @param node             The leaf node.
+	 * @param dockingModes     The docking modes of the dockable.
+	 * @param relativeLocation The location of the mouse relative to the node.
+	 * @return The priority for docking the dockable.
+	 */
+	private int getLeafDockPriority(@NotNull LayoutNode node, int dockingModes, @NotNull Point relativeLocation) {
+
+		// Check the docking mode and if we are not full.
+		if (((dockingModes & node.getLeafDockingMode()) == 0) || (node.isFull())) {
+			return Priority.CANNOT_DOCK;
+		}
+
+		// If the node is empty, we can dock with priority.
+		if (node.isEmpty()) {
+			return Priority.CAN_DOCK_WITH_PRIORITY;
+		}
+
+		// Can we dock with priority?
+		Rectangle priorityRectangle = node.getPriorityRectangle();
+		if ((priorityRectangle != null) && (priorityRectangle.contains(relativeLocation))) {
+			return Priority.CAN_DOCK_WITH_PRIORITY;
+		}
+
+		// We can dock, but not with priority.
+		return Priority.CAN_DOCK;
+
+	}
+
+	/**
+	 * Gets the priority for docking a dockable in a split node.
+	 *
+	 * @param node             The split node.
+	 * @param dockingModes     The docking modes of the dockable.
+	 * @param relativeLocation The location of the mouse relative to the node.
+	 * @return The priority for docking the dockable.
+	 */
+	private int getSplitDockPriority(@NotNull LayoutNode node, int dockingModes, @NotNull Point relativeLocation) {
+
+		// Check if the dockable may be docked in a split dock.
+		if (((dockingModes & DockingMode.LEFT) == 0) &&
+				((dockingModes & DockingMode.RIGHT) == 0) &&
+				((dockingModes & DockingMode.TOP) == 0) &&
+				((dockingModes & DockingMode.BOTTOM) == 0)) {
+			return Priority.CANNOT_DOCK;
+		}
+
+		// We can only dock if we are not full.
+		if (node.isFull()) {
+			return Priority.CANNOT_DOCK;
+		}
+
+		// Can we dock with priority?
+		Rectangle bounds = node.getBounds();
+		if (SplitDockLayout.canDockWithPriority(relativeLocation, bounds.width, bounds.height, node.isEmpty(),
+				dockingModes, node.getContentDockingModes(), helpRectangle)) {
+			return Priority.CAN_DOCK_WITH_PRIORITY;
+		}
+
+		// We can dock, but not with priority.
+		return Priority.CAN_DOCK;
+
+	}
+
+}
@@ -0,0 +1,381 @@
+package com.javadocking.dock.layout;
+
+import com.javadocking.dock.Dock;
+import com.javadocking.dockable.DockingMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A node in a headless layout tree. The tree mirrors a tree of docks, but it contains no components.
+ * It only knows the bounds of the docks, their children, their docking modes and how many dockables they contain.
+ * </p>
+ * <p>
+ * There are 3 types of nodes:
+ * <ul>
+ * <li>{@link #LEAF}: a node for a {@link com.javadocking.dock.LeafDock}. It accepts dockables with its leaf docking mode.</li>
+ * <li>{@link #SPLIT}: a node for a {@link com.javadocking.dock.SplitDock}. It can have 0, 1 or 2 child nodes.</li>
+ * <li>{@link #CONTAINER}: a node for another composite dock. It only contains child nodes, dockables cannot be docked in it.</li>
+ * </ul>
+ *
+ * <p>
+ * The bounds of all the nodes of a tree are relative to the root node.
+ * </p>
+ * <p>
+ * Layout trees can be created without a display, e.g. for tests or benchmarks, or as snapshot of
+ * a tree of docks with {@link LayoutEngine#createLayoutTree(Dock)}. The {@link LayoutEngine} computes
+ * the docking priorities and docking rectangles for the nodes.
+ * </p>
+ * <p>
+ * A layout tree is not thread safe. It can be used by another thread than the thread that created it,
+ * when it is not changed anymore.
+ * </p>
+ */
+public class LayoutNode {
+
+	// Static fields.
+
+	/**
+	 * The type of a node for a leaf dock.
+	 */
+	public static final int LEAF = 0;
+	/**
+	 * The type of a node for a split dock.
+	 */
+	public static final int SPLIT = 1;
+	/**
+	 * The type of a node for a composite dock in which dockables cannot be docked directly.
+	 */
+	public static final int CONTAINER = 2;
+
+	// Fields.
+
+	/**
+	 * The type of this node: {@link #LEAF}, {@link #SPLIT} or {@link #CONTAINER}.
+	 */
+	private int type;
+	/**
+	 * The bounds of this node relative to the root node.
+	 */
+	@NotNull
+	private Rectangle bounds = new Rectangle();
+	/**
+	 * The preferred size of this node.
+	 */
+	@NotNull
+	private Dimension preferredSize = new Dimension();
+	/**
+	 * The parent of this node.
+	 */
+	@Nullable
+	private LayoutNode parent;
+	/**
+	 * The child nodes.
+	 */
+	@NotNull
+	private List children = new ArrayList();
+	/**
+	 * The dock that is mirrored by this node. Can be null, when the tree was not created for docks.
+	 */
+	@Nullable
+	private Dock dock;
+	/**
+	 * The docking mode that a dockable should have to be docked in this leaf node.
+	 */
+	private int leafDockingMode;
+	/**
+	 * The number of dockables in this leaf node.
+	 */
+	private int dockableCount;
+	/**
+	 * True when no dockables can be added to this leaf node anymore.
+	 */
+	private boolean full;
+	/**
+	 * The docking modes of the dockables that are already in this node.
+	 */
+	private int contentDockingModes = DockingMode.ALL;
+	/**
+	 * The rectangle relative to this leaf node in which dockables can be docked with priority.
+	 */
+	@Nullable
+	private Rectangle priorityRectangle;
+
+	// Constructors.
+
+	/**
+	 * Constructs a node with the given type.
+	 *
+	 * @param type The type of the node: {@link #LEAF}, {@link #SPLIT} or {@link #CONTAINER}.
+	 * @throws IllegalArgumentException If the type is not valid.
+	 */
+	public LayoutNode(int type) {
+
+		if ((type != LEAF) && (type != SPLIT) && (type != CONTAINER)) {
+			throw new IllegalArgumentException("Type [" + type + "] is not a valid type for a layout node.");
+		}
+		this.type = type;
+
+	}
+
+	/**
+	 * Constructs a leaf node with the given docking mode and bounds.
+	 *
+	 * @param leafDockingMode The docking mode that a dockable should have to be docked in the leaf node.
+	 * @param x               The x-coordinate of the node relative to the root node.
+	 * @param y               The y-coordinate of the node relative to the root node.
+	 * @param width           The width of the node.
+	 * @param height          The height of the node.
+	 */
+	public LayoutNode(int leafDockingMode, int x, int y, int width, int height) {
+
+		this(LEAF);
+		this.leafDockingMode = leafDockingMode;
+		bounds.setBounds(x, y, width, height);
+
+	}
+
+	// Public methods.
+
+	/**
+	 * Determines if there are no dockables or child nodes in this node.
+	 *
+	 * @return True if a leaf node has no dockables, or if another node has no child nodes.
+	 */
+	public boolean isEmpty() {
+
+		if (type == LEAF) {
+			return dockableCount == 0;
+		}
+		return children.isEmpty();
+
+	}
+
+	/**
+	 * Determines if dockables or child nodes cannot be added anymore.
+	 *
+	 * @return True if dockables cannot be added to a leaf node, or if a split node has 2 child nodes.
+	 * Always false for container nodes.
+	 */
+	public boolean isFull() {
+
+		if (type == LEAF) {
+			return full;
+		}
+		if (type == SPLIT) {
+			return children.size() >= 2;
+		}
+		return false;
+
+	}
+
+	/**
+	 * Adds a child node to this node.
+	 *
+	 * @param child The child node.
+	 * @throws IllegalStateException If this is a leaf node, or if this is a split node that has 2 child nodes.
+	 */
+	public void addChild(@NotNull LayoutNode child) {
+
+		if (type == LEAF) {
+			throw new IllegalStateException("A leaf node cannot have child nodes.");
+		}
+		if ((type == SPLIT) && (children.size() >= 2)) {
+			throw new IllegalStateException("A split node cannot have more than 2 child nodes.");
+		}
+		children.add(child);
+		child.parent = this;
+
+	}
+
+	/**
+	 * Gets the number of child nodes.
+	 *
+	 * @return The number of child nodes.
+	 */
+	public int getChildCount() {
+		return children.size();
+	}
+
+	/**
+	 * Gets the child node with the given index.
+	 *
+	 * @param index The index of the child node.
+	 * @return The child node with the given index.
+	 * @throws IndexOutOfBoundsException If the index is out of range.
+	 */
+	@NotNull
+	public LayoutNode getChild(int index) {
+		return (LayoutNode) children.get(index);
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the type of this node.
+	 *
+	 * @return The type of this node: {@link #LEAF}, {@link #SPLIT} or {@link #CONTAINER}.
+	 */
+	public int getType() {
+		return type;
+	}
+
+	/**
+	 * Gets the bounds of this node relative to the root node. The returned rectangle is not a copy.
+	 *
+	 * @return The bounds of this node relative to the root node.
+	 */
+	@NotNull
+	public Rectangle getBounds() {
+		return bounds;
+	}
+
+	/**
+	 * Sets the bounds of this node relative to the root node.
+	 *
+	 * @param x      The x-coordinate of the node relative to the root node.
+	 * @param y      The y-coordinate of the node relative to the root node.
+	 * @param width  The width of the node.
+	 * @param height The height of the node.
+	 */
+	public void setBounds(int x, int y, int width, int height) {
+		bounds.setBounds(x, y, width, height);
+	}
+
+	/**
+	 * Gets the preferred size of this node. The returned dimension is not a copy.
+	 *
+	 * @return The preferred size of this node.
+	 */
+	@NotNull
+	public Dimension getPreferredSize() {
+		return preferredSize;
+	}
+
+	/**
+	 * Sets the preferred size of this node.
+	 *
+	 * @param width  The preferred width.
+	 * @param height The preferred height.
+	 */
+	public void setPreferredSize(int width, int height) {
+		preferredSize.setSize(width, height);
+	}
+
+	/**
+	 * Gets the parent of this node.
+	 *
+	 * @return The parent of this node. Null for the root node.
+	 */
+	@Nullable
+	public LayoutNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * Gets the dock that is mirrored by this node.
+	 *
+	 * @return The dock that is mirrored by this node. Null when the tree was not created for docks.
+	 */
+	@Nullable
+	public Dock getDock() {
+		return dock;
+	}
+
+	/**
+	 * Sets the dock that is mirrored by this node.
+	 *
+	 * @param dock The dock that is mirrored by this node.
+	 */
+	public void setDock(@Nullable Dock dock) {
+		this.dock = dock;
+	}
+
+	/**
+	 * Gets the docking mode that a dockable should have to be docked in this leaf node.
+	 *
+	 * @return The docking mode of this leaf node. 0 for the other nodes.
+	 */
+	public int getLeafDockingMode() {
+		return leafDockingMode;
+	}
+
+	/**
+	 * Sets the docking mode that a dockable should have to be docked in this leaf node.
+	 *
+	 * @param leafDockingMode The docking mode of this leaf node.
+	 */
+	public void setLeafDockingMode(int leafDockingMode) {
+		this.leafDockingMode = leafDockingMode;
+	}
+
+	/**
+	 * Gets the number of dockables in this leaf node.
+	 *
+	 * @return The number of dockables in this leaf node.
+	 */
+	public int getDockableCount() {
+		return dockableCount;
+	}
+
+	/**
+	 * Sets the number of dockables in this leaf node.
+	 *
+	 * @param dockableCount The number of dockables in this leaf node.
+	 */
+	public void setDockableCount(int dockableCount) {
+		this.dockableCount = dockableCount;
+	}
+
+	/**
+	 * Sets if no dockables can be added to this leaf node anymore.
+	 *
+	 * @param full True when no dockables can be added to this leaf node anymore.
+	 */
+	public void setFull(boolean full) {
+		this.full = full;
+	}
+
+	/**
+	 * Gets the docking modes of the dockables that are already in this node.
+	 * The default value is {@link DockingMode#ALL}.
+	 *
+	 * @return The docking modes of the dockables that are already in this node.
+	 */
+	public int getContentDockingModes() {
+		return contentDockingModes;
+	}
+
+	/**
+	 * Sets the docking modes of the dockables that are already in this node.
+	 *
+	 * @param contentDockingModes The docking modes of the dockables that are already in this node.
+	 */
+	public void setContentDockingModes(int contentDockingModes) {
+		this.contentDockingModes = contentDockingModes;
+	}
+
+	/**
+	 * Gets the rectangle relative to this leaf node in which dockables can be docked with priority.
+	 *
+	 * @return The priority rectangle relative to this leaf node. Null when there is no priority rectangle.
+	 */
+	@Nullable
+	public Rectangle getPriorityRectangle() {
+		return priorityRectangle;
+	}
+
+	/**
+	 * Sets the rectangle relative to this leaf node in which dockables can be docked with priority.
+	 *
+	 * @param priorityRectangle The priority rectangle relative to this leaf node. Null when there is no priority rectangle.
+	 */
+	public void setPriorityRectangle(@Nullable Rectangle priorityRectangle) {
+		this.priorityRectangle = priorityRectangle;
+	}
+
+}
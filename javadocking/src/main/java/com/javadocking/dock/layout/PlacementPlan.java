@@ -0,0 +1,548 @@
+package com.javadocking.dock.layout;
+
+import com.javadocking.DockingExecutor;
+import com.javadocking.DockingManager;
+import com.javadocking.dock.*;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.dockable.DockingMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ * A plan for adding many dockables to a tree of docks. The places for the dockables are searched on a headless
+ * snapshot of the tree, so the search can be done on another thread than the event dispatch thread.
+ * </p>
+ * <p>
+ * A plan is used in 3 steps:
+ * <ol>
+ * <li>The plan is constructed on the event dispatch thread. It takes a snapshot of the tree of docks with
+ * {@link LayoutEngine#createLayoutTree(Dock)}.</li>
+ * <li>{@link #plan()} searches the places on the snapshot. This can be done on any thread.
+ * It searches like {@link DockingExecutor#changeDocking(Dockable, Dock)}: the child docks are tried first,
+ * then the dock itself with the middle of the dock as location. After every dockable the snapshot is changed
+ * as if the dockable was added.</li>
+ * <li>{@link #apply()} adds all the dockables on the event dispatch thread with the {@link DockingExecutor}.
+ * When the tree of docks was changed after the snapshot was taken, a new plan is made first.
+ * A dockable for which no place was found, or whose planned dock cannot dock it anymore,
+ * is added with {@link DockingExecutor#changeDocking(Dockable, Dock)}.</li>
+ * </ol>
+ *
+ * <p>
+ * {@link #execute(Executor)} does the planning with the given executor and applies the plan afterwards
+ * on the event dispatch thread.
+ * </p>
+ * <p>
+ * The methods that read or write the planned places are synchronized. So the places that are searched on another thread
+ * are safely seen by the event dispatch thread, and the plan is not applied while the places are searched.
+ * When the search fails with an exception, the exception is kept, see {@link #getPlanningException()}.
+ * {@link #apply()} searches the places again on the event dispatch thread. When that fails too,
+ * every dockable is docked with {@link DockingExecutor#changeDocking(Dockable, Dock)}.
+ * </p>
+ * <p>
+ * The snapshot only knows the docking modes of the dockables, see {@link LayoutEngine}.
+ * Docks that would be created in split docks during the plan, are planned as {@link TabDock}s.
+ * </p>
+ */
+public class PlacementPlan {
+
+	// Fields.
+
+	/**
+	 * The root of the docks where the dockables will be docked.
+	 */
+	@NotNull
+	private Dock rootDock;
+	/**
+	 * The dockables that will be docked.
+	 */
+	@NotNull
+	private Dockable[] dockables;
+	/**
+	 * The docking modes of the dockables.
+	 */
+	@NotNull
+	private int[] dockingModes;
+	/**
+	 * The snapshot of the tree of docks.
+	 */
+	@NotNull
+	private LayoutNode rootNode;
+	/**
+	 * The docks of the tree when the snapshot was taken, in depth first order.
+	 */
+	@NotNull
+	private List snapshotDocks = new ArrayList();
+	/**
+	 * The numbers of child docks or dockables of the docks in <code>snapshotDocks</code>.
+	 */
+	@NotNull
+	private List snapshotCounts = new ArrayList();
+	/**
+	 * The planned nodes for the dockables. A node is null, when no place was found.
+	 */
+	@NotNull
+	private LayoutNode[] destinationNodes;
+	/**
+	 * The nodes that are added to the snapshot during planning, with the dockables for which they are created.
+	 */
+	@NotNull
+	private Map createdNodes = new HashMap();
+	/**
+	 * True when the places are searched.
+	 */
+	private boolean planned;
+	/**
+	 * True when the plan is applied.
+	 */
+	private boolean applied;
+	/**
+	 * The exception that was thrown while searching the places. Null when there was no exception.
+	 */
+	@Nullable
+	private Throwable planningException;
+	/**
+	 * Computes the docking decisions for the snapshot.
+	 */
+	@NotNull
+	private LayoutEngine layoutEngine = new LayoutEngine();
+	/**
+	 * A point that is used for the calculations. We keep it as field
+	 * because we don't want to create every time a new point.
+	 */
+	@NotNull
+	private Point helpPoint = new Point();
+	/**
+	 * A rectangle that is used for the calculations. We keep it as field
+	 * because we don't want to create every time a new rectangle.
+	 */
+	@NotNull
+	private Rectangle helpRectangle = new Rectangle();
+
+	// Constructors.
+
+	/**
+	 * Constructs a plan for adding the given dockables to the given tree of docks.
+	 * The snapshot of the tree is taken, so this constructor should be called on the event dispatch thread.
+	 *
+	 * @param rootDock  The root of the docks where the dockables will be docked.
+	 * @param dockables The dockables that will be docked, in the order that they will be docked.
+	 */
+	public PlacementPlan(@NotNull Dock rootDock, @NotNull Dockable[] dockables) {
+
+		this.rootDock = rootDock;
+		this.dockables = dockables.clone();
+		this.dockingModes = new int[dockables.length];
+		this.destinationNodes = new LayoutNode[dockables.length];
+		for (int index = 0; index < dockables.length; index++) {
+			dockingModes[index] = dockables[index].getDockingModes();
+		}
+		rootNode = takeSnapshot();
+
+	}
+
+	// Public methods.
+
+	/**
+	 * Searches the places for the dockables on the snapshot. This method can be called on any thread.
+	 */
+	public synchronized void plan() {
+
+		planned = false;
+		for (int index = 0; index < dockables.length; index++) {
+			LayoutNode node = findNode(rootNode, dockingModes[index]);
+			destinationNodes[index] = node;
+			if (node != null) {
+				addToSnapshot(node, dockables[index], dockingModes[index]);
+			}
+		}
+		planned = true;
+
+	}
+
+	/**
+	 * Determines if the tree of docks is still the same as when the snapshot was taken.
+	 * This method should be called on the event dispatch thread.
+	 *
+	 * @return True if the tree of docks was not changed, false otherwise.
+	 */
+	public boolean isUpToDate() {
+
+		List docks = new ArrayList();
+		List counts = new ArrayList();
+		retrieveTree(rootDock, docks, counts);
+		if (docks.size() != snapshotDocks.size()) {
+			return false;
+		}
+		for (int index = 0; index < docks.size(); index++) {
+			if ((docks.get(index) != snapshotDocks.get(index)) || (!counts.get(index).equals(snapshotCounts.get(index)))) {
+				return false;
+			}
+		}
+		return true;
+
+	}
+
+	/**
+	 * <p>
+	 * Adds the dockables to the planned docks. This method should be called on the event dispatch thread.
+	 * </p>
+	 * <p>
+	 * When the places were not searched yet, or when the tree of docks was changed after the snapshot was taken,
+	 * a new snapshot is taken and the places are searched first. A plan can be applied only once.
+	 * </p>
+	 *
+	 * @return The number of dockables that could be docked.
+	 * @throws IllegalStateException If the plan was already applied.
+	 */
+	public synchronized int apply() {
+
+		if (applied) {
+			throw new IllegalStateException("The placement plan was already applied.");
+		}
+		applied = true;
+
+		// Make a new plan, when the tree changed.
+		if ((!planned) || (!isUpToDate())) {
+			rootNode = takeSnapshot();
+			createdNodes.clear();
+			try {
+				plan();
+			} catch (RuntimeException exception) {
+				// Dock every dockable without plan.
+				planningException = exception;
+				Arrays.fill(destinationNodes, null);
+			}
+		}
+
+		// Add the dockables.
+		DockingExecutor dockingExecutor = DockingManager.getDockingExecutor();
+		int dockedCount = 0;
+		for (int index = 0; index < dockables.length; index++) {
+			Dockable dockable = dockables[index];
+			LayoutNode node = destinationNodes[index];
+			Dock destinationDock = getDestinationDock(node);
+			boolean docked = false;
+			if (destinationDock instanceof Component) {
+				// Dock in the middle of the planned dock, if that is still possible.
+				Component component = (Component) destinationDock;
+				Point location = new Point(component.getWidth() / 2, component.getHeight() / 2);
+				if (destinationDock.getDockPriority(dockable, location) != Priority.CANNOT_DOCK) {
+					docked = dockingExecutor.changeDocking(dockable, destinationDock, location, new Point());
+				}
+			}
+			if (!docked) {
+				docked = dockingExecutor.changeDocking(dockable, rootDock);
+			}
+			if (docked) {
+				dockedCount++;
+			}
+		}
+
+		return dockedCount;
+
+	}
+
+	/**
+	 * Searches the places with the given executor, and applies the plan afterwards on the event dispatch thread.
+	 *
+	 * @param executor The executor that searches the places, e.g. a background thread.
+	 */
+	public void execute(@NotNull Executor executor) {
+		executor.execute(new Planner());
+	}
+
+	// Getters.
+
+	/**
+	 * Gets the root of the docks where the dockables will be docked.
+	 *
+	 * @return The root of the docks where the dockables will be docked.
+	 */
+	@NotNull
+	public Dock getRootDock() {
+		return rootDock;
+	}
+
+	/**
+	 * Gets the number of dockables of this plan.
+	 *
+	 * @return The number of dockables of this plan.
+	 */
+	public int getDockableCount() {
+		return dockables.length;
+	}
+
+	/**
+	 * Gets the dockable with the given index.
+	 *
+	 * @param index The index of the dockable.
+	 * @return The dockable with the given index.
+	 */
+	@NotNull
+	public Dockable getDockable(int index) {
+		return dockables[index];
+	}
+
+	/**
+	 * Gets the planned node of the dockable with the given index.
+	 *
+	 * @param index The index of the dockable.
+	 * @return The planned node of the dockable in the snapshot. Null when the places are not searched yet,
+	 * or when no place was found.
+	 */
+	@Nullable
+	public synchronized LayoutNode getDestinationNode(int index) {
+		return destinationNodes[index];
+	}
+
+	/**
+	 * Determines if the places are searched.
+	 *
+	 * @return True if the places are searched, false otherwise.
+	 */
+	public synchronized boolean isPlanned() {
+		return planned;
+	}
+
+	/**
+	 * Gets the exception that was thrown while searching the places.
+	 *
+	 * @return The exception that was thrown while searching the places. Null when there was no exception.
+	 */
+	@Nullable
+	public synchronized Throwable getPlanningException() {
+		return planningException;
+	}
+
+	// Private metods.
+
+	private synchronized void setPlanningException(@NotNull Throwable planningException) {
+		this.planningException = planningException;
+	}
+
+	/**
+	 * Takes a snapshot of the tree of docks.
+	 *
+	 * @return The root node of the snapshot.
+	 */
+	@NotNull
+	private LayoutNode takeSnapshot() {
+
+		snapshotDocks.clear();
+		snapshotCounts.clear();
+		retrieveTree(rootDock, snapshotDocks, snapshotCounts);
+		planned = false;
+		return LayoutEngine.createLayoutTree(rootDock);
+
+	}
+
+	/**
+	 * Searches the node for a dockable like {@link DockingExecutor#changeDocking(Dockable, Dock)}.
+	 * First the child nodes are tried, then the node itself with the middle of the node as location.
+	 *
+	 * @param node         The node where the search starts.
+	 * @param dockingModes The docking modes of the dockable.
+	 * @return The node where the dockable can be docked. Null if there is no node.
+	 */
+	@Nullable
+	private LayoutNode findNode(@NotNull LayoutNode node, int dockingModes) {
+
+		// Try to add to one of the children.
+		for (int index = 0; index < node.getChildCount(); index++) {
+			LayoutNode childNode = findNode(node.getChild(index), dockingModes);
+			if (childNode != null) {
+				return childNode;
+			}
+		}
+
+		// Try to add the dockable to this node with location the middle of the node.
+		Rectangle bounds = node.getBounds();
+		helpPoint.setLocation(bounds.width / 2, bounds.height / 2);
+		if (layoutEngine.getDockPriority(node, dockingModes, helpPoint) != Priority.CANNOT_DOCK) {
+			return node;
+		}
+
+		return null;
+
+	}
+
+	/**
+	 * Changes the snapshot as if the dockable was added to the node.
+	 *
+	 * @param node         The node where the dockable is added.
+	 * @param dockable     The dockable that is added.
+	 * @param dockingModes The docking modes of the dockable.
+	 */
+	private void addToSnapshot(@NotNull LayoutNode node, @NotNull Dockable dockable, int dockingModes) {
+
+		if (node.getType() == LayoutNode.LEAF) {
+			node.setDockableCount(node.getDockableCount() + 1);
+			node.setContentDockingModes(node.getContentDockingModes() & dockingModes);
+			if (node.getLeafDockingMode() == DockingMode.SINGLE) {
+				node.setFull(true);
+			}
+		} else if (node.getType() == LayoutNode.SPLIT) {
+			// A new leaf dock is created for the dockable.
+			Rectangle bounds = node.getBounds();
+			helpPoint.setLocation(bounds.width / 2, bounds.height / 2);
+			Dimension preferredSize = node.getChildCount() > 0 ? node.getChild(0).getPreferredSize() : bounds.getSize();
+			layoutEngine.retrieveDockingRectangle(node, dockingModes, preferredSize, helpPoint, helpRectangle);
+			LayoutNode childNode = new LayoutNode(DockingMode.TAB, bounds.x + helpRectangle.x, bounds.y + helpRectangle.y,
+					helpRectangle.width, helpRectangle.height);
+			childNode.setPreferredSize(preferredSize.width, preferredSize.height);
+			childNode.setDockableCount(1);
+			childNode.setContentDockingModes(dockingModes);
+
+			// The first child gets the rest of the split.
+			if (node.getChildCount() > 0) {
+				clipBounds(node.getChild(0), getRemainingBounds(bounds, childNode.getBounds()));
+			}
+			node.addChild(childNode);
+			node.setContentDockingModes(node.getContentDockingModes() & dockingModes);
+			createdNodes.put(childNode, dockable);
+		}
+
+	}
+
+	/**
+	 * Gets the part of the bounds of a split node that remains for the first child,
+	 * when the new child gets the given bounds.
+	 *
+	 * @param splitBounds The bounds of the split node.
+	 * @param childBounds The bounds of the new child. They are at a side of the split bounds.
+	 * @return The remaining bounds for the first child.
+	 */
+	@NotNull
+	private static Rectangle getRemainingBounds(@NotNull Rectangle splitBounds, @NotNull Rectangle childBounds) {
+
+		Rectangle remainingBounds = new Rectangle(splitBounds);
+		if (childBounds.width < splitBounds.width) {
+			// The split is horizontal.
+			if (childBounds.x <= splitBounds.x) {
+				remainingBounds.x = childBounds.x + childBounds.width;
+			}
+			remainingBounds.width = splitBounds.width - childBounds.width;
+		} else if (childBounds.height < splitBounds.height) {
+			// The split is vertical.
+			if (childBounds.y <= splitBounds.y) {
+				remainingBounds.y = childBounds.y + childBounds.height;
+			}
+			remainingBounds.height = splitBounds.height - childBounds.height;
+		}
+		return remainingBounds;
+
+	}
+
+	/**
+	 * Limits the bounds of the node and its descendants to the given bounds.
+	 *
+	 * @param node   The node.
+	 * @param bounds The new bounds of the node.
+	 */
+	private static void clipBounds(@NotNull LayoutNode node, @NotNull Rectangle bounds) {
+
+		Rectangle clippedBounds = node.getBounds().intersection(bounds);
+		node.setBounds(clippedBounds.x, clippedBounds.y, Math.max(clippedBounds.width, 0), Math.max(clippedBounds.height, 0));
+		for (int index = 0; index < node.getChildCount(); index++) {
+			clipBounds(node.getChild(index), clippedBounds);
+		}
+
+	}
+
+	/**
+	 * Gets the real dock for a planned node.
+	 *
+	 * @param node The planned node.
+	 * @return The dock of the node. For a node that was created during the planning, this is the dock of the dockable
+	 * for which it was created. Null when there is no node.
+	 */
+	@Nullable
+	private Dock getDestinationDock(@Nullable LayoutNode node) {
+
+		if (node == null) {
+			return null;
+		}
+		if (node.getDock() != null) {
+			return node.getDock();
+		}
+		Dockable creator = (Dockable) createdNodes.get(node);
+		if (creator != null) {
+			return creator.getDock();
+		}
+		return null;
+
+	}
+
+	/**
+	 * Adds the docks of the tree in depth first order to the list with docks, and their numbers of child docks
+	 * or dockables to the list with counts.
+	 *
+	 * @param dock   The root of the tree.
+	 * @param docks  The list with the docks.
+	 * @param counts The list with the numbers of child docks or dockables.
+	 */
+	private void retrieveTree(@NotNull Dock dock, @NotNull List docks, @NotNull List counts) {
+
+		docks.add(dock);
+		if (dock instanceof CompositeDock) {
+			CompositeDock compositeDock = (CompositeDock) dock;
+			counts.add(Integer.valueOf(compositeDock.getChildDockCount()));
+			for (int index = 0; index < compositeDock.getChildDockCount(); index++) {
+				retrieveTree(compositeDock.getChildDock(index), docks, counts);
+			}
+		} else if (dock instanceof LeafDock) {
+			counts.add(Integer.valueOf(((LeafDock) dock).getDockableCount()));
+		} else {
+			counts.add(Integer.valueOf(0));
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * Searches the places and applies the plan afterwards on the event dispatch thread.
+	 */
+	private class Planner implements Runnable {
+
+		// Implementations of Runnable.
+
+		public void run() {
+
+			try {
+				plan();
+			} catch (Throwable throwable) {
+				// The places are searched again on the event dispatch thread.
+				setPlanningException(throwable);
+			} finally {
+				SwingUtilities.invokeLater(new Applier());
+			}
+
+		}
+
+	}
+
+	/**
+	 * Applies the plan.
+	 */
+	private class Applier implements Runnable {
+
+		// Implementations of Runnable.
+
+		public void run() {
+			apply();
+		}
+
+	}
+
+}
@@ -0,0 +1,313 @@
+package com.javadocking.dock.layout;
+
+import com.javadocking.dock.Position;
+import com.javadocking.dockable.DockingMode;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+
+/**
+ * <p>
+ * This class contains the layout rules of a {@link com.javadocking.dock.SplitDock} as static methods.
+ * </p>
+ * <p>
+ * The rules only use the size of the dock, the mouse location and docking modes. They don't need components,
+ * so they can also be used without a display, e.g. by the {@link LayoutEngine}.
+ * </p>
+ */
+public class SplitDockLayout {
+
+	// Static fields.
+
+	/**
+	 * The relative top offset of the priority rectangle when the dock is empty.
+	 */
+	private static final double centerPriorityRectangleRelativeTopOffset = 2.0 / 8.0;
+	/**
+	 * The relative left offset of the priority rectangle when the dock is empty.
+	 */
+	private static final double centerPriorityRectangleRelativeLeftOffset = 2.0 / 8.0;
+	/**
+	 * The relative bottom offset of the priority rectangle when the dock is empty.
+	 */
+	private static final double centerPriorityRectangleRelativeBottomOffset = 2.0 / 8.0;
+	/**
+	 * The relative right offset of the priority rectangle when the dock is empty.
+	 */
+	private static final double centerPriorityRectangleRelativeRightOffset = 2.0 / 8.0;
+
+	/**
+	 * The relative width of the left priority rectangle when there is already one child dock.
+	 */
+	private static final double leftPriorityRectangleRelativeWidth = 2.0 / 8.0;
+	/**
+	 * The relative width of the right priority rectangle when there is already one child dock.
+	 */
+	private static final double rightPriorityRectangleRelativeWidth = 2.0 / 8.0;
+	/**
+	 * The relative height of the top priority rectangle when there is already one child dock.
+	 */
+	private static final double topPriorityRectangleRelativeHeight = 2.0 / 8.0;
+	/**
+	 * The relative height of the bottom priority rectangle when there is already one child dock.
+	 */
+	private static final double bottomPriorityRectangleRelativeHeight = 2.0 / 8.0;
+
+	// Private constructor.
+
+	private SplitDockLayout() {
+	}
+
+	// Public static methods.
+
+	/**
+	 * Gets the relative rectangle in a split dock in which docking has priority. The given rectangle gets
+	 * the size and position of this priority rectangle.
+	 *
+	 * @param width     The width of the split dock.
+	 * @param height    The height of the split dock.
+	 * @param position  The position of the priority rectangle: {@link Position#LEFT}, {@link Position#RIGHT},
+	 *                  {@link Position#TOP}, {@link Position#BOTTOM} or {@link Position#CENTER}.
+	 * @param rectangle Gets the size and position of the calculated priority rectangle.
+	 */
+	public static void getPriorityRectangle(int width, int height, int position, @NotNull Rectangle rectangle) {
+
+		switch (position) {
+			case Position.LEFT:
+				rectangle.setBounds(0,
+						0,
+						(int) (((double) width) * leftPriorityRectangleRelativeWidth),
+						height);
+				break;
+			case Position.RIGHT:
+				rectangle.setBounds((int) (((double) width) * (1 - rightPriorityRectangleRelativeWidth)),
+						0,
+						(int) (((double) width) * rightPriorityRectangleRelativeWidth),
+						height);
+				break;
+			case Position.TOP:
+				rectangle.setBounds(0,
+						0,
+						width,
+						(int) (((double) height) * topPriorityRectangleRelativeHeight));
+				break;
+			case Position.BOTTOM:
+				rectangle.setBounds(0,
+						(int) (((double) height) * (1 - bottomPriorityRectangleRelativeHeight)),
+						width,
+						(int) (((double) height) * bottomPriorityRectangleRelativeHeight));
+				break;
+			case Position.CENTER:
+				rectangle.setBounds((int) (width * centerPriorityRectangleRelativeLeftOffset),
+						(int) (height * centerPriorityRectangleRelativeTopOffset),
+						(int) (width * (1 - centerPriorityRectangleRelativeLeftOffset - centerPriorityRectangleRelativeRightOffset)),
+						(int) (height * (1 - centerPriorityRectangleRelativeTopOffset - centerPriorityRectangleRelativeBottomOffset)));
+				break;
+		}
+
+	}
+
+	/**
+	 * Determines if a dockable can be added to a split dock with priority.
+	 *
+	 * @param relativeLocation  The location of the mouse relative to the split dock.
+	 * @param width             The width of the split dock.
+	 * @param height            The height of the split dock.
+	 * @param empty             True if the split dock has no child docks.
+	 * @param dockingModes      The docking modes of the new dockable.
+	 * @param otherDockingModes The docking modes of the dockables that are already in the split dock.
+	 * @param helpRectangle     A rectangle that is used for the calculations.
+	 * @return True if the dockable can be added with priority, false otherwise.
+	 */
+	public static boolean canDockWithPriority(@NotNull Point relativeLocation, int width, int height, boolean empty,
+											  int dockingModes, int otherDockingModes, @NotNull Rectangle helpRectangle) {
+
+		// If the dock is empty, the dockable will be docked in the center.
+		if (empty) {
+			getPriorityRectangle(width, height, Position.CENTER, helpRectangle);
+			return (helpRectangle.contains(relativeLocation));
+		}
+
+		// Try left.
+		if (((dockingModes & DockingMode.LEFT) != 0) &&
+				((otherDockingModes & DockingMode.RIGHT) != 0)) {
+			getPriorityRectangle(width, height, Position.LEFT, helpRectangle);
+			if (helpRectangle.contains(relativeLocation)) {
+				return true;
+			}
+		}
+
+		// Try right.
+		if (((dockingModes & DockingMode.RIGHT) != 0) &&
+				((otherDockingModes & DockingMode.LEFT) != 0)) {
+			getPriorityRectangle(width, height, Position.RIGHT, helpRectangle);
+			if (helpRectangle.contains(relativeLocation)) {
+				return true;
+			}
+		}
+
+		// Try top.
+		if (((dockingModes & DockingMode.TOP) != 0) &&
+				((otherDockingModes & DockingMode.BOTTOM) != 0)) {
+			getPriorityRectangle(width, height, Position.TOP, helpRectangle);
+			if (helpRectangle.contains(relativeLocation)) {
+				return true;
+			}
+		}
+
+		// Try bottom.
+		if (((dockingModes & DockingMode.BOTTOM) != 0) &&
+				((otherDockingModes & DockingMode.TOP) != 0)) {
+			getPriorityRectangle(width, height, Position.BOTTOM, helpRectangle);
+			return helpRectangle.contains(relativeLocation);
+		}
+
+		// We can't dock with priority.
+		return false;
+
+	}
+
+	/**
+	 * <p>
+	 * Gets the position where a dockable should be docked in a split dock given the mouse position.
+	 * </p>
+	 * <p>
+	 * When the split dock is empty, this is {@link Position#CENTER}. Otherwise it is the position of the border
+	 * that is the closest to the mouse: {@link Position#LEFT}, {@link Position#RIGHT},
+	 * {@link Position#TOP} or {@link Position#BOTTOM}.
+	 * </p>
+	 *
+	 * @param relativeLocation  The location of the mouse relative to the split dock.
+	 * @param width             The width of the split dock.
+	 * @param height            The height of the split dock.
+	 * @param empty             True if the split dock has no child docks.
+	 * @param dockingModes      The docking modes of the new dockable.
+	 * @param otherDockingModes The docking modes of the dockables that are already in the split dock.
+	 * @return The position where the dockable should be docked in the split dock.
+	 */
+	public static int getDockPosition(@NotNull Point relativeLocation, int width, int height, boolean empty,
+									  int dockingModes, int otherDockingModes) {
+
+		// When the dock is empty, the dockable will be docked in the center.
+		if (empty) {
+			return Position.CENTER;
+		}
+
+		// Take the closest border as position.
+		int halfWidth = width / 2;
+		int halfHeight = height / 2;
+		if (relativeLocation.x < halfWidth) {
+			if (relativeLocation.y < halfHeight) {
+				if (relativeLocation.x < relativeLocation.y) {
+					if (((dockingModes & DockingMode.LEFT) != 0) &&
+							((otherDockingModes & DockingMode.RIGHT) != 0)) {
+						return Position.LEFT;
+					}
+				} else {
+					if (((dockingModes & DockingMode.TOP) != 0) &&
+							((otherDockingModes & DockingMode.BOTTOM) != 0)) {
+						return Position.TOP;
+					}
+				}
+			} else {
+				if (((dockingModes & DockingMode.LEFT) != 0) &&
+						((otherDockingModes & DockingMode.RIGHT) != 0)) {
+					return Position.LEFT;
+				}
+			}
+
+		} else {
+			if (relativeLocation.y < halfHeight) {
+				if ((width - relativeLocation.x) < relativeLocation.y) {
+					if (((dockingModes & DockingMode.RIGHT) != 0) &&
+							((otherDockingModes & DockingMode.LEFT) != 0)) {
+						return Position.RIGHT;
+					}
+				} else {
+					if (((dockingModes & DockingMode.TOP) != 0) &&
+							((otherDockingModes & DockingMode.BOTTOM) != 0)) {
+						return Position.TOP;
+					}
+				}
+			} else {
+				if ((width - relativeLocation.x) < (height - relativeLocation.y)) {
+					if (((dockingModes & DockingMode.RIGHT) != 0) &&
+							((otherDockingModes & DockingMode.LEFT) != 0)) {
+						return Position.RIGHT;
+					}
+				} else {
+					if (((dockingModes & DockingMode.BOTTOM) != 0) &&
+							((otherDockingModes & DockingMode.TOP) != 0)) {
+						return Position.BOTTOM;
+					}
+				}
+			}
+		}
+
+		// This should not occur. We should always find a position before.
+		if ((dockingModes & DockingMode.RIGHT) != 0) {
+			return Position.RIGHT;
+		} else if ((dockingModes & DockingMode.LEFT) != 0) {
+			return Position.LEFT;
+		} else if ((dockingModes & DockingMode.BOTTOM) != 0) {
+			return Position.BOTTOM;
+		} else if ((dockingModes & DockingMode.TOP) != 0) {
+			return Position.TOP;
+		}
+		return Position.RIGHT;
+
+	}
+
+	/**
+	 * Computes the width for a child dock that will be added to a split dock with already one child dock.
+	 * The total width has to be shared by the 2 child docks.
+	 *
+	 * @param preferredWidth         The preferred width or height of the child dock that will be added.
+	 * @param existingPreferredWidth The preferred width or height of the existing child dock.
+	 * @param totalWidth             The total width or height that is available.
+	 * @return The new width for the child dock that will be added.
+	 */
+	public static int getChildDockWidth(int preferredWidth, int existingPreferredWidth, int totalWidth) {
+
+		if ((preferredWidth + existingPreferredWidth) == 0) {
+			return 0;
+		}
+
+		return preferredWidth * totalWidth / (preferredWidth + existingPreferredWidth);
+
+	}
+
+	/**
+	 * Computes the rectangle in a split dock where a new child dock would be docked.
+	 *
+	 * @param width         The width of the split dock.
+	 * @param height        The height of the split dock.
+	 * @param position      The position of the new child dock: {@link Position#LEFT}, {@link Position#RIGHT},
+	 *                      {@link Position#TOP}, {@link Position#BOTTOM} or {@link Position#CENTER}.
+	 * @param dockingLength The width of the new child dock for the positions left and right,
+	 *                      the height for the positions top and bottom.
+	 * @param rectangle     Gets the size and position of the calculated rectangle.
+	 */
+	public static void getDockingRectangle(int width, int height, int position, int dockingLength, @NotNull Rectangle rectangle) {
+
+		switch (position) {
+			case Position.LEFT:
+				rectangle.setBounds(0, 0, dockingLength, height);
+				break;
+			case Position.RIGHT:
+				rectangle.setBounds(width - dockingLength, 0, dockingLength, height);
+				break;
+			case Position.TOP:
+				rectangle.setBounds(0, 0, width, dockingLength);
+				break;
+			case Position.BOTTOM:
+				rectangle.setBounds(0, height - dockingLength, width, dockingLength);
+				break;
+			case Position.CENTER:
+				rectangle.setBounds(0, 0, width, height);
+				break;
+		}
+
+	}
+
+}
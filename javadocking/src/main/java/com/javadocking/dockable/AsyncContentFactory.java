@@ -0,0 +1,38 @@
+package com.javadocking.dockable;
+
+import java.awt.*;
+
+/**
+ * <p>
+ * This factory creates the content of an {@link AsyncDockable} in 2 steps.
+ * </p>
+ * <p>
+ * First the model of the content is prepared with {@link #prepareModel()} by a background thread,
+ * e.g. the data is loaded from a file or a database. This method may not create or change Swing components.
+ * </p>
+ * <p>
+ * Then the component is created for this model with {@link #createContent(Object)} on the event dispatch thread.
+ * This should be fast, because the expensive work was done in the first step.
+ * </p>
+ */
+public interface AsyncContentFactory {
+
+	// Interface methods.
+
+	/**
+	 * Prepares the model of the content. This method is called by a background thread.
+	 *
+	 * @return The model of the content. Can be null.
+	 * @throws Exception If the model could not be prepared.
+	 */
+	Object prepareModel() throws Exception;
+
+	/**
+	 * Creates the content component for the prepared model. This method is called on the event dispatch thread.
+	 *
+	 * @param model The model that was returned by {@link #prepareModel()}.
+	 * @return The content component. May not be null.
+	 */
+	Component createContent(Object model);
+
+}
@@ -0,0 +1,379 @@
+package com.javadocking.dockable;
+
+import com.javadocking.drag.DragListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * A dockable whose content is created in the background by an {@link AsyncContentFactory}.
+ * </p>
+ * <p>
+ * The content of this dockable is a holder panel that exists from the start. It can be added to docks immediately.
+ * The loading starts when {@link #startLoading()} is called, or at the latest when the holder is shown for the first time.
+ * It is not started by the constructor, so that subclasses are fully constructed before
+ * {@link #createPlaceholder()} is called and before the dockable is given to another thread.
+ * The holder shows a placeholder, while the model of the real content is prepared by an executor.
+ * When the model is ready, the real component is created on the event dispatch thread and it replaces
+ * the placeholder in the holder.
+ * </p>
+ * <p>
+ * The content component of the dockable is always the same holder. So the docks are not changed and
+ * no docking events are fired, when the real component is shown.
+ * </p>
+ * <p>
+ * When the real component is a {@link DraggableContent}, the drag listener of the dockable is added to it.
+ * </p>
+ * <p>
+ * When preparing the model or creating the real component throws an exception,
+ * the component of {@link #createFailedContent(Throwable)} is shown.
+ * </p>
+ */
+public class AsyncDockable extends DefaultDockable {
+
+	// Static fields.
+
+	/**
+	 * The executor that is used, when no executor is given.
+	 */
+	@Nullable
+	private static ExecutorService defaultExecutor;
+
+	// Fields.
+
+	/**
+	 * The factory that creates the real content.
+	 */
+	@NotNull
+	private AsyncContentFactory contentFactory;
+	/**
+	 * The executor that prepares the model of the content.
+	 */
+	@NotNull
+	private Executor executor;
+	/**
+	 * True when the loading was started.
+	 */
+	private boolean loadingStarted;
+	/**
+	 * True when the real content is shown.
+	 */
+	private boolean loaded;
+	/**
+	 * The exception that was thrown while preparing the model. Null when there was no exception.
+	 */
+	@Nullable
+	private Throwable loadException;
+
+	// Constructors.
+
+	/**
+	 * Constructs a dockable whose content is prepared by a shared background executor.
+	 *
+	 * @param id             The ID of the dockable. The IDs of all dockables should be different.
+	 * @param contentFactory The factory that creates the content of the dockable.
+	 * @param title          The title of the dockable.
+	 */
+	public AsyncDockable(String id, @NotNull AsyncContentFactory contentFactory, String title) {
+		this(id, contentFactory, title, null, DockingMode.ALL, null);
+	}
+
+	/**
+	 * Constructs a dockable whose content is prepared by the given executor.
+	 *
+	 * @param id             The ID of the dockable. The IDs of all dockables should be different.
+	 * @param contentFactory The factory that creates the content of the dockable.
+	 * @param title          The title of the dockable.
+	 * @param icon           The icon of the dockable.
+	 * @param dockingModes   The possible docking modes of the dockable. This integer should be combination of constants
+	 *                       defined by {@link DockingMode}.
+	 * @param executor       The executor that prepares the model of the content.
+	 *                       When null, a shared executor with daemon threads is used.
+	 * @throws IllegalArgumentException If the given ID is null.
+	 */
+	public AsyncDockable(String id, @NotNull AsyncContentFactory contentFactory, String title, Icon icon, int dockingModes, @Nullable Executor executor) {
+
+		super(id, new ContentHolder(), title, icon, dockingModes);
+		this.contentFactory = contentFactory;
+		this.executor = executor != null ? executor : getDefaultExecutor();
+
+		// Start loading, when the holder is shown.
+		getHolder().loadStarter = new LoadStarter();
+
+	}
+
+	// Public methods.
+
+	/**
+	 * Shows the placeholder and starts preparing the model of the content in the background.
+	 * This method should be called on the event dispatch thread. When the loading was already started,
+	 * nothing happens.
+	 */
+	public void startLoading() {
+
+		if (loadingStarted) {
+			return;
+		}
+		loadingStarted = true;
+
+		// Show the placeholder.
+		getHolder().setContent(createPlaceholder());
+
+		// Prepare the model in the background.
+		executor.execute(new ModelLoader());
+
+	}
+
+	/**
+	 * Determines if the real content is shown.
+	 *
+	 * @return True if the real content is shown, false if the placeholder is still shown.
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Gets the exception that was thrown while preparing the model or creating the content.
+	 *
+	 * @return The exception that was thrown while preparing the model or creating the content. Null when there was no exception.
+	 */
+	@Nullable
+	public Throwable getLoadException() {
+		return loadException;
+	}
+
+	// Protected methods.
+
+	/**
+	 * Creates the component that is shown, while the model of the content is prepared.
+	 * It should be a lightweight component.
+	 *
+	 * @return The component that is shown, while the model of the content is prepared.
+	 */
+	@NotNull
+	protected Component createPlaceholder() {
+		return new JLabel("Loading...", SwingConstants.CENTER);
+	}
+
+	/**
+	 * Creates the component that is shown, when the model of the content could not be prepared.
+	 *
+	 * @param exception The exception that was thrown while preparing the model.
+	 * @return The component that is shown instead of the content.
+	 */
+	@NotNull
+	protected Component createFailedContent(@NotNull Throwable exception) {
+		return new JLabel("The content could not be loaded: " + exception.getMessage(), SwingConstants.CENTER);
+	}
+
+	// Private metods.
+
+	@NotNull
+	private ContentHolder getHolder() {
+		return (ContentHolder) getContent();
+	}
+
+	/**
+	 * Shows the real content or the failed content. Called on the event dispatch thread.
+	 *
+	 * @param model     The prepared model.
+	 * @param exception The exception that was thrown while preparing the model. Null when there was no exception.
+	 */
+	private void installContent(Object model, @Nullable Throwable exception) {
+
+		Component realContent = null;
+		if (exception == null) {
+			try {
+				realContent = contentFactory.createContent(model);
+				if (realContent == null) {
+					exception = new IllegalStateException("The content factory created no content.");
+				}
+			} catch (Throwable throwable) {
+				exception = throwable;
+			}
+		}
+		if (exception != null) {
+			loadException = exception;
+			realContent = createFailedContent(exception);
+		} else {
+			loaded = true;
+		}
+		getHolder().setContent(realContent);
+
+	}
+
+	/**
+	 * Gets the shared executor with daemon threads.
+	 *
+	 * @return The shared executor.
+	 */
+	@NotNull
+	private static synchronized Executor getDefaultExecutor() {
+
+		if (defaultExecutor == null) {
+			int threadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+			defaultExecutor = Executors.newFixedThreadPool(threadCount, new DaemonThreadFactory());
+		}
+		return defaultExecutor;
+
+	}
+
+	// Private classes.
+
+	/**
+	 * The content of the dockable. It contains the placeholder and later the real content.
+	 */
+	private static class ContentHolder extends JPanel implements DraggableContent {
+
+		// Fields.
+
+		/**
+		 * The drag listener of the dockable. Null when there is none.
+		 */
+		@Nullable
+		private DragListener dragListener;
+		/**
+		 * Starts the loading when the holder is shown for the first time.
+		 */
+		@Nullable
+		private Runnable loadStarter;
+
+		// Constructors.
+
+		private ContentHolder() {
+			super(new BorderLayout());
+		}
+
+		// Overwritten methods.
+
+		public void addNotify() {
+
+			super.addNotify();
+			if (loadStarter != null) {
+				Runnable starter = loadStarter;
+				loadStarter = null;
+				starter.run();
+			}
+
+		}
+
+		// Implementations of DraggableContent.
+
+		public void addDragListener(DragListener dragListener) {
+
+			this.dragListener = dragListener;
+			if ((getComponentCount() > 0) && (getComponent(0) instanceof DraggableContent)) {
+				((DraggableContent) getComponent(0)).addDragListener(dragListener);
+			}
+
+		}
+
+		// Private metods.
+
+		/**
+		 * Replaces the component in this holder. Only this holder is validated again.
+		 *
+		 * @param content The new component.
+		 */
+		private void setContent(@NotNull Component content) {
+
+			removeAll();
+			add(content, BorderLayout.CENTER);
+			if ((dragListener != null) && (content instanceof DraggableContent)) {
+				((DraggableContent) content).addDragListener(dragListener);
+			}
+			revalidate();
+			repaint();
+
+		}
+
+	}
+
+	/**
+	 * Starts the loading when the holder is shown for the first time.
+	 */
+	private class LoadStarter implements Runnable {
+
+		// Implementations of Runnable.
+
+		public void run() {
+			startLoading();
+		}
+
+	}
+
+	/**
+	 * Prepares the model in the background and shows the content on the event dispatch thread.
+	 */
+	private class ModelLoader implements Runnable {
+
+		// Implementations of Runnable.
+
+		public void run() {
+
+			Object model = null;
+			Throwable exception = null;
+			try {
+				model = contentFactory.prepareModel();
+			} catch (Throwable throwable) {
+				exception = throwable;
+			}
+			SwingUtilities.invokeLater(new ContentInstaller(model, exception));
+
+		}
+
+	}
+
+	/**
+	 * Shows the real content on the event dispatch thread.
+	 */
+	private class ContentInstaller implements Runnable {
+
+		// Fields.
+
+		private Object model;
+		@Nullable
+		private Throwable exception;
+
+		// Constructors.
+
+		private ContentInstaller(Object model, @Nullable Throwable exception) {
+			this.model = model;
+			this.exception = exception;
+		}
+
+		// Implementations of Runnable.
+
+		public void run() {
+			installContent(model, exception);
+		}
+
+	}
+
+	/**
+	 * Creates daemon threads for preparing the models, so that they don't keep the application alive.
+	 */
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		// Implementations of ThreadFactory.
+
+		@NotNull
+		public Thread newThread(@NotNull Runnable runnable) {
+
+			Thread thread = new Thread(runnable, "AsyncDockable content loader");
+			thread.setDaemon(true);
+			return thread;
+
+		}
+
+	}
+
+}
@@ -210,6 +210,7 @@ public class DefaultDockable implements Dockable {
 	 */
 	public void setTitle(String title) {
 
+		DockingManager.getDockablePropertyUpdater().propertySet(this, DockablePropertyUpdater.TITLE);
 		String oldValue = this.title;
 		this.title = title;
 		propertyChangeSupport.firePropertyChange("title", oldValue, title);
@@ -227,6 +228,7 @@ public class DefaultDockable implements Dockable {
 	 */
 	public void setDescription(String description) {
 
+		DockingManager.getDockablePropertyUpdater().propertySet(this, DockablePropertyUpdater.DESCRIPTION);
 		String oldValue = this.description;
 		this.description = description;
 		propertyChangeSupport.firePropertyChange("description", oldValue, description);
@@ -244,6 +246,7 @@ public class DefaultDockable implements Dockable {
 	 */
 	public void setIcon(Icon icon) {
 
+		DockingManager.getDockablePropertyUpdater().propertySet(this, DockablePropertyUpdater.ICON);
 		Icon oldValue = this.icon;
 		this.icon = icon;
 		propertyChangeSupport.firePropertyChange("icon", oldValue, icon);
@@ -0,0 +1,342 @@
+package com.javadocking.dockable;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Changes the titles, icons and descriptions of {@link DefaultDockable}s from any thread.
+ * The default updater of the application is given by {@link com.javadocking.DockingManager#getDockablePropertyUpdater()}.
+ * </p>
+ * <p>
+ * The new values are not set immediately. Only the last values of every dockable are remembered.
+ * They are set together on the event dispatch thread, at most once in every flush delay.
+ * So the listeners of the dockables, like the tab docks and the headers, are only informed once for many changes,
+ * and they are always informed on the event dispatch thread.
+ * </p>
+ * <p>
+ * When a property of a dockable is set directly with a setter of the dockable, the remembered value of that property
+ * is forgotten. So the value that is set last wins. This is only done by the updater of the
+ * {@link com.javadocking.DockingManager}.
+ * </p>
+ */
+public class DockablePropertyUpdater {
+
+	// Static fields.
+
+	/**
+	 * The default time in milliseconds between 2 flushes.
+	 */
+	private static final int DEFAULT_FLUSH_DELAY = 16;
+	/**
+	 * The title property of a dockable.
+	 */
+	static final int TITLE = 1;
+	/**
+	 * The icon property of a dockable.
+	 */
+	static final int ICON = 2;
+	/**
+	 * The description property of a dockable.
+	 */
+	static final int DESCRIPTION = 3;
+
+	// Fields.
+
+	/**
+	 * The changes that are not set yet. The keys are the dockables, the values are {@link PendingUpdate}s.
+	 * All accesses are synchronized on this map.
+	 */
+	@NotNull
+	private final Map pendingUpdates = new LinkedHashMap();
+	/**
+	 * True when a flush is scheduled. Guarded by <code>pendingUpdates</code>.
+	 */
+	private boolean flushScheduled;
+	/**
+	 * The time in milliseconds between 2 flushes.
+	 */
+	private volatile int flushDelay = DEFAULT_FLUSH_DELAY;
+	/**
+	 * The timer that flushes the changes. Only used on the event dispatch thread.
+	 */
+	@Nullable
+	private Timer flushTimer;
+	/**
+	 * Starts the flush timer on the event dispatch thread.
+	 */
+	@NotNull
+	private Runnable flushStarter = new FlushStarter();
+	/**
+	 * The thread that sets the remembered values on the dockables. Null when no values are set.
+	 * The setters of the dockables can be called on any thread, so it is volatile.
+	 */
+	@Nullable
+	private volatile Thread flushingThread;
+
+	// Public methods.
+
+	/**
+	 * Sets the title of the dockable later on the event dispatch thread. This method can be called from any thread.
+	 *
+	 * @param dockable The dockable.
+	 * @param title    The new title of the dockable.
+	 */
+	public void setTitle(@NotNull DefaultDockable dockable, String title) {
+
+		synchronized (pendingUpdates) {
+			PendingUpdate pendingUpdate = getPendingUpdate(dockable);
+			pendingUpdate.title = title;
+			pendingUpdate.titleChanged = true;
+		}
+
+	}
+
+	/**
+	 * Sets the icon of the dockable later on the event dispatch thread. This method can be called from any thread.
+	 *
+	 * @param dockable The dockable.
+	 * @param icon     The new icon of the dockable.
+	 */
+	public void setIcon(@NotNull DefaultDockable dockable, Icon icon) {
+
+		synchronized (pendingUpdates) {
+			PendingUpdate pendingUpdate = getPendingUpdate(dockable);
+			pendingUpdate.icon = icon;
+			pendingUpdate.iconChanged = true;
+		}
+
+	}
+
+	/**
+	 * Sets the description of the dockable later on the event dispatch thread. This method can be called from any thread.
+	 *
+	 * @param dockable    The dockable.
+	 * @param description The new description of the dockable.
+	 */
+	public void setDescription(@NotNull DefaultDockable dockable, String description) {
+
+		synchronized (pendingUpdates) {
+			PendingUpdate pendingUpdate = getPendingUpdate(dockable);
+			pendingUpdate.description = description;
+			pendingUpdate.descriptionChanged = true;
+		}
+
+	}
+
+	/**
+	 * Sets all the remembered values on the dockables now.
+	 * This method should be called on the event dispatch thread.
+	 */
+	public void flush() {
+
+		// Take the remembered values.
+		PendingUpdate[] updates;
+		synchronized (pendingUpdates) {
+			updates = new PendingUpdate[pendingUpdates.size()];
+			pendingUpdates.values().toArray(updates);
+			pendingUpdates.clear();
+			flushScheduled = false;
+		}
+
+		// Set the values. The dockables inform their listeners.
+		flushingThread = Thread.currentThread();
+		try {
+			for (PendingUpdate update : updates) {
+				if (update.titleChanged) {
+					update.dockable.setTitle(update.title);
+				}
+				if (update.iconChanged) {
+					update.dockable.setIcon(update.icon);
+				}
+				if (update.descriptionChanged) {
+					update.dockable.setDescription(update.description);
+				}
+			}
+		} finally {
+			flushingThread = null;
+		}
+
+	}
+
+	/**
+	 * Forgets the remembered values of the dockable.
+	 *
+	 * @param dockable The dockable whose values should not be set anymore.
+	 */
+	public void cancel(@NotNull DefaultDockable dockable) {
+
+		synchronized (pendingUpdates) {
+			pendingUpdates.remove(dockable);
+		}
+
+	}
+
+	/**
+	 * Determines if there are remembered values that are not set yet.
+	 *
+	 * @return True if there are remembered values that are not set yet, false otherwise.
+	 */
+	public boolean hasPendingUpdates() {
+
+		synchronized (pendingUpdates) {
+			return !pendingUpdates.isEmpty();
+		}
+
+	}
+
+	// Package methods.
+
+	/**
+	 * Forgets the remembered value of a property, because the property was set directly with a setter of the dockable.
+	 * Nothing is forgotten, when the setter is called by {@link #flush()}. A setter that is called on another thread
+	 * during the flush, still makes the value forgotten.
+	 *
+	 * @param dockable The dockable.
+	 * @param property The property that was set: {@link #TITLE}, {@link #ICON} or {@link #DESCRIPTION}.
+	 */
+	void propertySet(@NotNull DefaultDockable dockable, int property) {
+
+		if (flushingThread == Thread.currentThread()) {
+			return;
+		}
+		synchronized (pendingUpdates) {
+			PendingUpdate pendingUpdate = (PendingUpdate) pendingUpdates.get(dockable);
+			if (pendingUpdate == null) {
+				return;
+			}
+			switch (property) {
+				case TITLE:
+					pendingUpdate.titleChanged = false;
+					pendingUpdate.title = null;
+					break;
+				case ICON:
+					pendingUpdate.iconChanged = false;
+					pendingUpdate.icon = null;
+					break;
+				case DESCRIPTION:
+					pendingUpdate.descriptionChanged = false;
+					pendingUpdate.description = null;
+					break;
+			}
+			if ((!pendingUpdate.titleChanged) && (!pendingUpdate.iconChanged) && (!pendingUpdate.descriptionChanged)) {
+				pendingUpdates.remove(dockable);
+			}
+		}
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the time in milliseconds between 2 flushes.
+	 * The default value is 16, this is about once every frame.
+	 *
+	 * @return The time in milliseconds between 2 flushes.
+	 */
+	public int getFlushDelay() {
+		return flushDelay;
+	}
+
+	/**
+	 * Sets the time in milliseconds between 2 flushes.
+	 *
+	 * @param flushDelay The time in milliseconds between 2 flushes.
+	 */
+	public void setFlushDelay(int flushDelay) {
+		this.flushDelay = flushDelay;
+	}
+
+	// Private metods.
+
+	/**
+	 * Gets the remembered changes of the dockable. When there are none yet, they are created,
+	 * and a flush is scheduled when it was not scheduled yet. Should be called while synchronized on the pending updates.
+	 *
+	 * @param dockable The dockable.
+	 * @return The remembered changes of the dockable.
+	 */
+	@NotNull
+	private PendingUpdate getPendingUpdate(@NotNull DefaultDockable dockable) {
+
+		PendingUpdate pendingUpdate = (PendingUpdate) pendingUpdates.get(dockable);
+		if (pendingUpdate == null) {
+			pendingUpdate = new PendingUpdate(dockable);
+			pendingUpdates.put(dockable, pendingUpdate);
+		}
+		if (!flushScheduled) {
+			flushScheduled = true;
+			SwingUtilities.invokeLater(flushStarter);
+		}
+		return pendingUpdate;
+
+	}
+
+	// Private classes.
+
+	/**
+	 * The changes of one dockable that are not set yet.
+	 */
+	private static class PendingUpdate {
+
+		// Fields.
+
+		@NotNull
+		private DefaultDockable dockable;
+		private String title;
+		private boolean titleChanged;
+		private Icon icon;
+		private boolean iconChanged;
+		private String description;
+		private boolean descriptionChanged;
+
+		// Constructors.
+
+		private PendingUpdate(@NotNull DefaultDockable dockable) {
+			this.dockable = dockable;
+		}
+
+	}
+
+	/**
+	 * Starts the flush timer on the event dispatch thread.
+	 */
+	private class FlushStarter implements Runnable {
+
+		// Implementations of Runnable.
+
+		public void run() {
+
+			if (flushTimer == null) {
+				flushTimer = new Timer(flushDelay, new FlushListener());
+				flushTimer.setRepeats(false);
+			}
+			if (!flushTimer.isRunning()) {
+				flushTimer.setInitialDelay(flushDelay);
+				flushTimer.start();
+			}
+
+		}
+
+	}
+
+	/**
+	 * Flushes the changes when the timer fires.
+	 */
+	private class FlushListener implements ActionListener {
+
+		// Implementations of ActionListener.
+
+		public void actionPerformed(ActionEvent actionEvent) {
+			flush();
+		}
+
+	}
+
+}
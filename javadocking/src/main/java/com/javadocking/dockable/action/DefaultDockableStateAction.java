@@ -4,6 +4,7 @@ import com.javadocking.DockingManager;
 import com.javadocking.dock.Dock;
 import com.javadocking.dock.DockableHider;
 import com.javadocking.dock.LeafDock;
+import com.javadocking.dock.TabDock;
 import com.javadocking.dockable.CompositeDockable;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockableState;
@@ -12,20 +13,33 @@ import com.javadocking.model.DockModel;
 import com.javadocking.model.DockingPath;
 import com.javadocking.model.DockingPathModel;
 import com.javadocking.util.DockingUtil;
+import com.javadocking.visualizer.BatchVisualizer;
 import com.javadocking.visualizer.Visualizer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <p>
  * This is the default action to change the state of the dockable.
  * </p>
+ * <p>
+ * When the dockable is a {@link CompositeDockable}, the states of all the child dockables are changed
+ * in one bulk transition. The transition is planned first: the dockables are grouped by the dock where they
+ * are docked and by the visualizer where they will be visualized. Then every dock and every visualizer
+ * is changed only once.
+ * </p>
  *
  * @author Heidi Rakels.
  */
@@ -321,6 +335,19 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 		closeMaximizedDockables();
 
 		// Add the dockable using the docking path.
+		return restoreDocking(dockableOfModel);
+
+	}
+
+	/**
+	 * Adds the dockable with its docking path to a dock of the dock model.
+	 * If that is not possible, the dockable is added to one of the root docks of the dock model.
+	 *
+	 * @param dockableOfModel The dockable that is restored.
+	 * @return True if the dockable could be added to a dock.
+	 */
+	private static boolean restoreDocking(@NotNull Dockable dockableOfModel) {
+
 		DockingPathModel dockingPathModel = DockingManager.getDockingPathModel();
 		DockingPath dockingPath = dockingPathModel.getDockingPath(dockableOfModel.getID());
 		boolean succes = false;
@@ -351,6 +378,209 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 
 	}
 
+	/**
+	 * <p>
+	 * Changes the state of the given dockables in one transition.
+	 * </p>
+	 * <p>
+	 * The transition is planned first. The dockables of the dock model are retrieved only once, and the
+	 * visualizer that is found around a dock is reused for all the dockables of that dock.
+	 * Then the transition is applied: the dockables are removed from their visualizers with one removal
+	 * per visualizer, they are removed from their docks dock by dock, every dock is cleaned only once,
+	 * and they are added to their new visualizers with one addition per visualizer.
+	 * Because the components are only invalidated, their layout is done once, after the transition.
+	 * </p>
+	 *
+	 * @param dockablesToChange The dockables that are not composites and whose state has to change.
+	 * @param newDockableState  The new state of the dockables.
+	 */
+	private static void changeDockableStates(@NotNull List dockablesToChange, int newDockableState) {
+
+		// Retrieve the dockables of the dock model once.
+		Map dockablesOfModel = new HashMap();
+		DockingUtil.retrieveDockablesOfDockModel(dockablesOfModel);
+
+		// Plan the transition.
+		List transitions = new ArrayList();
+		Map visualizersOfDocks = new HashMap();
+		for (Object aDockablesToChange : dockablesToChange) {
+			Dockable dockableToChange = (Dockable) aDockablesToChange;
+
+			// Use the wrapper round the dockable, we can find this in the model.
+			Dockable dockableOfModel = (Dockable) dockablesOfModel.get(dockableToChange.getID());
+			if (dockableOfModel == null) {
+				dockableOfModel = dockableToChange;
+			}
+
+			// A maximized dockable is restored in its own dock.
+			if ((newDockableState == DockableState.NORMAL) && (dockableOfModel.getState() == DockableState.MAXIMIZED)) {
+				restore(dockableToChange);
+				continue;
+			}
+
+			// Search the new visualizer.
+			Visualizer newVisualizer = null;
+			if ((newDockableState == DockableState.MINIMIZED) || (newDockableState == DockableState.EXTERNALIZED)) {
+				newVisualizer = retrieveVisualizer(dockableOfModel, newDockableState, visualizersOfDocks);
+				if (newVisualizer == null) {
+					// We could not change the state of this dockable.
+					continue;
+				}
+			}
+
+			transitions.add(new StateTransition(dockableToChange, dockableOfModel, newVisualizer));
+		}
+
+		// Remove the dockables from their current visualizers.
+		Map transitionsOfOldVisualizers = new LinkedHashMap();
+		for (Object aTransition : transitions) {
+			StateTransition transition = (StateTransition) aTransition;
+			int currentDockableState = transition.dockableOfModel.getState();
+			if ((currentDockableState != DockableState.CLOSED) && (currentDockableState != DockableState.NORMAL)) {
+				Object visualizer = transition.dockableOfModel.getVisualizer();
+				if ((visualizer instanceof BatchVisualizer) && (((Visualizer) visualizer).getState() == currentDockableState)) {
+					addToGroup(transitionsOfOldVisualizers, visualizer, transition);
+				} else {
+					removeDockableFromVisualizer(transition.dockableOfModel);
+				}
+			}
+		}
+		for (Object anEntry : transitionsOfOldVisualizers.entrySet()) {
+			Map.Entry entry = (Map.Entry) anEntry;
+			((BatchVisualizer) entry.getKey()).removeVisualizedDockables(getDockablesOfModel((List) entry.getValue()));
+		}
+
+		// Restoring is done with the docking paths of the dockables.
+		if (newDockableState == DockableState.NORMAL) {
+			closeMaximizedDockables();
+			for (Object aTransition : transitions) {
+				restoreDocking(((StateTransition) aTransition).dockableOfModel);
+			}
+			return;
+		}
+
+		// Remove the dockables from their docks.
+		Map transitionsOfDocks = new LinkedHashMap();
+		for (Object aTransition : transitions) {
+			StateTransition transition = (StateTransition) aTransition;
+			LeafDock dock = transition.dockableOfModel.getDock();
+			if (dock != null) {
+				addToGroup(transitionsOfDocks, dock, transition);
+			} else {
+				transition.removed = true;
+			}
+		}
+		for (Object anEntry : transitionsOfDocks.entrySet()) {
+			Map.Entry entry = (Map.Entry) anEntry;
+			LeafDock dock = (LeafDock) entry.getKey();
+			List transitionsOfDock = (List) entry.getValue();
+
+			// The docking paths are saved by the docking executor, when the dockables are removed.
+			boolean removed = false;
+			Collections.sort(transitionsOfDock, new RemovalOrder(dock));
+			for (Object aTransition : transitionsOfDock) {
+				StateTransition transition = (StateTransition) aTransition;
+				transition.removed = DockingManager.getDockingExecutor().changeDocking(transition.dockableOfModel, (Dock) null);
+				removed |= transition.removed;
+			}
+
+			// Clean the dock from which the dockables are removed.
+			if (removed) {
+				DockingManager.getDockingExecutor().cleanDock(dock, false);
+			}
+		}
+
+		// Set the new states and add the dockables to their new visualizers.
+		Map transitionsOfNewVisualizers = new LinkedHashMap();
+		for (Object aTransition : transitions) {
+			StateTransition transition = (StateTransition) aTransition;
+			if (transition.removed) {
+				if (newDockableState == DockableState.CLOSED) {
+					transition.dockableOfModel.setState(DockableState.CLOSED, null);
+				} else {
+					addToGroup(transitionsOfNewVisualizers, transition.newVisualizer, transition);
+				}
+			}
+		}
+		for (Object anEntry : transitionsOfNewVisualizers.entrySet()) {
+			Map.Entry entry = (Map.Entry) anEntry;
+			Visualizer visualizer = (Visualizer) entry.getKey();
+			List transitionsOfVisualizer = (List) entry.getValue();
+			for (Object aTransition : transitionsOfVisualizer) {
+				StateTransition transition = (StateTransition) aTransition;
+				if (newDockableState == DockableState.EXTERNALIZED) {
+					transition.dockableToChange.setState(DockableState.EXTERNALIZED, visualizer);
+				} else {
+					transition.dockableOfModel.setState(newDockableState, visualizer);
+				}
+			}
+			if (visualizer instanceof BatchVisualizer) {
+				((BatchVisualizer) visualizer).visualizeDockables(getDockablesOfModel(transitionsOfVisualizer));
+			} else {
+				for (Object aTransition : transitionsOfVisualizer) {
+					visualizer.visualizeDockable(((StateTransition) aTransition).dockableOfModel);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Adds the transition to the group with the given key.
+	 *
+	 * @param groups     The mapping between the keys and the lists of transitions.
+	 * @param key        The key of the group.
+	 * @param transition The transition that is added to the group.
+	 */
+	private static void addToGroup(@NotNull Map groups, Object key, StateTransition transition) {
+
+		List group = (List) groups.get(key);
+		if (group == null) {
+			group = new ArrayList();
+			groups.put(key, group);
+		}
+		group.add(transition);
+
+	}
+
+	@NotNull
+	private static Dockable[] getDockablesOfModel(@NotNull List transitions) {
+
+		Dockable[] dockables = new Dockable[transitions.size()];
+		for (int index = 0; index < dockables.length; index++) {
+			dockables[index] = ((StateTransition) transitions.get(index)).dockableOfModel;
+		}
+		return dockables;
+
+	}
+
+	/**
+	 * Retrieves a visualizer for the dockable. When the dockable is docked, the visualizer around its dock
+	 * is searched only once for all the dockables of the dock.
+	 *
+	 * @param visualizersOfDocks The mapping between the docks and the visualizers that were found around them.
+	 * @return The visualizer. Null if no visualizer was found.
+	 */
+	private static Visualizer retrieveVisualizer(Dockable dockableOfModel, int dockableState, @NotNull Map visualizersOfDocks) {
+
+		LeafDock dock = dockableOfModel.getDock();
+		if ((dock instanceof Component) && (dockableOfModel.getState() == DockableState.NORMAL)) {
+			Visualizer visualizer;
+			if (visualizersOfDocks.containsKey(dock)) {
+				visualizer = (Visualizer) visualizersOfDocks.get(dock);
+			} else {
+				visualizer = findVizualizerAroundComponent(dockableState, (Component) dock);
+				visualizersOfDocks.put(dock, visualizer);
+			}
+			if (visualizer != null) {
+				return visualizer;
+			}
+		}
+
+		return retrieveVisualizer(dockableOfModel, dockableState);
+
+	}
+
 	private static boolean dockableIsHidden(@NotNull Dockable dockableOfModel, DockableHider dock) {
 		for (int index = 0; index < dock.getHiddenDockableCount(); index++) {
 			if (dockableOfModel.equals(dock.getHiddenDockable(index))) {
@@ -609,7 +839,7 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 		if (rootDockKey == null || (dockable.getState() == DockableState.MAXIMIZED)) {
 			DockingPathModel dockingPathModel = DockingManager.getDockingPathModel();
 			if (dockingPathModel != null) {
-				DockingPath dockingPath = dockingPathModel.getDockingPath(dockable.getID());
+				DockingPath dockingPath = dockingPathModel.peekDockingPath(dockable.getID());
 				if (dockingPath != null) {
 					rootDockKey = dockingPath.getRootDockKey();
 
@@ -619,7 +849,8 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 						if (DockingUtil.containsRootDock(dockModel, rootDock)) {
 							for (int index = dockingPath.getDockCount() - 1; index >= 0; index--) {
 								Dock pathDock = dockingPath.getDock(index);
-								if (DockingUtil.containsDock(rootDock, pathDock)) {
+								// Walk up from the dock, instead of searching the whole tree.
+								if (DockingUtil.isInDockTree(rootDock, pathDock)) {
 									// Find a visualizer around the dock.
 									if (pathDock instanceof Component) {
 										Visualizer visualizer = findVizualizerAroundComponent(dockableState, (Component) pathDock);
@@ -645,13 +876,9 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 
 			Window owner = DockingUtil.getWindowOwner(rootDockKey);
 			if (owner != null) {
-				Iterator visualizerKeysIterator = dockModel.getVisualizerKeys(owner);
-				while (visualizerKeysIterator.hasNext()) {
-					String key = (String) visualizerKeysIterator.next();
-					Visualizer visualizer = dockModel.getVisualizer(key);
-					if (visualizer.getState() == dockableState) {
-						visualizers.add(visualizer);
-					}
+				Iterator visualizerIterator = dockModel.getVisualizers(owner, dockableState);
+				while (visualizerIterator.hasNext()) {
+					visualizers.add(visualizerIterator.next());
 				}
 			}
 		}
@@ -684,13 +911,9 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 		// Iterate over the owner windows.
 		for (int index = 0; index < dockModel.getOwnerCount(); index++) {
 			Window owner = dockModel.getOwner(index);
-			Iterator visualizerKeysIterator = dockModel.getVisualizerKeys(owner);
-			while (visualizerKeysIterator.hasNext()) {
-				String key = (String) visualizerKeysIterator.next();
-				Visualizer visualizer = dockModel.getVisualizer(key);
-				if (visualizer.getState() == dockableState) {
-					visualizers.add(visualizer);
-				}
+			Iterator visualizerIterator = dockModel.getVisualizers(owner, dockableState);
+			while (visualizerIterator.hasNext()) {
+				visualizers.add(visualizerIterator.next());
 			}
 		}
 
@@ -716,27 +939,23 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 		for (int index = 0; index < dockModel.getOwnerCount(); index++) {
 			Window owner = dockModel.getOwner(index);
 
-			// Iterate over the visualizers of the owner.
-			Iterator visualizers = dockModel.getVisualizerKeys(owner);
+			// Iterate over the maximizers of the owner.
+			Iterator visualizers = dockModel.getVisualizers(owner, DockableState.MAXIMIZED);
 			while (visualizers.hasNext()) {
-				String visualizerKey = (String) visualizers.next();
-				Visualizer visualizer = dockModel.getVisualizer(visualizerKey);
-
-				// Do we have a maximizer?
-				if (visualizer.getState() == DockableState.MAXIMIZED) {
-					// Restore or close the dockables visualized by this maximizer.
-					for (int dockableIndex = 0; dockableIndex < visualizer.getVisualizedDockableCount(); dockableIndex++) {
-						Dockable dockableToRemove = visualizer.getVisualizedDockable(dockableIndex);
-						visualizer.removeVisualizedDockable(dockableToRemove);
-						LeafDock dock = dockableToRemove.getDock();
-						if (dock != null) {
-							// Restore the maximized dockable.
-							((DockableHider) dock).restoreDockable(dockableToRemove);
-							dockableToRemove.setState(DockableState.NORMAL, dock);
-						} else {
-							// Close the dockable.
-							dockableToRemove.setState(DockableState.CLOSED, null);
-						}
+				Visualizer visualizer = (Visualizer) visualizers.next();
+
+				// Restore or close the dockables visualized by this maximizer.
+				for (int dockableIndex = 0; dockableIndex < visualizer.getVisualizedDockableCount(); dockableIndex++) {
+					Dockable dockableToRemove = visualizer.getVisualizedDockable(dockableIndex);
+					visualizer.removeVisualizedDockable(dockableToRemove);
+					LeafDock dock = dockableToRemove.getDock();
+					if (dock != null) {
+						// Restore the maximized dockable.
+						((DockableHider) dock).restoreDockable(dockableToRemove);
+						dockableToRemove.setState(DockableState.NORMAL, dock);
+					} else {
+						// Close the dockable.
+						dockableToRemove.setState(DockableState.CLOSED, null);
 					}
 				}
 			}
@@ -744,7 +963,17 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 	}
 
 	public void actionPerformed(ActionEvent actionEvent) {
+
+		// Change the states of the children of a composite in one transition.
+		if ((dockable instanceof CompositeDockable) && (newDockableState != DockableState.MAXIMIZED)) {
+			List dockablesToChange = new ArrayList();
+			retrieveDockablesToChange(dockable, dockablesToChange);
+			changeDockableStates(dockablesToChange, newDockableState);
+			return;
+		}
+
 		changeDockableState(dockable);
+
 	}
 
 	public Dockable getDockable() {
@@ -819,4 +1048,119 @@ public class DefaultDockableStateAction extends AbstractAction implements Dockab
 
 	}
 
+	/**
+	 * Collects the dockables that are not composites and whose state can be changed to the new state.
+	 *
+	 * @param dockableToChange  The dockable. When it is a composite, its child dockables are collected.
+	 * @param dockablesToChange The list where the dockables are added.
+	 */
+	private void retrieveDockablesToChange(Dockable dockableToChange, @NotNull List dockablesToChange) {
+
+		if (dockableToChange instanceof CompositeDockable) {
+			CompositeDockable compositeDockable = (CompositeDockable) dockableToChange;
+			for (int index = 0; index < compositeDockable.getDockableCount(); index++) {
+				retrieveDockablesToChange(compositeDockable.getDockable(index), dockablesToChange);
+			}
+		} else if (((dockableToChange.getPossibleStates() & newDockableState) != 0) &&
+				(newDockableState != dockableToChange.getState())) {
+			dockablesToChange.add(dockableToChange);
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * The planned state change of one dockable.
+	 */
+	private static class StateTransition {
+
+		// Fields.
+
+		/**
+		 * The dockable whose state is changed.
+		 */
+		private Dockable dockableToChange;
+		/**
+		 * The wrapper round the dockable, that is found in the dock model.
+		 */
+		private Dockable dockableOfModel;
+		/**
+		 * The visualizer for the new state. Null when the new state is not visualized.
+		 */
+		@Nullable
+		private Visualizer newVisualizer;
+		/**
+		 * True when the dockable is not docked anymore.
+		 */
+		private boolean removed;
+
+		// Constructors.
+
+		private StateTransition(Dockable dockableToChange, Dockable dockableOfModel, @Nullable Visualizer newVisualizer) {
+			this.dockableToChange = dockableToChange;
+			this.dockableOfModel = dockableOfModel;
+			this.newVisualizer = newVisualizer;
+		}
+
+	}
+
+	/**
+	 * <p>
+	 * Orders the transitions of the dockables of one dock for their removal.
+	 * </p>
+	 * <p>
+	 * The dockables are removed from the last position to the first position, so that the positions
+	 * of the other dockables don't change. The selected dockable of a tab dock is removed last,
+	 * so that the selection of the tab dock changes only once.
+	 * </p>
+	 */
+	private static class RemovalOrder implements Comparator {
+
+		// Fields.
+
+		@NotNull
+		private Map positions = new HashMap();
+		@Nullable
+		private Dockable selectedDockable;
+
+		// Constructors.
+
+		private RemovalOrder(@NotNull LeafDock dock) {
+
+			for (int index = 0; index < dock.getDockableCount(); index++) {
+				positions.put(dock.getDockable(index), index);
+			}
+			if (dock instanceof TabDock) {
+				selectedDockable = ((TabDock) dock).getSelectedDockable();
+			}
+
+		}
+
+		// Implementations of Comparator.
+
+		public int compare(Object object1, Object object2) {
+
+			Dockable dockable1 = ((StateTransition) object1).dockableOfModel;
+			Dockable dockable2 = ((StateTransition) object2).dockableOfModel;
+			boolean selected1 = dockable1.equals(selectedDockable);
+			boolean selected2 = dockable2.equals(selectedDockable);
+			if (selected1 != selected2) {
+				return selected1 ? 1 : -1;
+			}
+			return getPosition(dockable2) - getPosition(dockable1);
+
+		}
+
+		// Private methods.
+
+		private int getPosition(Dockable dockable) {
+
+			Integer position = (Integer) positions.get(dockable);
+			return position != null ? position : -1;
+
+		}
+
+	}
+
 }
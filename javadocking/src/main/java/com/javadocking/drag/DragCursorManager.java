@@ -1,45 +1,96 @@
 package com.javadocking.drag;
 
+import com.javadocking.DockingManager;
+import com.javadocking.dock.Position;
+import com.javadocking.util.SwingUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
+ * <p>
  * This class helps other classes setting a drag cursor on the glass pane above the component.
  * The glass pane of the component will be made visible.
+ * </p>
+ * <p>
+ * A cursor manager is used for one drag at a time. During the drag it remembers the glass panes of the components,
+ * so that the root panes are not searched for every mouse event. The cursor and visibility of a glass pane
+ * are only changed, when the cursor or the glass pane really changes.
+ * When the cursor is reset, all the glass panes that were used get their old cursor and visibility back.
+ * </p>
+ * <p>
+ * When {@link DockingManager#isDockingHintCursors()} is true, {@link #getDockingCursor(Cursor, Component, Rectangle)}
+ * gives a cursor with a hint icon for the side of the dock where the dockable will be docked.
+ * These cursors are created only once, and they are shared by all the cursor managers.
+ * </p>
  *
  * @author Heidi Rakels.
  */
 class DragCursorManager {
 
-	// Fields.
+	// Static fields.
 
 	/**
-	 * The old cursor of the glass pane.
+	 * The size of the cursor image for the hint cursors.
 	 */
-	@Nullable
-	private Cursor oldCursor;
+	private static final int CURSOR_SIZE = 32;
+	/**
+	 * The size of the hint icons.
+	 */
+	private static final int HINT_SIZE = 14;
+	/**
+	 * The names of the hint cursors. The index is the position constant of {@link Position}.
+	 */
+	private static final String[] HINT_CURSOR_NAMES = {"dockCenter", "dockLeft", "dockRight", "dockTop", "dockBottom"};
+	/**
+	 * The hint cursors. The index is the position constant of {@link Position}. An element is null,
+	 * when the cursor is not created yet.
+	 */
+	@NotNull
+	private static Cursor[] hintCursors = new Cursor[HINT_CURSOR_NAMES.length];
+	/**
+	 * True when the platform doesn't support the hint cursors.
+	 */
+	private static boolean hintCursorsUnsupported;
+
+	// Fields.
+
 	/**
-	 * The cursor that is currently on the glass pane of the component.
+	 * The cursor that is currently on the glass pane.
 	 */
 	@Nullable
 	private Cursor cursor;
 	/**
-	 * The component for which the cursor is set.
+	 * The component for which the cursor was set the last time.
 	 */
 	@Nullable
 	private Component cursorComponent;
 	/**
-	 * The glass pane of the component.
+	 * The glass pane that shows the cursor now.
 	 */
 	@Nullable
 	private Component glassPane;
 	/**
-	 * True if the glass pane was visible before the new cursor was put on the glass pane, false otherwise.
+	 * The glass panes of the components that were used during this drag.
+	 * The keys are the components, the values are the glass panes.
+	 */
+	@NotNull
+	private Map glassPanes = new IdentityHashMap();
+	/**
+	 * The old cursors of the glass panes that were changed during this drag.
 	 */
-	private boolean glassPaneOldVisible;
+	@NotNull
+	private Map oldCursors = new IdentityHashMap();
+	/**
+	 * The old visibility of the glass panes that were changed during this drag.
+	 */
+	@NotNull
+	private Map oldVisibilities = new IdentityHashMap();
 
 	// Public methods.
 
@@ -50,38 +101,81 @@ class DragCursorManager {
 	 * @param newCursor The cursor for the component.
 	 */
 	public void setCursor(@NotNull Component component, @NotNull Cursor newCursor) {
+
 		// Do nothing if the cursor is the same and the component is the same.
-		if ((newCursor.equals(cursor) && component.equals(cursorComponent))) {
+		if ((newCursor == cursor) && (component == cursorComponent)) {
 			return;
 		}
 
 		// Do nothing if there is no glass pane.
-		Component newGlassPane = SwingUtilities.getRootPane(component).getGlassPane();
+		Component newGlassPane = retrieveGlassPane(component);
 		if (newGlassPane == null) {
 			return;
 		}
+		cursorComponent = component;
+
+		// Do nothing if the cursor is the same and the glass pane is the same.
+		if ((newGlassPane == glassPane) && (newCursor.equals(cursor))) {
+			return;
+		}
 
-		// Do nothing if the cursor is the same and the glass pane is the same.			
-		if ((newCursor.equals(cursor) && newGlassPane.equals(glassPane))) {
+		// Only the cursor changed.
+		if (newGlassPane == glassPane) {
+			glassPane.setCursor(newCursor);
+			cursor = newCursor;
 			return;
 		}
 
-		// Reset the previous glasspane.
+		// Reset the previous glass pane.
 		if (glassPane != null) {
-			glassPane.setVisible(glassPaneOldVisible);
-			glassPane.setCursor(oldCursor);
+			restoreGlassPane(glassPane);
 		}
 
-		// Set the cursor for the new glasspane.
+		// Remember the old state of the new glass pane, the first time it is used.
 		glassPane = newGlassPane;
-		glassPaneOldVisible = glassPane.isVisible();
-		if (oldCursor == null) {
-			oldCursor = glassPane.getCursor();
+		if (!oldCursors.containsKey(glassPane)) {
+			oldCursors.put(glassPane, glassPane.getCursor());
+			oldVisibilities.put(glassPane, Boolean.valueOf(glassPane.isVisible()));
 		}
+
+		// Set the cursor for the new glass pane.
 		glassPane.setCursor(newCursor);
-		glassPane.setVisible(true);
+		if (!glassPane.isVisible()) {
+			glassPane.setVisible(true);
+		}
 		cursor = newCursor;
-		cursorComponent = component;
+
+	}
+
+	/**
+	 * Gets the cursor for dragging a dockable that can be docked in the dock.
+	 * When {@link DockingManager#isDockingHintCursors()} is true, this is a cursor with a hint icon for the side
+	 * of the dock where the docking rectangle is. Otherwise, or when the hint cursor can't be created,
+	 * it is the given can dock cursor.
+	 *
+	 * @param canDockCursor    The cursor for dragging a dockable that can be docked.
+	 * @param dock             The dock where the dockable will be docked.
+	 * @param dockingRectangle The rectangle where the dockable will be docked, relative to the dock.
+	 * @return The cursor for dragging the dockable above the dock.
+	 */
+	@NotNull
+	public Cursor getDockingCursor(@NotNull Cursor canDockCursor, @NotNull Component dock, @NotNull Rectangle dockingRectangle) {
+
+		if ((!DockingManager.isDockingHintCursors()) || (hintCursorsUnsupported)) {
+			return canDockCursor;
+		}
+
+		int position = getHintPosition(dock.getWidth(), dock.getHeight(), dockingRectangle);
+		Cursor hintCursor = hintCursors[position];
+		if (hintCursor == null) {
+			hintCursor = SwingUtil.createHintCursor(createArrowImage(), new Point(1, 1), new HintIcon(position), HINT_CURSOR_NAMES[position]);
+			if (hintCursor == null) {
+				hintCursorsUnsupported = true;
+				return canDockCursor;
+			}
+			hintCursors[position] = hintCursor;
+		}
+		return hintCursor;
 
 	}
 
@@ -89,18 +183,178 @@ class DragCursorManager {
 	 * Resets the glass pane in its previous state. Resets the fields of this object.
 	 */
 	public void resetCursor() {
-		// Reset the glasspane.
-		if (oldCursor != null) {
-			glassPane.setCursor(oldCursor);
-			glassPane.setVisible(glassPaneOldVisible);
+
+		// Reset the glass pane.
+		if (glassPane != null) {
+			restoreGlassPane(glassPane);
 		}
 
 		// Reset cursor fields.
 		glassPane = null;
 		cursorComponent = null;
-		oldCursor = null;
 		cursor = null;
-		glassPaneOldVisible = false;
+		glassPanes.clear();
+		oldCursors.clear();
+		oldVisibilities.clear();
+
+	}
+
+	// Private metods.
+
+	/**
+	 * Gets the side of the dock where the docking rectangle is.
+	 *
+	 * @param width            The width of the dock.
+	 * @param height           The height of the dock.
+	 * @param dockingRectangle The rectangle where the dockable will be docked, relative to the dock.
+	 * @return The position of the docking rectangle in the dock: {@link Position#LEFT}, {@link Position#RIGHT},
+	 * {@link Position#TOP}, {@link Position#BOTTOM}, or {@link Position#CENTER} when it is not at one side.
+	 */
+	private static int getHintPosition(int width, int height, @NotNull Rectangle dockingRectangle) {
+
+		// The side that is taken for the smallest part of the dock wins.
+		int horizontalPosition = Position.CENTER;
+		if (dockingRectangle.width < width) {
+			if (dockingRectangle.x <= 0) {
+				horizontalPosition = Position.LEFT;
+			} else if (dockingRectangle.x + dockingRectangle.width >= width) {
+				horizontalPosition = Position.RIGHT;
+			}
+		}
+		int verticalPosition = Position.CENTER;
+		if (dockingRectangle.height < height) {
+			if (dockingRectangle.y <= 0) {
+				verticalPosition = Position.TOP;
+			} else if (dockingRectangle.y + dockingRectangle.height >= height) {
+				verticalPosition = Position.BOTTOM;
+			}
+		}
+		if (horizontalPosition == Position.CENTER) {
+			return verticalPosition;
+		}
+		if (verticalPosition == Position.CENTER) {
+			return horizontalPosition;
+		}
+		return (long) dockingRectangle.width * height <= (long) dockingRectangle.height * width ? horizontalPosition : verticalPosition;
+
+	}
+
+	/**
+	 * Creates the image of an arrow cursor for the hint cursors.
+	 *
+	 * @return The image of an arrow cursor with its point in the top left corner.
+	 */
+	@NotNull
+	private static Image createArrowImage() {
+
+		BufferedImage image = new BufferedImage(CURSOR_SIZE, CURSOR_SIZE, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = image.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			int[] xPoints = {1, 1, 5, 8, 10, 7, 12};
+			int[] yPoints = {1, 17, 13, 19, 18, 12, 12};
+			graphics.setColor(Color.white);
+			graphics.fillPolygon(xPoints, yPoints, xPoints.length);
+			graphics.setColor(Color.black);
+			graphics.drawPolygon(xPoints, yPoints, xPoints.length);
+		} finally {
+			graphics.dispose();
+		}
+		return image;
+
+	}
+
+	/**
+	 * Gets the glass pane of the root pane of the component. The glass pane is searched only once
+	 * for every component during a drag.
+	 *
+	 * @param component The component.
+	 * @return The glass pane of the component. Null if there is no glass pane.
+	 */
+	@Nullable
+	private Component retrieveGlassPane(@NotNull Component component) {
+
+		Component retrievedGlassPane = (Component) glassPanes.get(component);
+		if ((retrievedGlassPane == null) && (!glassPanes.containsKey(component))) {
+			JRootPane rootPane = SwingUtilities.getRootPane(component);
+			if (rootPane != null) {
+				retrievedGlassPane = rootPane.getGlassPane();
+			}
+			glassPanes.put(component, retrievedGlassPane);
+		}
+		return retrievedGlassPane;
+
+	}
+
+	/**
+	 * Gives the glass pane its cursor and visibility from before the drag.
+	 *
+	 * @param glassPaneToRestore The glass pane.
+	 */
+	private void restoreGlassPane(@NotNull Component glassPaneToRestore) {
+
+		Boolean oldVisible = (Boolean) oldVisibilities.get(glassPaneToRestore);
+		glassPaneToRestore.setCursor((Cursor) oldCursors.get(glassPaneToRestore));
+		if ((oldVisible != null) && (glassPaneToRestore.isVisible() != oldVisible.booleanValue())) {
+			glassPaneToRestore.setVisible(oldVisible.booleanValue());
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * An icon that shows a dock with the side where the dockable will be docked filled.
+	 */
+	private static class HintIcon implements Icon {
+
+		// Fields.
+
+		private int position;
+
+		// Constructors.
+
+		private HintIcon(int position) {
+			this.position = position;
+		}
+
+		// Implementations of Icon.
+
+		public void paintIcon(Component component, @NotNull Graphics graphics, int x, int y) {
+
+			int half = HINT_SIZE / 2;
+			graphics.setColor(Color.white);
+			graphics.fillRect(x, y, HINT_SIZE - 1, HINT_SIZE - 1);
+			graphics.setColor(new Color(0, 90, 200));
+			switch (position) {
+				case Position.LEFT:
+					graphics.fillRect(x, y, half, HINT_SIZE - 1);
+					break;
+				case Position.RIGHT:
+					graphics.fillRect(x + half - 1, y, half, HINT_SIZE - 1);
+					break;
+				case Position.TOP:
+					graphics.fillRect(x, y, HINT_SIZE - 1, half);
+					break;
+				case Position.BOTTOM:
+					graphics.fillRect(x, y + half - 1, HINT_SIZE - 1, half);
+					break;
+				default:
+					graphics.fillRect(x + 3, y + 3, HINT_SIZE - 7, HINT_SIZE - 7);
+			}
+			graphics.setColor(Color.black);
+			graphics.drawRect(x, y, HINT_SIZE - 1, HINT_SIZE - 1);
+
+		}
+
+		public int getIconWidth() {
+			return HINT_SIZE;
+		}
+
+		public int getIconHeight() {
+			return HINT_SIZE;
+		}
+
 	}
 
 }
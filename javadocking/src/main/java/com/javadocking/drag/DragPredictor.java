@@ -0,0 +1,390 @@
+package com.javadocking.drag;
+
+import com.javadocking.dock.Dock;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.drag.dockretriever.DockRetriever;
+import com.javadocking.drag.dockretriever.RetrievedDocks;
+import com.javadocking.drag.painter.DockableDragPainter;
+import com.javadocking.drag.painter.PrefetchingDockableDragPainter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+/**
+ * <p>
+ * A drag predictor extrapolates the movement of the mouse during dragging, and prepares the painting
+ * of the dragged dockable in the dock where the mouse will probably be soon.
+ * </p>
+ * <p>
+ * The dragger gives the locations of its mouse events to {@link #addSample(Point, long)}.
+ * The velocity of the mouse is calculated with the last samples. The predicted location is the last location
+ * plus the distance that the mouse moves with this velocity in the look ahead time.
+ * </p>
+ * <p>
+ * The prediction is done after the current events are handled, so the painting of the current mouse location
+ * is not delayed. It is skipped when the next mouse event is already waiting in the event queue.
+ * For the predicted location the dock with the highest priority and the docking rectangle are retrieved.
+ * When the {@link DockableDragPainter} is a {@link PrefetchingDockableDragPainter},
+ * it can prepare its resources for this dock and rectangle.
+ * </p>
+ * <p>
+ * The work is done in 3 steps: retrieving the dock, retrieving the docking rectangle and prefetching the painting.
+ * A running step can't be interrupted. So a step is only started, when the time that it took the last time
+ * fits in the rest of the time budget. A step that was too slow is not done anymore until the predictor is reset.
+ * </p>
+ * <p>
+ * This predictor should only be used on the event dispatch thread.
+ * </p>
+ */
+public class DragPredictor {
+
+	// Static fields.
+
+	/**
+	 * The number of mouse locations that are remembered.
+	 */
+	private static final int SAMPLE_COUNT = 4;
+	/**
+	 * Samples that are older than this time in milliseconds are not used for calculating the velocity.
+	 */
+	private static final int MAXIMUM_SAMPLE_AGE = 100;
+	/**
+	 * The default time in milliseconds that we look ahead.
+	 */
+	private static final int DEFAULT_LOOK_AHEAD = 60;
+	/**
+	 * The default time in milliseconds that can be spent for one prediction.
+	 */
+	private static final int DEFAULT_TIME_BUDGET = 2;
+
+	// Fields.
+
+	/**
+	 * The x-coordinates of the last mouse locations in screen coordinates.
+	 */
+	@NotNull
+	private int[] sampleX = new int[SAMPLE_COUNT];
+	/**
+	 * The y-coordinates of the last mouse locations in screen coordinates.
+	 */
+	@NotNull
+	private int[] sampleY = new int[SAMPLE_COUNT];
+	/**
+	 * The times in milliseconds of the last mouse locations.
+	 */
+	@NotNull
+	private long[] sampleTimes = new long[SAMPLE_COUNT];
+	/**
+	 * The number of samples that are remembered.
+	 */
+	private int sampleCount;
+	/**
+	 * The index of the last sample.
+	 */
+	private int lastSample = -1;
+	/**
+	 * The time in milliseconds that we look ahead.
+	 */
+	private int lookAhead = DEFAULT_LOOK_AHEAD;
+	/**
+	 * The time in milliseconds that can be spent for one prediction.
+	 */
+	private int timeBudget = DEFAULT_TIME_BUDGET;
+	/**
+	 * True when the prefetch is already scheduled on the event queue.
+	 */
+	private boolean prefetchScheduled;
+	/**
+	 * Does the prediction after the current events are handled.
+	 */
+	@NotNull
+	private Runnable prefetcher = new Prefetcher();
+
+	// For the scheduled prefetch.
+	/**
+	 * The snapshot of the current drag.
+	 */
+	@Nullable
+	private DragSession dragSession;
+	/**
+	 * The retriever of the docks of the dragger.
+	 */
+	@Nullable
+	private DockRetriever dockRetriever;
+	/**
+	 * The dockable that is dragged.
+	 */
+	@Nullable
+	private Dockable dockable;
+	/**
+	 * The offset of the clicked point in the dragged dockable.
+	 */
+	@NotNull
+	private Point dockableOffset = new Point();
+	/**
+	 * The painter that prepares its resources.
+	 */
+	@Nullable
+	private PrefetchingDockableDragPainter painter;
+	/**
+	 * The predicted location of the mouse in screen coordinates.
+	 */
+	@NotNull
+	private Point predictedLocation = new Point();
+	/**
+	 * The predicted location of the mouse relative to the predicted dock.
+	 */
+	@NotNull
+	private Point locationInDock = new Point();
+	/**
+	 * The rectangle where the dockable would be docked for the predicted location.
+	 */
+	@NotNull
+	private Rectangle rectangle = new Rectangle();
+	/**
+	 * The docks that are retrieved for the predicted location.
+	 */
+	@NotNull
+	private RetrievedDocks retrievedDocks = new RetrievedDocks();
+	/**
+	 * The time in nanoseconds that retrieving the dock took the last time.
+	 */
+	private long retrieveDockTime;
+	/**
+	 * The time in nanoseconds that retrieving the docking rectangle took the last time.
+	 */
+	private long retrieveRectangleTime;
+	/**
+	 * The time in nanoseconds that prefetching the painting took the last time.
+	 */
+	private long prefetchTime;
+
+	// Public methods.
+
+	/**
+	 * Adds the location of a mouse event during dragging.
+	 *
+	 * @param screenLocation The location of the mouse in screen coordinates.
+	 * @param when           The time of the mouse event in milliseconds.
+	 */
+	public void addSample(@NotNull Point screenLocation, long when) {
+
+		lastSample = (lastSample + 1) % SAMPLE_COUNT;
+		sampleX[lastSample] = screenLocation.x;
+		sampleY[lastSample] = screenLocation.y;
+		sampleTimes[lastSample] = when;
+		sampleCount = Math.min(sampleCount + 1, SAMPLE_COUNT);
+
+	}
+
+	/**
+	 * Calculates where the mouse will be after the given time, if it moves further with its current velocity.
+	 *
+	 * @param time     The time in milliseconds after the last sample.
+	 * @param location This point gets the predicted location in screen coordinates.
+	 * @return True if the location could be predicted, false if there are not enough recent samples
+	 * or if the mouse is not moving.
+	 */
+	public boolean predictLocation(int time, @NotNull Point location) {
+
+		// Search the oldest sample that is recent enough.
+		int firstSample = -1;
+		for (int count = sampleCount - 1; count > 0; count--) {
+			int index = (lastSample - count + SAMPLE_COUNT) % SAMPLE_COUNT;
+			if (sampleTimes[lastSample] - sampleTimes[index] <= MAXIMUM_SAMPLE_AGE) {
+				firstSample = index;
+				break;
+			}
+		}
+		if (firstSample < 0) {
+			return false;
+		}
+
+		// Calculate the velocity.
+		long duration = sampleTimes[lastSample] - sampleTimes[firstSample];
+		int dx = sampleX[lastSample] - sampleX[firstSample];
+		int dy = sampleY[lastSample] - sampleY[firstSample];
+		if ((duration <= 0) || ((dx == 0) && (dy == 0))) {
+			return false;
+		}
+
+		location.setLocation(sampleX[lastSample] + dx * time / duration, sampleY[lastSample] + dy * time / duration);
+		return true;
+
+	}
+
+	/**
+	 * <p>
+	 * Schedules the preparation of the painting for the dock where the mouse will probably be soon.
+	 * </p>
+	 * <p>
+	 * The preparation is done after the current events are handled. When this method is called again before,
+	 * only the last call is handled. Nothing is done, when the painter is not a {@link PrefetchingDockableDragPainter}.
+	 * </p>
+	 *
+	 * @param dragSession    The snapshot of the current drag.
+	 * @param dockRetriever  The retriever of the docks of the dragger.
+	 * @param dockable       The dockable that is dragged.
+	 * @param dockableOffset The offset of the clicked point in the dragged dockable.
+	 * @param painter        The painter of the dragger.
+	 */
+	public void prefetch(@NotNull DragSession dragSession, @NotNull DockRetriever dockRetriever, @NotNull Dockable dockable,
+						 @NotNull Point dockableOffset, DockableDragPainter painter) {
+
+		if (!(painter instanceof PrefetchingDockableDragPainter)) {
+			return;
+		}
+
+		this.dragSession = dragSession;
+		this.dockRetriever = dockRetriever;
+		this.dockable = dockable;
+		this.dockableOffset.setLocation(dockableOffset);
+		this.painter = (PrefetchingDockableDragPainter) painter;
+
+		if (!prefetchScheduled) {
+			prefetchScheduled = true;
+			SwingUtilities.invokeLater(prefetcher);
+		}
+
+	}
+
+	/**
+	 * Forgets the samples, the scheduled preparation and the times of the steps.
+	 * This has to be called when the dragging stops.
+	 */
+	public void reset() {
+
+		sampleCount = 0;
+		lastSample = -1;
+		dragSession = null;
+		dockRetriever = null;
+		dockable = null;
+		painter = null;
+		retrievedDocks.clear();
+		retrieveDockTime = 0;
+		retrieveRectangleTime = 0;
+		prefetchTime = 0;
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the time in milliseconds that we look ahead.
+	 * The default value is 60.
+	 *
+	 * @return The time in milliseconds that we look ahead.
+	 */
+	public int getLookAhead() {
+		return lookAhead;
+	}
+
+	/**
+	 * Sets the time in milliseconds that we look ahead.
+	 *
+	 * @param lookAhead The time in milliseconds that we look ahead.
+	 */
+	public void setLookAhead(int lookAhead) {
+		this.lookAhead = lookAhead;
+	}
+
+	/**
+	 * Gets the time in milliseconds that can be spent for one prediction.
+	 * The default value is 2.
+	 *
+	 * @return The time in milliseconds that can be spent for one prediction.
+	 */
+	public int getTimeBudget() {
+		return timeBudget;
+	}
+
+	/**
+	 * Sets the time in milliseconds that can be spent for one prediction.
+	 *
+	 * @param timeBudget The time in milliseconds that can be spent for one prediction.
+	 */
+	public void setTimeBudget(int timeBudget) {
+		this.timeBudget = timeBudget;
+	}
+
+	// Protected methods.
+
+	/**
+	 * Retrieves the dock and the docking rectangle for the predicted mouse location,
+	 * and lets the painter prepare its resources for them. A step is skipped, when the time that it took
+	 * the last time doesn't fit in the rest of the time budget.
+	 */
+	protected void prefetchPredictedDock() {
+
+		// Is the drag still going on and did the docking not change?
+		if ((dragSession == null) || (!dragSession.isUpToDate())) {
+			return;
+		}
+
+		// Predict the mouse location.
+		if (!predictLocation(lookAhead, predictedLocation)) {
+			return;
+		}
+		long start = System.nanoTime();
+		long budget = timeBudget * 1000000L;
+
+		// Get the dock for the predicted location.
+		if (retrieveDockTime > budget) {
+			return;
+		}
+		long stepStart = System.nanoTime();
+		dockRetriever.retrieveHighestPriorityDock(predictedLocation, dragSession, retrievedDocks);
+		retrieveDockTime = System.nanoTime() - stepStart;
+		if ((retrievedDocks.getDockCount() == 0) || (!(retrievedDocks.getDock(0) instanceof Component))) {
+			return;
+		}
+		Dock dock = retrievedDocks.getDock(0);
+
+		// Get the docking rectangle.
+		stepStart = System.nanoTime();
+		if (stepStart - start + retrieveRectangleTime > budget) {
+			return;
+		}
+		locationInDock.setLocation(predictedLocation);
+		dragSession.convertPointFromScreen(locationInDock, (Component) dock);
+		dock.retrieveDockingRectangle(dockable, locationInDock, dockableOffset, rectangle);
+		retrieveRectangleTime = System.nanoTime() - stepStart;
+
+		// Let the painter prepare its resources.
+		stepStart = System.nanoTime();
+		if (stepStart - start + prefetchTime > budget) {
+			return;
+		}
+		painter.prefetchDockableDrag(dockable, dock, rectangle);
+		prefetchTime = System.nanoTime() - stepStart;
+
+	}
+
+	// Private classes.
+
+	/**
+	 * Does the prediction, when no new mouse event is waiting.
+	 */
+	private class Prefetcher implements Runnable {
+
+		// Implementations of Runnable.
+
+		public void run() {
+
+			prefetchScheduled = false;
+
+			// Is the next mouse event already waiting? Then it will schedule a new prediction.
+			if (Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent(MouseEvent.MOUSE_DRAGGED) != null) {
+				return;
+			}
+
+			prefetchPredictedDock();
+
+		}
+
+	}
+
+}
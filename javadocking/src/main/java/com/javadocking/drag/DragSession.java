@@ -0,0 +1,514 @@
+package com.javadocking.drag;
+
+import com.javadocking.DockingExecutor;
+import com.javadocking.DockingManager;
+import com.javadocking.dock.CompositeDock;
+import com.javadocking.dock.Dock;
+import com.javadocking.dock.FloatDock;
+import com.javadocking.dock.LeafDock;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.drag.dockretriever.RetrievedDocks;
+import com.javadocking.model.DockModel;
+import com.javadocking.model.DockModelUtil;
+import com.javadocking.util.CollectionUtil;
+import com.javadocking.util.DockingUtil;
+import com.javadocking.util.SwingUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * <p>
+ * A snapshot of the docking information that doesn't change while a dockable is dragged.
+ * </p>
+ * <p>
+ * The snapshot is created when the dragging starts. It contains:
+ * <ul>
+ * <li>the origin dock of the dragged dockable, its root dock and the child of the root dock,</li>
+ * <li>whether the dragged dockable is floating alone in a child of a {@link FloatDock},</li>
+ * <li>the owner window of the dragged dockable and the other owner windows of the dock model,</li>
+ * <li>the visible float docks and the other root docks of every owner window,</li>
+ * <li>the locations on the screen of the docks.</li>
+ * </ul>
+ * The {@link Dragger}s and the {@link com.javadocking.drag.dockretriever.DockRetriever}s use this snapshot,
+ * so that for every mouse event only the mouse location has to be converted and looked up.
+ * </p>
+ * <p>
+ * The snapshot is not changed. When the {@link DockingExecutor} of the {@link DockingManager} changes the docking
+ * during the drag, the snapshot is not up to date anymore and a new snapshot has to be created
+ * with {@link #update(DragSession, Dockable, Dock)}.
+ * </p>
+ * <p>
+ * After a change of the docking, the components are validated later on the event dispatch thread.
+ * While a dock component of the snapshot is not valid, its location on the screen can still change.
+ * So the snapshot is not up to date, while one of its components is not valid, and also not when it was created
+ * while one of its components was not valid.
+ * </p>
+ * <p>
+ * The snapshot also has a {@link RetrievedDocks} result object for the dock retriever of the dragger and a point
+ * for its own calculations, so that no objects have to be created for the mouse events of the drag.
+ * It should only be used on the event dispatch thread.
+ * </p>
+ */
+public class DragSession {
+
+	// Fields.
+
+	/**
+	 * The dragged dockable.
+	 */
+	@NotNull
+	private final Dockable dockable;
+	/**
+	 * The dock of the dragged dockable, when the snapshot was created.
+	 */
+	@Nullable
+	private final LeafDock dockableDock;
+	/**
+	 * The dock where the dragged dockable comes from. This is the dock of the dragged dockable,
+	 * or the dock where the dragging started, when the dragged dockable is not docked.
+	 */
+	@Nullable
+	private final Dock originDock;
+	/**
+	 * The root dock of the origin dock.
+	 */
+	@Nullable
+	private final Dock rootDock;
+	/**
+	 * The child of the root dock that contains the origin dock.
+	 */
+	@Nullable
+	private final Dock childOfRootDock;
+	/**
+	 * True when the root dock is a float dock and the dragged dockable is the only dockable in the child of the root dock.
+	 */
+	private final boolean floating;
+	/**
+	 * The owner window of the root dock.
+	 */
+	@Nullable
+	private final Window ownerWindow;
+	/**
+	 * The owner windows of the dock model. The owner window of the root dock is first.
+	 */
+	@NotNull
+	private final List ownerWindows;
+	/**
+	 * The mapping between the owner windows and the lists with their visible float docks.
+	 */
+	@NotNull
+	private final Map visibleFloatDocks;
+	/**
+	 * The mapping between the owner windows and the lists with their root docks that are components.
+	 */
+	@NotNull
+	private final Map componentRootDocks;
+	/**
+	 * The mapping between the dock components and their locations on the screen.
+	 */
+	@NotNull
+	private final Map screenLocations;
+	/**
+	 * True when all the components of the screen locations were valid, when the snapshot was created.
+	 */
+	private final boolean locationsValid;
+	/**
+	 * The docking executor of the docking manager, when the snapshot was created.
+	 */
+	@NotNull
+	private final DockingExecutor dockingExecutor;
+	/**
+	 * The layout change count of the docking executor, when the snapshot was created.
+	 */
+	private final int layoutChangeCount;
+	/**
+	 * The result object for the dock retriever of the dragger.
+	 */
+	@NotNull
+	private final RetrievedDocks retrievedDocks = new RetrievedDocks();
+	/**
+	 * A location that is used for the calculations of this snapshot.
+	 */
+	@NotNull
+	private final Point helpLocation = new Point();
+
+	// Constructors.
+
+	/**
+	 * Constructs a snapshot for dragging the given dockable.
+	 *
+	 * @param dockable The dragged dockable.
+	 */
+	public DragSession(@NotNull Dockable dockable) {
+		this(dockable, null);
+	}
+
+	/**
+	 * Constructs a snapshot for dragging the given dockable.
+	 *
+	 * @param dockable   The dragged dockable.
+	 * @param originDock The dock where the dragging started. It is only used when the dragged dockable is not docked,
+	 *                   e.g. when a composite dockable is created for the dragging. Can be null.
+	 */
+	public DragSession(@NotNull Dockable dockable, @Nullable Dock originDock) {
+
+		// Get the dock model.
+		DockModel dockModel = DockingManager.getDockModel();
+		if (dockModel == null) {
+			throw new NullPointerException("Dock model of docking manager null.");
+		}
+
+		this.dockable = dockable;
+		this.dockingExecutor = DockingManager.getDockingExecutor();
+		this.layoutChangeCount = dockingExecutor.getLayoutChangeCount();
+
+		// Get the root dock and the dock under the root.
+		dockableDock = dockable.getDock();
+		this.originDock = dockableDock != null ? dockableDock : originDock;
+		Dock currentRootDock = this.originDock;
+		Dock currentChildOfRootDock = null;
+		if (currentRootDock != null) {
+			while (currentRootDock.getParentDock() != null) {
+				currentChildOfRootDock = currentRootDock;
+				currentRootDock = currentRootDock.getParentDock();
+			}
+		}
+		rootDock = currentRootDock;
+		childOfRootDock = currentChildOfRootDock;
+
+		// Is the dockable already in the float dock and are there no others?
+		boolean currentFloating = false;
+		if ((rootDock instanceof FloatDock) && (childOfRootDock != null)) {
+			List childrenOfDockable = new ArrayList();
+			List childrenOfDock = new ArrayList();
+			DockingUtil.retrieveDockables(dockable, childrenOfDockable);
+			DockingUtil.retrieveDockables(childOfRootDock, childrenOfDock);
+			currentFloating = CollectionUtil.sameElements(childrenOfDockable, childrenOfDock);
+		}
+		floating = currentFloating;
+
+		// Get the owner window of the root dock.
+		Window currentOwner = null;
+		if (rootDock != null) {
+			currentOwner = DockingUtil.getWindowOwner(DockingUtil.getRootDockKey(rootDock));
+		}
+		ownerWindow = currentOwner;
+
+		// Collect the owner windows with their float docks, root docks and the locations of the docks.
+		List owners = new ArrayList();
+		Map floatDocksOfOwners = new HashMap();
+		Map rootDocksOfOwners = new HashMap();
+		Map locations = new IdentityHashMap();
+		if (currentOwner != null) {
+			owners.add(currentOwner);
+		}
+		for (int ownerIndex = 0; ownerIndex < dockModel.getOwnerCount(); ownerIndex++) {
+			Window owner = dockModel.getOwner(ownerIndex);
+			if (!owner.equals(currentOwner)) {
+				owners.add(owner);
+			}
+		}
+		for (Object owner1 : owners) {
+			Window owner = (Window) owner1;
+
+			// The visible float docks and the locations of their children.
+			Set floatDocks = DockModelUtil.getVisibleFloatDocks(dockModel, owner);
+			floatDocksOfOwners.put(owner, Collections.unmodifiableList(new ArrayList(floatDocks)));
+			for (Object floatDock : floatDocks) {
+				addScreenLocations((Dock) floatDock, locations);
+			}
+
+			// The other root docks that are components.
+			List rootDocks = new ArrayList();
+			Iterator rootKeyIterator = dockModel.getRootKeys(owner);
+			while (rootKeyIterator.hasNext()) {
+				Dock ownerRootDock = dockModel.getRootDock((String) rootKeyIterator.next());
+				if (ownerRootDock instanceof Component) {
+					rootDocks.add(ownerRootDock);
+					addScreenLocations(ownerRootDock, locations);
+
+					// Also the content pane is used to check the visibility of the root dock.
+					JRootPane rootPane = SwingUtil.getRootPane((Component) ownerRootDock);
+					if (rootPane != null) {
+						addScreenLocation(rootPane.getContentPane(), locations);
+					}
+				}
+			}
+			rootDocksOfOwners.put(owner, Collections.unmodifiableList(rootDocks));
+		}
+		ownerWindows = Collections.unmodifiableList(owners);
+		visibleFloatDocks = Collections.unmodifiableMap(floatDocksOfOwners);
+		componentRootDocks = Collections.unmodifiableMap(rootDocksOfOwners);
+		screenLocations = Collections.unmodifiableMap(locations);
+		locationsValid = areLocationsValid();
+
+	}
+
+	// Public methods.
+
+	/**
+	 * Gets a snapshot for dragging the given dockable that is up to date.
+	 *
+	 * @param dragSession The previous snapshot. Can be null.
+	 * @param dockable    The dragged dockable.
+	 * @return The given snapshot, when it is up to date for the dockable, a new snapshot otherwise.
+	 */
+	@NotNull
+	public static DragSession update(@Nullable DragSession dragSession, @NotNull Dockable dockable) {
+		return update(dragSession, dockable, null);
+	}
+
+	/**
+	 * Gets a snapshot for dragging the given dockable that is up to date.
+	 *
+	 * @param dragSession The previous snapshot. Can be null.
+	 * @param dockable    The dragged dockable.
+	 * @param originDock  The dock where the dragging started. It is only used when the dragged dockable is not docked.
+	 *                    Can be null.
+	 * @return The given snapshot, when it is up to date for the dockable, a new snapshot otherwise.
+	 */
+	@NotNull
+	public static DragSession update(@Nullable DragSession dragSession, @NotNull Dockable dockable, @Nullable Dock originDock) {
+
+		if ((dragSession != null) && (dragSession.dockable == dockable) && (dragSession.isUpToDate())) {
+			return dragSession;
+		}
+		return new DragSession(dockable, originDock);
+
+	}
+
+	/**
+	 * Determines if this snapshot is still up to date. It is not up to date anymore, when the docking executor
+	 * changed the docking, when the dragged dockable was moved to another dock, or when the locations on the screen
+	 * of its components may have changed, because a component was not valid.
+	 *
+	 * @return True if this snapshot is still up to date, false otherwise.
+	 */
+	public boolean isUpToDate() {
+		return (dockingExecutor == DockingManager.getDockingExecutor())
+				&& (dockingExecutor.getLayoutChangeCount() == layoutChangeCount)
+				&& (dockable.getDock() == dockableDock)
+				&& (locationsValid)
+				&& (areLocationsValid());
+	}
+
+	/**
+	 * Converts a location on the screen to the coordinate system of the component.
+	 * The location on the screen of the snapshot is used, when the component is a dock of the snapshot.
+	 *
+	 * @param location  The location on the screen. It is converted to the coordinate system of the component.
+	 * @param component The component.
+	 */
+	public void convertPointFromScreen(@NotNull Point location, @NotNull Component component) {
+
+		Point screenLocation = (Point) screenLocations.get(component);
+		if (screenLocation != null) {
+			location.translate(-screenLocation.x, -screenLocation.y);
+		} else {
+			SwingUtilities.convertPointFromScreen(location, component);
+		}
+
+	}
+
+	/**
+	 * Determines if the location on the screen is in the visible part of the root dock.
+	 * This is the same as {@link SwingUtil#locationInComponentVisible(Point, Component)},
+	 * but it uses the locations on the screen of the snapshot.
+	 *
+	 * @param location The location on the screen.
+	 * @param rootDock The root dock.
+	 * @return True if the location is in the visible part of the root dock, false otherwise.
+	 */
+	public boolean isLocationInRootDockVisible(@NotNull Point location, @NotNull Component rootDock) {
+
+		// Get the root component in the window.
+		JRootPane rootPane = SwingUtil.getRootPane(rootDock);
+		if (rootPane != null) {
+			Component rootComponent = rootPane.getContentPane();
+			if (rootComponent != null) {
+				// Get the location relative to this root component.
+				helpLocation.setLocation(location);
+				convertPointFromScreen(helpLocation, rootComponent);
+
+				// Get the deepest visible component at the given location.
+				Component deepestComponent = SwingUtil.getDeepestComponentAt(rootComponent, helpLocation.x, helpLocation.y);
+				if (deepestComponent != null) {
+					return SwingUtilities.isDescendingFrom(deepestComponent, rootDock);
+				}
+			}
+		}
+
+		return false;
+
+	}
+
+	/**
+	 * Gets the visible float docks of the owner window.
+	 *
+	 * @param owner The owner window.
+	 * @return The visible float docks of the owner window. The list can't be modified.
+	 */
+	@NotNull
+	public List getVisibleFloatDocks(Window owner) {
+
+		List floatDocks = (List) visibleFloatDocks.get(owner);
+		return floatDocks != null ? floatDocks : Collections.EMPTY_LIST;
+
+	}
+
+	/**
+	 * Gets the root docks of the owner window that are components.
+	 *
+	 * @param owner The owner window.
+	 * @return The root docks of the owner window that are components. The list can't be modified.
+	 */
+	@NotNull
+	public List getComponentRootDocks(Window owner) {
+
+		List rootDocks = (List) componentRootDocks.get(owner);
+		return rootDocks != null ? rootDocks : Collections.EMPTY_LIST;
+
+	}
+
+	// Getters.
+
+	/**
+	 * Gets the result object for the dock retriever of the dragger.
+	 * It is filled again for every mouse event.
+	 *
+	 * @return The result object for the dock retriever of the dragger.
+	 */
+	@NotNull
+	public RetrievedDocks getRetrievedDocks() {
+		return retrievedDocks;
+	}
+
+	/**
+	 * Gets the dragged dockable.
+	 *
+	 * @return The dragged dockable.
+	 */
+	@NotNull
+	public Dockable getDockable() {
+		return dockable;
+	}
+
+	/**
+	 * Gets the dock where the dragged dockable comes from. This is the dock of the dragged dockable,
+	 * when the snapshot was created, or the dock where the dragging started, when the dragged dockable is not docked.
+	 *
+	 * @return The dock where the dragged dockable comes from.
+	 */
+	@Nullable
+	public Dock getOriginDock() {
+		return originDock;
+	}
+
+	/**
+	 * Gets the root dock of the origin dock.
+	 *
+	 * @return The root dock of the origin dock. Null when the dockable was not docked.
+	 */
+	@Nullable
+	public Dock getRootDock() {
+		return rootDock;
+	}
+
+	/**
+	 * Gets the child of the root dock that contains the origin dock.
+	 *
+	 * @return The child of the root dock that contains the origin dock. Null when the origin dock is a root dock.
+	 */
+	@Nullable
+	public Dock getChildOfRootDock() {
+		return childOfRootDock;
+	}
+
+	/**
+	 * Determines if the dragged dockable is floating alone. It is floating, when its root dock is a {@link FloatDock}
+	 * and if the dragged dockable is the only dockable in the child dock of the float dock.
+	 *
+	 * @return True if the dragged dockable is floating alone, false otherwise.
+	 */
+	public boolean isFloating() {
+		return floating;
+	}
+
+	/**
+	 * Gets the owner window of the root dock.
+	 *
+	 * @return The owner window of the root dock. Null when the dockable was not docked.
+	 */
+	@Nullable
+	public Window getOwnerWindow() {
+		return ownerWindow;
+	}
+
+	/**
+	 * Gets the owner windows of the dock model. The owner window of the dragged dockable is first.
+	 *
+	 * @return The owner windows of the dock model. The list can't be modified.
+	 */
+	@NotNull
+	public List getOwnerWindows() {
+		return ownerWindows;
+	}
+
+	// Private metods.
+
+	/**
+	 * Determines if all the components, whose locations on the screen are in this snapshot, are valid.
+	 *
+	 * @return True if all the components of the screen locations are valid, false otherwise.
+	 */
+	private boolean areLocationsValid() {
+
+		for (Object component : screenLocations.keySet()) {
+			if (!((Component) component).isValid()) {
+				return false;
+			}
+		}
+		return true;
+
+	}
+
+	/**
+	 * Adds the locations on the screen of the dock and its child docks to the map.
+	 *
+	 * @param dock      The dock.
+	 * @param locations The mapping between the dock components and their locations on the screen.
+	 */
+	private static void addScreenLocations(@NotNull Dock dock, @NotNull Map locations) {
+
+		if (dock instanceof Component) {
+			addScreenLocation((Component) dock, locations);
+		}
+		if (dock instanceof CompositeDock) {
+			CompositeDock compositeDock = (CompositeDock) dock;
+			for (int index = 0; index < compositeDock.getChildDockCount(); index++) {
+				addScreenLocations(compositeDock.getChildDock(index), locations);
+			}
+		}
+
+	}
+
+	/**
+	 * Adds the location on the screen of the component to the map, when the component is showing.
+	 *
+	 * @param component The component.
+	 * @param locations The mapping between the components and their locations on the screen.
+	 */
+	private static void addScreenLocation(@Nullable Component component, @NotNull Map locations) {
+
+		if ((component != null) && (component.isShowing())) {
+			locations.put(component, component.getLocationOnScreen());
+		}
+
+	}
+
+}
@@ -4,8 +4,8 @@ import com.javadocking.DockingManager;
 import com.javadocking.dock.*;
 import com.javadocking.dockable.*;
 import com.javadocking.drag.dockretriever.DockRetriever;
+import com.javadocking.drag.dockretriever.RetrievedDocks;
 import com.javadocking.drag.dockretriever.DynamicDockRetriever;
-import com.javadocking.util.CollectionUtil;
 import com.javadocking.util.DockingUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -16,7 +16,6 @@ import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.util.*;
-import java.util.List;
 
 /**
  * <p>
@@ -67,6 +66,11 @@ public class DynamicDragger implements Dragger {
 	 */
 	@NotNull
 	private DockRetriever dockRetriever = new DynamicDockRetriever();
+	/**
+	 * The snapshot of the current drag.
+	 */
+	@Nullable
+	private DragSession dragSession;
 	/**
 	 * When dragging starts this is false. Once the dragged dockable is undocked and docked in another
 	 * dock, or moved in its dock, undocked is set to true.
@@ -252,6 +256,9 @@ public class DynamicDragger implements Dragger {
 					// Set the 'can dock' cursor.
 					cursorManager.setCursor(mouseComponent, retrieveCanDockCursor());
 
+					// Take a snapshot of the docking for the drag.
+					dragSession = new DragSession(draggedDockable);
+
 					// We can drag.
 					return true;
 				}
@@ -279,6 +286,9 @@ public class DynamicDragger implements Dragger {
 					// Set the 'can dock' cursor.
 					cursorManager.setCursor(mouseComponent, retrieveCanDockCursor());
 
+					// Take a snapshot of the docking for the drag.
+					dragSession = new DragSession(draggedDockable);
+
 					// We can drag.
 					return true;
 				}
@@ -335,11 +345,13 @@ public class DynamicDragger implements Dragger {
 		}
 
 		// Get the destination dock for this position.
-		Dock[] destinationDocks = dockRetriever.retrieveHighestPriorityDock(screenLocation, draggedDockable);
-		if (destinationDocks == null) {
+		dragSession = DragSession.update(dragSession, draggedDockable);
+		RetrievedDocks destinationDocks = dragSession.getRetrievedDocks();
+		dockRetriever.retrieveHighestPriorityDock(screenLocation, dragSession, destinationDocks);
+		if (destinationDocks.getDockCount() == 0) {
 			return;
 		}
-		Dock destinationDock = destinationDocks[0];
+		Dock destinationDock = destinationDocks.getDock(0);
 		if (TEST) System.out.println("drag destination " + destinationDock);
 		// Is the destination dock not null?
 		if (destinationDock != null) {
@@ -355,9 +367,9 @@ public class DynamicDragger implements Dragger {
 				boolean changeDock = changeDock(mouseEvent, destinationDock);
 				boolean moveInFloat = false;
 				if (!changeDock) {
-					if (destinationDocks.length > 1) {
+					if (destinationDocks.getDockCount() > 1) {
 
-						destinationDock = destinationDocks[1];
+						destinationDock = destinationDocks.getDock(1);
 						if (!destinationDock.equals(currentDock)) {
 							changeDock = changeDock(mouseEvent, destinationDock);
 						} else {
@@ -383,7 +395,7 @@ public class DynamicDragger implements Dragger {
 					// Get the mouse location for the new dock.
 					locationInDestinationDock.setLocation(screenLocation.x, screenLocation.y);
 					if (destinationDock instanceof Component) {
-						SwingUtilities.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
+						dragSession.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
 					}
 
 					// Check if we can move the dock of the dockable in the float dock.
@@ -392,6 +404,8 @@ public class DynamicDragger implements Dragger {
 							if (TEST)
 								System.out.println("floating screenLocation " + screenLocation.x + "   " + screenLocation.y);
 							((FloatDock) currentRootDock).moveDock(currentChildOfRootDock, locationInDestinationDock, dockableOffset);
+							// The floating window moved, so the screen locations of the snapshot are not valid anymore.
+							dragSession = null;
 							undocked = true;
 							floatingDelay = NO_FLOATING;
 							return;
@@ -461,11 +475,12 @@ public class DynamicDragger implements Dragger {
 					// Get the mouse location for the new dock.
 					locationInDestinationDock.setLocation(screenLocation.x, screenLocation.y);
 					if (destinationDock instanceof Component) {
-						SwingUtilities.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
+						dragSession.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
 					}
 
 					// Use the docking manager for the move, because the listeners have to informed.				
-					DockingManager.getDockingExecutor().changeDocking(draggedDockable, destinationDock, locationInDestinationDock, new Point(0, 0));
+					helpPoint.setLocation(0, 0);
+					DockingManager.getDockingExecutor().changeDocking(draggedDockable, destinationDock, locationInDestinationDock, helpPoint);
 				}
 			}
 		}
@@ -560,6 +575,7 @@ public class DynamicDragger implements Dragger {
 	private void reset() {
 		undocked = false;
 		originDock = null;
+		dragSession = null;
 		previousDock = null;
 		draggedDockable = null;
 	}
@@ -589,25 +605,11 @@ public class DynamicDragger implements Dragger {
 	 */
 	private boolean isFloating() {
 
-		// Get the root dock and the dock under the root.
-		currentRootDock = draggedDockable.getDock();
-		currentChildOfRootDock = null;
-		while (currentRootDock.getParentDock() != null) {
-			currentChildOfRootDock = currentRootDock;
-			currentRootDock = currentRootDock.getParentDock();
-		}
-
-		// Is the root dock the float dock?
-		if (currentRootDock instanceof FloatDock) {
-			// Is the dockable already in this dock and are there no others?
-			List childrenOfDockable = new ArrayList();
-			List childrenOfDock = new ArrayList();
-			DockingUtil.retrieveDockables(draggedDockable, childrenOfDockable);
-			DockingUtil.retrieveDockables(currentChildOfRootDock, childrenOfDock);
-			return CollectionUtil.sameElements(childrenOfDockable, childrenOfDock);
-		}
-
-		return false;
+		// Get the root dock and the dock under the root from the snapshot of the drag.
+		dragSession = DragSession.update(dragSession, draggedDockable);
+		currentRootDock = dragSession.getRootDock();
+		currentChildOfRootDock = dragSession.getChildOfRootDock();
+		return dragSession.isFloating();
 
 	}
 
@@ -636,7 +638,7 @@ public class DynamicDragger implements Dragger {
 						// But only if the mouse is in the docking rectangle.
 						// Get the docking rectangle for the destination dock.
 						locationInDestinationDock.setLocation(screenLocation.x, screenLocation.y);
-						SwingUtilities.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
+						dragSession.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
 						destinationDock.retrieveDockingRectangle(draggedDockable, locationInDestinationDock, dockableOffset, dockableDragRectangle);
 						if (dockableDragRectangle.contains(locationInDestinationDock)) {
 							if (TEST) System.out.println("      dock because mouse is inside docking rectangle");
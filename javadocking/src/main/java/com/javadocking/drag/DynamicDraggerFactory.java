@@ -13,6 +13,10 @@ import org.jetbrains.annotations.Nullable;
  * This dragger factory creates draggers that remove and add the dragged {@link com.javadocking.dockable.Dockable}s
  * to new {@link com.javadocking.dock.Dock}s dynamically during dragging.
  * </p>
+ * <p>
+ * Every change of dock during dragging changes the component tree. The {@link PreviewDraggerFactory}
+ * gives similar feedback, but it only paints a preview and docks the dockables once, when the mouse is released.
+ * </p>
  *
  * @author Heidi Rakels.
  */
@@ -0,0 +1,40 @@
+package com.javadocking.drag;
+
+import com.javadocking.drag.painter.CompositeDockableDragPainter;
+import com.javadocking.drag.painter.DefaultRectanglePainter;
+import com.javadocking.drag.painter.PreviewDockableDragPainter;
+import com.javadocking.drag.painter.WindowDockableDragPainter;
+
+/**
+ * <p>
+ * This dragger factory creates draggers that show during dragging how the docks would look like,
+ * if the {@link com.javadocking.dockable.Dockable}s would be docked there.
+ * </p>
+ * <p>
+ * The user gets the same feedback as with the draggers of the {@link DynamicDraggerFactory}, but the dockables
+ * are not removed and added while dragging. The preview is only painted by a {@link PreviewDockableDragPainter}.
+ * The dockables are docked only once, when the mouse is released.
+ * So there are no ghosts to clean and there are no docking events while dragging.
+ * </p>
+ * <p>
+ * When a dockable is dragged above a {@link com.javadocking.dock.FloatDock}, a window with a rectangle is shown.
+ * </p>
+ */
+public class PreviewDraggerFactory extends StaticDraggerFactory {
+
+	// Constructors.
+
+	/**
+	 * Constructs a dragger factory with a {@link PreviewDockableDragPainter} for the docks that are components
+	 * and a {@link WindowDockableDragPainter} for the float docks.
+	 */
+	public PreviewDraggerFactory() {
+
+		CompositeDockableDragPainter dockableDragPainter = new CompositeDockableDragPainter();
+		dockableDragPainter.addPainter(new PreviewDockableDragPainter());
+		dockableDragPainter.addPainter(new WindowDockableDragPainter(new DefaultRectanglePainter(), true));
+		setDockableDragPainter(dockableDragPainter);
+
+	}
+
+}
@@ -7,6 +7,7 @@ import com.javadocking.dock.LeafDock;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockableState;
 import com.javadocking.drag.dockretriever.DockRetriever;
+import com.javadocking.drag.dockretriever.RetrievedDocks;
 import com.javadocking.drag.dockretriever.StaticDockRetriever;
 import com.javadocking.drag.painter.DefaultRectanglePainter;
 import com.javadocking.drag.painter.DockableDragPainter;
@@ -18,8 +19,6 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * <p>
@@ -41,6 +40,16 @@ public class StaticDockableDragger implements Dragger {
 	 */
 	@NotNull
 	private DockRetriever dockRetriever = new StaticDockRetriever();
+	/**
+	 * The snapshot of the current drag.
+	 */
+	@Nullable
+	private DragSession dragSession;
+	/**
+	 * Predicts where the mouse will be soon, and prepares the painting for the docks there. Can be null.
+	 */
+	@Nullable
+	private DragPredictor dragPredictor;
 	/**
 	 * The dock of the dockable before dragging.
 	 */
@@ -139,6 +148,9 @@ public class StaticDockableDragger implements Dragger {
 				dockableOffset.setLocation(x, y);
 				dockableOffset = SwingUtilities.convertPoint(mouseComponent, dockableOffset, draggedDockable.getContent());
 
+				// Take a snapshot of the docking for the drag.
+				dragSession = new DragSession(draggedDockable, originDock);
+
 				// We could find a dockable for dragging.
 				return true;
 			}
@@ -170,8 +182,16 @@ public class StaticDockableDragger implements Dragger {
 		}
 
 		// Get the destination dock for this position for the dockable that we are dragging.
-		Dock[] destinationDocks = dockRetriever.retrieveHighestPriorityDock(screenLocation, draggedDockable);
-		if (destinationDocks == null) {
+		dragSession = DragSession.update(dragSession, draggedDockable, originDock);
+		RetrievedDocks destinationDocks = dragSession.getRetrievedDocks();
+		dockRetriever.retrieveHighestPriorityDock(screenLocation, dragSession, destinationDocks);
+
+		// Let the predictor prepare the painting for the docks where the mouse will probably be soon.
+		if (dragPredictor != null) {
+			dragPredictor.addSample(screenLocation, mouseEvent.getWhen());
+			dragPredictor.prefetch(dragSession, dockRetriever, draggedDockable, dockableOffset, dockableDragPainter);
+		}
+		if (destinationDocks.getDockCount() == 0) {
 			// We have no destination dock any more. Clean up what was painted before.
 			clearPainting();
 
@@ -180,7 +200,7 @@ public class StaticDockableDragger implements Dragger {
 
 			return;
 		}
-		Dock destinationDock = destinationDocks[0];
+		Dock destinationDock = destinationDocks.getDock(0);
 
 		// Do we have a destination dock?
 		if (destinationDock != null) {
@@ -190,39 +210,23 @@ public class StaticDockableDragger implements Dragger {
 
 				// Get the docking rectangle for the destination dock.
 				locationInDestinationDock.setLocation(screenLocation.x, screenLocation.y);
-				SwingUtilities.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
+				dragSession.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
 				destinationDock.retrieveDockingRectangle(draggedDockable, locationInDestinationDock, dockableOffset, dockableDragRectangle);
 
 				// Paint the new rectangle.
 				dockableDragPainter.paintDockableDrag(draggedDockable, destinationDock, dockableDragRectangle, locationInDestinationDock);
 
 				// Set the 'can dock' cursor.
-				cursorManager.setCursor((Component) destinationDock, retrieveCanDockCursor());
+				cursorManager.setCursor((Component) destinationDock, cursorManager.getDockingCursor(retrieveCanDockCursor(), (Component) destinationDock, dockableDragRectangle));
 
 			} else if (destinationDock instanceof FloatDock) {
 
 				// Are we in the special situation that we will move a child dock of the float dock?
-				boolean move = false;
+				boolean move = dragSession.isFloating();
 
 				// Get the root dock and the dock under the root.
-				Dock rootDock = originDock;
-				Dock dockUnderRoot = null;
-				while (rootDock.getParentDock() != null) {
-					dockUnderRoot = rootDock;
-					rootDock = rootDock.getParentDock();
-				}
-
-				// Is the root dock the float dock?
-				if (rootDock instanceof FloatDock) {
-					// Is the dockable already in this dock and are there no others?
-					List childrenOfDockable = new ArrayList();
-					List childrenOfDock = new ArrayList();
-					DockingUtil.retrieveDockables(draggedDockable, childrenOfDockable);
-					DockingUtil.retrieveDockables(dockUnderRoot, childrenOfDock);
-					if (sameElements(childrenOfDockable, childrenOfDock)) {
-						move = true;
-					}
-				}
+				Dock rootDock = dragSession.getRootDock();
+				Dock dockUnderRoot = dragSession.getChildOfRootDock();
 
 				// We cannot paint on the screen, but maybe we can paint in the pane of the origin dock.
 				if (originDock instanceof Component) {
@@ -230,8 +234,8 @@ public class StaticDockableDragger implements Dragger {
 						locationInDestinationDock.setLocation(screenLocation.x - dockableOffset.x, screenLocation.y - dockableOffset.y);
 						SwingUtilities.convertPointFromScreen(locationInDestinationDock, (Component) originDock);
 						dockableDragRectangle.setLocation(locationInDestinationDock);
-						Window window = SwingUtilities.getWindowAncestor((Component) dockUnderRoot);
-						dockableDragRectangle.setSize(window.getSize());
+						Container container = ((FloatDock) dockUnderRoot.getParentDock()).getChildDockContainer(dockUnderRoot);
+						dockableDragRectangle.setSize(container.getSize());
 						locationInDestinationDock.setLocation(locationInDestinationDock.x + dockableOffset.x, locationInDestinationDock.y + dockableOffset.y);
 					} else {
 						// Get the docking rectangle for the destination float dock.
@@ -317,11 +321,13 @@ public class StaticDockableDragger implements Dragger {
 		}
 
 		// Get the destination dock.
-		Dock[] destinationDocks = dockRetriever.retrieveHighestPriorityDock(screenLocation, draggedDockable);
-		if (destinationDocks == null) {
+		dragSession = DragSession.update(dragSession, draggedDockable, originDock);
+		RetrievedDocks destinationDocks = dragSession.getRetrievedDocks();
+		dockRetriever.retrieveHighestPriorityDock(screenLocation, dragSession, destinationDocks);
+		if (destinationDocks.getDockCount() == 0) {
 			return;
 		}
-		Dock destinationDock = destinationDocks[0];
+		Dock destinationDock = destinationDocks.getDock(0);
 
 		// Is the destination dock different from the origin?
 		if (destinationDock != null) {
@@ -329,30 +335,19 @@ public class StaticDockableDragger implements Dragger {
 				// Get the mouse location for the new dock.
 				locationInDestinationDock.setLocation(screenLocation.x, screenLocation.y);
 				if (destinationDock instanceof Component) {
-					SwingUtilities.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
+					dragSession.convertPointFromScreen(locationInDestinationDock, (Component) destinationDock);
 				}
 
 				// Check if we can move the dock of the dockable in the float dock.
 				if (destinationDock instanceof FloatDock) {
 					// Get the root dock and the dock under the root.
-					Dock rootDock = originDock;
-					Dock dockUnderRoot = null;
-					while (rootDock.getParentDock() != null) {
-						dockUnderRoot = rootDock;
-						rootDock = rootDock.getParentDock();
-					}
+					Dock rootDock = dragSession.getRootDock();
+					Dock dockUnderRoot = dragSession.getChildOfRootDock();
 
-					// Is the root dock the float dock?
-					if (rootDock instanceof FloatDock) {
-						// Is the dockable already in this dock and are there no others?
-						List childrenOfDockable = new ArrayList();
-						List childrenOfDock = new ArrayList();
-						DockingUtil.retrieveDockables(draggedDockable, childrenOfDockable);
-						DockingUtil.retrieveDockables(dockUnderRoot, childrenOfDock);
-						if (sameElements(childrenOfDockable, childrenOfDock)) {
-							((FloatDock) rootDock).moveDock(dockUnderRoot, locationInDestinationDock, dockableOffset);
-							return;
-						}
+					// Is the dockable already in the float dock and are there no others?
+					if (dragSession.isFloating()) {
+						((FloatDock) rootDock).moveDock(dockUnderRoot, locationInDestinationDock, dockableOffset);
+						return;
 					}
 				}
 
@@ -424,6 +419,27 @@ public class StaticDockableDragger implements Dragger {
 		this.dockableDragPainter = dockableDragPainter;
 	}
 
+	/**
+	 * Gets the predictor that prepares the painting for the docks where the mouse will probably be soon.
+	 *
+	 * @return The predictor that prepares the painting for the docks where the mouse will probably be soon.
+	 * Can be null, then nothing is prepared.
+	 */
+	@Nullable
+	public DragPredictor getDragPredictor() {
+		return dragPredictor;
+	}
+
+	/**
+	 * Sets the predictor that prepares the painting for the docks where the mouse will probably be soon.
+	 *
+	 * @param dragPredictor The predictor that prepares the painting for the docks where the mouse will probably be soon.
+	 *                      Can be null, then nothing is prepared.
+	 */
+	public void setDragPredictor(@Nullable DragPredictor dragPredictor) {
+		this.dragPredictor = dragPredictor;
+	}
+
 	/**
 	 * Gets the dockable that is dragged by this dragger.
 	 *
@@ -465,6 +481,10 @@ public class StaticDockableDragger implements Dragger {
 	 */
 	private void reset() {
 		originDock = null;
+		dragSession = null;
+		if (dragPredictor != null) {
+			dragPredictor.reset();
+		}
 	}
 
 	/**
@@ -484,31 +504,4 @@ public class StaticDockableDragger implements Dragger {
 		dockableDragPainter.clear();
 	}
 
-	/**
-	 * Determines if the given lists contain the same elements. We suppose that all the elements of the given lists
-	 * are different.
-	 *
-	 * @param firstList  The first list.
-	 * @param secondList The second list.
-	 * @return True if the given lists contain the same elements, false otherwise.
-	 */
-	private boolean sameElements(List firstList, List secondList) {
-
-		// The size hould be the same, otherwise stop.
-		if (firstList.size() != secondList.size()) {
-			return false;
-		}
-
-		// Iterate over the elements of the first list.
-		for (Object aFirstList : firstList) {
-			// Check if the element is also in the second list.
-			if (!secondList.contains(aFirstList)) {
-				return false;
-			}
-		}
-
-		// They heve the same elements.
-		return true;
-	}
-
 }
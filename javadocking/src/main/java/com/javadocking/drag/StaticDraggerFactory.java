@@ -15,6 +15,10 @@ import org.jetbrains.annotations.Nullable;
  * {@link com.javadocking.dockable.Dockable}s will be docked, if the mouse button is
  * released in that position.
  * </p>
+ * <p>
+ * When the factory is predictive, every dragger gets a {@link DragPredictor}, that prepares the painting
+ * for the docks where the mouse will probably be soon.
+ * </p>
  *
  * @author Heidi Rakels.
  */
@@ -26,6 +30,10 @@ public class StaticDraggerFactory implements DraggerFactory {
 	 * Paints the rectangle where the dockable will be docked for the current mouse location.
 	 */
 	private DockableDragPainter dockableDragPainter = new SwDockableDragPainter(new DefaultRectanglePainter());
+	/**
+	 * When true, the created draggers get a {@link DragPredictor}.
+	 */
+	private boolean predictive;
 
 	// Constructors.
 
@@ -57,13 +65,21 @@ public class StaticDraggerFactory implements DraggerFactory {
 	@Nullable
 	public Dragger createDragger(Dock dock) {
 		if (dock instanceof SingleDock) {
-			return new StaticSingleDragger(dockableDragPainter);
+			StaticSingleDragger dragger = new StaticSingleDragger(dockableDragPainter);
+			dragger.setDragPredictor(createDragPredictor());
+			return dragger;
 		} else if (dock instanceof TabDock) {
-			return new StaticTabDragger(dockableDragPainter);
+			StaticTabDragger dragger = new StaticTabDragger(dockableDragPainter);
+			dragger.setDragPredictor(createDragPredictor());
+			return dragger;
 		} else if (dock instanceof LeafDock) {
-			return new StaticDragger(dockableDragPainter);
+			StaticDragger dragger = new StaticDragger(dockableDragPainter);
+			dragger.setDragPredictor(createDragPredictor());
+			return dragger;
 		} else if (dock instanceof CompositeTabDock) {
-			return new StaticCompositeTabDragger(dockableDragPainter);
+			StaticCompositeTabDragger dragger = new StaticCompositeTabDragger(dockableDragPainter);
+			dragger.setDragPredictor(createDragPredictor());
+			return dragger;
 		}
 		return null;
 	}
@@ -73,7 +89,9 @@ public class StaticDraggerFactory implements DraggerFactory {
 	 */
 	@NotNull
 	public Dragger createDragger(Dockable dockable) {
-		return new StaticDockableDragger(dockable, dockableDragPainter);
+		StaticDockableDragger dragger = new StaticDockableDragger(dockable, dockableDragPainter);
+		dragger.setDragPredictor(createDragPredictor());
+		return dragger;
 	}
 
 	// Getters / Setters.
@@ -101,4 +119,35 @@ public class StaticDraggerFactory implements DraggerFactory {
 		this.dockableDragPainter = dockableDragPainter;
 	}
 
+	/**
+	 * Gets if the created draggers get a {@link DragPredictor}.
+	 * The default is false.
+	 *
+	 * @return True if the created draggers get a drag predictor.
+	 */
+	public boolean isPredictive() {
+		return predictive;
+	}
+
+	/**
+	 * Sets if the created draggers get a {@link DragPredictor}.
+	 *
+	 * @param predictive True if the created draggers get a drag predictor.
+	 */
+	public void setPredictive(boolean predictive) {
+		this.predictive = predictive;
+	}
+
+	// Protected methods.
+
+	/**
+	 * Creates the drag predictor for a new dragger.
+	 *
+	 * @return A new {@link DragPredictor}, when this factory is predictive, null otherwise.
+	 */
+	@Nullable
+	protected DragPredictor createDragPredictor() {
+		return predictive ? new DragPredictor() : null;
+	}
+
 }
@@ -2,6 +2,7 @@ package com.javadocking.drag.dockretriever;
 
 import com.javadocking.dock.Dock;
 import com.javadocking.dockable.Dockable;
+import com.javadocking.drag.DragSession;
 
 import java.awt.*;
 
@@ -32,4 +33,49 @@ public interface DockRetriever {
 	 */
 	Dock[] retrieveHighestPriorityDock(Point screenLocation, Dockable dockable);
 
+	/**
+	 * Retrieves the dock that has the highest priority for adding the dragged dockable of the drag session,
+	 * when the dockable is dragged over the given screen location.
+	 * The owner windows, the docks and their locations on the screen are taken from the drag session,
+	 * so that they are not computed again for every mouse event.
+	 * <p>
+	 * The default implementation ignores the snapshot and calls {@link #retrieveHighestPriorityDock(Point, Dockable)}
+	 * with the dragged dockable of the drag session.
+	 * </p>
+	 *
+	 * @param screenLocation The location of the mouse on the screen.
+	 * @param dragSession    The snapshot of the current drag.
+	 * @return The dock that has the highest priority for adding the dockable for the given screen location.
+	 */
+	default Dock[] retrieveHighestPriorityDock(Point screenLocation, DragSession dragSession) {
+		return retrieveHighestPriorityDock(screenLocation, dragSession.getDockable());
+	}
+
+	/**
+	 * Retrieves the dock that has the highest priority for adding the dragged dockable of the drag session,
+	 * when the dockable is dragged over the given screen location. The result is written in the given result object,
+	 * so that no objects have to be created for every mouse event.
+	 * <p>
+	 * The default implementation calls {@link #retrieveHighestPriorityDock(Point, DragSession)}
+	 * and copies the returned docks in the result object.
+	 * </p>
+	 *
+	 * @param screenLocation The location of the mouse on the screen.
+	 * @param dragSession    The snapshot of the current drag.
+	 * @param retrievedDocks The result object. It gets the dock that has the highest priority for adding
+	 *                       the dockable for the given screen location.
+	 */
+	default void retrieveHighestPriorityDock(Point screenLocation, DragSession dragSession, RetrievedDocks retrievedDocks) {
+
+		Dock[] docks = retrieveHighestPriorityDock(screenLocation, dragSession);
+		if ((docks == null) || (docks.length == 0)) {
+			retrievedDocks.clear();
+		} else if (docks.length == 1) {
+			retrievedDocks.setDocks(docks[0]);
+		} else {
+			retrievedDocks.setDocks(docks[0], docks[1]);
+		}
+
+	}
+
 }
@@ -1,25 +1,18 @@
 package com.javadocking.drag.dockretriever;
 
-import com.javadocking.DockingManager;
 import com.javadocking.dock.Dock;
 import com.javadocking.dock.FloatDock;
 import com.javadocking.dock.Priority;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockingMode;
-import com.javadocking.model.DockModel;
-import com.javadocking.model.DockModelUtil;
-import com.javadocking.util.CollectionUtil;
-import com.javadocking.util.DockingUtil;
+import com.javadocking.drag.DragSession;
 import com.javadocking.util.SwingUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 /**
  * <p>
@@ -40,73 +33,67 @@ import java.util.Set;
  */
 public class DynamicDockRetriever implements DockRetriever {
 
-	/**
-	 * The child of the root dock of the dock, where the dockable is currently docked.
-	 */
-	@Nullable
-	private Dock currentChildOfRootDock;
-	/**
-	 * The current dockable.
-	 */
-	private Dockable currentDockable;
-
 	// Implementations of DockRetriever.
 
 	@Nullable
 	public Dock[] retrieveHighestPriorityDock(@NotNull Point screenLocation, @NotNull Dockable dockable) {
+		return retrieveHighestPriorityDock(screenLocation, new DragSession(dockable));
+	}
 
-		currentDockable = dockable;
+	@Nullable
+	public Dock[] retrieveHighestPriorityDock(@NotNull Point screenLocation, @NotNull DragSession dragSession) {
 
-		// Get the list with the docks under this position. The deepest docks first.
-		DockPossibilities dockPossibilities = retrieveDocksOfPosition(screenLocation, dockable);
+		RetrievedDocks retrievedDocks = new RetrievedDocks();
+		retrieveHighestPriorityDock(screenLocation, dragSession, retrievedDocks);
+		return retrievedDocks.toArray();
 
-		// Did we find docks?
-		if (dockPossibilities != null) {
-			Dock preferenceDock = getHighestPriorityDock(screenLocation, dockable, dockPossibilities.preferenceDocks);
-			Dock reserveDock = getHighestPriorityDock(screenLocation, dockable, dockPossibilities.reserveDocks);
+	}
 
-			if ((preferenceDock == null) && (reserveDock == null)) {
-				return null;
-			}
-			if ((preferenceDock != null) && (reserveDock != null)) {
-				Dock[] docks = new Dock[2];
-				docks[0] = preferenceDock;
-				docks[1] = reserveDock;
-				return docks;
-			} else {
-				Dock[] docks = new Dock[1];
-				if (preferenceDock != null) {
-					docks[0] = preferenceDock;
-				} else {
-					docks[0] = reserveDock;
-				}
-				return docks;
-			}
+	public void retrieveHighestPriorityDock(@NotNull Point screenLocation, @NotNull DragSession dragSession, @NotNull RetrievedDocks retrievedDocks) {
+
+		retrievedDocks.clear();
+
+		// Get the lists with the docks under this position. The deepest docks first.
+		List preferenceDocks = retrievedDocks.preferenceDocks;
+		List reserveDocks = retrievedDocks.reserveDocks;
+		preferenceDocks.clear();
+		reserveDocks.clear();
+		retrieveDocksOfPosition(screenLocation, dragSession, preferenceDocks, reserveDocks, retrievedDocks.relativeLocation);
+
+		// Did we find docks?
+		Dock preferenceDock = getHighestPriorityDock(screenLocation, dragSession, preferenceDocks, retrievedDocks.relativeLocation);
+		Dock reserveDock = getHighestPriorityDock(screenLocation, dragSession, reserveDocks, retrievedDocks.relativeLocation);
+		if ((preferenceDock != null) && (reserveDock != null)) {
+			retrievedDocks.setDocks(preferenceDock, reserveDock);
+		} else if (preferenceDock != null) {
+			retrievedDocks.setDocks(preferenceDock);
+		} else if (reserveDock != null) {
+			retrievedDocks.setDocks(reserveDock);
 		}
 
-		// No dock found.
-		return null;
 	}
 
 	// Private metods.
 
 	@Nullable
-	private Dock getHighestPriorityDock(@NotNull Point screenLocation, Dockable dockable, @Nullable List possibleDocks) {
+	private Dock getHighestPriorityDock(@NotNull Point screenLocation, @NotNull DragSession dragSession, @NotNull List possibleDocks, @NotNull Point relativeLocation) {
 		// Did we find docks?
-		if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
+		if (possibleDocks.size() > 0) {
+			Dockable dockable = dragSession.getDockable();
+
 			// The dock that has the highest priority of the docks that are scanned already.
 			Dock dockWithHighestPriority = null;
 			int highestPriority = Priority.CANNOT_DOCK;
 
 			// Get the first dock in the list with highest priority.
 			// Iterate over the docks.
-			for (Object possibleDock1 : possibleDocks) {
-				Dock possibleDock = (Dock) possibleDock1;
+			for (int index = 0; index < possibleDocks.size(); index++) {
+				Dock possibleDock = (Dock) possibleDocks.get(index);
 
 				// Get the mouse location for the possible dock.
-				Point relativeLocation = new Point(screenLocation.x, screenLocation.y);
+				relativeLocation.setLocation(screenLocation.x, screenLocation.y);
 				if (possibleDock instanceof Component) {
-					SwingUtilities.convertPointFromScreen(relativeLocation, (Component) possibleDock);
+					dragSession.convertPointFromScreen(relativeLocation, (Component) possibleDock);
 				}
 
 				// Get the priority for adding the dockable to this dock.
@@ -129,96 +116,70 @@ public class DynamicDockRetriever implements DockRetriever {
 
 	}
 
-
-	private DockPossibilities retrieveDocksOfPosition(@NotNull Point screenLocation, @NotNull Dockable dockable) {
+	/**
+	 * Adds the docks that are under the given screen location to the lists.
+	 * The deeper docks are first in the lists.
+	 *
+	 * @param screenLocation  The screen location where the docks are searched.
+	 * @param dragSession     The snapshot of the current drag.
+	 * @param preferenceDocks The empty list to which the preferred docks are added.
+	 * @param reserveDocks    The empty list to which the docks are added, that are used when the preferred docks
+	 *                        cannot be used.
+	 * @param helpLocation    A point that can be used for the calculations.
+	 */
+	private void retrieveDocksOfPosition(@NotNull Point screenLocation, @NotNull DragSession dragSession, @NotNull List preferenceDocks,
+										 @NotNull List reserveDocks, @NotNull Point helpLocation) {
 
 		// TODO when a dock is floating, it cannot be docked in a dock of another owner window.
 
-		// Get the dock model.
-		DockModel dockModel = DockingManager.getDockModel();
-		if (dockModel == null) {
-			throw new NullPointerException("Dock model of docking manager null.");
-		}
-
-		// Get the owner window ID where this dockable is currently docked.
-		Window currentOwner = null;
-		if (dockable.getDock() != null) {
-			Dock rootDock = DockingUtil.getRootDock(dockable.getDock());
-			String rootDockKey = DockingUtil.getRootDockKey(rootDock);
-			currentOwner = DockingUtil.getWindowOwner(rootDockKey);
-		}
-
-		// Try to find a non empty list of docks in the current owner window.
-		if (currentOwner != null) {
-			DockPossibilities possibleDocks = retrieveDocksOfPosition(screenLocation, currentOwner, dockable, true);
-			if (possibleDocks != null) {
-				return possibleDocks;
-			}
-		}
-
-		// Iterate over the other owner windows until we find a non empty list of docks.
-		for (int ownerIndex = 0; ownerIndex < dockModel.getOwnerCount(); ownerIndex++) {
-			Window owner = dockModel.getOwner(ownerIndex);
-			if (!owner.equals(currentOwner)) {
-				DockPossibilities possibleDocks = retrieveDocksOfPosition(screenLocation, owner, dockable, false);
-				if (possibleDocks != null) {
-					return possibleDocks;
-				}
+		// Iterate over the owner windows until we find a non empty list of docks.
+		// The owner window where this dockable is currently docked is the first.
+		Window currentOwner = dragSession.getOwnerWindow();
+		List ownerWindows = dragSession.getOwnerWindows();
+		for (int index = 0; index < ownerWindows.size(); index++) {
+			Window owner = (Window) ownerWindows.get(index);
+			if (retrieveDocksOfPosition(screenLocation, owner, dragSession, owner.equals(currentOwner), preferenceDocks, reserveDocks, helpLocation)) {
+				return;
 			}
 		}
 
 		// Create a list with only the float dock of the owner window.
 		// Check first if this dock may float.
-		if ((dockable.getDockingModes() & DockingMode.FLOAT) != 0) {
+		if ((dragSession.getDockable().getDockingModes() & DockingMode.FLOAT) != 0) {
 			if (currentOwner == null) {
-				if (dockModel.getOwnerCount() > 0) {
-					currentOwner = dockModel.getOwner(0);
+				if (ownerWindows.size() > 0) {
+					currentOwner = (Window) ownerWindows.get(0);
 				}
 			}
 			if (currentOwner != null) {
-				Set floatDocks = DockModelUtil.getVisibleFloatDocks(dockModel, currentOwner);
-				if (floatDocks.size() != 0) {
-					List docks = new ArrayList(floatDocks);
-					DockPossibilities dockPossibilities = new DockPossibilities();
-					dockPossibilities.preferenceDocks = docks;
-					return dockPossibilities;
-				}
-
-				return null;
+				addAll(dragSession.getVisibleFloatDocks(currentOwner), preferenceDocks);
 			}
 		}
 
-		// We couldn't find a dock.
-		return null;
 	}
 
-	// Private metods.
-
 	/**
-	 * Retrieves the docks that are under the given screen location.
-	 * The deeper docks are first in the list. Only docks of the given owner
-	 * are added to the list.
+	 * Adds the docks that are under the given screen location to the lists.
+	 * The deeper docks are first in the lists. Only docks of the given owner
+	 * are added to the lists.
 	 *
-	 * @param screenLocation The screen location where the docks are searched.
-	 * @param ownerWindow    Only docks with this window as owner are added to the list.
-	 * @param dockable       The dockable that has to be added to a new dock.
-	 * @param inOwner        The owner window is the owner of the dockable.
-	 * @return The list of docks under the given screen location. The deepest docks are first.
+	 * @param screenLocation  The screen location where the docks are searched.
+	 * @param ownerWindow     Only docks with this window as owner are added to the lists.
+	 * @param dragSession     The snapshot of the current drag.
+	 * @param inOwner         The owner window is the owner of the dockable.
+	 * @param preferenceDocks The empty list to which the preferred docks are added.
+	 * @param reserveDocks    The empty list to which the docks are added, that are used when the preferred docks
+	 *                        cannot be used.
+	 * @param helpLocation    A point that can be used for the calculations.
+	 * @return True if docks were added to the lists, false otherwise.
 	 */
-	private DockPossibilities retrieveDocksOfPosition(@NotNull Point screenLocation, Window ownerWindow, @NotNull Dockable dockable, boolean inOwner) {
+	private boolean retrieveDocksOfPosition(@NotNull Point screenLocation, Window ownerWindow, @NotNull DragSession dragSession, boolean inOwner,
+											@NotNull List preferenceDocks, @NotNull List reserveDocks, @NotNull Point helpLocation) {
 
-		// Create the result.
-		DockPossibilities dockPossibilities = new DockPossibilities();
-
-		// Get the dock model.
-		DockModel dockModel = DockingManager.getDockModel();
-		if (dockModel == null) {
-			throw new NullPointerException("Dock model of docking manager null.");
-		}
-
-		Set floatDocks = DockModelUtil.getVisibleFloatDocks(dockModel, ownerWindow);
-		for (Object floatDock1 : floatDocks) {
-			FloatDock floatDock = (FloatDock) floatDock1;
+		Dockable dockable = dragSession.getDockable();
+		List floatDocks = dragSession.getVisibleFloatDocks(ownerWindow);
+		for (int floatIndex = 0; floatIndex < floatDocks.size(); floatIndex++) {
+			FloatDock floatDock = (FloatDock) floatDocks.get(floatIndex);
 
 			// Iterate first over the children of the float dock. These children are the floating windows.
 			// Check first if this dock may float.
@@ -227,27 +188,23 @@ public class DynamicDockRetriever implements DockRetriever {
 				for (int index = 0; index < floatDock.getChildDockCount(); index++) {
 					Dock childDock = floatDock.getChildDock(index);
 
-					// Retrieve the possible docks for this child dock.
-					List possibleDocks = retrieveDocksOfPosition(screenLocation, childDock);
+					// Retrieve the deepest dock for this child dock.
+					Component deepestDock = retrieveDeepestDock(screenLocation, childDock, dragSession, helpLocation);
 
 					// Did we find docks to add the dockable?
-					if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
-						// Add also the float dock as last possible dock.
-						possibleDocks.add(floatDock);
-
-
+					if (deepestDock != null) {
 						// Is the dockable floating alone?
-						if (inOwner && isFloating()) {
-							if (childDock.equals(currentChildOfRootDock)) {
-								dockPossibilities.reserveDocks = possibleDocks;
-								// Continue.
-							} else {
-								dockPossibilities.preferenceDocks = possibleDocks;
-								return dockPossibilities;
-							}
+						if (inOwner && dragSession.isFloating() && childDock.equals(dragSession.getChildOfRootDock())) {
+							// Add the docks and also the float dock as last possible dock.
+							reserveDocks.clear();
+							addDockAncestors(deepestDock, reserveDocks);
+							reserveDocks.add(floatDock);
+							// Continue.
 						} else {
-							dockPossibilities.preferenceDocks = possibleDocks;
-							return dockPossibilities;
+							// Add the docks and also the float dock as last possible dock.
+							addDockAncestors(deepestDock, preferenceDocks);
+							preferenceDocks.add(floatDock);
+							return true;
 						}
 					}
 				}
@@ -255,115 +212,85 @@ public class DynamicDockRetriever implements DockRetriever {
 		}
 
 		// Iterate over the root docks of the owner that are not the float dock.
-		Iterator dockIdIterator = dockModel.getRootKeys(ownerWindow);
-		List listWithPossibleDocksLists = new ArrayList();
-		while (dockIdIterator.hasNext()) {
-			// Get the next root dock ID and verify it is not the ID of the float dock.
-			String rootDockId = (String) dockIdIterator.next();
-			Dock rootDock = dockModel.getRootDock(rootDockId);
-			if (rootDock instanceof Component) {
-				// Check if the root dock is visible.
-				boolean visible = SwingUtil.locationInComponentVisible(screenLocation, (Component) rootDock);
-				if (visible) {
-					// Retrieve the possible docks for this root dock.
-					List possibleDocks = retrieveDocksOfPosition(screenLocation, rootDock);
-
-					// Did we find docks to add the dockable?
-					if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
-						// Stop searching. Add also the float dock as last possible dock.
-						possibleDocks.addAll(floatDocks);
-
-						// Add the list of docks.
-						listWithPossibleDocksLists.add(possibleDocks);
-//						dockPossibilities.preferenceDocks = possibleDocks;
-//						return dockPossibilities;
-					}
+		// Search the root dock with the deepest dock.
+		Component result = null;
+		List rootDocks = dragSession.getComponentRootDocks(ownerWindow);
+		for (int index = 0; index < rootDocks.size(); index++) {
+			Dock rootDock = (Dock) rootDocks.get(index);
+
+			// Check if the root dock is visible.
+			boolean visible = dragSession.isLocationInRootDockVisible(screenLocation, (Component) rootDock);
+			if (visible) {
+				// Retrieve the deepest dock for this root dock.
+				Component deepestDock = retrieveDeepestDock(screenLocation, rootDock, dragSession, helpLocation);
+				if ((deepestDock != null) && ((result == null) || (SwingUtilities.isDescendingFrom(deepestDock, result)))) {
+					result = deepestDock;
 				}
 			}
 		}
 
-		// Did we find exactly one list?
-		if (listWithPossibleDocksLists.size() == 1) {
-			dockPossibilities.preferenceDocks = (List) listWithPossibleDocksLists.get(0);
-			return dockPossibilities;
-		}
-
-		// Did we find more lists?
-		if (listWithPossibleDocksLists.size() > 0) {
-			// Search the list with the deepest components.
-			List result = (List) listWithPossibleDocksLists.get(0);
-			Component resultComponent = (Component) result.get(0);
-			int nextListIndex = 1;
-			while (nextListIndex < listWithPossibleDocksLists.size()) {
-				List nextList = (List) listWithPossibleDocksLists.get(nextListIndex);
-				Component nextListComponent = (Component) nextList.get(0);
-				if (SwingUtilities.isDescendingFrom(nextListComponent, resultComponent)) {
-					result = nextList;
-					resultComponent = nextListComponent;
-				}
-				nextListIndex++;
-			}
-			dockPossibilities.preferenceDocks = result;
-			return dockPossibilities;
+		// Did we find docks to add the dockable?
+		if (result != null) {
+			// Add the docks and also the float docks as last possible docks.
+			addDockAncestors(result, preferenceDocks);
+			addAll(floatDocks, preferenceDocks);
+			return true;
 		}
 
-
 		// Do we have reserve docks?
-		if (dockPossibilities.reserveDocks != null) {
+		if (reserveDocks.size() > 0) {
 			// Try to add the float dock.
-			if (floatDocks.size() > 0) {
-				dockPossibilities.preferenceDocks = new ArrayList(floatDocks);
-			}
-			return dockPossibilities;
+			addAll(floatDocks, preferenceDocks);
+			return true;
 		}
 
-		return null;
+		return false;
 	}
 
 	/**
-	 * Retrieves the docks that are under the given screen location.
-	 * The deeper docks are first in the list. Only child docks of the given root dock or the root dock itself
-	 * are added to the list.
+	 * Retrieves the deepest dock that is under the given screen location.
+	 * Only child docks of the given root dock or the root dock itself are searched.
 	 *
-	 * @param screenLocation The screen location where the docks are searched.
-	 * @param rootDock       Only child docks of this dock or the dock itself are added to the list.
-	 * @return The list of docks under the given screen location. The deepest docks are first.
+	 * @param screenLocation The screen location where the dock is searched.
+	 * @param rootDock       Only child docks of this dock or the dock itself are searched.
+	 * @param dragSession    The snapshot of the current drag.
+	 * @param rootLocation   This point gets the mouse location relative to the root dock.
+	 * @return The deepest dock under the given screen location. Null if there is no dock.
 	 */
-	private List retrieveDocksOfPosition(Point screenLocation, Dock rootDock) {
+	@Nullable
+	private Component retrieveDeepestDock(@NotNull Point screenLocation, Dock rootDock, @NotNull DragSession dragSession, @NotNull Point rootLocation) {
+
 		// Get the relative mouse location.
-		Point rootLocation = new Point(screenLocation.x, screenLocation.y);
-		SwingUtilities.convertPointFromScreen(rootLocation, (Component) rootDock);
+		rootLocation.setLocation(screenLocation.x, screenLocation.y);
+		dragSession.convertPointFromScreen(rootLocation, (Component) rootDock);
 
 		// Get the deepest child under this location, if it exists.
-		Component component = SwingUtilities.getDeepestComponentAt((Component) rootDock, rootLocation.x, rootLocation.y);
+		Component component = SwingUtil.getDeepestComponentAt((Component) rootDock, rootLocation.x, rootLocation.y);
 		if (component != null) {
-			// Return the ancestors of type Dock.
-			return getDockAncestors(component);
+			// Return the component or its first ancestor of type Dock.
+			if (component instanceof Dock) {
+				return component;
+			}
+			return SwingUtilities.getAncestorOfClass(Dock.class, component);
 		}
 
 		return null;
 	}
 
 	/**
-	 * Creates the list with the dock components that contain the given component. Only the components of type
-	 * {@link Dock} are added to the list. The deepest docks are first in the list. The given component is also
-	 * added to the list if its a dock.
+	 * Adds the given dock and the dock components that contain the given dock to the list.
+	 * Only the components of type {@link Dock} are added to the list. The deepest docks are first in the list.
 	 *
-	 * @param component The component of which the dock ancestors are searched.
-	 * @return The list with the components of type {@link Dock} that contain the given component.
+	 * @param dock          The deepest dock.
+	 * @param dockAncestors The list to which the dock and its ancestors of type {@link Dock} are added.
 	 */
-	@NotNull
-	private List getDockAncestors(Component component) {
-		// Create the list for the ancestors.
-		List dockAncestors = new ArrayList();
-
-		// Add the component itself if it is a Dock class.
-		if (component instanceof Dock) {
-			dockAncestors.add(component);
-		}
+	private void addDockAncestors(@NotNull Component dock, @NotNull List dockAncestors) {
+
+		// Add the dock itself.
+		dockAncestors.add(dock);
 
 		// Get the first ancestor of type Dock.
-		Component dockAncestor = SwingUtilities.getAncestorOfClass(Dock.class, component);
+		Component dockAncestor = SwingUtilities.getAncestorOfClass(Dock.class, dock);
 		while (dockAncestor != null) {
 			// Add to the list of ancestors.
 			dockAncestors.add(dockAncestor);
@@ -372,56 +299,20 @@ public class DynamicDockRetriever implements DockRetriever {
 			dockAncestor = SwingUtilities.getAncestorOfClass(Dock.class, dockAncestor);
 		}
 
-		return dockAncestors;
 	}
 
 	/**
-	 * Determines if the dragged dockable is currently floating.
-	 * It is floating, when its root dock is a {@link FloatDock} and
-	 * if the dragged dockable is the only dockable in the child docks of the float dock.
+	 * Adds the elements of a list to another list, without creating an array like java.util.List#addAll does.
 	 *
-	 * @return True if the dragged dockable is currently floating, false otherwise.
+	 * @param source      The list with the elements.
+	 * @param destination The list to which the elements are added.
 	 */
-	private boolean isFloating() {
-
-		// Get the root dock and the dock under the root.
-		/**
-		 * The root dock of the dock, where the dockable is currently docked.
-		 */
-		Dock currentRootDock = currentDockable.getDock();
-		currentChildOfRootDock = null;
-		while (currentRootDock.getParentDock() != null) {
-			currentChildOfRootDock = currentRootDock;
-			currentRootDock = currentRootDock.getParentDock();
-		}
+	private void addAll(@NotNull List source, @NotNull List destination) {
 
-		// Is the root dock the float dock?
-		if (currentRootDock instanceof FloatDock) {
-			// Is the dockable already in this dock and are there no others?
-			List childrenOfDockable = new ArrayList();
-			List childrenOfDock = new ArrayList();
-			DockingUtil.retrieveDockables(currentDockable, childrenOfDockable);
-			DockingUtil.retrieveDockables(currentChildOfRootDock, childrenOfDock);
-			return CollectionUtil.sameElements(childrenOfDockable, childrenOfDock);
+		for (int index = 0; index < source.size(); index++) {
+			destination.add(source.get(index));
 		}
 
-		return false;
-
-	}
-
-	/**
-	 * This class keeps 2 lists with docks, where a dockable can be docked.
-	 * There is a list with the preference docks.
-	 * There is another list with the docks, that will be used if the preference docks
-	 * cannot be used.
-	 *
-	 * @author Heidi Rakels.
-	 */
-	private static class DockPossibilities {
-		@Nullable
-		List preferenceDocks;
-		@Nullable
-		List reserveDocks;
 	}
 
 }
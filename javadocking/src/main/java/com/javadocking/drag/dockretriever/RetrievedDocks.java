@@ -0,0 +1,140 @@
+package com.javadocking.drag.dockretriever;
+
+import com.javadocking.dock.Dock;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * The result of {@link DockRetriever#retrieveHighestPriorityDock(Point, com.javadocking.drag.DragSession, RetrievedDocks)}.
+ * </p>
+ * <p>
+ * The result contains 0, 1 or 2 docks. When there are 2 docks, the first dock is the preferred dock and
+ * the second dock can be used, when the first dock cannot be used.
+ * </p>
+ * <p>
+ * The same object is filled again for every mouse event during dragging, so that no objects have to be created.
+ * It also contains the lists and points that the dock retrievers of this package use while they are searching.
+ * The {@link com.javadocking.drag.DragSession} has a result object for its dragger.
+ * </p>
+ */
+public class RetrievedDocks {
+
+	// Fields.
+
+	/**
+	 * The retrieved docks.
+	 */
+	@NotNull
+	private Dock[] docks = new Dock[2];
+	/**
+	 * The number of retrieved docks.
+	 */
+	private int dockCount;
+
+	// For the dock retrievers.
+	/**
+	 * The list with the preferred docks under the mouse location.
+	 */
+	@NotNull
+	final List preferenceDocks = new ArrayList();
+	/**
+	 * The list with the docks under the mouse location, that are used when the preferred docks cannot be used.
+	 */
+	@NotNull
+	final List reserveDocks = new ArrayList();
+	/**
+	 * The mouse location relative to a possible dock.
+	 */
+	@NotNull
+	final Point relativeLocation = new Point();
+
+	// Public methods.
+
+	/**
+	 * Gets the number of retrieved docks.
+	 *
+	 * @return The number of retrieved docks: 0, 1 or 2. 0 when no dock was found.
+	 */
+	public int getDockCount() {
+		return dockCount;
+	}
+
+	/**
+	 * Gets the retrieved dock with the given index.
+	 *
+	 * @param index The index of the dock.
+	 * @return The retrieved dock with the given index. The first dock can be null, when there were docks
+	 * under the mouse location, but none of them can dock the dockable.
+	 * @throws IndexOutOfBoundsException If the index is not smaller than the number of retrieved docks.
+	 */
+	@Nullable
+	public Dock getDock(int index) {
+
+		if ((index < 0) || (index >= dockCount)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Dock count: " + dockCount);
+		}
+		return docks[index];
+
+	}
+
+	/**
+	 * Sets one retrieved dock.
+	 *
+	 * @param dock The retrieved dock.
+	 */
+	public void setDocks(@Nullable Dock dock) {
+
+		docks[0] = dock;
+		docks[1] = null;
+		dockCount = 1;
+
+	}
+
+	/**
+	 * Sets two retrieved docks.
+	 *
+	 * @param preferenceDock The preferred dock.
+	 * @param reserveDock    The dock that is used, when the preferred dock cannot be used.
+	 */
+	public void setDocks(@Nullable Dock preferenceDock, @Nullable Dock reserveDock) {
+
+		docks[0] = preferenceDock;
+		docks[1] = reserveDock;
+		dockCount = 2;
+
+	}
+
+	/**
+	 * Removes the retrieved docks.
+	 */
+	public void clear() {
+
+		docks[0] = null;
+		docks[1] = null;
+		dockCount = 0;
+
+	}
+
+	/**
+	 * Creates an array with the retrieved docks.
+	 *
+	 * @return An array with the retrieved docks. Null when no dock was retrieved.
+	 */
+	@Nullable
+	public Dock[] toArray() {
+
+		if (dockCount == 0) {
+			return null;
+		}
+		Dock[] result = new Dock[dockCount];
+		System.arraycopy(docks, 0, result, 0, dockCount);
+		return result;
+
+	}
+
+}
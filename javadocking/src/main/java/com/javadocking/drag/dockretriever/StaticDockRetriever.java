@@ -1,24 +1,18 @@
 package com.javadocking.drag.dockretriever;
 
-import com.javadocking.DockingManager;
 import com.javadocking.dock.Dock;
 import com.javadocking.dock.FloatDock;
 import com.javadocking.dock.Priority;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockingMode;
-import com.javadocking.model.DockModel;
-import com.javadocking.model.DockModelUtil;
-import com.javadocking.util.DockingUtil;
+import com.javadocking.drag.DragSession;
 import com.javadocking.util.SwingUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 /**
  * <p>
@@ -47,25 +41,44 @@ public class StaticDockRetriever implements DockRetriever {
 
 	@Nullable
 	public Dock[] retrieveHighestPriorityDock(@NotNull Point screenLocation, @NotNull Dockable dockable) {
+		return retrieveHighestPriorityDock(screenLocation, new DragSession(dockable));
+	}
+
+	@Nullable
+	public Dock[] retrieveHighestPriorityDock(@NotNull Point screenLocation, @NotNull DragSession dragSession) {
+
+		RetrievedDocks retrievedDocks = new RetrievedDocks();
+		retrieveHighestPriorityDock(screenLocation, dragSession, retrievedDocks);
+		return retrievedDocks.toArray();
+
+	}
+
+	public void retrieveHighestPriorityDock(@NotNull Point screenLocation, @NotNull DragSession dragSession, @NotNull RetrievedDocks retrievedDocks) {
+
+		retrievedDocks.clear();
 
 		// Get the list with the docks under this position. The deepest docks first.
-		List possibleDocks = retrieveDocksOfPosition(screenLocation, dockable);
+		Dockable dockable = dragSession.getDockable();
+		List possibleDocks = retrievedDocks.preferenceDocks;
+		possibleDocks.clear();
+		retrieveDocksOfPosition(screenLocation, dragSession, possibleDocks, retrievedDocks.relativeLocation);
 
 		// Did we find docks?
-		if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
+		if (possibleDocks.size() > 0) {
 			// The dock that has the highest priority of the docks that are scanned already.
 			Dock dockWithHighestPriority = null;
 			int highestPriority = Priority.CANNOT_DOCK;
 
 			// Get the first dock in the list with highest priority.
 			// Iterate over the docks.
-			for (Object possibleDock1 : possibleDocks) {
-				Dock possibleDock = (Dock) possibleDock1;
+			Point relativeLocation = retrievedDocks.relativeLocation;
+			for (int index = 0; index < possibleDocks.size(); index++) {
+				Dock possibleDock = (Dock) possibleDocks.get(index);
 
 				// Get the mouse location for the possible dock.
-				Point relativeLocation = new Point(screenLocation.x, screenLocation.y);
+				relativeLocation.setLocation(screenLocation.x, screenLocation.y);
 				if (possibleDock instanceof Component) {
-					SwingUtilities.convertPointFromScreen(relativeLocation, (Component) possibleDock);
+					dragSession.convertPointFromScreen(relativeLocation, (Component) possibleDock);
 				}
 
 				// Get the priority for adding the dockable to this dock.
@@ -80,99 +93,68 @@ public class StaticDockRetriever implements DockRetriever {
 			}
 
 			// The dock with the highest priority.
-			Dock[] docks = new Dock[1];
-			docks[0] = dockWithHighestPriority;
-			return docks;
+			retrievedDocks.setDocks(dockWithHighestPriority);
 		}
 
-		// No dock found.
-		return null;
 	}
 
 	// Private metods.
 
-	private List retrieveDocksOfPosition(@NotNull Point screenLocation, @NotNull Dockable dockable) {
-
-		// Get the dock model.
-		DockModel dockModel = DockingManager.getDockModel();
-		if (dockModel == null) {
-			throw new NullPointerException("Dock model of docking manager null.");
-		}
-
-		// Get the owner window ID where this dockable is currently docked.
-		Window currentOwner = null;
-		if (dockable.getDock() != null) {
-			Dock rootDock = DockingUtil.getRootDock(dockable.getDock());
-			String rootDockKey = DockingUtil.getRootDockKey(rootDock);
-			currentOwner = DockingUtil.getWindowOwner(rootDockKey);
-		}
-
-		// Try to find a non empty list of docks in the current owner window.
-		if (currentOwner != null) {
-			List possibleDocks = retrieveDocksOfPosition(screenLocation, currentOwner, dockable);
-			if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
-				return possibleDocks;
-			}
-		}
-
-		// Iterate over the other owner windows until we find a non empty list of docks.
-		for (int ownerIndex = 0; ownerIndex < dockModel.getOwnerCount(); ownerIndex++) {
-			Window owner = dockModel.getOwner(ownerIndex);
-			if (!owner.equals(currentOwner)) {
-				List possibleDocks = retrieveDocksOfPosition(screenLocation, owner, dockable);
-				if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
-					return possibleDocks;
-				}
+	/**
+	 * Adds the docks that are under the given screen location to the list.
+	 * The deeper docks are first in the list.
+	 *
+	 * @param screenLocation The screen location where the docks are searched.
+	 * @param dragSession    The snapshot of the current drag.
+	 * @param possibleDocks  The empty list to which the docks are added.
+	 * @param helpLocation   A point that can be used for the calculations.
+	 */
+	private void retrieveDocksOfPosition(@NotNull Point screenLocation, @NotNull DragSession dragSession, @NotNull List possibleDocks, @NotNull Point helpLocation) {
+
+		// Iterate over the owner windows until we find a non empty list of docks.
+		// The owner window where this dockable is currently docked is the first.
+		List ownerWindows = dragSession.getOwnerWindows();
+		for (int index = 0; index < ownerWindows.size(); index++) {
+			if (retrieveDocksOfPosition(screenLocation, (Window) ownerWindows.get(index), dragSession, possibleDocks, helpLocation)) {
+				return;
 			}
 		}
 
 		// Create a list with only the float dock of the owner window.
 		// Check first if this dock may float.
-		if ((dockable.getDockingModes() & DockingMode.FLOAT) != 0) {
+		if ((dragSession.getDockable().getDockingModes() & DockingMode.FLOAT) != 0) {
+			Window currentOwner = dragSession.getOwnerWindow();
 			if (currentOwner == null) {
-				if (dockModel.getOwnerCount() > 0) {
-					currentOwner = dockModel.getOwner(0);
+				if (ownerWindows.size() > 0) {
+					currentOwner = (Window) ownerWindows.get(0);
 				}
 			}
 			if (currentOwner != null) {
-				Set floatDocks = DockModelUtil.getVisibleFloatDocks(dockModel, currentOwner);
-				if (floatDocks.size() != 0) {
-					return new ArrayList(floatDocks);
-				}
-
-				return null;
+				addAll(dragSession.getVisibleFloatDocks(currentOwner), possibleDocks);
 			}
 		}
 
-		// We couldn't find a dock.
-		return null;
 	}
 
-	// Private metods.
-
 	/**
-	 * Retrieves the docks that are under the given screen location.
+	 * Adds the docks that are under the given screen location to the list.
 	 * The deeper docks are first in the list. Only docks of the given owner
 	 * are added to the list.
 	 *
 	 * @param screenLocation The screen location where the docks are searched.
 	 * @param ownerWindow    Only docks with this window as owner are added to the list.
-	 * @param dockable       The dockable that has to be added to a new dock.
-	 * @return The list of docks under the given screen location. The deepest docks are first.
+	 * @param dragSession    The snapshot of the current drag.
+	 * @param possibleDocks  The empty list to which the docks are added.
+	 * @param helpLocation   A point that can be used for the calculations.
+	 * @return True if docks were added to the list, false otherwise.
 	 */
-	private List retrieveDocksOfPosition(@NotNull Point screenLocation, Window ownerWindow, @NotNull Dockable dockable) {
-
-		// Get the dock model.
-		DockModel dockModel = DockingManager.getDockModel();
-		if (dockModel == null) {
-			throw new NullPointerException("Dock model of docking manager null.");
-		}
-
+	private boolean retrieveDocksOfPosition(@NotNull Point screenLocation, Window ownerWindow, @NotNull DragSession dragSession, @NotNull List possibleDocks, @NotNull Point helpLocation) {
 
 		// Get the float root dock.
-		Set floatDocks = DockModelUtil.getVisibleFloatDocks(dockModel, ownerWindow);
-		for (Object floatDock1 : floatDocks) {
-			FloatDock floatDock = (FloatDock) floatDock1;
+		Dockable dockable = dragSession.getDockable();
+		List floatDocks = dragSession.getVisibleFloatDocks(ownerWindow);
+		for (int floatIndex = 0; floatIndex < floatDocks.size(); floatIndex++) {
+			FloatDock floatDock = (FloatDock) floatDocks.get(floatIndex);
 
 			// Iterate first over the children of the float dock. These children are the floating windows.
 			// Check first if this dock may float.
@@ -181,17 +163,17 @@ public class StaticDockRetriever implements DockRetriever {
 				for (int index = 0; index < floatDock.getChildDockCount(); index++) {
 					Dock childDock = floatDock.getChildDock(index);
 
-					// Retrieve the possible docks for this child dock.
-					List possibleDocks = retrieveDocksOfPosition(screenLocation, childDock);
+					// Retrieve the deepest dock for this child dock.
+					Component deepestDock = retrieveDeepestDock(screenLocation, childDock, dragSession, helpLocation);
 
 					// Did we find docks to add the dockable?
-					if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
-						// Stop searching. Add also the float dock as last possible dock.
+					if (deepestDock != null) {
+						// Stop searching. Add the docks and also the float dock as last possible dock.
+						addDockAncestors(deepestDock, possibleDocks);
 						possibleDocks.add(floatDock);
 
-						// Return the list of docks.
 						if (TEST) System.out.println("in float child");
-						return possibleDocks;
+						return true;
 
 					}
 				}
@@ -199,101 +181,78 @@ public class StaticDockRetriever implements DockRetriever {
 		}
 
 		// Iterate over the root docks of the owner that are not the float dock.
-		List listWithPossibleDocksLists = new ArrayList();
-		Iterator dockIdIterator = dockModel.getRootKeys(ownerWindow);
-		while (dockIdIterator.hasNext()) {
-			// Get the next root dock ID and verify it is not the ID of the float dock.
-			String rootDockId = (String) dockIdIterator.next();
-			Dock rootDock = dockModel.getRootDock(rootDockId);
-			if (rootDock instanceof Component) {
-				// Check if the root dock is visible.
-				boolean visible = SwingUtil.locationInComponentVisible(screenLocation, (Component) rootDock);
-				if (visible) {
-					// Retrieve the possible docks for this root dock.
-					List possibleDocks = retrieveDocksOfPosition(screenLocation, rootDock);
-
-					// Did we find docks to add the dockable?
-					if ((possibleDocks != null) && (possibleDocks.size() > 0)) {
-						// Stop searching. Add also the float dock as last possible dock.
-						possibleDocks.addAll(floatDocks);
-
-						// Add the list of docks.
-						listWithPossibleDocksLists.add(possibleDocks);
-					}
+		// Search the root dock with the deepest dock.
+		Component result = null;
+		List rootDocks = dragSession.getComponentRootDocks(ownerWindow);
+		for (int index = 0; index < rootDocks.size(); index++) {
+			Dock rootDock = (Dock) rootDocks.get(index);
+
+			// Check if the root dock is visible.
+			boolean visible = dragSession.isLocationInRootDockVisible(screenLocation, (Component) rootDock);
+			if (visible) {
+				// Retrieve the deepest dock for this root dock.
+				Component deepestDock = retrieveDeepestDock(screenLocation, rootDock, dragSession, helpLocation);
+				if ((deepestDock != null) && ((result == null) || (SwingUtilities.isDescendingFrom(deepestDock, result)))) {
+					result = deepestDock;
 				}
 			}
 		}
 
-		// Did we find exactly one list?
-		if (listWithPossibleDocksLists.size() == 1) {
-			return (List) listWithPossibleDocksLists.get(0);
+		// Did we find docks to add the dockable?
+		if (result != null) {
+			// Add the docks and also the float docks as last possible docks.
+			addDockAncestors(result, possibleDocks);
+			addAll(floatDocks, possibleDocks);
+			return true;
 		}
 
-		// Did we find more lists?
-		if (listWithPossibleDocksLists.size() > 0) {
-			// Search the list with the deepest components.
-			List result = (List) listWithPossibleDocksLists.get(0);
-			Component resultComponent = (Component) result.get(0);
-			int nextListIndex = 1;
-			while (nextListIndex < listWithPossibleDocksLists.size()) {
-				List nextList = (List) listWithPossibleDocksLists.get(nextListIndex);
-				Component nextListComponent = (Component) nextList.get(0);
-				if (SwingUtilities.isDescendingFrom(nextListComponent, resultComponent)) {
-					result = nextList;
-					resultComponent = nextListComponent;
-				}
-				nextListIndex++;
-			}
-			return result;
-		}
-
-		return null;
+		return false;
 	}
 
 	/**
-	 * Retrieves the docks that are under the given screen location.
-	 * The deeper docks are first in the list. Only child docks of the given root dock or the root dock itself
-	 * are added to the list.
+	 * Retrieves the deepest dock that is under the given screen location.
+	 * Only child docks of the given root dock or the root dock itself are searched.
 	 *
-	 * @param screenLocation The screen location where the docks are searched.
-	 * @param rootDock       Only child docks of this dock or the dock itself are added to the list.
-	 * @return The list of docks under the given screen location. The deepest docks are first.
+	 * @param screenLocation The screen location where the dock is searched.
+	 * @param rootDock       Only child docks of this dock or the dock itself are searched.
+	 * @param dragSession    The snapshot of the current drag.
+	 * @param rootLocation   This point gets the mouse location relative to the root dock.
+	 * @return The deepest dock under the given screen location. Null if there is no dock.
 	 */
-	private List retrieveDocksOfPosition(Point screenLocation, Dock rootDock) {
+	@Nullable
+	private Component retrieveDeepestDock(@NotNull Point screenLocation, Dock rootDock, @NotNull DragSession dragSession, @NotNull Point rootLocation) {
+
 		// Get the relative mouse location.
-		Point rootLocation = new Point(screenLocation.x, screenLocation.y);
-		SwingUtilities.convertPointFromScreen(rootLocation, (Component) rootDock);
+		rootLocation.setLocation(screenLocation.x, screenLocation.y);
+		dragSession.convertPointFromScreen(rootLocation, (Component) rootDock);
 
 		// Get the deepest child under this location, if it exists.
-		Component component = SwingUtilities.getDeepestComponentAt((Component) rootDock, rootLocation.x, rootLocation.y);
+		Component component = SwingUtil.getDeepestComponentAt((Component) rootDock, rootLocation.x, rootLocation.y);
 		if (component != null) {
-			// Return the ancestors of type Dock.
-			return getDockAncestors(component);
+			// Return the component or its first ancestor of type Dock.
+			if (component instanceof Dock) {
+				return component;
+			}
+			return SwingUtilities.getAncestorOfClass(Dock.class, component);
 		}
 
 		return null;
 	}
 
 	/**
-	 * Creates the list with the dock components that contain the given component. Only the components of type
-	 * {@link Dock} are added to the list. The deepest docks are first in the list. The given component is also
-	 * added to the list if its a dock.
+	 * Adds the given dock and the dock components that contain the given dock to the list.
+	 * Only the components of type {@link Dock} are added to the list. The deepest docks are first in the list.
 	 *
-	 * @param component The component of which the dock ancestors are searched.
-	 * @return The list with the components of type {@link Dock} that contain the given component.
+	 * @param dock          The deepest dock.
+	 * @param dockAncestors The list to which the dock and its ancestors of type {@link Dock} are added.
 	 */
-	@NotNull
-	private List getDockAncestors(Component component) {
-		// Create the list for the ancestors.
-		List dockAncestors = new ArrayList();
-
-		// Add the component itself if it is a Dock class.
-		if (component instanceof Dock) {
-			dockAncestors.add(component);
-		}
+	private void addDockAncestors(@NotNull Component dock, @NotNull List dockAncestors) {
+
+		// Add the dock itself.
+		dockAncestors.add(dock);
 
 		// Get the first ancestor of type Dock.
-		Component dockAncestor = SwingUtilities.getAncestorOfClass(Dock.class, component);
+		Component dockAncestor = SwingUtilities.getAncestorOfClass(Dock.class, dock);
 		while (dockAncestor != null) {
 			// Add to the list of ancestors.
 			dockAncestors.add(dockAncestor);
@@ -302,7 +261,20 @@ public class StaticDockRetriever implements DockRetriever {
 			dockAncestor = SwingUtilities.getAncestorOfClass(Dock.class, dockAncestor);
 		}
 
-		return dockAncestors;
+	}
+
+	/**
+	 * Adds the elements of a list to another list, without creating an array like java.util.List#addAll does.
+	 *
+	 * @param source      The list with the elements.
+	 * @param destination The list to which the elements are added.
+	 */
+	private void addAll(@NotNull List source, @NotNull List destination) {
+
+		for (int index = 0; index < source.size(); index++) {
+			destination.add(source.get(index));
+		}
+
 	}
 
 }
@@ -0,0 +1,472 @@
+package com.javadocking.drag.painter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * This rectangle painter paints the same rectangles as a {@link DefaultRectanglePainter}, but with images
+ * that are rendered only once.
+ * </p>
+ * <p>
+ * The border and the fill of the rectangle are rendered in a small image. This image is split in 9 parts:
+ * the 4 corners are painted with their size, the 4 borders and the middle are stretched.
+ * So a rectangle of any size is painted with 8 <code>drawImage</code> calls and one <code>fillRect</code> for the middle.
+ * The images of the labels are also kept for the last used labels.
+ * </p>
+ * <p>
+ * The images are rendered again, when a property of the default rectangle painter is changed.
+ * </p>
+ * <p>
+ * When the stroke of the default rectangle painter is not a java.awt.BasicStroke without dashes,
+ * or when the rectangle is too small for the corners, the default rectangle painter paints the rectangle itself.
+ * </p>
+ */
+public class CachingRectanglePainter implements RectanglePainter {
+
+	// Static fields.
+
+	/**
+	 * The width and height of the middle part of the rendered rectangle image.
+	 */
+	private static final int MIDDLE_SIZE = 4;
+	/**
+	 * The maximum number of label images that are kept.
+	 */
+	private static final int MAX_LABEL_IMAGES = 16;
+	/**
+	 * The space between the label text and the label border.
+	 */
+	private static final int LABEL_MARGIN = 10;
+	/**
+	 * The rendering hints of the target graphics that are used for rendering the label images,
+	 * so that the labels look like the labels of the {@link DefaultRectanglePainter}.
+	 */
+	private static final RenderingHints.Key[] LABEL_HINT_KEYS = {
+			RenderingHints.KEY_ANTIALIASING,
+			RenderingHints.KEY_TEXT_ANTIALIASING,
+			RenderingHints.KEY_TEXT_LCD_CONTRAST,
+			RenderingHints.KEY_FRACTIONALMETRICS,
+			RenderingHints.KEY_RENDERING};
+
+	// Fields.
+
+	/**
+	 * The painter that renders the images.
+	 */
+	@NotNull
+	private DefaultRectanglePainter rectanglePainter;
+	/**
+	 * The label that is painted in the middle of the rectangle.
+	 */
+	@Nullable
+	private String label;
+	/**
+	 * The image with the border and the fill of a small rectangle.
+	 */
+	@Nullable
+	private BufferedImage rectangleImage;
+	/**
+	 * The width of the left and right parts of the rectangle image.
+	 */
+	private int horizontalInset;
+	/**
+	 * The height of the top and bottom parts of the rectangle image.
+	 */
+	private int verticalInset;
+	/**
+	 * The color of the middle of the rectangle image.
+	 */
+	@NotNull
+	private Color middleColor = new Color(0, 0, 0, 0);
+	/**
+	 * The images of the last used labels. The keys are {@link LabelKey}s, the values are {@link LabelImage}s.
+	 */
+	@NotNull
+	private Map labelImages = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > MAX_LABEL_IMAGES;
+		}
+	};
+	/**
+	 * The modification count of the rectangle painter, when the images were rendered.
+	 */
+	private int renderedModificationCount = -1;
+
+	// Constructors.
+
+	/**
+	 * Constructs a caching painter for a new {@link DefaultRectanglePainter}.
+	 */
+	public CachingRectanglePainter() {
+		this(new DefaultRectanglePainter());
+	}
+
+	/**
+	 * Constructs a caching painter for the given rectangle painter.
+	 *
+	 * @param rectanglePainter The painter that defines how the rectangles look like.
+	 */
+	public CachingRectanglePainter(@NotNull DefaultRectanglePainter rectanglePainter) {
+		this.rectanglePainter = rectanglePainter;
+	}
+
+	// Implementations of RectanglePainter.
+
+	public void paintRectangle(@NotNull Graphics graphics, int x, int y, int width, int height) {
+
+		// Are the images outdated?
+		if (renderedModificationCount != rectanglePainter.getModificationCount()) {
+			invalidate();
+		}
+
+		// Can we paint with the image?
+		if (!isCacheable()) {
+			paintWithRectanglePainter(graphics, x, y, width, height);
+			return;
+		}
+		computeInsets();
+		if ((width < 2 * horizontalInset + 1) || (height < 2 * verticalInset + 1)) {
+			paintWithRectanglePainter(graphics, x, y, width, height);
+			return;
+		}
+
+		// Paint the border and the fill.
+		if (rectangleImage == null) {
+			rectangleImage = renderRectangleImage();
+			middleColor = new Color(rectangleImage.getRGB(rectangleImage.getWidth() / 2, rectangleImage.getHeight() / 2), true);
+		}
+		paintNineSlice(graphics, rectangleImage, x, y, width, height);
+
+		// Paint the label.
+		String labelToPaint = getLabelToPaint();
+		if (labelToPaint != null) {
+			LabelImage labelImage = getLabelImage(graphics, labelToPaint);
+			graphics.drawImage(labelImage.image, x + width / 2 - labelImage.offsetX, y + height / 2 - labelImage.offsetY, null);
+		}
+
+	}
+
+	public void setLabel(@Nullable String label) {
+		this.label = label;
+	}
+
+	// Public methods.
+
+	/**
+	 * Forgets all the rendered images. They are rendered again, when they are needed.
+	 */
+	public void invalidate() {
+
+		if (rectangleImage != null) {
+			rectangleImage.flush();
+			rectangleImage = null;
+		}
+		labelImages.clear();
+		renderedModificationCount = rectanglePainter.getModificationCount();
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the painter that defines how the rectangles look like.
+	 * When its properties are changed, the images are rendered again.
+	 *
+	 * @return The painter that defines how the rectangles look like.
+	 */
+	@NotNull
+	public DefaultRectanglePainter getRectanglePainter() {
+		return rectanglePainter;
+	}
+
+	/**
+	 * Gets the label that is painted in the middle of the rectangle.
+	 *
+	 * @return The label that is painted in the middle of the rectangle.
+	 */
+	@Nullable
+	public String getLabel() {
+		return label;
+	}
+
+	// Private metods.
+
+	/**
+	 * Determines if the rectangle can be painted with a stretched image.
+	 *
+	 * @return True if the stroke of the rectangle painter is null, or a java.awt.BasicStroke without dashes.
+	 */
+	private boolean isCacheable() {
+
+		Stroke stroke = rectanglePainter.getStroke();
+		return (stroke == null) || ((stroke instanceof BasicStroke) && (((BasicStroke) stroke).getDashArray() == null));
+
+	}
+
+	/**
+	 * Computes the sizes of the parts of the rectangle image that may not be stretched.
+	 */
+	private void computeInsets() {
+
+		int strokeWidth = 1;
+		Stroke stroke = rectanglePainter.getStroke();
+		if (stroke instanceof BasicStroke) {
+			strokeWidth = (int) Math.ceil(((BasicStroke) stroke).getLineWidth());
+		}
+		int borderWidth = Math.max(0, rectanglePainter.getBorderCount() * rectanglePainter.getBorderShift());
+		horizontalInset = borderWidth + rectanglePainter.getArcWidth() / 2 + strokeWidth + 2;
+		verticalInset = borderWidth + rectanglePainter.getArcHeight() / 2 + strokeWidth + 2;
+
+	}
+
+	/**
+	 * Lets the rectangle painter paint the rectangle with the label of this painter.
+	 */
+	private void paintWithRectanglePainter(@NotNull Graphics graphics, int x, int y, int width, int height) {
+
+		String oldLabel = rectanglePainter.getLabel();
+		rectanglePainter.setLabel(getLabelToPaint());
+		rectanglePainter.paintRectangle(graphics, x, y, width, height);
+		rectanglePainter.setLabel(oldLabel);
+
+	}
+
+	/**
+	 * Renders the border and the fill of the smallest rectangle that can be stretched.
+	 *
+	 * @return The rendered image.
+	 */
+	@NotNull
+	private BufferedImage renderRectangleImage() {
+
+		int imageWidth = 2 * horizontalInset + MIDDLE_SIZE;
+		int imageHeight = 2 * verticalInset + MIDDLE_SIZE;
+		BufferedImage image = createCompatibleImage(imageWidth, imageHeight);
+		Graphics2D graphics = image.createGraphics();
+		String oldLabel = rectanglePainter.getLabel();
+		try {
+			rectanglePainter.setLabel(null);
+			rectanglePainter.paintRectangle(graphics, 0, 0, imageWidth, imageHeight);
+		} finally {
+			rectanglePainter.setLabel(oldLabel);
+			graphics.dispose();
+		}
+		return image;
+
+	}
+
+	/**
+	 * Paints the image with the given size. The corners keep their size, the other parts are stretched.
+	 */
+	private void paintNineSlice(@NotNull Graphics graphics, @NotNull BufferedImage image, int x, int y, int width, int height) {
+
+		int imageWidth = image.getWidth();
+		int imageHeight = image.getHeight();
+		int left = horizontalInset;
+		int top = verticalInset;
+		int[] sourceX = {0, left, imageWidth - left, imageWidth};
+		int[] sourceY = {0, top, imageHeight - top, imageHeight};
+		int[] destinationX = {x, x + left, x + width - left, x + width};
+		int[] destinationY = {y, y + top, y + height - top, y + height};
+		for (int row = 0; row < 3; row++) {
+			for (int column = 0; column < 3; column++) {
+				if ((row == 1) && (column == 1)) {
+					// The middle has only one color. Filling is faster than stretching.
+					if (middleColor.getAlpha() > 0) {
+						Color oldColor = graphics.getColor();
+						graphics.setColor(middleColor);
+						graphics.fillRect(destinationX[1], destinationY[1], destinationX[2] - destinationX[1], destinationY[2] - destinationY[1]);
+						graphics.setColor(oldColor);
+					}
+					continue;
+				}
+				graphics.drawImage(image,
+						destinationX[column], destinationY[row], destinationX[column + 1], destinationY[row + 1],
+						sourceX[column], sourceY[row], sourceX[column + 1], sourceY[row + 1],
+						null);
+			}
+		}
+
+	}
+
+	/**
+	 * Gets the label that has to be painted: the label of this painter, or else the label of the rectangle painter.
+	 *
+	 * @return The label that has to be painted. Null when there is no label.
+	 */
+	@Nullable
+	private String getLabelToPaint() {
+		return label != null ? label : rectanglePainter.getLabel();
+	}
+
+	/**
+	 * Gets the image of the label with the font and the rendering hints of the given graphics.
+	 * It is rendered, when there is no image yet.
+	 *
+	 * @param targetGraphics The graphics on which the label will be painted.
+	 * @param labelText      The label.
+	 * @return The image of the label.
+	 */
+	@NotNull
+	private LabelImage getLabelImage(@NotNull Graphics targetGraphics, @NotNull String labelText) {
+
+		Font font = targetGraphics.getFont();
+		Object[] hintValues = new Object[LABEL_HINT_KEYS.length];
+		if (targetGraphics instanceof Graphics2D) {
+			for (int index = 0; index < LABEL_HINT_KEYS.length; index++) {
+				hintValues[index] = ((Graphics2D) targetGraphics).getRenderingHint(LABEL_HINT_KEYS[index]);
+			}
+		}
+		LabelKey key = new LabelKey(labelText, font, hintValues);
+		LabelImage labelImage = (LabelImage) labelImages.get(key);
+		if (labelImage != null) {
+			return labelImage;
+		}
+
+		// Measure the label like the default rectangle painter.
+		BufferedImage measureImage = createCompatibleImage(1, 1);
+		Graphics2D measureGraphics = measureImage.createGraphics();
+		setRenderingHints(measureGraphics, hintValues);
+		if (font != null) {
+			measureGraphics.setFont(font);
+		}
+		FontMetrics fontMetrics = measureGraphics.getFontMetrics();
+		measureGraphics.dispose();
+		int textWidth = fontMetrics.stringWidth(labelText);
+		int textHeight = fontMetrics.getAscent() - fontMetrics.getLeading();
+		int labelWidth = textWidth + LABEL_MARGIN;
+		int labelHeight = textHeight + LABEL_MARGIN;
+
+		// Render the label with its background and border. The border is painted with the stroke of the rectangle.
+		Stroke stroke = rectanglePainter.getStroke();
+		int padding = 0;
+		if (stroke instanceof BasicStroke) {
+			padding = (int) Math.ceil(((BasicStroke) stroke).getLineWidth());
+		}
+		BufferedImage image = createCompatibleImage(labelWidth + 1 + 2 * padding, labelHeight + 1 + 2 * padding);
+		Graphics2D graphics = image.createGraphics();
+		try {
+			setRenderingHints(graphics, hintValues);
+			graphics.translate(padding, padding);
+			if (stroke != null) {
+				graphics.setStroke(stroke);
+			}
+			if (font != null) {
+				graphics.setFont(font);
+			}
+			graphics.setColor(rectanglePainter.getLabelBackground());
+			graphics.fillRect(0, 0, labelWidth, labelHeight);
+			graphics.setColor(rectanglePainter.getLabelBorderColor());
+			graphics.drawRect(0, 0, labelWidth, labelHeight);
+			graphics.setColor(rectanglePainter.getLabelForeground());
+			graphics.drawString(labelText, labelWidth / 2 - textWidth / 2, labelHeight / 2 + textHeight / 2);
+		} finally {
+			graphics.dispose();
+		}
+
+		labelImage = new LabelImage(image, labelWidth / 2 + padding, labelHeight / 2 + padding);
+		labelImages.put(key, labelImage);
+		return labelImage;
+
+	}
+
+	/**
+	 * Gives the graphics of a label image the rendering hints of the target graphics.
+	 *
+	 * @param graphics   The graphics of the label image.
+	 * @param hintValues The values of the {@link #LABEL_HINT_KEYS} in the target graphics. A null value is not set.
+	 */
+	private static void setRenderingHints(@NotNull Graphics2D graphics, @NotNull Object[] hintValues) {
+
+		for (int index = 0; index < LABEL_HINT_KEYS.length; index++) {
+			if (hintValues[index] != null) {
+				graphics.setRenderingHint(LABEL_HINT_KEYS[index], hintValues[index]);
+			}
+		}
+
+	}
+
+	@NotNull
+	private BufferedImage createCompatibleImage(int width, int height) {
+
+		if (!GraphicsEnvironment.isHeadless()) {
+			GraphicsConfiguration graphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+			return graphicsConfiguration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		}
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+	}
+
+	// Private classes.
+
+	/**
+	 * The key of a label image: the label, the font and the rendering hints of the target graphics.
+	 */
+	private static class LabelKey {
+
+		// Fields.
+
+		@NotNull
+		private String label;
+		@Nullable
+		private Font font;
+		@NotNull
+		private Object[] hintValues;
+
+		// Constructors.
+
+		private LabelKey(@NotNull String label, @Nullable Font font, @NotNull Object[] hintValues) {
+			this.label = label;
+			this.font = font;
+			this.hintValues = hintValues;
+		}
+
+		// Overwritten methods.
+
+		public boolean equals(Object object) {
+
+			if (!(object instanceof LabelKey)) {
+				return false;
+			}
+			LabelKey other = (LabelKey) object;
+			return label.equals(other.label) && (font == null ? other.font == null : font.equals(other.font))
+					&& Arrays.equals(hintValues, other.hintValues);
+
+		}
+
+		public int hashCode() {
+			return (label.hashCode() * 31 + (font == null ? 0 : font.hashCode())) * 31 + Arrays.hashCode(hintValues);
+		}
+
+	}
+
+	/**
+	 * A rendered label with the offset of the middle of its box in the image.
+	 */
+	private static class LabelImage {
+
+		// Fields.
+
+		@NotNull
+		private BufferedImage image;
+		private int offsetX;
+		private int offsetY;
+
+		// Constructors.
+
+		private LabelImage(@NotNull BufferedImage image, int offsetX, int offsetY) {
+			this.image = image;
+			this.offsetX = offsetX;
+			this.offsetY = offsetY;
+		}
+
+	}
+
+}
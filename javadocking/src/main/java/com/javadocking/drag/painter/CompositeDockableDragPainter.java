@@ -8,7 +8,7 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
 
-public class CompositeDockableDragPainter implements DockableDragPainter {
+public class CompositeDockableDragPainter implements PrefetchingDockableDragPainter {
 
 	@NotNull
 	private List painters = new ArrayList();
@@ -38,5 +38,14 @@ public class CompositeDockableDragPainter implements DockableDragPainter {
 		}
 	}
 
+	public void prefetchDockableDrag(Dockable dockable, Dock dock, Rectangle rectangle) {
+
+		for (Object painter : painters) {
+			if (painter instanceof PrefetchingDockableDragPainter) {
+				((PrefetchingDockableDragPainter) painter).prefetchDockableDrag(dockable, dock, rectangle);
+			}
+		}
+	}
+
 
 }
@@ -79,6 +79,10 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 * The label border.
 	 */
 	private Color labelBorderColor = Color.blue;
+	/**
+	 * Counts the changes of the properties that define how the rectangle looks like. The label is not counted.
+	 */
+	private int modificationCount;
 
 
 	// Implementations of RectanglePainter.
@@ -164,6 +168,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setBorderCount(int borderCount) {
 		this.borderCount = borderCount;
+		modificationCount++;
 	}
 
 	/**
@@ -187,6 +192,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setBorderShift(int borderShift) {
 		this.borderShift = borderShift;
+		modificationCount++;
 	}
 
 	/**
@@ -210,6 +216,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setBorderColor(Color color) {
 		this.borderColor = color;
+		modificationCount++;
 	}
 
 	/**
@@ -229,6 +236,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setStroke(Stroke stroke) {
 		this.stroke = stroke;
+		modificationCount++;
 	}
 
 	/**
@@ -247,6 +255,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setArcHeight(int arcHeight) {
 		this.arcHeight = arcHeight;
+		modificationCount++;
 	}
 
 	/**
@@ -265,6 +274,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setArcWidth(int arcWidth) {
 		this.arcWidth = arcWidth;
+		modificationCount++;
 	}
 
 	/**
@@ -283,6 +293,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setFillColor(Color fillColor) {
 		this.fillColor = fillColor;
+		modificationCount++;
 	}
 
 	/**
@@ -319,6 +330,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setLabelBackground(Color labelBackground) {
 		this.labelBackground = labelBackground;
+		modificationCount++;
 	}
 
 	/**
@@ -337,6 +349,7 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setLabelBorderColor(Color labelBorderColor) {
 		this.labelBorderColor = labelBorderColor;
+		modificationCount++;
 	}
 
 	/**
@@ -355,6 +368,19 @@ public class DefaultRectanglePainter implements RectanglePainter {
 	 */
 	public void setLabelForeground(Color labelForeground) {
 		this.labelForeground = labelForeground;
+		modificationCount++;
+	}
+
+	// Package methods.
+
+	/**
+	 * Gets the number of changes of the properties that define how the rectangle looks like.
+	 * Changing the label is not counted. A {@link CachingRectanglePainter} uses this count to know when its images are outdated.
+	 *
+	 * @return The number of changes of the properties that define how the rectangle looks like.
+	 */
+	int getModificationCount() {
+		return modificationCount;
 	}
 
 
@@ -8,7 +8,6 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 
 /**
  * <p>
@@ -94,10 +93,8 @@ public class ImageDockableDragPainter implements DockableDragPainter {
 			window.dispose();
 			window = null;
 		}
-		if (smallImage != null) {
-			smallImage.flush();
-			smallImage = null;
-		}
+		// The image belongs to the thumbnail cache.
+		smallImage = null;
 
 	}
 
@@ -138,17 +135,9 @@ public class ImageDockableDragPainter implements DockableDragPainter {
 			window.setSize((int) (dockableRectangle.width * actualReduceFactor), (int) (dockableRectangle.height * actualReduceFactor));
 			dockable = newDockable;
 
-			// Create the image.
-			BufferedImage dockableImage = new BufferedImage(dockableComponent.getSize().width, dockableComponent.getSize().height, BufferedImage.TYPE_INT_ARGB);
-			Graphics dockableImageGraphics = dockableImage.getGraphics();
-			dockableComponent.paint(dockableImage.getGraphics());
-			dockableImageGraphics.dispose();
-			smallImage = dockableImage.getScaledInstance(window.getWidth(), window.getHeight(), BufferedImage.SCALE_SMOOTH);
-			dockableImage.flush();
-
-			// NOTE: http://today.java.net/pub/a/today/2007/04/03/perils-of-image-getscaledinstance.html
-			// They say not to use getScaledInstance, but I could not get any better results with the alternatives.
-			// So I continue with: BufferedImage.SCALE_SMOOTH.
+			// Create the image. The thumbnail cache paints the component directly with the size of the window
+			// in a compatible image, that is reused for the next drag of the dockable.
+			smallImage = DockingManager.getThumbnailCache().renderThumbnail(newDockable, window.getSize());
 
 			// Add a component with the image.
 			component = new ImageComponent((int) (dockableRectangle.width * actualReduceFactor), (int) (dockableRectangle.height * actualReduceFactor));
@@ -0,0 +1,37 @@
+package com.javadocking.drag.painter;
+
+import com.javadocking.dock.Dock;
+import com.javadocking.dockable.Dockable;
+
+import java.awt.*;
+
+/**
+ * <p>
+ * This is a {@link DockableDragPainter} that can prepare the resources for painting a dockable in a dock,
+ * before the mouse is over that dock.
+ * </p>
+ * <p>
+ * The {@link com.javadocking.drag.DragPredictor} calls {@link #prefetchDockableDrag(Dockable, Dock, Rectangle)}
+ * for the docks where the mouse will probably be soon. When {@link #paintDockableDrag(Dockable, Dock, Rectangle, Point)}
+ * is called later with the same dockable, dock and rectangle size, the prepared resources should be used,
+ * so that the first paint in a new dock is not slower than the others.
+ * </p>
+ * <p>
+ * Prefetching may not paint anything on the screen.
+ * </p>
+ */
+public interface PrefetchingDockableDragPainter extends DockableDragPainter {
+
+	// Interface methods.
+
+	/**
+	 * Prepares the resources for painting the dockable in the dock. Nothing is painted.
+	 *
+	 * @param dockable  The dockable that will probably be painted.
+	 * @param dock      The dock in which the dockable will probably be painted.
+	 * @param rectangle The rectangle that defines, where the given dockable would be docked for the predicted mouse position.
+	 *                  The position of the rectangle is relative to the given dock.
+	 */
+	void prefetchDockableDrag(Dockable dockable, Dock dock, Rectangle rectangle);
+
+}
@@ -0,0 +1,395 @@
+package com.javadocking.drag.painter;
+
+import com.javadocking.DockingManager;
+import com.javadocking.dock.Dock;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.util.SwingUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * <p>
+ * This painter shows during dragging how a {@link com.javadocking.dock.Dock} would look like,
+ * if the dragged {@link com.javadocking.dockable.Dockable} would be docked in it.
+ * </p>
+ * <p>
+ * When the mouse enters a dock, an image of the dock is taken. A component that covers the dock is added to the
+ * javax.swing.JLayeredPane of the dock. This component paints the image of the dock in the part that is not taken
+ * by the dragged dockable, and the image of the dragged dockable in the rectangle where it will be docked.
+ * The image of the dockable is taken from the {@link com.javadocking.component.DockableThumbnailCache}.
+ * </p>
+ * <p>
+ * When the rectangle is at a border of the dock and takes its whole width or height, the image of the dock is
+ * made smaller, so that the preview looks like the dock after docking. Otherwise the image of the dockable is painted
+ * over the image of the dock.
+ * </p>
+ * <p>
+ * Only the preview component is painted again, when the mouse moves. The docks and dockables are not changed
+ * before the mouse is released.
+ * </p>
+ * <p>
+ * The given dock should be a java.awt.Component and the ancestor window should
+ * be javax.swing.JFrame, javax.swing.JWindow, or javax.swing.JDialog. Otherwise nothing will be done by this painter.
+ * </p>
+ */
+public class PreviewDockableDragPainter implements DockableDragPainter {
+
+	// Static fields.
+
+	/**
+	 * The integer the represents layer 0 in the layered pane.
+	 */
+	private static final Integer LAYER_0 = 0;
+
+	// Fields.
+
+	/**
+	 * The component that shows the preview.
+	 */
+	@NotNull
+	private PreviewComponent previewComponent = new PreviewComponent();
+	/**
+	 * The painter that paints the border of the rectangle where the dockable will be docked.
+	 */
+	@NotNull
+	private RectanglePainter rectanglePainter;
+	/**
+	 * The layered pane that contains the preview component.
+	 */
+	@Nullable
+	private JLayeredPane layeredPane;
+	/**
+	 * The dock that is shown by the preview.
+	 */
+	@Nullable
+	private Dock previewDock;
+	/**
+	 * The dockable that is shown by the preview.
+	 */
+	@Nullable
+	private Dockable previewDockable;
+	/**
+	 * The image of the dock. It is reused for other docks with the same size.
+	 */
+	@Nullable
+	private BufferedImage dockImage;
+	/**
+	 * The rectangle relative to the dock where the dockable will be docked.
+	 */
+	@NotNull
+	private Rectangle dockableRectangle = new Rectangle();
+	/**
+	 * The rectangle relative to the dock where the image of the dock is painted.
+	 */
+	@NotNull
+	private Rectangle dockRectangle = new Rectangle();
+	/**
+	 * The size of the image of the dragged dockable.
+	 */
+	@NotNull
+	private Dimension thumbnailSize = new Dimension();
+	/**
+	 * The maximum size of the image of the dragged dockable.
+	 */
+	@NotNull
+	private Dimension maxThumbnailSize = new Dimension(400, 400);
+	/**
+	 * A point that is used in calculations.
+	 */
+	@NotNull
+	private Point helpPoint = new Point();
+
+	// Constructors.
+
+	/**
+	 * Constructs a preview painter that paints the border of the docking rectangle with a {@link DefaultRectanglePainter}.
+	 */
+	public PreviewDockableDragPainter() {
+		this(new DefaultRectanglePainter());
+	}
+
+	/**
+	 * Constructs a preview painter that paints the border of the docking rectangle with the given rectangle painter.
+	 *
+	 * @param rectanglePainter The painter that paints the border of the rectangle where the dockable will be docked.
+	 */
+	public PreviewDockableDragPainter(@NotNull RectanglePainter rectanglePainter) {
+		this.rectanglePainter = rectanglePainter;
+	}
+
+	// Implementations of DockableDragPainter.
+
+	/**
+	 * @param    dock                    Should be a java.awt.Component and the ancestor window should
+	 * be javax.swing.JFrame, javax.swing.JWindow, or javax.swing.JDialog.
+	 * Otherwise nothing is done.
+	 */
+	public void paintDockableDrag(@Nullable Dockable dockable, @Nullable Dock dock, @Nullable Rectangle rectangle, Point locationInDestinationDock) {
+
+		// We can only show a preview for a dock that is a component.
+		if ((dockable == null) || (!(dock instanceof Component)) || (rectangle == null)) {
+			clear();
+			return;
+		}
+		Component dockComponent = (Component) dock;
+		if ((dockComponent.getWidth() <= 0) || (dockComponent.getHeight() <= 0) || (!dockComponent.isShowing())) {
+			clear();
+			return;
+		}
+
+		// Did the dock or its size change?
+		if ((!dock.equals(previewDock)) ||
+				(previewComponent.getWidth() != dockComponent.getWidth()) ||
+				(previewComponent.getHeight() != dockComponent.getHeight())) {
+			// Get the layered pane of the dock.
+			JRootPane rootPane = SwingUtilities.getRootPane(dockComponent);
+			JLayeredPane newLayeredPane = rootPane != null ? SwingUtil.getLayeredPane(rootPane) : null;
+			if (newLayeredPane == null) {
+				clear();
+				return;
+			}
+
+			// Take the image of the dock, before the preview covers it.
+			takeDockImage(dockComponent);
+			previewDock = dock;
+
+			// Move the preview component to the layered pane of the dock.
+			if (newLayeredPane != layeredPane) {
+				removePreviewComponent();
+				layeredPane = newLayeredPane;
+				layeredPane.add(previewComponent, LAYER_0, 0);
+			}
+			helpPoint.setLocation(0, 0);
+			helpPoint = SwingUtilities.convertPoint(dockComponent, helpPoint, layeredPane);
+			previewComponent.setBounds(helpPoint.x, helpPoint.y, dockComponent.getWidth(), dockComponent.getHeight());
+			dockableRectangle.setBounds(rectangle);
+			previewDockable = dockable;
+			computeDockRectangle();
+			previewComponent.repaint();
+			return;
+		}
+
+		// Did the rectangle or the dockable change?
+		if ((!rectangle.equals(dockableRectangle)) || (!dockable.equals(previewDockable))) {
+			dockableRectangle.setBounds(rectangle);
+			previewDockable = dockable;
+			computeDockRectangle();
+			previewComponent.repaint();
+		}
+
+	}
+
+	public void clear() {
+
+		removePreviewComponent();
+		previewDock = null;
+		previewDockable = null;
+		dockableRectangle.setBounds(0, 0, 0, 0);
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the painter that paints the border of the rectangle where the dockable will be docked.
+	 *
+	 * @return The painter that paints the border of the rectangle where the dockable will be docked.
+	 */
+	@NotNull
+	public RectanglePainter getRectanglePainter() {
+		return rectanglePainter;
+	}
+
+	/**
+	 * Sets the painter that paints the border of the rectangle where the dockable will be docked.
+	 *
+	 * @param rectanglePainter The painter that paints the border of the rectangle where the dockable will be docked.
+	 */
+	public void setRectanglePainter(@NotNull RectanglePainter rectanglePainter) {
+		this.rectanglePainter = rectanglePainter;
+	}
+
+	/**
+	 * Gets the maximum size of the image of the dragged dockable.
+	 * The default value is <code>(400, 400)</code>.
+	 *
+	 * @return The maximum size of the image of the dragged dockable.
+	 */
+	@NotNull
+	public Dimension getMaxThumbnailSize() {
+		return maxThumbnailSize;
+	}
+
+	/**
+	 * Sets the maximum size of the image of the dragged dockable.
+	 * The image is scaled to the rectangle where the dockable will be docked.
+	 *
+	 * @param maxThumbnailSize The maximum size of the image of the dragged dockable.
+	 *                         The width or height may not be 0.
+	 */
+	public void setMaxThumbnailSize(@NotNull Dimension maxThumbnailSize) {
+
+		if ((maxThumbnailSize.width <= 0) || (maxThumbnailSize.height <= 0)) {
+			throw new IllegalArgumentException("The width or height may not be 0.");
+		}
+		this.maxThumbnailSize = maxThumbnailSize;
+
+	}
+
+	// Private metods.
+
+	/**
+	 * Paints the dock in the image of the dock. The old image is reused, when it has the same size.
+	 *
+	 * @param dockComponent The dock.
+	 */
+	private void takeDockImage(@NotNull Component dockComponent) {
+
+		int width = dockComponent.getWidth();
+		int height = dockComponent.getHeight();
+		if ((dockImage == null) || (dockImage.getWidth() != width) || (dockImage.getHeight() != height)) {
+			if (dockImage != null) {
+				dockImage.flush();
+			}
+			GraphicsConfiguration graphicsConfiguration = dockComponent.getGraphicsConfiguration();
+			if (graphicsConfiguration != null) {
+				dockImage = graphicsConfiguration.createCompatibleImage(width, height);
+			} else {
+				dockImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			}
+		}
+
+		Graphics2D graphics = dockImage.createGraphics();
+		try {
+			graphics.setColor(dockComponent.getBackground());
+			graphics.fillRect(0, 0, width, height);
+			dockComponent.paint(graphics);
+		} finally {
+			graphics.dispose();
+		}
+
+	}
+
+	/**
+	 * Computes the rectangle where the image of the dock is painted. When the dockable will be docked at a border
+	 * of the dock, the image of the dock gets the rest of the dock. Otherwise it gets the whole dock.
+	 */
+	private void computeDockRectangle() {
+
+		int width = previewComponent.getWidth();
+		int height = previewComponent.getHeight();
+		Rectangle rectangle = dockableRectangle;
+		boolean fullHeight = (rectangle.y <= 0) && (rectangle.y + rectangle.height >= height);
+		boolean fullWidth = (rectangle.x <= 0) && (rectangle.x + rectangle.width >= width);
+		if (fullHeight && !fullWidth && (rectangle.x <= 0)) {
+			// Left.
+			dockRectangle.setBounds(rectangle.x + rectangle.width, 0, width - rectangle.x - rectangle.width, height);
+		} else if (fullHeight && !fullWidth && (rectangle.x + rectangle.width >= width)) {
+			// Right.
+			dockRectangle.setBounds(0, 0, rectangle.x, height);
+		} else if (fullWidth && !fullHeight && (rectangle.y <= 0)) {
+			// Top.
+			dockRectangle.setBounds(0, rectangle.y + rectangle.height, width, height - rectangle.y - rectangle.height);
+		} else if (fullWidth && !fullHeight && (rectangle.y + rectangle.height >= height)) {
+			// Bottom.
+			dockRectangle.setBounds(0, 0, width, rectangle.y);
+		} else {
+			dockRectangle.setBounds(0, 0, width, height);
+		}
+
+	}
+
+	/**
+	 * Computes the size of the image of the dockable. It has the size of the content of the dockable,
+	 * but it is not larger than the maximum thumbnail size.
+	 *
+	 * @param dockable The dockable.
+	 * @return False if the dockable has no content with a size.
+	 */
+	private boolean computeThumbnailSize(@NotNull Dockable dockable) {
+
+		Component content = dockable.getContent();
+		if (content == null) {
+			return false;
+		}
+		int width = content.getWidth();
+		int height = content.getHeight();
+		if ((width <= 0) || (height <= 0)) {
+			Dimension preferredSize = content.getPreferredSize();
+			width = preferredSize.width;
+			height = preferredSize.height;
+		}
+		if ((width <= 0) || (height <= 0)) {
+			return false;
+		}
+		double factor = Math.min(1.0, Math.min(maxThumbnailSize.width / (double) width, maxThumbnailSize.height / (double) height));
+		thumbnailSize.setSize(Math.max(1, (int) (width * factor)), Math.max(1, (int) (height * factor)));
+		return true;
+
+	}
+
+	/**
+	 * Removes the preview component from its layered pane.
+	 */
+	private void removePreviewComponent() {
+
+		if (layeredPane != null) {
+			Rectangle bounds = previewComponent.getBounds();
+			layeredPane.remove(previewComponent);
+			layeredPane.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+			layeredPane = null;
+		}
+
+	}
+
+	// Private classes.
+
+	/**
+	 * The component that paints the preview. When the image of the dockable is rendered later
+	 * by the thumbnail cache, the component is informed and repaints itself.
+	 */
+	private class PreviewComponent extends JComponent {
+
+		// Constructors.
+
+		private PreviewComponent() {
+			setOpaque(true);
+		}
+
+		// Overwritten methods from JComponent.
+
+		protected void paintComponent(@NotNull Graphics graphics) {
+
+			if ((dockImage == null) || (previewDockable == null)) {
+				return;
+			}
+
+			// Paint the dock in the part that is not taken by the dockable.
+			Graphics2D graphics2D = (Graphics2D) graphics;
+			graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(dockImage, dockRectangle.x, dockRectangle.y, dockRectangle.width, dockRectangle.height, null);
+
+			// Paint the dockable.
+			Image thumbnail = null;
+			if (computeThumbnailSize(previewDockable)) {
+				thumbnail = DockingManager.getThumbnailCache().getThumbnail(previewDockable, thumbnailSize, this);
+			}
+			if (thumbnail != null) {
+				graphics.drawImage(thumbnail, dockableRectangle.x, dockableRectangle.y, dockableRectangle.width, dockableRectangle.height, null);
+			} else {
+				graphics.setColor(getBackground());
+				graphics.fillRect(dockableRectangle.x, dockableRectangle.y, dockableRectangle.width, dockableRectangle.height);
+			}
+
+			// Paint the border of the dockable.
+			rectanglePainter.paintRectangle(graphics, dockableRectangle.x, dockableRectangle.y, dockableRectangle.width, dockableRectangle.height);
+
+		}
+
+	}
+
+}
@@ -32,10 +32,15 @@ import java.util.Iterator;
  * The given dock should be a java.awt.Component and the ancestor window should
  * be javax.swing.JFrame, javax.swing.JWindow, or javax.swing.JDialog. Otherwise nothing will be done by this painter.
  * </p>
+ * <p>
+ * The drag component can be prefetched with {@link #prefetchDockableDrag(Dockable, Dock, Rectangle)}.
+ * When the dockable is painted later in the same dock with a rectangle of the same size,
+ * the prefetched component is used instead of creating a new one.
+ * </p>
  *
  * @author Heidi Rakels.
  */
-public class SwDockableDragPainter implements DockableDragPainter {
+public class SwDockableDragPainter implements PrefetchingDockableDragPainter {
 
 	// Static fields.
 
@@ -84,6 +89,26 @@ public class SwDockableDragPainter implements DockableDragPainter {
 	 * When true, the dockable will only be painted when the dock is java.awt.Component.
 	 */
 	private boolean onlyComponentDocks = true;
+	/**
+	 * The drag component that was created in advance by {@link #prefetchDockableDrag(Dockable, Dock, Rectangle)}.
+	 */
+	@Nullable
+	private Component prefetchedComponent;
+	/**
+	 * The dockable for which the prefetched component was created.
+	 */
+	@Nullable
+	private Dockable prefetchedDockable;
+	/**
+	 * The dock for which the prefetched component was created.
+	 */
+	@Nullable
+	private Dock prefetchedDock;
+	/**
+	 * The size of the rectangle for which the prefetched component was created.
+	 */
+	@NotNull
+	private Dimension prefetchedSize = new Dimension();
 
 
 	// Constructors.
@@ -179,8 +204,8 @@ public class SwDockableDragPainter implements DockableDragPainter {
 					SwingUtilities.convertPointFromScreen(componentLocation, rootPane);
 
 
-					// Create the drag rectangle.
-					dragComponent = dragComponentFactory.createDragComponent(dockable, dock, rectangle);
+					// Create the drag rectangle, or take the one that was prefetched.
+					dragComponent = retrieveDragComponent(dockable, dock, rectangle);
 
 					// Add to the layered pane.
 					layeredPane.add(dragComponent, LAYER_0, 0);
@@ -206,10 +231,78 @@ public class SwDockableDragPainter implements DockableDragPainter {
 			rootPane = null;
 		}
 
+		// Forget the prefetched component, so that it doesn't keep the dockable and dock alive after the drag.
+		prefetchedComponent = null;
+		prefetchedDockable = null;
+		prefetchedDock = null;
+
+	}
+
+	// Implementations of PrefetchingDockableDragPainter.
+
+	public void prefetchDockableDrag(Dockable dockable, Dock dock, @NotNull Rectangle rectangle) {
+
+		// Return, when the dock is not a component, and onlyComponentDocks is true.
+		if ((onlyComponentDocks) && (!(dock instanceof Component))) {
+			return;
+		}
+
+		// Is this component already prefetched?
+		if (isPrefetched(dockable, dock, rectangle)) {
+			return;
+		}
+
+		// Create the drag component in advance.
+		prefetchedComponent = dragComponentFactory.createDragComponent(dockable, dock, rectangle);
+		prefetchedDockable = dockable;
+		prefetchedDock = dock;
+		prefetchedSize.setSize(rectangle.width, rectangle.height);
+
 	}
 
 	// Private metods.
 
+	/**
+	 * Gets the drag component for the dockable in the dock. The prefetched component is taken,
+	 * when it was created for the same dockable, dock and rectangle size. Otherwise a new component
+	 * is created by the drag component factory.
+	 *
+	 * @param dockable  The dockable that will be painted.
+	 * @param dock      The dock in which the dockable can be docked.
+	 * @param rectangle The rectangle where the dockable will be docked.
+	 * @return The drag component.
+	 */
+	private Component retrieveDragComponent(Dockable dockable, Dock dock, @NotNull Rectangle rectangle) {
+
+		if (isPrefetched(dockable, dock, rectangle)) {
+			Component component = prefetchedComponent;
+			prefetchedComponent = null;
+			prefetchedDockable = null;
+			prefetchedDock = null;
+			return component;
+		}
+		return dragComponentFactory.createDragComponent(dockable, dock, rectangle);
+
+	}
+
+	/**
+	 * Determines if the prefetched component was created for the given dockable, dock and rectangle size.
+	 *
+	 * @param dockable  The dockable.
+	 * @param dock      The dock.
+	 * @param rectangle The rectangle.
+	 * @return True if the prefetched component can be used for the given dockable, dock and rectangle size.
+	 */
+	private boolean isPrefetched(Dockable dockable, Dock dock, @NotNull Rectangle rectangle) {
+
+		return (prefetchedComponent != null) &&
+				(dockable.equals(prefetchedDockable)) &&
+				(dock.equals(prefetchedDock)) &&
+				(prefetchedSize.width == rectangle.width) &&
+				(prefetchedSize.height == rectangle.height);
+
+	}
+
 	/**
 	 * Retrieves the root pane for the given dock.
 	 * If the dock is a component, it is the root pane of the component.
@@ -0,0 +1,274 @@
+package com.javadocking.drag.painter;
+
+import com.javadocking.DockingManager;
+import com.javadocking.dock.Dock;
+import com.javadocking.dock.FloatDock;
+import com.javadocking.dockable.Dockable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * <p>
+ * A dockable drag painter that only paints the dockable when the new dock is a {@link FloatDock}.
+ * The dockable is painted on a window with per-pixel translucency.
+ * The given {@link RectanglePainter} paints the dockable on this window.
+ * </p>
+ * <p>
+ * The translucency is done by the platform, so no image of the screen is taken like in
+ * {@link TransparentWindowDockableDragPainter}. The window is created once and reused.
+ * It is only moved or resized when the rectangle changes, and it is only repainted when the size of the rectangle,
+ * the dockable or the owner changes.
+ * </p>
+ * <p>
+ * When the platform does not support per-pixel translucent windows, the painting is done by the fallback painter.
+ * The default fallback painter is a {@link WindowDockableDragPainter}.
+ * </p>
+ */
+public class TranslucentWindowDockableDragPainter implements DockableDragPainter {
+
+	// Fields.
+
+	/**
+	 * The translucent window on which the dockable is painted.
+	 */
+	@Nullable
+	private TranslucentWindow window;
+	/**
+	 * The painter for the rectangle on the window.
+	 */
+	@NotNull
+	private RectanglePainter rectanglePainter;
+	/**
+	 * True when a label has to be painted on the rectangle.
+	 */
+	private boolean drawLabel;
+	/**
+	 * The painter that is used when per-pixel translucent windows are not supported.
+	 */
+	@NotNull
+	private DockableDragPainter fallbackPainter;
+	/**
+	 * True when per-pixel translucent windows are supported.
+	 */
+	private boolean translucencySupported;
+	/**
+	 * The dockable for which the rectangle was painted.
+	 */
+	@Nullable
+	private Dockable previousDockable;
+	/**
+	 * The rectangle that was painted.
+	 */
+	@NotNull
+	private Rectangle previousRectangle = new Rectangle();
+
+	// Constructors.
+
+	/**
+	 * Constructs a dockable drag painter.
+	 *
+	 * @param rectanglePainter The rectangle painter that paints the dragged dockable on the window.
+	 */
+	public TranslucentWindowDockableDragPainter(@NotNull RectanglePainter rectanglePainter) {
+		this(rectanglePainter, false);
+	}
+
+	/**
+	 * Constructs a dockable drag painter.
+	 *
+	 * @param rectanglePainter The rectangle painter that paints the dragged dockable on the window.
+	 * @param    drawLabel            True when a label has to be painted on the rectangle.
+	 */
+	public TranslucentWindowDockableDragPainter(@NotNull RectanglePainter rectanglePainter, boolean drawLabel) {
+		this(rectanglePainter, drawLabel, new WindowDockableDragPainter(rectanglePainter, drawLabel));
+	}
+
+	/**
+	 * Constructs a dockable drag painter.
+	 *
+	 * @param rectanglePainter The rectangle painter that paints the dragged dockable on the window.
+	 * @param    drawLabel            True when a label has to be painted on the rectangle.
+	 * @param fallbackPainter  The painter that is used when per-pixel translucent windows are not supported.
+	 */
+	public TranslucentWindowDockableDragPainter(@NotNull RectanglePainter rectanglePainter, boolean drawLabel, @NotNull DockableDragPainter fallbackPainter) {
+
+		this.rectanglePainter = rectanglePainter;
+		this.drawLabel = drawLabel;
+		this.fallbackPainter = fallbackPainter;
+		this.translucencySupported = isTranslucencySupported();
+
+	}
+
+	// Implementations of DockableDragPainter.
+
+	public void clear() {
+
+		if (!translucencySupported) {
+			fallbackPainter.clear();
+			return;
+		}
+
+		// Hide the window. It is reused for the next drag.
+		if (window != null) {
+			window.setVisible(false);
+		}
+		previousDockable = null;
+
+	}
+
+	public void paintDockableDrag(@Nullable Dockable dockable, Dock dock, @Nullable Rectangle rectangle, Point locationInDestinationDock) {
+
+		if (!translucencySupported) {
+			fallbackPainter.paintDockableDrag(dockable, dock, rectangle, locationInDestinationDock);
+			return;
+		}
+
+		// Do we have to paint on the float dock?
+		if ((dock instanceof FloatDock) && (rectangle != null)) {
+			// Do we have a window for this owner?
+			Window owner = ((FloatDock) dock).getOwner();
+			boolean repaint = false;
+			if ((window == null) || (window.getOwner() != owner)) {
+				if (window != null) {
+					window.dispose();
+				}
+				window = new TranslucentWindow(owner);
+				window.setCursor(DockingManager.getCanDockCursor());
+				previousRectangle.setBounds(0, 0, 0, 0);
+				repaint = true;
+			}
+
+			// Did the label change?
+			if ((dockable != null) && (!dockable.equals(previousDockable))) {
+				if (drawLabel) {
+					rectanglePainter.setLabel(dockable.getTitle());
+				}
+				previousDockable = dockable;
+				repaint = true;
+			}
+
+			// Position the window.
+			if (!rectangle.equals(previousRectangle)) {
+				if ((rectangle.width != previousRectangle.width) || (rectangle.height != previousRectangle.height)) {
+					repaint = true;
+				}
+				window.setBounds(rectangle);
+				previousRectangle.setBounds(rectangle);
+			}
+
+			// Make the window visible.
+			if (!window.isVisible()) {
+				window.setVisible(true);
+			} else if (repaint) {
+				window.repaint();
+			}
+
+		} else {
+			// Make the window invisible.
+			if ((window != null) && (window.isVisible())) {
+				window.setVisible(false);
+			}
+		}
+
+	}
+
+	// Public static methods.
+
+	/**
+	 * Determines if the default screen device supports windows with per-pixel translucency.
+	 *
+	 * @return True if windows with per-pixel translucency are supported, false otherwise.
+	 */
+	public static boolean isTranslucencySupported() {
+
+		if (GraphicsEnvironment.isHeadless()) {
+			return false;
+		}
+		GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+		return device.isWindowTranslucencySupported(GraphicsDevice.WindowTranslucency.PERPIXEL_TRANSLUCENT);
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Determines if a label has to be painted on the rectangle.
+	 *
+	 * @return True when a label has to be painted on the rectangle.
+	 */
+	public boolean isDrawLabel() {
+		return drawLabel;
+	}
+
+	/**
+	 * Sets if a label has to be painted on the rectangle.
+	 *
+	 * @param drawLabel True when a label has to be painted on the rectangle.
+	 */
+	public void setDrawLabel(boolean drawLabel) {
+		this.drawLabel = drawLabel;
+	}
+
+	/**
+	 * Gets the painter that is used when per-pixel translucent windows are not supported.
+	 *
+	 * @return The painter that is used when per-pixel translucent windows are not supported.
+	 */
+	@NotNull
+	public DockableDragPainter getFallbackPainter() {
+		return fallbackPainter;
+	}
+
+	/**
+	 * Sets the painter that is used when per-pixel translucent windows are not supported.
+	 *
+	 * @param fallbackPainter The painter that is used when per-pixel translucent windows are not supported.
+	 */
+	public void setFallbackPainter(@NotNull DockableDragPainter fallbackPainter) {
+		this.fallbackPainter = fallbackPainter;
+	}
+
+	// Private classes.
+
+	/**
+	 * A window with a transparent background. Only the pixels painted by the rectangle painter are visible.
+	 */
+	private class TranslucentWindow extends JWindow {
+
+		// Constructors.
+
+		private TranslucentWindow(Window owner) {
+
+			super(owner);
+			setBackground(new Color(0, 0, 0, 0));
+			setFocusableWindowState(false);
+			RectangleComponent rectangleComponent = new RectangleComponent();
+			setContentPane(rectangleComponent);
+
+		}
+
+	}
+
+	/**
+	 * The transparent content of the window. It lets the rectangle painter paint on it.
+	 */
+	private class RectangleComponent extends JComponent {
+
+		// Constructors.
+
+		private RectangleComponent() {
+			setOpaque(false);
+		}
+
+		// Overwritten methods from JComponent.
+
+		protected void paintComponent(@NotNull Graphics graphics) {
+			rectanglePainter.paintRectangle(graphics, 0, 0, getWidth(), getHeight());
+		}
+
+	}
+
+}
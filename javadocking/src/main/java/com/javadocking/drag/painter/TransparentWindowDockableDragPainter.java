@@ -17,6 +17,10 @@ import java.awt.*;
  * <p>
  * <b>WARNING: this works only for fast computers!</b>
  * </p>
+ * <p>
+ * The {@link TranslucentWindowDockableDragPainter} paints translucent rectangles without taking images of the screen,
+ * when the platform supports per-pixel translucent windows.
+ * </p>
  *
  * @author Heidi Rakels.
  */
@@ -0,0 +1,332 @@
+package com.javadocking.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * <p>
+ * This is an implementation for {@link DockingPathModel} that keeps a limited number of docking paths.
+ * </p>
+ * <p>
+ * A docking path is added for every dockable that is removed from its dock. In applications that create
+ * a new dockable for every opened document, the number of docking paths can grow without end.
+ * This model forgets the docking paths that were not used for the longest time:
+ * <ul>
+ * <li>when there are more docking paths than the maximum path count,</li>
+ * <li>when a docking path was not used during the maximum age.</li>
+ * </ul>
+ * A docking path is used, when it is added or when it is retrieved with {@link #getDockingPath(String)}.
+ * Retrieving it with {@link #peekDockingPath(String)}, e.g. for finding visualizers or for saving, is not a use.
+ * The application can also remove the docking path of a dockable that will never come back with {@link #dockableClosed(String)}.
+ * </p>
+ * <p>
+ * The model counts how many docking paths were found or not found, and how many were evicted.
+ * </p>
+ */
+public class BoundedDockingPathModel implements DockingPathModel {
+
+	// Static fields.
+
+	/**
+	 * The default maximum number of docking paths.
+	 */
+	private static final int DEFAULT_MAX_PATH_COUNT = 500;
+
+	// Fields.
+
+	/**
+	 * The docking paths. The keys are the IDs of the dockables, the values are {@link PathEntry}s.
+	 * The docking path that was not used for the longest time is the first one.
+	 */
+	@NotNull
+	private Map pathEntries = new LinkedHashMap();
+	/**
+	 * The maximum number of docking paths.
+	 */
+	private int maxPathCount = DEFAULT_MAX_PATH_COUNT;
+	/**
+	 * The time in milliseconds that a docking path is kept, when it is not used. When 0, the docking paths don't get old.
+	 */
+	private long maxAge;
+	/**
+	 * The number of times that a docking path was found by {@link #getDockingPath(String)}.
+	 */
+	private long hitCount;
+	/**
+	 * The number of times that no docking path was found by {@link #getDockingPath(String)}.
+	 */
+	private long missCount;
+	/**
+	 * The number of docking paths that were forgotten, because there were too many or they were too old.
+	 */
+	private long evictionCount;
+
+	// Constructors.
+
+	/**
+	 * Constructs a docking path model that keeps maximum 500 docking paths.
+	 */
+	public BoundedDockingPathModel() {
+	}
+
+	/**
+	 * Constructs a docking path model with the given limits.
+	 *
+	 * @param maxPathCount The maximum number of docking paths.
+	 * @param maxAge       The time in milliseconds that a docking path is kept, when it is not used.
+	 *                     When 0, the docking paths don't get old.
+	 */
+	public BoundedDockingPathModel(int maxPathCount, long maxAge) {
+
+		setMaxPathCount(maxPathCount);
+		setMaxAge(maxAge);
+
+	}
+
+	// Implementations of DockingPathModel.
+
+	public void add(@NotNull DockingPath dockingPath) {
+
+		// Put the docking path at the end.
+		pathEntries.remove(dockingPath.getID());
+		pathEntries.put(dockingPath.getID(), new PathEntry(dockingPath, System.currentTimeMillis()));
+		evict();
+
+	}
+
+	@NotNull
+	public Iterator getIDs() {
+
+		evict();
+
+		// Return a copy, because the order changes, when the docking paths are retrieved.
+		return new ArrayList(pathEntries.keySet()).iterator();
+
+	}
+
+	@Nullable
+	public DockingPath getDockingPath(String id) {
+
+		PathEntry pathEntry = (PathEntry) pathEntries.get(id);
+
+		// Is the docking path too old?
+		long now = System.currentTimeMillis();
+		if ((pathEntry != null) && (isTooOld(pathEntry, now))) {
+			pathEntries.remove(id);
+			evictionCount++;
+			pathEntry = null;
+		}
+		if (pathEntry == null) {
+			missCount++;
+			return null;
+		}
+
+		// The docking path is used: put it at the end.
+		hitCount++;
+		pathEntry.lastUsed = now;
+		pathEntries.remove(id);
+		pathEntries.put(id, pathEntry);
+		return pathEntry.dockingPath;
+
+	}
+
+	@Nullable
+	public DockingPath peekDockingPath(String id) {
+
+		// The docking path is not used: the counters, the order and the last use don't change.
+		PathEntry pathEntry = (PathEntry) pathEntries.get(id);
+		return pathEntry != null ? pathEntry.dockingPath : null;
+
+	}
+
+	public void remove(@NotNull DockingPath dockingPath) {
+		pathEntries.remove(dockingPath.getID());
+	}
+
+	public void loadProperties(String prefix, Properties properties, Map docks) {
+		DockingPathModelPropertiesUtil.loadDockingProperties(this, prefix, properties, docks);
+	}
+
+	public void saveProperties(String prefix, Properties properties, Map dockKeys) {
+		DockingPathModelPropertiesUtil.saveDockingProperties(this, prefix, properties, dockKeys);
+	}
+
+	// Public methods.
+
+	/**
+	 * Removes the docking path of a dockable that will not be used anymore by the application,
+	 * e.g. the dockable of a document that was closed.
+	 *
+	 * @param dockableID The ID of the dockable.
+	 */
+	public void dockableClosed(String dockableID) {
+		pathEntries.remove(dockableID);
+	}
+
+	/**
+	 * Removes all the docking paths. The counters are not reset.
+	 */
+	public void clear() {
+		pathEntries.clear();
+	}
+
+	/**
+	 * Gets the number of docking paths in this model.
+	 *
+	 * @return The number of docking paths in this model.
+	 */
+	public int getPathCount() {
+		return pathEntries.size();
+	}
+
+	/**
+	 * Gets the number of times that a docking path was found by {@link #getDockingPath(String)}.
+	 *
+	 * @return The number of times that a docking path was found.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Gets the number of times that no docking path was found by {@link #getDockingPath(String)}.
+	 *
+	 * @return The number of times that no docking path was found.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Gets the number of docking paths that were forgotten, because there were too many or they were too old.
+	 * The docking paths that were removed with {@link #remove(DockingPath)} or {@link #dockableClosed(String)} are not counted.
+	 *
+	 * @return The number of docking paths that were evicted.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Sets the hit count, miss count and eviction count to 0.
+	 */
+	public void resetCounters() {
+
+		hitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+
+	}
+
+	// Getters / Setters.
+
+	/**
+	 * Gets the maximum number of docking paths.
+	 * The default value is 500.
+	 *
+	 * @return The maximum number of docking paths.
+	 */
+	public int getMaxPathCount() {
+		return maxPathCount;
+	}
+
+	/**
+	 * Sets the maximum number of docking paths.
+	 * When there are more docking paths, the docking paths that were not used for the longest time are removed.
+	 *
+	 * @param maxPathCount The maximum number of docking paths.
+	 * @throws IllegalArgumentException If the count is smaller than 0.
+	 */
+	public void setMaxPathCount(int maxPathCount) {
+
+		if (maxPathCount < 0) {
+			throw new IllegalArgumentException("The maximum path count may not be smaller than 0.");
+		}
+		this.maxPathCount = maxPathCount;
+		evict();
+
+	}
+
+	/**
+	 * Gets the time in milliseconds that a docking path is kept, when it is not used.
+	 * The default value is 0: the docking paths don't get old.
+	 *
+	 * @return The time in milliseconds that a docking path is kept, when it is not used.
+	 */
+	public long getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Sets the time in milliseconds that a docking path is kept, when it is not used.
+	 *
+	 * @param maxAge The time in milliseconds that a docking path is kept, when it is not used.
+	 *               When 0, the docking paths don't get old.
+	 * @throws IllegalArgumentException If the age is smaller than 0.
+	 */
+	public void setMaxAge(long maxAge) {
+
+		if (maxAge < 0) {
+			throw new IllegalArgumentException("The maximum age may not be smaller than 0.");
+		}
+		this.maxAge = maxAge;
+		evict();
+
+	}
+
+	// Private metods.
+
+	/**
+	 * Removes the docking paths that were not used for the longest time, while there are too many,
+	 * and the docking paths that are too old.
+	 */
+	private void evict() {
+
+		long now = System.currentTimeMillis();
+		Iterator iterator = pathEntries.values().iterator();
+		while (iterator.hasNext()) {
+			PathEntry pathEntry = (PathEntry) iterator.next();
+			if ((pathEntries.size() > maxPathCount) || (isTooOld(pathEntry, now))) {
+				iterator.remove();
+				evictionCount++;
+			} else {
+				// The next docking paths are used later.
+				return;
+			}
+		}
+
+	}
+
+	private boolean isTooOld(@NotNull PathEntry pathEntry, long now) {
+		return (maxAge > 0) && (now - pathEntry.lastUsed > maxAge);
+	}
+
+	// Private classes.
+
+	/**
+	 * A docking path with the last time that it was used.
+	 */
+	private static class PathEntry {
+
+		// Fields.
+
+		@NotNull
+		private DockingPath dockingPath;
+		private long lastUsed;
+
+		// Constructors.
+
+		private PathEntry(@NotNull DockingPath dockingPath, long lastUsed) {
+			this.dockingPath = dockingPath;
+			this.lastUsed = lastUsed;
+		}
+
+	}
+
+}
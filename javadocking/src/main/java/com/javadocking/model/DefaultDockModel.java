@@ -50,6 +50,16 @@ public class DefaultDockModel implements DockModel {
 	 */
 	@NotNull
 	private Map ownerRootDockKeys = new HashMap();
+	/**
+	 * The mapping between the root docks and their keys.
+	 */
+	@NotNull
+	private Map rootDockKeysOfDocks = new HashMap();
+	/**
+	 * The mapping between the root dock keys and their owner windows.
+	 */
+	@NotNull
+	private Map rootDockOwners = new HashMap();
 	/**
 	 * The mapping between the owner windows and their window focus listeners.
 	 */
@@ -67,6 +77,17 @@ public class DefaultDockModel implements DockModel {
 	 */
 	@NotNull
 	private Map ownerVisualizerKeys = new HashMap();
+	/**
+	 * The mapping between the visualizers and their keys.
+	 */
+	@NotNull
+	private Map visualizerKeysOfVisualizers = new HashMap();
+	/**
+	 * The index of the visualizers. The mapping between the owner windows and maps with the dockable states
+	 * as keys and the lists of visualizers for that state as values.
+	 */
+	@NotNull
+	private Map ownerStateVisualizers = new HashMap();
 
 
 	// Other properties.
@@ -110,6 +131,7 @@ public class DefaultDockModel implements DockModel {
 			ownerIDsMap.put(window, ownerId);
 			ownerRootDockKeys.put(window, new HashSet());
 			ownerVisualizerKeys.put(window, new HashSet());
+			ownerStateVisualizers.put(window, new HashMap());
 
 			OwnerToFrontListener ownerToFrontListener = new OwnerToFrontListener(window);
 			ownerFocusListeners.put(window, ownerToFrontListener);
@@ -151,12 +173,21 @@ public class DefaultDockModel implements DockModel {
 		Iterator rootDockIterator = getRootKeys(owner);
 		while (rootDockIterator.hasNext()) {
 			String rootDockKey = (String) rootDockIterator.next();
-			rootDockKeys.remove(rootDockKey);
+			rootDockKeysOfDocks.remove(rootDockKeys.remove(rootDockKey));
+			rootDockOwners.remove(rootDockKey);
+		}
+
+		// Iterate over the visualizers of the owner.
+		Iterator visualizerIterator = getVisualizerKeys(owner);
+		while (visualizerIterator.hasNext()) {
+			String visualizerKey = (String) visualizerIterator.next();
+			visualizerKeysOfVisualizers.remove(visualizerKeys.remove(visualizerKey));
 		}
 		owners.remove(owner);
 		ownerIDsMap.remove(owner);
 		ownerRootDockKeys.remove(owner);
 		ownerVisualizerKeys.remove(owner);
+		ownerStateVisualizers.remove(owner);
 
 	}
 
@@ -173,12 +204,14 @@ public class DefaultDockModel implements DockModel {
 		}
 
 		// Check if this root dock is not already in the model.
-		if (rootDockKeys.containsValue(dock)) {
+		if (rootDockKeysOfDocks.containsKey(dock)) {
 			throw new IllegalArgumentException("There is already a root dock with key [" + rootKey + "] in this dock model.");
 		}
 
 		// Add the root dock.
 		rootDockKeys.put(rootKey, dock);
+		rootDockKeysOfDocks.put(dock, rootKey);
+		rootDockOwners.put(rootKey, owner);
 		Set rootDockKeysOfOwner = (Set) ownerRootDockKeys.get(owner);
 		rootDockKeysOfOwner.add(rootKey);
 
@@ -198,29 +231,27 @@ public class DefaultDockModel implements DockModel {
 	public void removeRootDock(Dock dock) {
 
 		// Get the key of the root dock.
-		for (Object o1 : rootDockKeys.keySet()) {
-			// Get the key and its root dock.
-			String rootDockKey = (String) o1;
-			Dock rootDock = getRootDock(rootDockKey);
+		String rootDockKey = (String) rootDockKeysOfDocks.remove(dock);
+		if (rootDockKey == null) {
+			throw new IllegalArgumentException("The dock is not a root dock of this dock model.");
+		}
 
-			// Is the root dock the given dock?
-			if (rootDock.equals(dock)) {
-				// Remove the key and root dock.
-				rootDockKeys.remove(rootDockKey);
-
-				// Iterate over the owner windows.
-				for (Object o : ownerRootDockKeys.values()) {
-					// Try to remove the key of the root dock from this owner.
-					Set ownerRootDocks = (Set) o;
-					if (ownerRootDocks.remove(rootDockKey)) {
-						// Success, we could remove the key.
-						return;
-					}
-				}
-			}
+		// Remove the key and root dock.
+		rootDockKeys.remove(rootDockKey);
+		Window owner = (Window) rootDockOwners.remove(rootDockKey);
+		Set ownerRootDocks = (Set) ownerRootDockKeys.get(owner);
+		if (ownerRootDocks != null) {
+			ownerRootDocks.remove(rootDockKey);
 		}
 
-		throw new IllegalArgumentException("The dock is not a root dock of this dock model.");
+	}
+
+	public String getRootKey(Dock rootDock) {
+		return (String) rootDockKeysOfDocks.get(rootDock);
+	}
+
+	public Window getRootDockOwner(String rootKey) {
+		return (Window) rootDockOwners.get(rootKey);
 	}
 
 	@NotNull
@@ -239,15 +270,26 @@ public class DefaultDockModel implements DockModel {
 		}
 
 		// Check if this visualizer is not already in the model.
-		if (visualizerKeys.containsValue(visualizer)) {
+		if (visualizerKeysOfVisualizers.containsKey(visualizer)) {
 			throw new IllegalArgumentException("There is already a visualizer with key [" + key + "] in this dock model.");
 		}
 
 		// Add the visualizer.
 		visualizerKeys.put(key, visualizer);
+		visualizerKeysOfVisualizers.put(visualizer, key);
 		Set visualizerKeysOfOwner = (Set) ownerVisualizerKeys.get(owner);
 		visualizerKeysOfOwner.add(key);
 
+		// Add the visualizer to the index.
+		Map stateVisualizers = (Map) ownerStateVisualizers.get(owner);
+		Integer state = visualizer.getState();
+		List visualizersOfState = (List) stateVisualizers.get(state);
+		if (visualizersOfState == null) {
+			visualizersOfState = new ArrayList(1);
+			stateVisualizers.put(state, visualizersOfState);
+		}
+		visualizersOfState.add(visualizer);
+
 	}
 
 	@NotNull
@@ -263,33 +305,48 @@ public class DefaultDockModel implements DockModel {
 
 	}
 
+	@NotNull
+	public Iterator getVisualizers(Window owner, int dockableState) {
+
+		Map stateVisualizers = (Map) ownerStateVisualizers.get(owner);
+		List visualizersOfState = stateVisualizers != null ? (List) stateVisualizers.get(dockableState) : null;
+		if (visualizersOfState == null) {
+			return Collections.EMPTY_LIST.iterator();
+		}
+		return visualizersOfState.iterator();
+
+	}
+
 	public void removeVisualizer(Visualizer visualizerToRemove) {
 
 		// Get the key of the visualizer.
-		for (Object o1 : visualizerKeys.keySet()) {
-			// Get the key and its visualizer.
-			String visualizerKey = (String) o1;
-			Visualizer visualizer = getVisualizer(visualizerKey);
-
-			// Is the visualizer the given visualizer?
-			if (visualizer.equals(visualizerToRemove)) {
-				// Remove the key and root dock.
-				visualizerKeys.remove(visualizerKey);
-
-				// Iterate over the owner windows.
-				for (Object o : ownerVisualizerKeys.values()) {
-					// Try to remove the key of the visualizer from this owner.
-					Set ownerVisualizers = (Set) o;
-					if (ownerVisualizers.remove(visualizerKey)) {
-						// Success, we could remove the key.
-						return;
+		String visualizerKey = (String) visualizerKeysOfVisualizers.remove(visualizerToRemove);
+		if (visualizerKey == null) {
+			throw new IllegalArgumentException("The visualizer is not a visualizer of this dock model.");
+		}
+
+		// Remove the key and visualizer.
+		visualizerKeys.remove(visualizerKey);
+
+		// Iterate over the owner windows.
+		for (Object o : ownerVisualizerKeys.keySet()) {
+			// Try to remove the key of the visualizer from this owner.
+			Window owner = (Window) o;
+			Set ownerVisualizers = (Set) ownerVisualizerKeys.get(owner);
+			if (ownerVisualizers.remove(visualizerKey)) {
+				// Remove the visualizer from the index.
+				Map stateVisualizers = (Map) ownerStateVisualizers.get(owner);
+				Iterator iterator = stateVisualizers.values().iterator();
+				while (iterator.hasNext()) {
+					List visualizersOfState = (List) iterator.next();
+					if (visualizersOfState.remove(visualizerToRemove) && visualizersOfState.isEmpty()) {
+						iterator.remove();
 					}
 				}
+				return;
 			}
 		}
 
-		throw new IllegalArgumentException("The visualizer is not a visualizer of this dock model.");
-
 	}
 
 	@NotNull
@@ -16,6 +16,8 @@ import java.util.Properties;
  * if the <code>childDockFactory</code> is not null. Otherwise
  * the constructor {@link com.javadocking.dock.FloatDock#FloatDock(Window)}
  * is used.
+ * When <code>lightweight</code> is true, the float docks put their child docks in lightweight panels
+ * in the layered pane of their owner.
  *
  * @author Heidi Rakels.
  */
@@ -29,6 +31,10 @@ public class DefaultFloatDockFactory implements FloatDockFactory {
 	 */
 	@Nullable
 	private DockFactory childDockFactory;
+	/**
+	 * True when the created float docks put their child docks in lightweight panels.
+	 */
+	private boolean lightweight = false;
 
 	// Constructors.
 
@@ -55,15 +61,21 @@ public class DefaultFloatDockFactory implements FloatDockFactory {
 	@Nullable
 	public FloatDock createFloatDock(@NotNull Window owner) {
 
+		FloatDock floatDock;
 		if (childDockFactory != null) {
-			return new FloatDock(owner, childDockFactory);
+			floatDock = new FloatDock(owner, childDockFactory);
 		} else {
-			return new FloatDock(owner);
+			floatDock = new FloatDock(owner);
 		}
+		floatDock.setLightweight(lightweight);
+		return floatDock;
 	}
 
 	public void loadProperties(String prefix, @NotNull Properties properties) {
 
+		// Load the lightweight mode.
+		lightweight = PropertiesUtil.getBoolean(properties, prefix + "lightweight", lightweight);
+
 		// Load the class and properties of the child dock factory.
 		try {
 			String className = null;
@@ -87,6 +99,9 @@ public class DefaultFloatDockFactory implements FloatDockFactory {
 
 	public void saveProperties(String prefix, @NotNull Properties properties) {
 
+		// Save the lightweight mode.
+		PropertiesUtil.setBoolean(properties, prefix + "lightweight", lightweight);
+
 		if (childDockFactory != null) {
 			// Save the class of the child dock factory and its properties.
 			String className = childDockFactory.getClass().getName();
@@ -123,4 +138,24 @@ public class DefaultFloatDockFactory implements FloatDockFactory {
 
 	}
 
+	/**
+	 * Determines if the created float docks put their child docks in lightweight panels
+	 * in the layered pane of their owner.
+	 *
+	 * @return True if the created float docks are lightweight, false otherwise.
+	 */
+	public boolean isLightweight() {
+		return lightweight;
+	}
+
+	/**
+	 * Sets if the created float docks put their child docks in lightweight panels
+	 * in the layered pane of their owner.
+	 *
+	 * @param lightweight True if the created float docks are lightweight, false otherwise.
+	 */
+	public void setLightweight(boolean lightweight) {
+		this.lightweight = lightweight;
+	}
+
 }
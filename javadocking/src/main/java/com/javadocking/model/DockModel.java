@@ -5,7 +5,9 @@ import com.javadocking.visualizer.Visualizer;
 
 import java.awt.*;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -127,6 +129,57 @@ public interface DockModel {
 	 */
 	void removeRootDock(Dock dock);
 
+	/**
+	 * Gets the key of the given root dock.
+	 * <p>
+	 * The default implementation iterates over the root keys of all the owners.
+	 * Implementations should override this method with a faster lookup.
+	 * </p>
+	 *
+	 * @param rootDock The root dock.
+	 * @return The key of the given root dock. Null, if the dock is not a root dock of this dock model.
+	 */
+	default String getRootKey(Dock rootDock) {
+
+		for (int index = 0; index < getOwnerCount(); index++) {
+			Iterator iterator = getRootKeys(getOwner(index));
+			while (iterator.hasNext()) {
+				String rootKey = (String) iterator.next();
+				if (rootDock.equals(getRootDock(rootKey))) {
+					return rootKey;
+				}
+			}
+		}
+		return null;
+
+	}
+
+	/**
+	 * Gets the owner window of the root dock with the given key.
+	 * <p>
+	 * The default implementation iterates over the root keys of all the owners.
+	 * Implementations should override this method with a faster lookup.
+	 * </p>
+	 *
+	 * @param rootKey The key of the root dock.
+	 * @return The owner window of the root dock with the given key.
+	 * Null, if there is no root dock for this key.
+	 */
+	default Window getRootDockOwner(String rootKey) {
+
+		for (int index = 0; index < getOwnerCount(); index++) {
+			Window owner = getOwner(index);
+			Iterator iterator = getRootKeys(owner);
+			while (iterator.hasNext()) {
+				if (iterator.next().equals(rootKey)) {
+					return owner;
+				}
+			}
+		}
+		return null;
+
+	}
+
 	/**
 	 * Adds a visualizer with its key to this dock model.
 	 *
@@ -155,6 +208,34 @@ public interface DockModel {
 	 */
 	Visualizer getVisualizer(String key);
 
+	/**
+	 * Gets an iterator that iterates over the visualizers of the given owner window
+	 * that visualize dockables in the given state.
+	 * <p>
+	 * The default implementation iterates over all the visualizers of the owner.
+	 * Implementations should override this method with a faster lookup.
+	 * </p>
+	 *
+	 * @param owner         The owner window of the visualizers.
+	 * @param dockableState The state of the dockables that are visualized by the visualizers.
+	 *                      This is a constant defined by {@link com.javadocking.dockable.DockableState}.
+	 * @return An iterator that iterates over the visualizers of the given owner window with the given state.
+	 * The entries of the iterator are {@link Visualizer} objects.
+	 */
+	default Iterator getVisualizers(Window owner, int dockableState) {
+
+		List visualizers = new ArrayList();
+		Iterator iterator = getVisualizerKeys(owner);
+		while (iterator.hasNext()) {
+			Visualizer visualizer = getVisualizer((String) iterator.next());
+			if ((visualizer != null) && (visualizer.getState() == dockableState)) {
+				visualizers.add(visualizer);
+			}
+		}
+		return visualizers.iterator();
+
+	}
+
 	/**
 	 * Removes the visualizer from the dock model.
 	 *
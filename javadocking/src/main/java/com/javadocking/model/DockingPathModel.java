@@ -47,6 +47,19 @@ public interface DockingPathModel {
 	 */
 	DockingPath getDockingPath(String id);
 
+	/**
+	 * Gets the docking path of this model that has the given id as ID, without using it.
+	 * This method is used when the docking path is only inspected or saved, and not used for restoring the dockable.
+	 * Models that keep statistics or forget unused docking paths should not count this as a use.
+	 *
+	 * @param id The ID of the docking path that is retrieved.
+	 * @return The docking path of this model that has the given id as ID.
+	 * If there is no docking path for this id, null is returned.
+	 */
+	default DockingPath peekDockingPath(String id) {
+		return getDockingPath(id);
+	}
+
 	/**
 	 * Gets an iterator that iterates over the IDs of all the docking paths of the model.
 	 *
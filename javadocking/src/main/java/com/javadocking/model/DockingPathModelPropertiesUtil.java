@@ -92,7 +92,7 @@ class DockingPathModelPropertiesUtil {
 
 			// Get the docking path.
 			String id = (String) iterator.next();
-			DockingPath dockingPath = dockingPathModel.getDockingPath(id);
+			DockingPath dockingPath = dockingPathModel.peekDockingPath(id);
 			ids.add(id);
 
 			// Save the properties of the docking path.
@@ -3,6 +3,7 @@ package com.javadocking.model.codec;
 import com.javadocking.DockingManager;
 import com.javadocking.dock.CompositeDock;
 import com.javadocking.dock.Dock;
+import com.javadocking.model.BoundedDockingPathModel;
 import com.javadocking.model.DefaultDockingPathModel;
 import com.javadocking.model.DockModel;
 import com.javadocking.model.DockingPathModel;
@@ -73,7 +74,7 @@ public class DockModelPropertiesDecoder implements DockModelDecoder {
 		dockModel.loadProperties(sourceName, "dockModel.", properties, dockablesMap, ownersMap, docks, visualizersMap);
 
 		// Create the docking paths.
-		DockingPathModel dockingPathModel = new DefaultDockingPathModel();
+		DockingPathModel dockingPathModel = createDockingPathModel();
 		dockingPathModel.loadProperties("dockingPathModel.", properties, docks);
 		DockingManager.setDockingPathModel(dockingPathModel);
 
@@ -98,6 +99,24 @@ public class DockModelPropertiesDecoder implements DockModelDecoder {
 
 	// Private methods.
 
+	/**
+	 * Creates the docking path model for the decoded docking paths. When the current docking path model
+	 * is a {@link BoundedDockingPathModel}, a bounded model with the same limits is created.
+	 *
+	 * @return The new docking path model.
+	 */
+	@NotNull
+	private DockingPathModel createDockingPathModel() {
+
+		DockingPathModel currentDockingPathModel = DockingManager.getDockingPathModel();
+		if (currentDockingPathModel instanceof BoundedDockingPathModel) {
+			BoundedDockingPathModel boundedDockingPathModel = (BoundedDockingPathModel) currentDockingPathModel;
+			return new BoundedDockingPathModel(boundedDockingPathModel.getMaxPathCount(), boundedDockingPathModel.getMaxAge());
+		}
+		return new DefaultDockingPathModel();
+
+	}
+
 	private DockModel createDockModel(@NotNull Properties properties) throws IOException {
 
 		// Create the dock model object with the class name property.
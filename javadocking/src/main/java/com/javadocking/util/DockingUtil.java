@@ -12,6 +12,7 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class contains a collection of static utility methods for docking.
@@ -31,18 +32,7 @@ public class DockingUtil {
 	 * @return True if the given dock is a root dock of the dock model, false otherwise.
 	 */
 	public static boolean containsRootDock(DockModel dockModel, @NotNull Dock rootDock) {
-		for (int index = 0; index < dockModel.getOwnerCount(); index++) {
-			Window owner = dockModel.getOwner(index);
-			Iterator iterator = dockModel.getRootKeys(owner);
-			while (iterator.hasNext()) {
-				String rootKey = (String) iterator.next();
-				Dock dock = dockModel.getRootDock(rootKey);
-				if (rootDock.equals(dock)) {
-					return true;
-				}
-			}
-		}
-		return false;
+		return dockModel.getRootKey(rootDock) != null;
 	}
 
 	/**
@@ -170,6 +160,61 @@ public class DockingUtil {
 
 	}
 
+	/**
+	 * <p>
+	 * Collects the dockables that are docked in a dock of the {@link DockModel}
+	 * or that are visualized in a visualizer of the dock model, by their ID.
+	 * </p>
+	 * <p>
+	 * The dock model is searched only once. When the dockables of many IDs are needed, this is faster
+	 * than calling {@link #retrieveDockableOfDockModel(String)} for every ID. When there are
+	 * several dockables with the same ID, the dockable that would be found by
+	 * {@link #retrieveDockableOfDockModel(String)} is put in the map.
+	 * </p>
+	 *
+	 * @param dockablesById The map where the IDs are mapped to the dockables of the dock model.
+	 */
+	public static void retrieveDockablesOfDockModel(@NotNull Map dockablesById) {
+
+		// Get the dock model.
+		DockModel dockModel = DockingManager.getDockModel();
+		if (dockModel == null) {
+			throw new NullPointerException("Dock model of docking manager null.");
+		}
+
+		// Iterate over the owner windows.
+		for (int index = 0; index < dockModel.getOwnerCount(); index++) {
+			Window owner = dockModel.getOwner(index);
+
+			// Iterate over the root docks.
+			Iterator rootKeys = dockModel.getRootKeys(owner);
+			while (rootKeys.hasNext()) {
+				String rootKey = (String) rootKeys.next();
+				List dockablesOfTree = new ArrayList();
+				retrieveDockables(dockModel.getRootDock(rootKey), dockablesOfTree);
+				for (Object aDockablesOfTree : dockablesOfTree) {
+					Dockable dockableOfTree = (Dockable) aDockablesOfTree;
+					if (!dockablesById.containsKey(dockableOfTree.getID())) {
+						dockablesById.put(dockableOfTree.getID(), dockableOfTree);
+					}
+				}
+			}
+
+			// Iterate over the visualizers.
+			Iterator visualizerKeys = dockModel.getVisualizerKeys(owner);
+			while (visualizerKeys.hasNext()) {
+				Visualizer visualizer = dockModel.getVisualizer((String) visualizerKeys.next());
+				for (int dockableIndex = 0; dockableIndex < visualizer.getVisualizedDockableCount(); dockableIndex++) {
+					Dockable dockableOfViualizer = visualizer.getVisualizedDockable(dockableIndex);
+					if (!dockablesById.containsKey(dockableOfViualizer.getID())) {
+						dockablesById.put(dockableOfViualizer.getID(), dockableOfViualizer);
+					}
+				}
+			}
+		}
+
+	}
+
 	/**
 	 * Removes the empty child docks from the tree with the given dock as root. The empty children of deeper child docks
 	 * are also removed. The dock has only children if it is a {@link CompositeDock}.
@@ -582,27 +627,7 @@ public class DockingUtil {
 			throw new NullPointerException("Dock model of docking manager null.");
 		}
 
-		// Iterate over the owner IDs.
-		for (int index = 0; index < dockModel.getOwnerCount(); index++) {
-			Window owner = dockModel.getOwner(index);
-
-			// Iterate over the root dock keys of the owner.
-			Iterator rootDockKeyIterator = dockModel.getRootKeys(owner);
-			while (rootDockKeyIterator.hasNext()) {
-				String key = (String) rootDockKeyIterator.next();
-
-				// Get the root dock for this key.
-				Dock rootDockForKey = dockModel.getRootDock(key);
-
-				// Is it the given dock?
-				if (rootDockForKey.equals(rootDock)) {
-					return key;
-				}
-			}
-		}
-
-
-		return null;
+		return dockModel.getRootKey(rootDock);
 
 	}
 
@@ -622,21 +647,34 @@ public class DockingUtil {
 		}
 
 
-		// Iterate over the owner IDs.
-		for (int index = 0; index < dockModel.getOwnerCount(); index++) {
-			Window owner = dockModel.getOwner(index);
+		return dockModel.getRootDockOwner(rootDockKey);
 
-			// Iterate over the root dock keys of the owner.
-			Iterator rootDockKeyIterator = dockModel.getRootKeys(owner);
-			while (rootDockKeyIterator.hasNext()) {
-				// Is the root dock key the given root dock key?
-				if (rootDockKeyIterator.next().equals(rootDockKey)) {
-					return owner;
-				}
+	}
+
+	/**
+	 * Determines if the given dock is in the dock tree with the given root dock.
+	 * The tree is not searched: the parents of the dock are followed up to the root dock.
+	 * Every parent has to contain the child, so docks that were removed from the tree are not found.
+	 *
+	 * @param rootDock The root dock of the tree of docks.
+	 * @param dock     The dock that is searched.
+	 * @return True if the dock is the root dock or one of its descendants, false otherwise.
+	 */
+	public static boolean isInDockTree(@NotNull Dock rootDock, @Nullable Dock dock) {
+
+		while (dock != null) {
+			if (dock.equals(rootDock)) {
+				return true;
 			}
-		}
 
-		return null;
+			// Is the dock still a child of its parent?
+			CompositeDock parentDock = dock.getParentDock();
+			if ((parentDock == null) || (!isChildDock(parentDock, dock))) {
+				return false;
+			}
+			dock = parentDock;
+		}
+		return false;
 
 	}
 
@@ -681,4 +719,17 @@ public class DockingUtil {
 		// We couldn't find the dock of the dockable.
 		return false;
 	}
+
+	// Private metods.
+
+	private static boolean isChildDock(@NotNull CompositeDock parentDock, @NotNull Dock dock) {
+
+		for (int index = 0; index < parentDock.getChildDockCount(); index++) {
+			if (dock.equals(parentDock.getChildDock(index))) {
+				return true;
+			}
+		}
+		return false;
+
+	}
 }
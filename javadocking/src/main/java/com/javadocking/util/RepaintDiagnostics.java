@@ -0,0 +1,870 @@
+package com.javadocking.util;
+
+import com.javadocking.dock.Dock;
+import com.javadocking.visualizer.Visualizer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>
+ * This class contains static methods to find out which docks cause repaints and revalidations.
+ * It is meant for finding layout storms during development. It should not be enabled in a released application.
+ * </p>
+ * <p>
+ * When the diagnostics are enabled with {@link #enable()}, a repaint manager is installed that records:
+ * <ul>
+ * <li>the number of repaint requests and the area of the dirty regions,</li>
+ * <li>the number of revalidations,</li>
+ * <li>the time spent in repainting and revalidating.</li>
+ * </ul>
+ * The requests are counted for the nearest {@link Dock} or {@link Visualizer} that contains the requesting component,
+ * and for the operation that made the request. The operation is the first method of this library on the stack
+ * of the request, e.g. <code>SplitDock.addDockable</code>, or else the first method of the application. Requests of components that are not in a dock or visualizer
+ * are not recorded.
+ * </p>
+ * <p>
+ * Some methods repaint the parent of a dock, e.g. {@link SwingUtil#repaintParent(JComponent)}.
+ * These methods call {@link #beginOperation(Component)} and {@link #endOperation(long)}, so that their requests
+ * are counted for the dock that caused them, and not for the parent.
+ * </p>
+ * <p>
+ * The time spent in painting the dirty regions is measured for every paint cycle and is divided over the docks
+ * that requested a repaint in that cycle, in proportion to the area of their dirty regions. So it is an estimate.
+ * The paint cycles in which the heatmap overlay was repainted by its timer are not measured,
+ * because the overlay is transparent and the components below it are painted again.
+ * The time of painting the overlay itself is not counted in the other cycles.
+ * </p>
+ * <p>
+ * The diagnostics can only be enabled when the current repaint manager is the default repaint manager of Swing.
+ * The diagnostic repaint manager replaces it and does not delegate to it, so a custom repaint manager would be bypassed.
+ * </p>
+ * <p>
+ * The results can be shown as a heatmap on the layered pane of a window with {@link #showOverlay(JRootPane)},
+ * or they can be written as a report with {@link #writeReport(Writer)}.
+ * </p>
+ * <p>
+ * Finding the operation of a request needs the stack of the current thread. This is slow, but it only happens
+ * while the diagnostics are enabled.
+ * </p>
+ */
+public class RepaintDiagnostics {
+
+	// Static fields.
+
+	/**
+	 * The layer of the overlay in the layered pane.
+	 */
+	private static final Integer OVERLAY_LAYER = JLayeredPane.DRAG_LAYER;
+	/**
+	 * The delay in milliseconds between 2 repaints of the overlay.
+	 */
+	private static final int OVERLAY_REFRESH_DELAY = 500;
+	/**
+	 * The name of the operation, when no method of this library or the application could be found on the stack.
+	 */
+	private static final String UNKNOWN_OPERATION = "<unknown>";
+
+	/**
+	 * The lock for the statistics. Repaints can be requested by any thread.
+	 */
+	private static final Object LOCK = new Object();
+	/**
+	 * The statistics of the docks. The keys are the docks or visualizers, the values are maps with the names of
+	 * the operations as keys and {@link Statistics} as values. The docks are only weakly referenced.
+	 */
+	@NotNull
+	private static Map dockStatistics = new WeakHashMap();
+	/**
+	 * The dirty areas that were requested since the last paint cycle. The keys are {@link Statistics},
+	 * the values are the areas as longs.
+	 */
+	@NotNull
+	private static Map pendingAreas = new HashMap();
+	/**
+	 * The sources and operations that were started with {@link #beginOperation(Component)} and are not ended yet.
+	 */
+	@NotNull
+	private static List operationStack = new ArrayList();
+	/**
+	 * The total time in nanoseconds spent in validating the invalid components.
+	 */
+	private static long totalValidationTime;
+	/**
+	 * The total time in nanoseconds spent in painting the dirty regions.
+	 */
+	private static long totalPaintTime;
+	/**
+	 * The number of paint cycles.
+	 */
+	private static long paintCycleCount;
+	/**
+	 * True when an overlay requested a repaint since the last paint cycle.
+	 */
+	private static boolean overlayDirty;
+	/**
+	 * The time in nanoseconds spent in painting the overlays since the last paint cycle.
+	 */
+	private static long overlayPaintTime;
+
+	/**
+	 * The repaint manager that records the requests. Null when the diagnostics are disabled.
+	 */
+	@Nullable
+	private static DiagnosticRepaintManager repaintManager;
+	/**
+	 * The repaint manager that was installed before the diagnostics were enabled.
+	 */
+	@Nullable
+	private static RepaintManager previousRepaintManager;
+	/**
+	 * The overlays that are shown. The keys are the root panes, the values are the {@link HeatmapOverlay}s.
+	 */
+	@NotNull
+	private static Map overlays = new HashMap();
+	/**
+	 * The timer that repaints the overlays.
+	 */
+	@Nullable
+	private static Timer overlayTimer;
+
+	// Private constructor.
+
+	private RepaintDiagnostics() {
+	}
+
+	// Public static methods.
+
+	/**
+	 * Installs the repaint manager that records the repaints and revalidations.
+	 * The current repaint manager is restored by {@link #disable()}.
+	 * This method should be called on the event dispatch thread.
+	 *
+	 * @throws IllegalStateException When the current repaint manager is not the default repaint manager of Swing.
+	 */
+	public static void enable() {
+
+		if (repaintManager != null) {
+			return;
+		}
+		RepaintManager currentRepaintManager = RepaintManager.currentManager(null);
+		if (currentRepaintManager.getClass() != RepaintManager.class) {
+			throw new IllegalStateException("The diagnostics can not be enabled, because a custom repaint manager is installed: " + currentRepaintManager.getClass().getName());
+		}
+		previousRepaintManager = currentRepaintManager;
+		repaintManager = new DiagnosticRepaintManager();
+		RepaintManager.setCurrentManager(repaintManager);
+
+	}
+
+	/**
+	 * Restores the repaint manager that was installed before the diagnostics were enabled and removes all overlays.
+	 * The recorded statistics are kept until {@link #reset()} is called.
+	 * This method should be called on the event dispatch thread.
+	 */
+	public static void disable() {
+
+		if (repaintManager == null) {
+			return;
+		}
+		RepaintManager.setCurrentManager(previousRepaintManager);
+		repaintManager = null;
+		previousRepaintManager = null;
+
+		// Remove the overlays.
+		Iterator iterator = new ArrayList(overlays.keySet()).iterator();
+		while (iterator.hasNext()) {
+			hideOverlay((JRootPane) iterator.next());
+		}
+
+	}
+
+	/**
+	 * Determines if the repaints and revalidations are recorded.
+	 *
+	 * @return True if the repaints and revalidations are recorded, false otherwise.
+	 */
+	public static boolean isEnabled() {
+		return repaintManager != null;
+	}
+
+	/**
+	 * Forgets all the recorded statistics.
+	 */
+	public static void reset() {
+
+		synchronized (LOCK) {
+			dockStatistics.clear();
+			pendingAreas.clear();
+			totalValidationTime = 0;
+			totalPaintTime = 0;
+			paintCycleCount = 0;
+			overlayDirty = false;
+			overlayPaintTime = 0;
+		}
+
+	}
+
+	/**
+	 * Starts an operation that repaints or revalidates for the given source, e.g. an operation that repaints the parent of a dock.
+	 * Until {@link #endOperation(long)} is called, the requests are counted for the dock of the source
+	 * and for the operation that called this method.
+	 * Every call to this method has to be followed by a call to {@link #endOperation(long)}.
+	 *
+	 * @param source The component that causes the repaints.
+	 * @return The start time of the operation that has to be given to {@link #endOperation(long)}.
+	 */
+	public static long beginOperation(@NotNull Component source) {
+
+		Component dock = getDock(source);
+		String operation = findOperation();
+		synchronized (LOCK) {
+			operationStack.add(new RunningOperation(dock, operation));
+		}
+		return System.nanoTime();
+
+	}
+
+	/**
+	 * Ends the last operation that was started with {@link #beginOperation(Component)}.
+	 * The time of the operation is added to the statistics of its dock.
+	 *
+	 * @param startTime The time that was returned by {@link #beginOperation(Component)}.
+	 */
+	public static void endOperation(long startTime) {
+
+		long time = System.nanoTime() - startTime;
+		synchronized (LOCK) {
+			if (operationStack.isEmpty()) {
+				return;
+			}
+			RunningOperation runningOperation = (RunningOperation) operationStack.remove(operationStack.size() - 1);
+			if (runningOperation.dock != null) {
+				Statistics statistics = getStatistics(runningOperation.dock, runningOperation.operation);
+				statistics.operationCount++;
+				statistics.operationTime += time;
+			}
+		}
+
+	}
+
+	/**
+	 * Shows a heatmap of the recorded dirty areas on the layered pane of the given root pane.
+	 * Every dock in the root pane that requested repaints is covered with a red rectangle.
+	 * The more area was repainted, the more opaque is the rectangle.
+	 * The overlay is refreshed every half second. It doesn't receive mouse events.
+	 *
+	 * @param rootPane The root pane on which the heatmap is shown.
+	 */
+	public static void showOverlay(@NotNull JRootPane rootPane) {
+
+		if (overlays.containsKey(rootPane)) {
+			return;
+		}
+
+		// Add the overlay.
+		JLayeredPane layeredPane = rootPane.getLayeredPane();
+		HeatmapOverlay overlay = new HeatmapOverlay(rootPane);
+		overlay.setBounds(0, 0, layeredPane.getWidth(), layeredPane.getHeight());
+		layeredPane.add(overlay, OVERLAY_LAYER, 0);
+		overlays.put(rootPane, overlay);
+
+		// Start refreshing.
+		if (overlayTimer == null) {
+			overlayTimer = new Timer(OVERLAY_REFRESH_DELAY, new OverlayRefresher());
+			overlayTimer.start();
+		}
+
+	}
+
+	/**
+	 * Removes the heatmap from the layered pane of the given root pane.
+	 *
+	 * @param rootPane The root pane from which the heatmap is removed.
+	 */
+	public static void hideOverlay(@NotNull JRootPane rootPane) {
+
+		HeatmapOverlay overlay = (HeatmapOverlay) overlays.remove(rootPane);
+		if (overlay == null) {
+			return;
+		}
+		JLayeredPane layeredPane = rootPane.getLayeredPane();
+		Rectangle bounds = overlay.getBounds();
+		layeredPane.remove(overlay);
+		layeredPane.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+
+		// Stop refreshing, when there are no overlays anymore.
+		if ((overlays.isEmpty()) && (overlayTimer != null)) {
+			overlayTimer.stop();
+			overlayTimer = null;
+		}
+
+	}
+
+	/**
+	 * Gets a report of the recorded statistics.
+	 *
+	 * @return A report of the recorded statistics.
+	 * @see #writeReport(Writer)
+	 */
+	@NotNull
+	public static String getReport() {
+
+		StringWriter writer = new StringWriter();
+		try {
+			writeReport(writer);
+		} catch (IOException exception) {
+			// A string writer doesn't throw exceptions.
+			throw new IllegalStateException(exception.getMessage());
+		}
+		return writer.toString();
+
+	}
+
+	/**
+	 * Writes a report of the recorded statistics. The report contains a line for every dock and operation,
+	 * with the tab separated values:
+	 * <ul>
+	 * <li>the dock,</li>
+	 * <li>the operation,</li>
+	 * <li>the number of repaint requests,</li>
+	 * <li>the dirty area in pixels,</li>
+	 * <li>the number of revalidations,</li>
+	 * <li>the number of hooked operations and their time in microseconds,</li>
+	 * <li>the estimated paint time in microseconds.</li>
+	 * </ul>
+	 * The lines with the biggest dirty area are written first.
+	 *
+	 * @param writer The writer for the report.
+	 * @throws IOException If the report could not be written.
+	 */
+	public static void writeReport(@NotNull Writer writer) throws IOException {
+
+		// Collect the lines.
+		List lines = new ArrayList();
+		long validationTime;
+		long paintTime;
+		long cycleCount;
+		synchronized (LOCK) {
+			Iterator dockIterator = dockStatistics.entrySet().iterator();
+			while (dockIterator.hasNext()) {
+				Map.Entry dockEntry = (Map.Entry) dockIterator.next();
+				String dockName = getDockName((Component) dockEntry.getKey());
+				Iterator operationIterator = ((Map) dockEntry.getValue()).entrySet().iterator();
+				while (operationIterator.hasNext()) {
+					Map.Entry operationEntry = (Map.Entry) operationIterator.next();
+					lines.add(new ReportLine(dockName, (String) operationEntry.getKey(), ((Statistics) operationEntry.getValue()).copy()));
+				}
+			}
+			validationTime = totalValidationTime;
+			paintTime = totalPaintTime;
+			cycleCount = paintCycleCount;
+		}
+		Collections.sort(lines, new ReportLineComparator());
+
+		// Write the lines.
+		writer.write("Paint cycles: " + cycleCount + ", paint time: " + (paintTime / 1000) + " us, validation time: " + (validationTime / 1000) + " us\n");
+		writer.write("dock\toperation\trepaints\tdirty area\trevalidations\toperations\toperation time (us)\tpaint time (us)\n");
+		for (int index = 0; index < lines.size(); index++) {
+			ReportLine line = (ReportLine) lines.get(index);
+			Statistics statistics = line.statistics;
+			writer.write(line.dockName + "\t" + line.operation + "\t" + statistics.repaintCount + "\t" + statistics.dirtyArea + "\t"
+					+ statistics.revalidateCount + "\t" + statistics.operationCount + "\t" + (statistics.operationTime / 1000) + "\t"
+					+ (statistics.paintTime / 1000) + "\n");
+		}
+		writer.flush();
+
+	}
+
+	// Private metods.
+
+	/**
+	 * Records a repaint request.
+	 *
+	 * @param component The component that requested the repaint.
+	 * @param area      The area of the dirty region.
+	 */
+	private static void repaintRequested(@NotNull Component component, long area) {
+
+		RunningOperation runningOperation = getRunningOperation(component);
+		if (runningOperation.dock == null) {
+			return;
+		}
+		synchronized (LOCK) {
+			Statistics statistics = getStatistics(runningOperation.dock, runningOperation.operation);
+			statistics.repaintCount++;
+			statistics.dirtyArea += area;
+			Long pendingArea = (Long) pendingAreas.get(statistics);
+			pendingAreas.put(statistics, Long.valueOf(pendingArea == null ? area : pendingArea.longValue() + area));
+		}
+
+	}
+
+	/**
+	 * Records a revalidation request.
+	 *
+	 * @param component The component that requested the revalidation.
+	 */
+	private static void revalidateRequested(@NotNull Component component) {
+
+		RunningOperation runningOperation = getRunningOperation(component);
+		if (runningOperation.dock == null) {
+			return;
+		}
+		synchronized (LOCK) {
+			getStatistics(runningOperation.dock, runningOperation.operation).revalidateCount++;
+		}
+
+	}
+
+	/**
+	 * Records the time of a paint cycle and divides it over the docks that requested repaints,
+	 * in proportion to their dirty areas. When an overlay was repainted in this cycle, the cycle is not recorded.
+	 *
+	 * @param time The time of the paint cycle in nanoseconds.
+	 */
+	private static void painted(long time) {
+
+		synchronized (LOCK) {
+			// Don't measure the cycles of the overlay timer.
+			boolean overlayCycle = overlayDirty;
+			time = Math.max(0, time - overlayPaintTime);
+			overlayDirty = false;
+			overlayPaintTime = 0;
+			if (overlayCycle) {
+				pendingAreas.clear();
+				return;
+			}
+
+			totalPaintTime += time;
+			paintCycleCount++;
+
+			// Compute the total dirty area of this cycle.
+			long totalArea = 0;
+			Iterator iterator = pendingAreas.values().iterator();
+			while (iterator.hasNext()) {
+				totalArea += ((Long) iterator.next()).longValue();
+			}
+
+			// Divide the time.
+			if (totalArea > 0) {
+				iterator = pendingAreas.entrySet().iterator();
+				while (iterator.hasNext()) {
+					Map.Entry entry = (Map.Entry) iterator.next();
+					long area = ((Long) entry.getValue()).longValue();
+					((Statistics) entry.getKey()).paintTime += time * area / totalArea;
+				}
+			}
+			pendingAreas.clear();
+		}
+
+	}
+
+	/**
+	 * Records the time of a validation.
+	 *
+	 * @param time The time of the validation in nanoseconds.
+	 */
+	private static void validated(long time) {
+
+		synchronized (LOCK) {
+			totalValidationTime += time;
+		}
+
+	}
+
+	/**
+	 * Gets the dock and the operation for a request of the given component.
+	 * When an operation was started with {@link #beginOperation(Component)}, that operation is returned.
+	 *
+	 * @param component The component that makes a request.
+	 * @return The dock and the operation for the request. The dock is null, when the request should not be recorded.
+	 */
+	@NotNull
+	private static RunningOperation getRunningOperation(@NotNull Component component) {
+
+		if (SwingUtilities.isEventDispatchThread()) {
+			synchronized (LOCK) {
+				if (!operationStack.isEmpty()) {
+					return (RunningOperation) operationStack.get(operationStack.size() - 1);
+				}
+			}
+		}
+
+		Component dock = getDock(component);
+		if (dock == null) {
+			return new RunningOperation(null, null);
+		}
+		return new RunningOperation(dock, findOperation());
+
+	}
+
+	/**
+	 * Gets the statistics of the given dock and operation. They are created, if they don't exist yet.
+	 * Should be called while holding the lock.
+	 *
+	 * @param dock      The dock or visualizer.
+	 * @param operation The name of the operation.
+	 * @return The statistics of the dock and operation.
+	 */
+	@NotNull
+	private static Statistics getStatistics(@NotNull Component dock, String operation) {
+
+		Map operationStatistics = (Map) dockStatistics.get(dock);
+		if (operationStatistics == null) {
+			operationStatistics = new HashMap();
+			dockStatistics.put(dock, operationStatistics);
+		}
+		Statistics statistics = (Statistics) operationStatistics.get(operation);
+		if (statistics == null) {
+			statistics = new Statistics();
+			operationStatistics.put(operation, statistics);
+		}
+		return statistics;
+
+	}
+
+	/**
+	 * Gets the total dirty area of every dock. Should be called while holding the lock.
+	 *
+	 * @return A map with the docks as keys and the total dirty areas as longs.
+	 */
+	@NotNull
+	private static Map getDirtyAreas() {
+
+		Map dirtyAreas = new HashMap();
+		Iterator dockIterator = dockStatistics.entrySet().iterator();
+		while (dockIterator.hasNext()) {
+			Map.Entry dockEntry = (Map.Entry) dockIterator.next();
+			long dirtyArea = 0;
+			Iterator statisticsIterator = ((Map) dockEntry.getValue()).values().iterator();
+			while (statisticsIterator.hasNext()) {
+				dirtyArea += ((Statistics) statisticsIterator.next()).dirtyArea;
+			}
+			dirtyAreas.put(dockEntry.getKey(), Long.valueOf(dirtyArea));
+		}
+		return dirtyAreas;
+
+	}
+
+	/**
+	 * Gets the nearest {@link Dock} or {@link Visualizer} that contains the given component.
+	 *
+	 * @param component The component.
+	 * @return The nearest dock or visualizer that contains the component. Null when there is none.
+	 */
+	@Nullable
+	private static Component getDock(@Nullable Component component) {
+
+		while (component != null) {
+			if ((component instanceof Dock) || (component instanceof Visualizer)) {
+				return component;
+			}
+			component = component.getParent();
+		}
+		return null;
+
+	}
+
+	/**
+	 * Finds the first method of this library on the stack, that is not a method of this class or a utility method.
+	 * When there is none, the first method of the application is taken.
+	 *
+	 * @return The name of the operation, e.g. <code>SplitDock.addDockable</code>.
+	 */
+	@NotNull
+	private static String findOperation() {
+
+		StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+		for (int index = 0; index < stackTrace.length; index++) {
+			String className = stackTrace[index].getClassName();
+			if ((className.startsWith("com.javadocking.")) && (!className.startsWith("com.javadocking.util."))
+					&& (!className.equals("com.javadocking.dock.TabDockV6Addition"))) {
+				return getOperationName(stackTrace[index]);
+			}
+		}
+
+		// Find the first method of the application.
+		for (int index = 0; index < stackTrace.length; index++) {
+			String className = stackTrace[index].getClassName();
+			if ((!className.startsWith("java.")) && (!className.startsWith("javax.")) && (!className.startsWith("sun."))
+					&& (!className.startsWith("jdk.")) && (!className.startsWith("com.javadocking."))) {
+				return getOperationName(stackTrace[index]);
+			}
+		}
+		return UNKNOWN_OPERATION;
+
+	}
+
+	@NotNull
+	private static String getOperationName(@NotNull StackTraceElement stackTraceElement) {
+
+		String className = stackTraceElement.getClassName();
+		return className.substring(className.lastIndexOf('.') + 1) + "." + stackTraceElement.getMethodName();
+
+	}
+
+	/**
+	 * Gets the name of a dock for the report.
+	 *
+	 * @param dock The dock or visualizer.
+	 * @return The name of the dock.
+	 */
+	@NotNull
+	private static String getDockName(@NotNull Component dock) {
+		return dock.getClass().getName().substring(dock.getClass().getName().lastIndexOf('.') + 1) + "@" + Integer.toHexString(System.identityHashCode(dock));
+	}
+
+	// Private classes.
+
+	/**
+	 * The repaint manager that records the requests and the time of painting and validating.
+	 */
+	private static class DiagnosticRepaintManager extends RepaintManager {
+
+		// Overwritten methods from RepaintManager.
+
+		public void addDirtyRegion(JComponent component, int x, int y, int width, int height) {
+
+			super.addDirtyRegion(component, x, y, width, height);
+			if ((width <= 0) || (height <= 0)) {
+				return;
+			}
+			if (component instanceof HeatmapOverlay) {
+				synchronized (LOCK) {
+					overlayDirty = true;
+				}
+			} else {
+				repaintRequested(component, (long) width * height);
+			}
+
+		}
+
+		public void addInvalidComponent(JComponent component) {
+
+			super.addInvalidComponent(component);
+			revalidateRequested(component);
+
+		}
+
+		public void validateInvalidComponents() {
+
+			long startTime = System.nanoTime();
+			super.validateInvalidComponents();
+			validated(System.nanoTime() - startTime);
+
+		}
+
+		public void paintDirtyRegions() {
+
+			long startTime = System.nanoTime();
+			super.paintDirtyRegions();
+			painted(System.nanoTime() - startTime);
+
+		}
+
+	}
+
+	/**
+	 * The recorded requests for a dock and an operation.
+	 */
+	private static class Statistics {
+
+		// Fields.
+
+		private long repaintCount;
+		private long dirtyArea;
+		private long revalidateCount;
+		private long operationCount;
+		private long operationTime;
+		private long paintTime;
+
+		// Private metods.
+
+		@NotNull
+		private Statistics copy() {
+
+			Statistics copy = new Statistics();
+			copy.repaintCount = repaintCount;
+			copy.dirtyArea = dirtyArea;
+			copy.revalidateCount = revalidateCount;
+			copy.operationCount = operationCount;
+			copy.operationTime = operationTime;
+			copy.paintTime = paintTime;
+			return copy;
+
+		}
+
+	}
+
+	/**
+	 * A dock with the operation that makes requests for it.
+	 */
+	private static class RunningOperation {
+
+		// Fields.
+
+		@Nullable
+		private Component dock;
+		private String operation;
+
+		// Constructors.
+
+		private RunningOperation(@Nullable Component dock, String operation) {
+			this.dock = dock;
+			this.operation = operation;
+		}
+
+	}
+
+	/**
+	 * A line of the report.
+	 */
+	private static class ReportLine {
+
+		// Fields.
+
+		private String dockName;
+		private String operation;
+		private Statistics statistics;
+
+		// Constructors.
+
+		private ReportLine(String dockName, String operation, Statistics statistics) {
+			this.dockName = dockName;
+			this.operation = operation;
+			this.statistics = statistics;
+		}
+
+	}
+
+	/**
+	 * Sorts the lines of the report: the lines with the biggest dirty area first.
+	 */
+	private static class ReportLineComparator implements Comparator {
+
+		// Implementations of Comparator.
+
+		public int compare(Object object1, Object object2) {
+
+			long dirtyArea1 = ((ReportLine) object1).statistics.dirtyArea;
+			long dirtyArea2 = ((ReportLine) object2).statistics.dirtyArea;
+			return dirtyArea1 > dirtyArea2 ? -1 : (dirtyArea1 < dirtyArea2 ? 1 : 0);
+
+		}
+
+	}
+
+	/**
+	 * Repaints the overlays and keeps them as big as their layered panes.
+	 */
+	private static class OverlayRefresher implements ActionListener {
+
+		// Implementations of ActionListener.
+
+		public void actionPerformed(ActionEvent actionEvent) {
+
+			Iterator iterator = overlays.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry entry = (Map.Entry) iterator.next();
+				JLayeredPane layeredPane = ((JRootPane) entry.getKey()).getLayeredPane();
+				HeatmapOverlay overlay = (HeatmapOverlay) entry.getValue();
+				overlay.setBounds(0, 0, layeredPane.getWidth(), layeredPane.getHeight());
+				overlay.repaint();
+			}
+
+		}
+
+	}
+
+	/**
+	 * The transparent component that paints the heatmap of the docks in a root pane.
+	 */
+	private static class HeatmapOverlay extends JComponent {
+
+		// Fields.
+
+		@NotNull
+		private JRootPane rootPane;
+
+		// Constructors.
+
+		private HeatmapOverlay(@NotNull JRootPane rootPane) {
+
+			this.rootPane = rootPane;
+			setOpaque(false);
+
+		}
+
+		// Overwritten methods from JComponent.
+
+		protected void paintComponent(@NotNull Graphics graphics) {
+
+			long startTime = System.nanoTime();
+			paintHeatmap(graphics);
+			synchronized (LOCK) {
+				overlayPaintTime += System.nanoTime() - startTime;
+			}
+
+		}
+
+		// Private metods.
+
+		private void paintHeatmap(@NotNull Graphics graphics) {
+
+			// Get the dirty areas.
+			Map dirtyAreas;
+			synchronized (LOCK) {
+				dirtyAreas = getDirtyAreas();
+			}
+
+			// Get the biggest dirty area of the docks in this root pane.
+			long maximumArea = 0;
+			Iterator iterator = dirtyAreas.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry entry = (Map.Entry) iterator.next();
+				Component dock = (Component) entry.getKey();
+				if ((dock.isShowing()) && (SwingUtilities.getRootPane(dock) == rootPane)) {
+					maximumArea = Math.max(maximumArea, ((Long) entry.getValue()).longValue());
+				} else {
+					iterator.remove();
+				}
+			}
+			if (maximumArea == 0) {
+				return;
+			}
+
+			// Paint a rectangle for every dock.
+			iterator = dirtyAreas.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry entry = (Map.Entry) iterator.next();
+				Component dock = (Component) entry.getKey();
+				long dirtyArea = ((Long) entry.getValue()).longValue();
+				Rectangle bounds = SwingUtilities.convertRectangle(dock.getParent(), dock.getBounds(), this);
+				int alpha = (int) (20 + 140 * dirtyArea / maximumArea);
+				graphics.setColor(new Color(255, 0, 0, alpha));
+				graphics.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+				graphics.setColor(Color.black);
+				graphics.drawString(getDockName(dock) + ": " + dirtyArea + " px", bounds.x + 4, bounds.y + graphics.getFontMetrics().getAscent() + 2);
+			}
+
+		}
+
+	}
+
+}
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 
 /**
@@ -21,23 +22,35 @@ public class SwingUtil {
 
 	/**
 	 * Repaints the parent of the given component. If the parent is null, the component itself is repainted.
+	 * <p>
+	 * When the {@link RepaintDiagnostics} are enabled, the repaints are counted for the given component.
+	 * </p>
 	 *
 	 * @param component The component whose parent will be repainted.
 	 */
 	public static void repaintParent(@NotNull JComponent component) {
 
-		// Get the parent of the component.
-		JComponent parentComponent = (JComponent) SwingUtilities.getAncestorOfClass(JComponent.class, component);
-
-		// Could we find a parent?
-		if (parentComponent != null) {
-			// Repaint the parent.
-			parentComponent.revalidate();
-			parentComponent.repaint();
-		} else {
-			// Repaint the component itself.
-			component.revalidate();
-			component.repaint();
+		// Are the repaints recorded?
+		boolean diagnostics = RepaintDiagnostics.isEnabled();
+		long startTime = diagnostics ? RepaintDiagnostics.beginOperation(component) : 0;
+		try {
+			// Get the parent of the component.
+			JComponent parentComponent = (JComponent) SwingUtilities.getAncestorOfClass(JComponent.class, component);
+
+			// Could we find a parent?
+			if (parentComponent != null) {
+				// Repaint the parent.
+				parentComponent.revalidate();
+				parentComponent.repaint();
+			} else {
+				// Repaint the component itself.
+				component.revalidate();
+				component.repaint();
+			}
+		} finally {
+			if (diagnostics) {
+				RepaintDiagnostics.endOperation(startTime);
+			}
 		}
 
 	}
@@ -180,6 +193,46 @@ public class SwingUtil {
 
 	}
 
+	/**
+	 * <p>
+	 * Gets the deepest visible component at the given location in the parent.
+	 * </p>
+	 * <p>
+	 * This gives the same result as javax.swing.SwingUtilities.getDeepestComponentAt, but no arrays
+	 * or points are created, so that it can be called for every mouse event during dragging.
+	 * </p>
+	 *
+	 * @param parent The component in which the location is searched.
+	 * @param x      The x-coordinate of the location, relative to the parent.
+	 * @param y      The y-coordinate of the location, relative to the parent.
+	 * @return The deepest visible component at the location. Null when the parent doesn't contain the location.
+	 */
+	@Nullable
+	public static Component getDeepestComponentAt(@NotNull Component parent, int x, int y) {
+
+		if (!parent.contains(x, y)) {
+			return null;
+		}
+		if (parent instanceof Container) {
+			Container container = (Container) parent;
+			for (int index = 0; index < container.getComponentCount(); index++) {
+				Component child = container.getComponent(index);
+				if ((child != null) && (child.isVisible())) {
+					if (child instanceof Container) {
+						child = getDeepestComponentAt(child, x - child.getX(), y - child.getY());
+					} else {
+						child = child.getComponentAt(x - child.getX(), y - child.getY());
+					}
+					if ((child != null) && (child.isVisible())) {
+						return child;
+					}
+				}
+			}
+		}
+		return parent;
+
+	}
+
 	// Private constructor.
 
 	/**
@@ -213,4 +266,54 @@ public class SwingUtil {
 		return false;
 
 	}
+
+	/**
+	 * <p>
+	 * Creates a custom cursor with a hint icon in its bottom right corner, e.g. an icon that shows
+	 * where the dockable will be docked.
+	 * </p>
+	 * <p>
+	 * Creating a custom cursor is expensive. The cursor should be created once and reused for every drag,
+	 * e.g. by setting it with {@link com.javadocking.DockingManager#setCanDockCursor(Cursor)}.
+	 * </p>
+	 *
+	 * @param cursorImage The image of the cursor.
+	 * @param hotSpot     The hot spot of the cursor in the cursor image.
+	 * @param hintIcon    The icon that is painted in the bottom right corner of the cursor. Can be null.
+	 * @param name        The name of the cursor.
+	 * @return The custom cursor. Null if the platform does not support custom cursors.
+	 */
+	@Nullable
+	public static Cursor createHintCursor(@NotNull Image cursorImage, @NotNull Point hotSpot, @Nullable Icon hintIcon, String name) {
+
+		if (GraphicsEnvironment.isHeadless()) {
+			return null;
+		}
+
+		// Get the size that is supported for cursors.
+		Toolkit toolkit = Toolkit.getDefaultToolkit();
+		int imageWidth = Math.max(1, cursorImage.getWidth(null));
+		int imageHeight = Math.max(1, cursorImage.getHeight(null));
+		Dimension cursorSize = toolkit.getBestCursorSize(imageWidth, imageHeight);
+		if ((cursorSize.width <= 0) || (cursorSize.height <= 0)) {
+			return null;
+		}
+
+		// Paint the cursor image and the hint icon.
+		BufferedImage image = new BufferedImage(cursorSize.width, cursorSize.height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = image.createGraphics();
+		try {
+			graphics.drawImage(cursorImage, 0, 0, null);
+			if (hintIcon != null) {
+				hintIcon.paintIcon(null, graphics, cursorSize.width - hintIcon.getIconWidth(), cursorSize.height - hintIcon.getIconHeight());
+			}
+		} finally {
+			graphics.dispose();
+		}
+
+		Point cursorHotSpot = new Point(Math.min(hotSpot.x, cursorSize.width - 1), Math.min(hotSpot.y, cursorSize.height - 1));
+		return toolkit.createCustomCursor(image, cursorHotSpot, name);
+
+	}
+
 }
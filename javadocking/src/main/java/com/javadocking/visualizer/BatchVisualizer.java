@@ -0,0 +1,33 @@
+package com.javadocking.visualizer;
+
+import com.javadocking.dockable.Dockable;
+
+/**
+ * <p>
+ * This is an interface for a visualizer that can add or remove a group of dockables at once.
+ * </p>
+ * <p>
+ * The result should be the same as calling {@link Visualizer#visualizeDockable(Dockable)} or
+ * {@link Visualizer#removeVisualizedDockable(Dockable)} for every dockable of the group, but the visualizer
+ * is only rebuilt and revalidated once.
+ * </p>
+ */
+public interface BatchVisualizer extends Visualizer {
+
+	/**
+	 * Adds the dockables to this visualizer, in the order of the array.
+	 * Dockables that are already visualized by this visualizer are skipped.
+	 *
+	 * @param dockablesToVisualize The dockables whose contents have to be visualized. May not be null.
+	 */
+	void visualizeDockables(Dockable[] dockablesToVisualize);
+
+	/**
+	 * Removes the visualized dockables from this visualizer.
+	 *
+	 * @param dockablesToRemove The dockables that have to be removed.
+	 * @throws IllegalArgumentException If one of the dockables is not visualized by this visualizer.
+	 */
+	void removeVisualizedDockables(Dockable[] dockablesToRemove);
+
+}
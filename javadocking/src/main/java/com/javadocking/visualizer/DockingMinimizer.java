@@ -59,15 +59,16 @@ public class DockingMinimizer implements Visualizer {
 
 
 	/**
-	 * The minimized dockables of this panel.
+	 * Mapping between the minimized dockables and their minimized components, in the order in which the dockables
+	 * were minimized.
 	 */
 	@NotNull
-	private List minimizedDockables = new ArrayList();
+	private Map minimizedHeaders = new LinkedHashMap();
 	/**
-	 * Mapping between the minimized dockables and their minimized components.
+	 * The minimized dockables in the order in which they were minimized. Null when it has to be created again.
 	 */
-	@NotNull
-	private Map minimizedHeaders = new HashMap();
+	@Nullable
+	private Dockable[] minimizedDockableArray;
 	/**
 	 * Mapping between the minimized dockables and the dockables around their minimized components.
 	 */
@@ -83,6 +84,11 @@ public class DockingMinimizer implements Visualizer {
 	 */
 	@NotNull
 	private SelectionChangeListener selectionChangeListener = new SelectionChangeListener();
+	/**
+	 * The header that was selected last. When another header is selected, only this header has to be deselected.
+	 */
+	@Nullable
+	private SelectableHeader selectedHeader;
 
 	// Constructors.
 
@@ -116,7 +122,7 @@ public class DockingMinimizer implements Visualizer {
 		}
 
 		// Is the dockable already minimized in this panel?
-		return !minimizedDockables.contains(dockableToVisualize);
+		return !minimizedHeaders.containsKey(dockableToVisualize);
 
 	}
 
@@ -128,7 +134,7 @@ public class DockingMinimizer implements Visualizer {
 		}
 
 		// Is the dockable already minimized in this panel?
-		if (minimizedDockables.contains(dockableToVisualize)) {
+		if (minimizedHeaders.containsKey(dockableToVisualize)) {
 			return;
 		}
 
@@ -146,9 +152,9 @@ public class DockingMinimizer implements Visualizer {
 		// Dock the dockable.
 		boolean result = docker.dock(buttonDockable);
 		if (result) {
-			minimizedDockables.add(dockableToVisualize);
 			minimizedHeaderDockables.put(dockableToVisualize, buttonDockable);
 			minimizedHeaders.put(dockableToVisualize, dockableHeader);
+			minimizedDockableArray = null;
 		} else {
 			// Reset the state.
 			dockableToVisualize.setState(DockableState.CLOSED, null);
@@ -163,23 +169,26 @@ public class DockingMinimizer implements Visualizer {
 			throw new IndexOutOfBoundsException("Index " + index);
 		}
 
-		return (Dockable) minimizedDockables.get(index);
+		return getMinimizedDockableArray()[index];
 
 	}
 
 	public int getVisualizedDockableCount() {
-		return minimizedDockables.size();
+		return minimizedHeaders.size();
 	}
 
 	public void removeVisualizedDockable(Dockable dockableToRemove) {
 
 		// Check if the dockable is minimized in this minimizer.
-		if (!minimizedDockables.contains(dockableToRemove)) {
+		if (!minimizedHeaders.containsKey(dockableToRemove)) {
 			throw new IllegalArgumentException("The dockable is not minimized in this minimizer.");
 		}
 
 		SelectableHeader minimizedComponent = (SelectableHeader) minimizedHeaders.get(dockableToRemove);
 		minimizedComponent.removePropertyChangeListener(selectionChangeListener);
+		if (minimizedComponent == selectedHeader) {
+			selectedHeader = null;
+		}
 		Dockable buttonDockable = (Dockable) minimizedHeaderDockables.get(dockableToRemove);
 		Dock dockToClean = buttonDockable.getDock();
 		DockingManager.getDockingExecutor().changeDocking(buttonDockable, (Dock) null);
@@ -188,8 +197,8 @@ public class DockingMinimizer implements Visualizer {
 		}
 
 		minimizedHeaders.remove(dockableToRemove);
-		minimizedDockables.remove(dockableToRemove);
 		minimizedHeaderDockables.remove(dockableToRemove);
+		minimizedDockableArray = null;
 
 	}
 
@@ -209,11 +218,11 @@ public class DockingMinimizer implements Visualizer {
 
 					// Create the minimized dockable.
 					dockable.setState(DockableState.MINIMIZED, this);
-					minimizedDockables.add(dockable);
 //					SelectableDockableHeader dockableHeader = (SelectableDockableHeader)DockingManager.getComponentFactory().createMinimizeHeader(dockable, Position.TOP);
 					SelectableHeader dockableHeader = DockingManager.getComponentFactory().createMinimizeHeader(dockable, Position.TOP);
 					dockableHeader.addPropertyChangeListener(selectionChangeListener);
 					minimizedHeaders.put(dockable, dockableHeader);
+					minimizedDockableArray = null;
 					ButtonDockable buttonDockable = new ButtonDockable(createMinimizedHeaderDockableID(dockable),
 							(Component) dockableHeader, DockingMode.MINIMIZE_BAR | DockingMode.FLOAT);
 					dockablesMap.put(buttonDockable.getID(), buttonDockable);
@@ -292,6 +301,20 @@ public class DockingMinimizer implements Visualizer {
 
 	// Private metods.
 
+	/**
+	 * Gets the minimized dockables in the order in which they were minimized.
+	 *
+	 * @return The minimized dockables.
+	 */
+	@NotNull
+	private Dockable[] getMinimizedDockableArray() {
+
+		if (minimizedDockableArray == null) {
+			minimizedDockableArray = (Dockable[]) minimizedHeaders.keySet().toArray(new Dockable[minimizedHeaders.size()]);
+		}
+		return minimizedDockableArray;
+
+	}
 
 	/**
 	 * Deselects all the headers, except the given object.
@@ -309,6 +332,7 @@ public class DockingMinimizer implements Visualizer {
 				selectableDockableHeader.addPropertyChangeListener(selectionChangeListener);
 			}
 		}
+		selectedHeader = null;
 	}
 
 	/**
@@ -319,14 +343,16 @@ public class DockingMinimizer implements Visualizer {
 	 */
 	private void selectMinimizedHeader(Object objectToSelect, boolean selected) {
 
-		// Iterate over all the headers.
-		for (Object o : minimizedHeaders.values()) {
-			//SelectableDockableHeader selectableDockableHeader = (SelectableDockableHeader)headerIterator.next();
-			SelectableHeader selectableDockableHeader = (SelectableHeader) o;
-			if (selectableDockableHeader.equals(objectToSelect)) {
-				selectableDockableHeader.removePropertyChangeListener(selectionChangeListener);
-				selectableDockableHeader.setSelected(selected);
-				selectableDockableHeader.addPropertyChangeListener(selectionChangeListener);
+		// Only the given header changes.
+		if (objectToSelect instanceof SelectableHeader) {
+			SelectableHeader selectableDockableHeader = (SelectableHeader) objectToSelect;
+			selectableDockableHeader.removePropertyChangeListener(selectionChangeListener);
+			selectableDockableHeader.setSelected(selected);
+			selectableDockableHeader.addPropertyChangeListener(selectionChangeListener);
+			if (selected) {
+				selectedHeader = selectableDockableHeader;
+			} else if (selectedHeader == selectableDockableHeader) {
+				selectedHeader = null;
 			}
 		}
 
@@ -367,8 +393,13 @@ public class DockingMinimizer implements Visualizer {
 					boolean newSelected = (Boolean) newValue;
 					Object source = propertyChangeEvent.getSource();
 					if (newSelected) {
-						// Deselect all the headers a select the selected.
-						deselectAllMinimizedHeaders(source);
+						// Deselect the header that was selected before.
+						if ((selectedHeader != null) && (selectedHeader != source)) {
+							selectMinimizedHeader(selectedHeader, false);
+						}
+						if (source instanceof SelectableHeader) {
+							selectedHeader = (SelectableHeader) source;
+						}
 					} else {
 						// Deselect the header.
 						selectMinimizedHeader(source, false);
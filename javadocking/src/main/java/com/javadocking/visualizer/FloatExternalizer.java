@@ -227,10 +227,9 @@ public class FloatExternalizer implements Externalizer {
 
 			Dockable dockable = externalizeDock.getDockable(0);
 			if (dockable.equals(dockableToRemove)) {
-				// Get the parent window.
+				// Get the parent window and give it back to the pool.
 				Window window = (Window) externalizeDockWindows.get(externalizeDock);
-				window.setVisible(false);
-				window.dispose();
+				DockingManager.getFloatWindowPool().release(window);
 
 				// Remove it from the list with externalize docks.
 				externalizeDocks.remove(externalizeDock);
@@ -361,6 +360,7 @@ public class FloatExternalizer implements Externalizer {
 		}
 		if (newOwner != null) {
 			newOwner.addWindowListener(ownerWindowListener);
+			DockingManager.getFloatWindowPool().warmUp(newOwner);
 		}
 		this.owner = newOwner;
 
@@ -500,17 +500,9 @@ public class FloatExternalizer implements Externalizer {
 		Point point = new Point(location.x, location.y);
 		checkFloatingWindowLocation(point);
 
-		// Create a panel for the dock.
-		JPanel panel = new JPanel(new BorderLayout());
-		panel.setBorder(DockingManager.getComponentFactory().createFloatingBorder());
-		panel.add((Component) dock, BorderLayout.CENTER);
-
-		// Create the floating window.
-		Window dialog = DockingManager.getComponentFactory().createWindow(this.owner);
-		if (dialog instanceof JDialog)
-			((JDialog) dialog).setContentPane(panel);
-		else
-			((JFrame) dialog).setContentPane(panel);
+		// Get a floating window from the pool and put the dock in it.
+		Window dialog = DockingManager.getFloatWindowPool().obtain(this.owner);
+		SwingUtil.getContentPane(dialog).add((Component) dock, BorderLayout.CENTER);
 
 		// Add the listeners.
 		dialog.addWindowFocusListener(new MoveToFrontListener(dock));
@@ -608,6 +600,9 @@ public class FloatExternalizer implements Externalizer {
 				dockable.setState(DockableState.CLOSED, null);
 			}
 
+			// Give the window back to the pool.
+			DockingManager.getFloatWindowPool().release(windowEvent.getWindow());
+
 		}
 
 		public void windowDeactivated(WindowEvent windowEvent) {
@@ -686,20 +681,23 @@ public class FloatExternalizer implements Externalizer {
 
 		public void windowClosed(WindowEvent windowEvent) {
 
-			for (int index = 0; index < externalizeDocks.size(); index++) {
+			while (!externalizeDocks.isEmpty()) {
 				// Get the child dock.
-				Dock dock = (Dock) externalizeDocks.get(index);
+				Dock dock = (Dock) externalizeDocks.get(0);
 
 				// Get the parent window.
+				// The owner is not displayable anymore, so the pool disposes the window and forgets it.
 				Window window = (Window) externalizeDockWindows.get(dock);
-				window.setVisible(false);
-				window.dispose();
+				DockingManager.getFloatWindowPool().release(window);
 
 				// Remove it from the list with child docks.
 				externalizeDocks.remove(dock);
 				externalizeDockWindows.remove(dock);
 			}
 
+			// Dispose the free windows of the owner.
+			DockingManager.getFloatWindowPool().clear(windowEvent.getWindow());
+
 		}
 
 		public void windowClosing(WindowEvent windowEvent) {
@@ -719,7 +717,10 @@ public class FloatExternalizer implements Externalizer {
 		}
 
 		public void windowOpened(WindowEvent windowEvent) {
-			// Do nothing.
+
+			// Create the native windows for the first floating docks.
+			DockingManager.getFloatWindowPool().warmUp(windowEvent.getWindow());
+
 		}
 
 	}
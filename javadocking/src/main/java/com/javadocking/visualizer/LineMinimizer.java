@@ -25,7 +25,7 @@ import java.util.Properties;
  *
  * @author Heidi Rakels.
  */
-public class LineMinimizer extends JPanel implements Visualizer {
+public class LineMinimizer extends JPanel implements BatchVisualizer {
 
 	// Fields.
 
@@ -55,8 +55,7 @@ public class LineMinimizer extends JPanel implements Visualizer {
 		add(borderPanel, BorderLayout.SOUTH);
 		minimizerPanel = new MinimizerPanel(MinimizerPanel.ORIENTATION_HORIZONTAL);
 		borderPanel.setVisible(false);
-		borderPanel.add(minimizerPanel, BorderLayout.WEST);
-		borderPanel.add(new JPanel(), BorderLayout.CENTER);
+		addMinimizerPanel();
 
 	}
 
@@ -119,11 +118,42 @@ public class LineMinimizer extends JPanel implements Visualizer {
 
 	}
 
+	// Implementations of BatchVisualizer.
+
+	public void visualizeDockables(@NotNull Dockable[] dockablesToVisualize) {
+
+		minimizerPanel.visualizeDockables(dockablesToVisualize);
+		if (minimizerPanel.getVisualizedDockableCount() > 0) {
+			borderPanel.setVisible(true);
+		}
+
+		// Don't forget this, otherwise the delegate will be registered as the visualizer.
+		for (Dockable dockableToVisualize : dockablesToVisualize) {
+			dockableToVisualize.setState(DockableState.MINIMIZED, this);
+		}
+
+		revalidate();
+		repaint();
+
+	}
+
+	public void removeVisualizedDockables(Dockable[] dockablesToRemove) {
+
+		minimizerPanel.removeVisualizedDockables(dockablesToRemove);
+		if (minimizerPanel.getVisualizedDockableCount() == 0) {
+			borderPanel.setVisible(false);
+		}
+		revalidate();
+		repaint();
+
+	}
+
 	/**
 	 * Loads the properties of this minimizer.
 	 */
 	public void loadProperties(String prefix, Properties properties, Map dockablesMap, Window owner) throws IOException {
 		minimizerPanel.loadProperties(prefix, properties, dockablesMap, owner);
+		addMinimizerPanel();
 		if (minimizerPanel.getVisualizedDockableCount() == 0) {
 			borderPanel.setVisible(false);
 		} else {
@@ -220,4 +250,50 @@ public class LineMinimizer extends JPanel implements Visualizer {
 		minimizerPanel.setHeaderPosition(newHeaderPosition);
 	}
 
+	/**
+	 * Determines if only the headers that fit in the line are shown.
+	 *
+	 * @return True when only the headers that fit in the line are shown, and the other dockables are grouped
+	 * behind an overflow button, false when the headers of all the dockables are shown.
+	 * @see MinimizerPanel#isOverflow()
+	 */
+	public boolean isOverflow() {
+		return minimizerPanel.isOverflow();
+	}
+
+	/**
+	 * Sets if only the headers that fit in the line are shown.
+	 *
+	 * @param overflow True when only the headers that fit in the line have to be shown, and the other dockables
+	 *                 have to be grouped behind an overflow button, false when the headers of all the dockables
+	 *                 have to be shown.
+	 * @see MinimizerPanel#setOverflow(boolean)
+	 */
+	public void setOverflow(boolean overflow) {
+
+		minimizerPanel.setOverflow(overflow);
+		addMinimizerPanel();
+
+	}
+
+	// Private metods.
+
+	/**
+	 * Adds the minimizer panel to the border panel. In the overflow mode the minimizer panel gets the whole
+	 * length of the line, otherwise it gets its preferred length.
+	 */
+	private void addMinimizerPanel() {
+
+		borderPanel.removeAll();
+		if (minimizerPanel.isOverflow()) {
+			borderPanel.add(minimizerPanel, BorderLayout.CENTER);
+		} else {
+			borderPanel.add(minimizerPanel, BorderLayout.WEST);
+			borderPanel.add(new JPanel(), BorderLayout.CENTER);
+		}
+		revalidate();
+		repaint();
+
+	}
+
 }
@@ -5,12 +5,18 @@ import com.javadocking.component.SelectableDockableHeader;
 import com.javadocking.dock.Position;
 import com.javadocking.dockable.Dockable;
 import com.javadocking.dockable.DockableState;
+import com.javadocking.dockable.action.DefaultDockableStateAction;
+import com.javadocking.util.DockingUtil;
 import com.javadocking.util.PropertiesUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
@@ -18,11 +24,24 @@ import java.util.*;
 import java.util.List;
 
 /**
+ * <p>
  * A visualizer that shows minimized dockables in a line in a panel.
+ * </p>
+ * <p>
+ * When the overflow mode is on, the panel only creates and shows the headers of the minimized dockables that fit
+ * in the panel. The other dockables are grouped behind an overflow button with the number of these dockables.
+ * The button shows a popup menu where these dockables can be restored. This keeps the layout and painting cost
+ * of the panel bounded, when there are many minimized dockables.
+ * </p>
+ * <p>
+ * The visible headers are determined, when the minimized dockables change or when the panel is resized,
+ * not while the panel is laid out. A header that was created and is hidden again, is kept until its dockable
+ * is removed from the panel.
+ * </p>
  *
  * @author Heidi Rakels.
  */
-public class MinimizerPanel extends JPanel implements Visualizer {
+public class MinimizerPanel extends JPanel implements BatchVisualizer {
 
 	// Static fields.
 
@@ -43,6 +62,10 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 	 * The name of the <code>selectedDockableIds</code> property.
 	 */
 	private static final String PROPERTY_SELECTED_DOCKABLE_IDS = "selectedDockableIds";
+	/**
+	 * The name of the <code>overflow</code> property.
+	 */
+	private static final String PROPERTY_OVERFLOW = "overflow";
 
 
 	// Fields.
@@ -58,15 +81,35 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 	 */
 	private int orientation;
 	/**
-	 * The minimized dockables of this panel.
+	 * Mapping between the minimized dockables and their minimized components, in the order in which the dockables
+	 * were minimized. The component is null, when it is not created yet.
 	 */
 	@NotNull
-	private List minimizedDockables = new ArrayList();
+	private Map minimizedHeaders = new LinkedHashMap();
 	/**
-	 * Mapping between the minimized dockables and their minimizd components.
+	 * The minimized dockables in the order in which they were minimized. Null when it has to be created again.
 	 */
-	@NotNull
-	private Map minimizedHeaders = new HashMap();
+	@Nullable
+	private Dockable[] minimizedDockableArray;
+	/**
+	 * The minimized dockable whose header is selected.
+	 */
+	@Nullable
+	private Dockable selectedDockable;
+	/**
+	 * True when only the headers that fit in the panel are shown, and the other dockables are grouped
+	 * behind the overflow button.
+	 */
+	private boolean overflow = false;
+	/**
+	 * The button that shows the dockables whose headers don't fit in the panel.
+	 */
+	@Nullable
+	private JButton overflowButton;
+	/**
+	 * The number of minimized dockables whose headers are shown, when the overflow mode is on.
+	 */
+	private int visibleDockableCount;
 	/**
 	 * Listens to selection changes of the headers.
 	 */
@@ -92,6 +135,7 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 	public MinimizerPanel(int orientation) {
 
 		this.orientation = orientation;
+		addComponentListener(new ResizeListener());
 		rebuildUI();
 
 	}
@@ -110,7 +154,7 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 		}
 
 		// Is the dockable already minimized in this panel?
-		return !minimizedDockables.contains(dockableToVisualize);
+		return !minimizedHeaders.containsKey(dockableToVisualize);
 
 	}
 
@@ -122,29 +166,20 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 		}
 
 		// Is the dockable already minimized in this panel?
-		if (minimizedDockables.contains(dockableToVisualize)) {
+		if (minimizedHeaders.containsKey(dockableToVisualize)) {
 			return;
 		}
 
-		// Set the dockable minimized.
-		dockableToVisualize.setState(DockableState.MINIMIZED, this);
-
 		// Visualize.
-		minimizedDockables.add(dockableToVisualize);
-		SelectableDockableHeader dockableHeader = (SelectableDockableHeader) DockingManager.getComponentFactory().createMinimizeHeader(dockableToVisualize, headerPosition);
-		dockableHeader.addPropertyChangeListener(selectionChangeListener);
-		minimizedHeaders.put(dockableToVisualize, dockableHeader);
-		removeAll();
-		for (Object minimizedDockable : minimizedDockables) {
-			add((Component) minimizedHeaders.get(minimizedDockable));
-		}
+		addMinimizedDockable(dockableToVisualize);
+		updateVisibleHeaders();
 		revalidate();
 		repaint();
 
 	}
 
 	public int getVisualizedDockableCount() {
-		return minimizedDockables.size();
+		return minimizedHeaders.size();
 	}
 
 	@NotNull
@@ -155,22 +190,56 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 			throw new IndexOutOfBoundsException("Index " + index);
 		}
 
-		return (Dockable) minimizedDockables.get(index);
+		return getMinimizedDockableArray()[index];
 
 	}
 
 	public void removeVisualizedDockable(Dockable dockableToRemove) {
 
 		// Check if the dockable is minimized in this minimizer.
-		if (!minimizedDockables.contains(dockableToRemove)) {
+		if (!minimizedHeaders.containsKey(dockableToRemove)) {
 			throw new IllegalArgumentException("The dockable is not minimized in this minimizer.");
 		}
 
-		SelectableDockableHeader minimizedComponent = (SelectableDockableHeader) minimizedHeaders.get(dockableToRemove);
-		minimizedComponent.removePropertyChangeListener(selectionChangeListener);
-		remove(minimizedComponent);
-		minimizedHeaders.remove(dockableToRemove);
-		minimizedDockables.remove(dockableToRemove);
+		removeMinimizedDockable(dockableToRemove);
+		updateVisibleHeaders();
+		revalidate();
+		repaint();
+
+	}
+
+	// Implementations of BatchVisualizer.
+
+	public void visualizeDockables(@NotNull Dockable[] dockablesToVisualize) {
+
+		// Add all the dockables, before the panel is revalidated.
+		for (Dockable dockableToVisualize : dockablesToVisualize) {
+			if (dockableToVisualize == null) {
+				throw new NullPointerException("Dockable to minimize null.");
+			}
+			if (!minimizedHeaders.containsKey(dockableToVisualize)) {
+				addMinimizedDockable(dockableToVisualize);
+			}
+		}
+		updateVisibleHeaders();
+		revalidate();
+		repaint();
+
+	}
+
+	public void removeVisualizedDockables(@NotNull Dockable[] dockablesToRemove) {
+
+		// Check if the dockables are minimized in this minimizer.
+		for (Dockable dockableToRemove : dockablesToRemove) {
+			if (!minimizedHeaders.containsKey(dockableToRemove)) {
+				throw new IllegalArgumentException("The dockable is not minimized in this minimizer.");
+			}
+		}
+
+		for (Dockable dockableToRemove : dockablesToRemove) {
+			removeMinimizedDockable(dockableToRemove);
+		}
+		updateVisibleHeaders();
 		revalidate();
 		repaint();
 
@@ -192,6 +261,9 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 		headerPosition = PropertiesUtil.getInteger(properties, prefix + "headerPosition", headerPosition);
 		setHeaderPosition(headerPosition);
 
+		// Get the overflow mode. Older properties don't have it.
+		setOverflow(PropertiesUtil.getBoolean(properties, prefix + PROPERTY_OVERFLOW, overflow));
+
 		// Load the IDs of the dockables.
 		String[] dockableIdArray = new String[0];
 		dockableIdArray = PropertiesUtil.getStringArray(properties, prefix + PROPERTY_DOCKABLE_IDS, dockableIdArray);
@@ -218,19 +290,15 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 		selectedDockableIdArray = PropertiesUtil.getStringArray(properties, prefix + PROPERTY_SELECTED_DOCKABLE_IDS, selectedDockableIdArray);
 
 		// Deselect all the dockables.
-		deselectAllMinimizedHeaders(null);
+		setSelectedDockable(null);
 
 		// Iterate over the IDs of the selected dockables.
 		for (final String aSelectedDockableIdArray : selectedDockableIdArray) {
 			// Try to get the dockable.
 			Object dockableObject = dockablesMap.get(aSelectedDockableIdArray);
-			if (dockableObject != null) {
-				if (dockableObject instanceof Dockable) {
-					// Select the dockable.
-					Dockable dockable = (Dockable) dockableObject;
-					SelectableDockableHeader dockableHeader = (SelectableDockableHeader) minimizedHeaders.get(dockable);
-					selectMinimizedHeader(dockableHeader, true);
-				}
+			if ((dockableObject instanceof Dockable) && (minimizedHeaders.containsKey(dockableObject))) {
+				// Select the dockable.
+				setSelectedDockable((Dockable) dockableObject);
 			}
 		}
 
@@ -248,24 +316,22 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 		// Save the orientation.
 		PropertiesUtil.setInteger(properties, prefix + "orientation", orientation);
 
+		// Save the overflow mode.
+		PropertiesUtil.setBoolean(properties, prefix + PROPERTY_OVERFLOW, overflow);
+
 		// Save the IDs of the dockables and the IDs of the selected dockables.
-		String[] dockableIdArray = new String[getVisualizedDockableCount()];
-		List selectedDockableIDs = new ArrayList(1);
+		Dockable[] minimizedDockables = getMinimizedDockableArray();
+		String[] dockableIdArray = new String[minimizedDockables.length];
 		for (int index = 0; index < dockableIdArray.length; index++) {
-			// Get the ID of the dockable.
-			Dockable minimizedDockable = getVisualizedDockable(index);
-			dockableIdArray[index] = minimizedDockable.getID();
-			SelectableDockableHeader dockableHeader = (SelectableDockableHeader) minimizedHeaders.get(minimizedDockable);
-			if (dockableHeader.isSelected()) {
-				selectedDockableIDs.add(minimizedDockable.getID());
-			}
+			dockableIdArray[index] = minimizedDockables[index].getID();
 		}
 		PropertiesUtil.setStringArray(properties, prefix + PROPERTY_DOCKABLE_IDS, dockableIdArray);
-		String[] selectedDockableIdArray = new String[selectedDockableIDs.size()];
-		selectedDockableIdArray = (String[]) selectedDockableIDs.toArray(selectedDockableIdArray);
+		String[] selectedDockableIdArray = new String[0];
+		if (selectedDockable != null) {
+			selectedDockableIdArray = new String[]{selectedDockable.getID()};
+		}
 		PropertiesUtil.setStringArray(properties, prefix + PROPERTY_SELECTED_DOCKABLE_IDS, selectedDockableIdArray);
 
-
 	}
 
 	// Getters / Setters.
@@ -358,13 +424,153 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 
 	}
 
+	/**
+	 * <p>
+	 * Determines if only the headers that fit in the panel are shown.
+	 * </p>
+	 * <p>
+	 * The default is false.
+	 * </p>
+	 *
+	 * @return True when only the headers that fit in the panel are shown, and the other dockables are grouped
+	 * behind an overflow button, false when the headers of all the dockables are shown.
+	 */
+	public boolean isOverflow() {
+		return overflow;
+	}
+
+	/**
+	 * Sets if only the headers that fit in the panel are shown.
+	 *
+	 * @param overflow True when only the headers that fit in the panel have to be shown, and the other dockables
+	 *                 have to be grouped behind an overflow button, false when the headers of all the dockables
+	 *                 have to be shown.
+	 */
+	public void setOverflow(boolean overflow) {
+
+		// Do we have a new value?
+		if (overflow != this.overflow) {
+			// Set the new mode.
+			this.overflow = overflow;
+
+			// Rebuild the UI.
+			rebuildUI();
+		}
+
+	}
+
 	// Private metods.
 
+	/**
+	 * Sets the dockable minimized. In the normal mode, its header is created and added to the panel.
+	 * The panel is not revalidated.
+	 *
+	 * @param dockableToVisualize The dockable that is minimized.
+	 */
+	private void addMinimizedDockable(@NotNull Dockable dockableToVisualize) {
+
+		// Set the dockable minimized.
+		dockableToVisualize.setState(DockableState.MINIMIZED, this);
+
+		minimizedHeaders.put(dockableToVisualize, null);
+		minimizedDockableArray = null;
+		if (!overflow) {
+			add((Component) getMinimizedHeader(dockableToVisualize));
+		}
+
+	}
+
+	/**
+	 * Removes the minimized dockable and its header from the panel, without revalidating the panel.
+	 *
+	 * @param dockableToRemove The minimized dockable that is removed.
+	 */
+	private void removeMinimizedDockable(Dockable dockableToRemove) {
+
+		SelectableDockableHeader minimizedComponent = (SelectableDockableHeader) minimizedHeaders.remove(dockableToRemove);
+		minimizedDockableArray = null;
+		if (minimizedComponent != null) {
+			releaseMinimizedHeader(minimizedComponent);
+		}
+		if (dockableToRemove.equals(selectedDockable)) {
+			selectedDockable = null;
+		}
+
+	}
+
+	/**
+	 * Gets the header of the minimized dockable. The header is created, when it doesn't exist yet.
+	 *
+	 * @param dockable The minimized dockable.
+	 * @return The header of the minimized dockable.
+	 */
+	@NotNull
+	private SelectableDockableHeader getMinimizedHeader(@NotNull Dockable dockable) {
+
+		SelectableDockableHeader dockableHeader = (SelectableDockableHeader) minimizedHeaders.get(dockable);
+		if (dockableHeader == null) {
+			dockableHeader = (SelectableDockableHeader) DockingManager.getComponentFactory().createMinimizeHeader(dockable, headerPosition);
+			dockableHeader.setSelected(dockable.equals(selectedDockable));
+			dockableHeader.addPropertyChangeListener(selectionChangeListener);
+			minimizedHeaders.put(dockable, dockableHeader);
+		}
+		return dockableHeader;
+
+	}
+
+	/**
+	 * Removes the header from the panel and disposes it. The header may not be used anymore.
+	 *
+	 * @param dockableHeader The header of a minimized dockable.
+	 */
+	private void releaseMinimizedHeader(@NotNull SelectableDockableHeader dockableHeader) {
+
+		dockableHeader.removePropertyChangeListener(selectionChangeListener);
+		if (dockableHeader.getParent() == this) {
+			remove(dockableHeader);
+		}
+		dockableHeader.dispose();
+
+	}
+
+	/**
+	 * Gets the minimized dockables in the order in which they were minimized.
+	 *
+	 * @return The minimized dockables.
+	 */
+	@NotNull
+	private Dockable[] getMinimizedDockableArray() {
+
+		if (minimizedDockableArray == null) {
+			minimizedDockableArray = (Dockable[]) minimizedHeaders.keySet().toArray(new Dockable[minimizedHeaders.size()]);
+		}
+		return minimizedDockableArray;
+
+	}
+
+	/**
+	 * Selects the header of the given dockable and deselects the header of the dockable that was selected before.
+	 * The headers don't fire selection events to this panel.
+	 *
+	 * @param dockable The dockable whose header has to be selected. When null, no header is selected.
+	 */
+	private void setSelectedDockable(@Nullable Dockable dockable) {
+
+		if (selectedDockable != null) {
+			selectMinimizedHeader(minimizedHeaders.get(selectedDockable), false);
+		}
+		selectedDockable = dockable;
+		if (dockable != null) {
+			selectMinimizedHeader(minimizedHeaders.get(dockable), true);
+		}
+
+	}
+
 	/**
 	 * Removes everything from the panel.
 	 * The layout is set again.
-	 * All the headers are created again.
-	 * All the headers are added again.
+	 * All the headers are disposed, they are created again when they are shown.
+	 * In the normal mode all the headers are added again.
 	 */
 	private void rebuildUI() {
 
@@ -372,66 +578,156 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 		this.removeAll();
 
 		// Set the layout.
-		int layout = BoxLayout.Y_AXIS;
-		if (orientation == ORIENTATION_HORIZONTAL) {
-			layout = BoxLayout.X_AXIS;
+		if (overflow) {
+			setLayout(new OverflowLayout());
+		} else {
+			int layout = BoxLayout.Y_AXIS;
+			if (orientation == ORIENTATION_HORIZONTAL) {
+				layout = BoxLayout.X_AXIS;
+			}
+			setLayout(new BoxLayout(this, layout));
+		}
+
+		// Dispose all the headers, because they are created with the old header position.
+		Iterator iterator = minimizedHeaders.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			if (entry.getValue() != null) {
+				releaseMinimizedHeader((SelectableDockableHeader) entry.getValue());
+				entry.setValue(null);
+			}
+		}
+		visibleDockableCount = 0;
+
+		// Create all the headers again and add them.
+		if (!overflow) {
+			for (Dockable dockable : getMinimizedDockableArray()) {
+				add((Component) getMinimizedHeader(dockable));
+			}
+		}
+		updateVisibleHeaders();
+
+		revalidate();
+		repaint();
+
+	}
+
+	/**
+	 * <p>
+	 * Determines the headers that fit in the panel and adds only these headers to the panel.
+	 * Nothing is done, when the overflow mode is off.
+	 * </p>
+	 * <p>
+	 * The headers are only created for the dockables that are shown, and for the first dockable that doesn't fit.
+	 * The header of the first dockable is always created, because the preferred size of the panel needs it.
+	 * The headers that are not shown anymore are kept, so that they don't have to be created again.
+	 * When not all the headers fit, the overflow button is added after the headers.
+	 * The panel is only revalidated, when the visible headers changed.
+	 * </p>
+	 */
+	private void updateVisibleHeaders() {
+
+		if (!overflow) {
+			return;
 		}
-		setLayout(new BoxLayout(this, layout));
 
-		// Create all the headers again.
-		for (Object minimizedDockable : minimizedDockables) {
-			// Get the header.
-			Dockable dockable = (Dockable) minimizedDockable;
-			SelectableDockableHeader oldMinimizeHeader = (SelectableDockableHeader) minimizedHeaders.get(dockable);
-			oldMinimizeHeader.removePropertyChangeListener(selectionChangeListener);
-			boolean selected = oldMinimizeHeader.isSelected();
+		// The available length.
+		Insets insets = getInsets();
+		int availableLength = getWidth() - insets.left - insets.right;
+		if (orientation == ORIENTATION_VERTICAL) {
+			availableLength = getHeight() - insets.top - insets.bottom;
+		}
 
-			// Create the header again.
-			SelectableDockableHeader minimizeHeader = (SelectableDockableHeader) DockingManager.getComponentFactory().createMinimizeHeader(dockable, headerPosition);
-			minimizeHeader.setSelected(selected);
-			minimizeHeader.addPropertyChangeListener(selectionChangeListener);
-			minimizedHeaders.put(dockable, minimizeHeader);
+		// Collect the headers that fit. Stop at the first header that doesn't fit.
+		List visibleHeaders = new ArrayList();
+		int usedLength = 0;
+		Iterator iterator = minimizedHeaders.keySet().iterator();
+		while (iterator.hasNext()) {
+			SelectableDockableHeader dockableHeader = getMinimizedHeader((Dockable) iterator.next());
+			int headerLength = getLength(dockableHeader.getPreferredSize());
+			if (usedLength + headerLength > availableLength) {
+				// Make place for the overflow button.
+				JButton button = getOverflowButton();
+				button.setText("+" + minimizedHeaders.size());
+				int buttonLength = getLength(button.getPreferredSize());
+				while ((!visibleHeaders.isEmpty()) && (usedLength + buttonLength > availableLength)) {
+					SelectableDockableHeader lastHeader = (SelectableDockableHeader) visibleHeaders.remove(visibleHeaders.size() - 1);
+					usedLength -= getLength(lastHeader.getPreferredSize());
+				}
+				break;
+			}
+			visibleHeaders.add(dockableHeader);
+			usedLength += headerLength;
+		}
+		visibleDockableCount = visibleHeaders.size();
+		int hiddenDockableCount = minimizedHeaders.size() - visibleDockableCount;
 
-			// Add the header.
-			add(minimizeHeader);
+		// Add the headers, only when they changed.
+		boolean changed = getComponentCount() != visibleHeaders.size() + (hiddenDockableCount > 0 ? 1 : 0);
+		for (int index = 0; (!changed) && (index < visibleHeaders.size()); index++) {
+			changed = getComponent(index) != visibleHeaders.get(index);
+		}
+		if (changed) {
+			removeAll();
+			for (Object visibleHeader : visibleHeaders) {
+				add((Component) visibleHeader);
+			}
+			if (hiddenDockableCount > 0) {
+				add(getOverflowButton());
+			}
+			revalidate();
+			repaint();
 		}
+		if (overflowButton != null) {
+			overflowButton.setText("+" + hiddenDockableCount);
+		}
+
 	}
 
 	/**
-	 * Deselects all the headers, except the given object.
+	 * Gets the length of the size in the direction of the orientation of the panel.
 	 *
-	 * @param    notTodeselectObject        This object should not be deselected. Can be null.
+	 * @param size The size.
+	 * @return The width for a horizontal panel, the height for a vertical panel.
 	 */
-	private void deselectAllMinimizedHeaders(Object notTodeselectObject) {
+	private int getLength(@NotNull Dimension size) {
+		return orientation == ORIENTATION_VERTICAL ? size.height : size.width;
+	}
 
-		// Iterate over all the headers.
-		for (Object o : minimizedHeaders.values()) {
-			SelectableDockableHeader selectableDockableHeader = (SelectableDockableHeader) o;
-			if (!selectableDockableHeader.equals(notTodeselectObject)) {
-				selectableDockableHeader.removePropertyChangeListener(selectionChangeListener);
-				selectableDockableHeader.setSelected(false);
-				selectableDockableHeader.addPropertyChangeListener(selectionChangeListener);
-			}
+	/**
+	 * Gets the button that shows the dockables whose headers don't fit in the panel.
+	 * The button is created, when it doesn't exist yet.
+	 *
+	 * @return The overflow button.
+	 */
+	@NotNull
+	private JButton getOverflowButton() {
+
+		if (overflowButton == null) {
+			overflowButton = new JButton();
+			overflowButton.setMargin(new Insets(0, 4, 0, 4));
+			overflowButton.setFocusable(false);
+			overflowButton.addActionListener(new OverflowListener());
 		}
+		return overflowButton;
+
 	}
 
 	/**
 	 * Selects the header.
 	 *
-	 * @param    objectToSelect            This object should be selected. Not null.
+	 * @param    objectToSelect            This object should be selected. Can be null, when the header doesn't exist.
 	 * @param    selected                True when the header has to be selectd, false otherwise.
 	 */
 	private void selectMinimizedHeader(Object objectToSelect, boolean selected) {
 
-		// Iterate over all the headers.
-		for (Object o : minimizedHeaders.values()) {
-			SelectableDockableHeader selectableDockableHeader = (SelectableDockableHeader) o;
-			if (selectableDockableHeader.equals(objectToSelect)) {
-				selectableDockableHeader.removePropertyChangeListener(selectionChangeListener);
-				selectableDockableHeader.setSelected(selected);
-				selectableDockableHeader.addPropertyChangeListener(selectionChangeListener);
-			}
+		if (objectToSelect instanceof SelectableDockableHeader) {
+			SelectableDockableHeader selectableDockableHeader = (SelectableDockableHeader) objectToSelect;
+			selectableDockableHeader.removePropertyChangeListener(selectionChangeListener);
+			selectableDockableHeader.setSelected(selected);
+			selectableDockableHeader.addPropertyChangeListener(selectionChangeListener);
 		}
+
 	}
 
 	// Private classes.
@@ -444,15 +740,18 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 
 			if (propertyChangeEvent.getPropertyName().equals("selected")) {
 				Object newValue = propertyChangeEvent.getNewValue();
-				if (newValue instanceof Boolean) {
+				Object source = propertyChangeEvent.getSource();
+				if ((newValue instanceof Boolean) && (source instanceof SelectableDockableHeader)) {
 					boolean newSelected = (Boolean) newValue;
-					Object source = propertyChangeEvent.getSource();
+					Dockable dockable = ((SelectableDockableHeader) source).getDockable();
 					if (newSelected) {
-						// Deselect all the headers a select the selected.
-						deselectAllMinimizedHeaders(source);
-					} else {
-						// Deselect the header.
-						selectMinimizedHeader(source, false);
+						// Deselect the header that was selected before.
+						if ((selectedDockable != null) && (!selectedDockable.equals(dockable))) {
+							selectMinimizedHeader(minimizedHeaders.get(selectedDockable), false);
+						}
+						selectedDockable = dockable;
+					} else if (dockable.equals(selectedDockable)) {
+						selectedDockable = null;
 					}
 				}
 			}
@@ -461,4 +760,132 @@ public class MinimizerPanel extends JPanel implements Visualizer {
 
 	}
 
+	/**
+	 * <p>
+	 * The layout of the panel in the overflow mode.
+	 * </p>
+	 * <p>
+	 * The layout only places the components that are in the panel. It doesn't add or remove components.
+	 * The headers and the overflow button get their preferred length and the thickness of the panel.
+	 * The preferred size has at least the size of the first header, otherwise the panel would get no space,
+	 * before its first layout. This header is created by {@link MinimizerPanel#updateVisibleHeaders()}.
+	 * </p>
+	 */
+	private class OverflowLayout implements LayoutManager {
+
+		// Implementations of LayoutManager.
+
+		public void addLayoutComponent(String name, Component component) {
+		}
+
+		public void removeLayoutComponent(Component component) {
+		}
+
+		@NotNull
+		public Dimension preferredLayoutSize(Container parent) {
+
+			int length = 0;
+			int thickness = 0;
+			for (Component component : getComponents()) {
+				Dimension size = component.getPreferredSize();
+				length += getLength(size);
+				thickness = Math.max(thickness, getThickness(size));
+			}
+			if (!minimizedHeaders.isEmpty()) {
+				Component firstHeader = (Component) minimizedHeaders.get(getMinimizedDockableArray()[0]);
+				if (firstHeader != null) {
+					Dimension headerSize = firstHeader.getPreferredSize();
+					length = Math.max(length, getLength(headerSize));
+					thickness = Math.max(thickness, getThickness(headerSize));
+				}
+			}
+
+			Insets insets = getInsets();
+			if (orientation == ORIENTATION_VERTICAL) {
+				return new Dimension(thickness + insets.left + insets.right, length + insets.top + insets.bottom);
+			}
+			return new Dimension(length + insets.left + insets.right, thickness + insets.top + insets.bottom);
+
+		}
+
+		@NotNull
+		public Dimension minimumLayoutSize(Container parent) {
+			return preferredLayoutSize(parent);
+		}
+
+		public void layoutContainer(Container parent) {
+
+			// Put the components after each other.
+			Insets insets = getInsets();
+			int position = orientation == ORIENTATION_VERTICAL ? insets.top : insets.left;
+			for (Component component : getComponents()) {
+				int length = getLength(component.getPreferredSize());
+				if (orientation == ORIENTATION_VERTICAL) {
+					component.setBounds(insets.left, position, getWidth() - insets.left - insets.right, length);
+				} else {
+					component.setBounds(position, insets.top, length, getHeight() - insets.top - insets.bottom);
+				}
+				position += length;
+			}
+
+		}
+
+		// Private methods.
+
+		private int getThickness(@NotNull Dimension size) {
+			return orientation == ORIENTATION_VERTICAL ? size.width : size.height;
+		}
+
+	}
+
+	/**
+	 * Determines the visible headers again, when the panel is resized in the overflow mode.
+	 */
+	private class ResizeListener extends ComponentAdapter {
+
+		// Overwritten methods of ComponentAdapter.
+
+		public void componentResized(ComponentEvent componentEvent) {
+			updateVisibleHeaders();
+		}
+
+	}
+
+	/**
+	 * Shows a popup menu with the dockables whose headers don't fit in the panel.
+	 * A dockable is restored, when its menu item is chosen.
+	 */
+	private class OverflowListener implements ActionListener {
+
+		// Implementations of ActionListener.
+
+		public void actionPerformed(ActionEvent actionEvent) {
+
+			JPopupMenu popupMenu = new JPopupMenu();
+			Dockable[] minimizedDockables = getMinimizedDockableArray();
+			for (int index = visibleDockableCount; index < minimizedDockables.length; index++) {
+				final Dockable dockable = minimizedDockables[index];
+				JMenuItem menuItem = new JMenuItem(dockable.getTitle(), dockable.getIcon());
+				menuItem.setToolTipText(dockable.getDescription());
+				menuItem.addActionListener(new ActionListener() {
+					public void actionPerformed(ActionEvent event) {
+						// Create an action to restore the dockable. Perform it.
+						Dockable dockableOfModel = DockingUtil.retrieveDockableOfDockModel(dockable.getID());
+						Action restoreAction = new DefaultDockableStateAction(dockableOfModel != null ? dockableOfModel : dockable, DockableState.NORMAL);
+						restoreAction.actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "Restore"));
+					}
+				});
+				popupMenu.add(menuItem);
+			}
+
+			if (orientation == ORIENTATION_VERTICAL) {
+				popupMenu.show(overflowButton, overflowButton.getWidth(), 0);
+			} else {
+				popupMenu.show(overflowButton, 0, overflowButton.getHeight());
+			}
+
+		}
+
+	}
+
 }
@@ -0,0 +1,159 @@
+package com.javadocking.dock.layout;
+
+import com.javadocking.dock.BorderDock;
+import com.javadocking.dock.Dock;
+import com.javadocking.dock.Position;
+import com.javadocking.dock.Priority;
+import com.javadocking.dock.SplitDock;
+import com.javadocking.dockable.DefaultDockable;
+import com.javadocking.dockable.Dockable;
+import com.javadocking.dockable.DockingMode;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LayoutEngineTest {
+
+	private static final int WIDTH = 400;
+	private static final int HEIGHT = 300;
+	private static final int STEP = 7;
+
+	private static final int[] DOCKING_MODES = {
+			DockingMode.ALL,
+			DockingMode.LEFT | DockingMode.RIGHT | DockingMode.TAB,
+			DockingMode.TOP | DockingMode.SINGLE,
+			DockingMode.BOTTOM | DockingMode.LEFT | DockingMode.TAB,
+			DockingMode.TAB};
+
+	@Test
+	void emptySplitDockPriorities() {
+		SplitDock splitDock = new SplitDock();
+		splitDock.setSize(WIDTH, HEIGHT);
+
+		assertSamePriorities(splitDock);
+	}
+
+	@Test
+	void splitDockWithOneChildPriorities() {
+		for (int childDockingModes : DOCKING_MODES) {
+			SplitDock splitDock = new SplitDock();
+			splitDock.setSize(WIDTH, HEIGHT);
+			splitDock.addDockable(createDockable("child", childDockingModes), new Point(WIDTH / 2, HEIGHT / 2), new Point());
+			layout(splitDock);
+
+			assertSamePriorities(splitDock);
+		}
+	}
+
+	@Test
+	void fullSplitDockPriorities() {
+		SplitDock splitDock = new SplitDock();
+		splitDock.setSize(WIDTH, HEIGHT);
+		splitDock.addDockable(createDockable("first", DockingMode.ALL), new Point(WIDTH / 2, HEIGHT / 2), new Point());
+		splitDock.addDockable(createDockable("second", DockingMode.ALL), new Point(2, HEIGHT / 2), new Point());
+		layout(splitDock);
+
+		assertSamePriorities(splitDock);
+	}
+
+	@Test
+	void splitDockInBorderDockPriorities() {
+		SplitDock splitDock = new SplitDock();
+		BorderDock borderDock = new BorderDock(splitDock);
+		borderDock.setSize(WIDTH, HEIGHT);
+		splitDock.addDockable(createDockable("child", DockingMode.ALL), new Point(WIDTH / 2, HEIGHT / 2), new Point());
+		layout(borderDock);
+
+		LayoutEngine engine = new LayoutEngine();
+		LayoutNode rootNode = LayoutEngine.createLayoutTree(borderDock);
+		Rectangle splitBounds = ((Component) splitDock).getBounds();
+		for (int dockingModes : DOCKING_MODES) {
+			Dockable dockable = createDockable("new", dockingModes);
+			for (int x = 0; x < WIDTH; x += STEP) {
+				for (int y = 0; y < HEIGHT; y += STEP) {
+					Point location = new Point(x, y);
+
+					// The engine finds the same deepest dock.
+					LayoutNode node = engine.getDeepestNodeAt(rootNode, location);
+					assertNotNull(node);
+					assertSame(getDeepestDockAt(borderDock, location), node.getDock(), "Deepest dock at " + location);
+
+					// The split dock in the center has the same priorities.
+					if (splitBounds.contains(location)) {
+						LayoutNode splitNode = node;
+						while (splitNode.getDock() != splitDock) {
+							splitNode = splitNode.getParent();
+						}
+						Point relativeLocation = new Point(x - splitBounds.x, y - splitBounds.y);
+						assertEquals(splitDock.getDockPriority(dockable, relativeLocation),
+								engine.getDockPriority(splitNode, dockingModes, relativeLocation),
+								"Priority at " + relativeLocation + " for docking modes " + dockingModes);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void overriddenPriorityRectangleIsUsed() {
+		SplitDock splitDock = new SplitDock() {
+			protected void getPriorityRectangle(Rectangle rectangle, int position) {
+				rectangle.setBounds(0, 0, 0, 0);
+			}
+		};
+		splitDock.setSize(WIDTH, HEIGHT);
+		splitDock.addDockable(createDockable("child", DockingMode.ALL), new Point(WIDTH / 2, HEIGHT / 2), new Point());
+		layout(splitDock);
+
+		Dockable dockable = createDockable("new", DockingMode.ALL);
+		for (int x = 0; x < WIDTH; x += STEP) {
+			for (int y = 0; y < HEIGHT; y += STEP) {
+				assertFalse(splitDock.getDockPriority(dockable, new Point(x, y)) == Priority.CAN_DOCK_WITH_PRIORITY);
+			}
+		}
+	}
+
+	private static void assertSamePriorities(SplitDock splitDock) {
+		LayoutEngine engine = new LayoutEngine();
+		LayoutNode node = LayoutEngine.createLayoutTree(splitDock);
+		for (int dockingModes : DOCKING_MODES) {
+			Dockable dockable = createDockable("new", dockingModes);
+			for (int x = 0; x < WIDTH; x += STEP) {
+				for (int y = 0; y < HEIGHT; y += STEP) {
+					Point location = new Point(x, y);
+					assertEquals(splitDock.getDockPriority(dockable, location),
+							engine.getDockPriority(node, dockingModes, location),
+							"Priority at " + location + " for docking modes " + dockingModes);
+				}
+			}
+		}
+	}
+
+	private static Dockable createDockable(String id, int dockingModes) {
+		return new DefaultDockable(id, new JLabel(id), id, null, dockingModes);
+	}
+
+	private static Dock getDeepestDockAt(Container rootComponent, Point location) {
+		Component component = SwingUtilities.getDeepestComponentAt(rootComponent, location.x, location.y);
+		while ((component != null) && !(component instanceof Dock)) {
+			component = component.getParent();
+		}
+		return (Dock) component;
+	}
+
+	private static void layout(Component component) {
+		if (component instanceof Container) {
+			Container container = (Container) component;
+			container.doLayout();
+			for (int index = 0; index < container.getComponentCount(); index++) {
+				layout(container.getComponent(index));
+			}
+		}
+	}
+}
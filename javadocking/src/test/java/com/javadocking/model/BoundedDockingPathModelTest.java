@@ -0,0 +1,145 @@
+package com.javadocking.model;
+
+import com.javadocking.dock.Dock;
+import com.javadocking.dock.Position;
+import com.javadocking.dock.SplitDock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BoundedDockingPathModelTest {
+
+	private static final String PREFIX = "paths.";
+
+	private final Dock dock = new SplitDock();
+
+	@Test
+	void leastRecentlyUsedPathIsEvicted() {
+		BoundedDockingPathModel model = new BoundedDockingPathModel(3, 0);
+		model.add(createPath("a"));
+		model.add(createPath("b"));
+		model.add(createPath("c"));
+
+		// Restoring "a" makes "b" the least recently used path.
+		assertNotNull(model.getDockingPath("a"));
+		model.add(createPath("d"));
+
+		assertEquals(3, model.getPathCount());
+		assertNull(model.peekDockingPath("b"));
+		assertEquals(ids("c", "a", "d"), ids(model));
+		assertEquals(1, model.getEvictionCount());
+	}
+
+	@Test
+	void peekDoesNotCountOrRefreshThePath() {
+		BoundedDockingPathModel model = new BoundedDockingPathModel(2, 0);
+		model.add(createPath("a"));
+		model.add(createPath("b"));
+
+		assertNotNull(model.peekDockingPath("a"));
+		assertNull(model.peekDockingPath("x"));
+		model.add(createPath("c"));
+
+		assertNull(model.peekDockingPath("a"));
+		assertEquals(0, model.getHitCount());
+		assertEquals(0, model.getMissCount());
+	}
+
+	@Test
+	void restoreLookupsAreCounted() {
+		BoundedDockingPathModel model = new BoundedDockingPathModel();
+		model.add(createPath("a"));
+
+		assertNotNull(model.getDockingPath("a"));
+		assertNull(model.getDockingPath("x"));
+
+		assertEquals(1, model.getHitCount());
+		assertEquals(1, model.getMissCount());
+	}
+
+	@Test
+	void oldPathIsEvicted() throws InterruptedException {
+		BoundedDockingPathModel model = new BoundedDockingPathModel(10, 20);
+		model.add(createPath("a"));
+		Thread.sleep(60);
+		model.add(createPath("b"));
+
+		assertNull(model.getDockingPath("a"));
+		assertNotNull(model.getDockingPath("b"));
+		assertEquals(ids("b"), ids(model));
+		assertEquals(1, model.getEvictionCount());
+	}
+
+	@Test
+	void closedDockableLosesItsPath() {
+		BoundedDockingPathModel model = new BoundedDockingPathModel();
+		model.add(createPath("a"));
+		model.add(createPath("b"));
+
+		model.dockableClosed("a");
+
+		assertNull(model.peekDockingPath("a"));
+		assertEquals(1, model.getPathCount());
+		assertEquals(0, model.getEvictionCount());
+	}
+
+	@Test
+	void savedPathsAreLoadedAgain() {
+		BoundedDockingPathModel model = new BoundedDockingPathModel();
+		model.add(createPath("a"));
+		model.add(createPath("b"));
+
+		Map dockKeys = new HashMap();
+		dockKeys.put(dock, "split");
+		Properties properties = new Properties();
+		model.saveProperties(PREFIX, properties, dockKeys);
+
+		// Saving is not a use.
+		assertEquals(0, model.getHitCount());
+
+		Map docks = new HashMap();
+		docks.put("split", dock);
+		BoundedDockingPathModel loadedModel = new BoundedDockingPathModel();
+		loadedModel.loadProperties(PREFIX, properties, docks);
+
+		assertEquals(ids("a", "b"), ids(loadedModel));
+		DockingPath dockingPath = loadedModel.peekDockingPath("a");
+		assertNotNull(dockingPath);
+		assertEquals("root", dockingPath.getRootDockKey());
+		assertEquals(1, dockingPath.getDockCount());
+		assertSame(dock, dockingPath.getDock(0));
+		assertEquals(new Position(Position.LEFT), dockingPath.getPositionInDock(0));
+	}
+
+	private DockingPath createPath(String id) {
+		return new DefaultDockingPath(id, "root", new Dock[]{dock}, new Position[]{new Position(Position.LEFT)});
+	}
+
+	private static List ids(String... ids) {
+		List list = new ArrayList();
+		for (String id : ids) {
+			list.add(id);
+		}
+		return list;
+	}
+
+	private static List ids(DockingPathModel model) {
+		List list = new ArrayList();
+		Iterator iterator = model.getIDs();
+		while (iterator.hasNext()) {
+			list.add(iterator.next());
+		}
+		return list;
+	}
+
+}